@@ -85,6 +85,7 @@ public final class DBConstants {
     public static final String SECURITY_MODULE_NAME = "rampart";
     public static final String TENANT_IN_ONLY_MESSAGE = "TENANT_IN_ONLY_MESSAGE";
     public static final String DISABLE_CURRENT_PARAMS_IN_LOG = "dss.disable.current.params";
+    public static final String PARALLEL_REQUESTS_POOL_SIZE = "dss.parallel.requests.pool.size";
         
     /**
      * Codes to be used as fault codes.
@@ -404,6 +405,7 @@ public final class DBConstants {
         public static final String DATASOURCE_PROPS = "dataSourceProps";
         public static final String FORCE_STORED_PROC = "forceStoredProc";
         public static final String FORCE_JDBC_BATCH_REQUESTS = "forceJDBCBatchRequests";
+        public static final String NESTED_QUERY_BATCH_SIZE = "nestedQueryBatchSize";
         public static final String QUERY_TIMEOUT = "queryTimeout";
         public static final String AUTO_COMMIT = "autoCommit";
         public static final String FETCH_DIRECTION = "fetchDirection";
@@ -647,6 +649,8 @@ public final class DBConstants {
         }
 
         public static final String DATASOURCE = "excel_datasource";
+        public static final String STREAMING = "excel_streaming";
+        public static final String CACHE_WORKBOOK = "excel_cacheworkbook";
         public static final String WORKBOOK_NAME = "workbookname";
         public static final String STARTING_ROW = "startingrow";
         public static final String MAX_ROW_COUNT = "maxrowcount";
@@ -838,7 +842,11 @@ public final class DBConstants {
         public static final String ENABLE_BOXCARRING = "enableBoxcarring";
         public static final String DISABLE_STREAMING = "disableStreaming";
         public static final String DISABLE_LEGACY_BOXCARRING_MODE = "disableLegacyBoxcarringMode";
+        public static final String ENABLE_PARALLEL_REQUESTS = "enableParallelRequests";
         public static final String RETURN_REQUEST_STATUS = "returnRequestStatus";
+        public static final String RESULT_CACHE_TIMEOUT = "resultCacheTimeout";
+        public static final String RESULT_CACHE_SIZE = "resultCacheSize";
+        public static final String RESULT_CACHE_TABLES = "resultCacheTables";
         public static final String SERVICE_STATUS = "serviceStatus";
         public static final String BASE_URI = "baseURI";
         public static final String USE_CONFIG = "useConfig";
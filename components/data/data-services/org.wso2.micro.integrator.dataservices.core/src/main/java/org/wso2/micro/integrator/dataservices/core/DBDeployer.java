@@ -82,6 +82,7 @@ import org.wso2.micro.integrator.dataservices.core.odata.ODataServiceRegistry;
 import org.wso2.micro.integrator.ndatasource.common.DataSourceConstants;
 import org.wso2.micro.integrator.ndatasource.common.DataSourceException;
 import org.wso2.micro.integrator.ndatasource.core.DataSourceManager;
+import org.wso2.micro.core.transports.HttpGetResponseCache;
 import org.wso2.micro.core.util.CarbonUtils;
 
 import javax.management.MBeanServer;
@@ -260,6 +261,8 @@ public class DBDeployer extends AbstractDeployer {
             super.deploy(deploymentFileData);
 			/* finished deploying successfully */
 			successfullyDeployed = true;
+			/* drop the documents generated for a previous version of the service */
+			HttpGetResponseCache.getInstance().invalidate(service.getName());
 
 		} catch (DataServiceFault e) {
 			errorMessage = DBUtils.getStacktraceFromException(e);
@@ -482,6 +485,7 @@ public class DBDeployer extends AbstractDeployer {
 	            serviceHierarchy = "";
 	        }
 	        String serviceName = serviceHierarchy + dataService.getName();
+	        HttpGetResponseCache.getInstance().invalidate(serviceName);
             /* In the context of dataservices one service group will only contain one dataservice.
             *  Hence assigning the service group as the service group name */
 			AxisServiceGroup serviceGroup = this.axisConfig.getServiceGroup(serviceName);
@@ -18,6 +18,7 @@
 package org.wso2.micro.integrator.dataservices.core;
 
 import org.apache.axiom.om.OMElement;
+import org.apache.axiom.om.impl.llom.OMSourcedElementImpl;
 import org.apache.axiom.soap.SOAPEnvelope;
 import org.apache.axiom.soap.SOAPFactory;
 import org.apache.axis2.AxisFault;
@@ -29,6 +30,8 @@ import org.apache.axis2.transport.http.HTTPConstants;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.micro.integrator.dataservices.common.DBConstants;
+import org.wso2.micro.integrator.dataservices.core.engine.DSOMDataSource;
+import org.wso2.micro.integrator.dataservices.core.engine.Result;
 
 import java.util.Map;
 
@@ -40,6 +43,8 @@ public class DBInOutMessageReceiver extends RawXMLINOutMessageReceiver {
 	private static final Log log = LogFactory.getLog(DBInOutMessageReceiver.class);
 
 	private static final String DATA_SERVICE_LATENCY_TIMER = "DATA_SERVICE_LATENCY_TIMER";
+
+	private static final String DATA_SERVICE_JSON_FORMATTER = "dsJsonFormatter";
 	
 	/**
 	 * Invokes the business logic invocation on the service implementation class
@@ -60,6 +65,7 @@ public class DBInOutMessageReceiver extends RawXMLINOutMessageReceiver {
 				          msgContext.getEnvelope().getText() + ", ThreadID - " + Thread.currentThread().getId());
 			}
 			boolean isAcceptJson = false;
+			boolean isAcceptXml = false;
 			Map transportHeaders = (Map) msgContext.getProperty(MessageContext.TRANSPORT_HEADERS);
 			if (transportHeaders != null) {
 				String acceptHeader = (String) transportHeaders.get(HTTPConstants.HEADER_ACCEPT);
@@ -77,10 +83,19 @@ public class DBInOutMessageReceiver extends RawXMLINOutMessageReceiver {
 							isAcceptJson = true;
 							break;
 						}
+						if (accept.endsWith("/xml") || accept.endsWith("+xml")) {
+							isAcceptXml = true;
+						}
 					}
 				}
 			}
 			OMElement result = DataServiceProcessor.dispatch(msgContext);
+			/* with the streaming JSON formatter, results defined using a JSON mapping are written as JSON, unless
+			 * XML is requested */
+			if (!isAcceptJson && !isAcceptXml && msgContext.isDoingREST() && this.isJsonOutput(result)
+					&& this.isDBJsonFormatterEnabled(msgContext)) {
+				isAcceptJson = true;
+			}
 			SOAPFactory fac = getSOAPFactory(msgContext);
 			SOAPEnvelope envelope = fac.getDefaultEnvelope();
 			if (result != null) {
@@ -114,5 +129,21 @@ public class DBInOutMessageReceiver extends RawXMLINOutMessageReceiver {
 			}
 		}
 	}
+
+	private boolean isDBJsonFormatterEnabled(MessageContext msgContext) {
+		AxisConfiguration axisConfig = msgContext.getConfigurationContext().getAxisConfiguration();
+		Object formatter = axisConfig.getParameterValue(DATA_SERVICE_JSON_FORMATTER);
+		return formatter != null && DBJsonFormatter.class.getName().equals(formatter.toString().trim())
+				&& axisConfig.getMessageFormatter(HTTPConstants.MEDIA_TYPE_APPLICATION_JSON) != null;
+	}
+
+	private boolean isJsonOutput(OMElement result) {
+		if (!(result instanceof OMSourcedElementImpl)
+				|| !(((OMSourcedElementImpl) result).getDataSource() instanceof DSOMDataSource)) {
+			return false;
+		}
+		Result resultDef = ((DSOMDataSource) ((OMSourcedElementImpl) result).getDataSource()).getResult();
+		return resultDef != null && resultDef.isJsonOutput();
+	}
     
 }
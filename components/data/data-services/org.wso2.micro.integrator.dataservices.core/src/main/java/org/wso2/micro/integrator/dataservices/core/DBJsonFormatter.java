@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.micro.integrator.dataservices.core;
+
+import org.apache.axiom.om.OMElement;
+import org.apache.axiom.om.OMOutputFormat;
+import org.apache.axiom.om.impl.llom.OMSourcedElementImpl;
+import org.apache.axiom.soap.SOAPEnvelope;
+import org.apache.axis2.AxisFault;
+import org.apache.axis2.Constants;
+import org.apache.axis2.context.MessageContext;
+import org.apache.axis2.json.gson.JsonFormatter;
+import org.wso2.micro.integrator.dataservices.core.engine.DSOMDataSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import javax.xml.stream.XMLStreamException;
+
+/**
+ * This class represents the message formatter used to write data service responses as JSON. Results which are
+ * not yet generated are written directly as JSON from the query results, without generating XML first, all other
+ * responses are converted to JSON by the schema based JSON formatter. The formatter is enabled by setting the
+ * "dsJsonFormatter" parameter in the axis2.xml to this class.
+ */
+public class DBJsonFormatter extends JsonFormatter {
+
+    private static final String DEFAULT_CHARSET_ENCODING = "UTF-8";
+
+    @Override
+    public byte[] getBytes(MessageContext outMsgCtxt, OMOutputFormat omOutputFormat) throws AxisFault {
+        DSOMDataSource dataSource = this.getJSONDataSource(outMsgCtxt);
+        if (dataSource == null) {
+            return super.getBytes(outMsgCtxt, omOutputFormat);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        this.serializeJSON(outMsgCtxt, dataSource, out);
+        return out.toByteArray();
+    }
+
+    @Override
+    public void writeTo(MessageContext outMsgCtxt, OMOutputFormat omOutputFormat, OutputStream outputStream,
+                        boolean preserve) throws AxisFault {
+        DSOMDataSource dataSource = this.getJSONDataSource(outMsgCtxt);
+        if (dataSource == null) {
+            super.writeTo(outMsgCtxt, omOutputFormat, outputStream, preserve);
+            return;
+        }
+        this.serializeJSON(outMsgCtxt, dataSource, outputStream);
+    }
+
+    private void serializeJSON(MessageContext outMsgCtxt, DSOMDataSource dataSource, OutputStream outputStream)
+            throws AxisFault {
+        String charSetEncoding = (String) outMsgCtxt.getProperty(Constants.Configuration.CHARACTER_SET_ENCODING);
+        if (charSetEncoding == null) {
+            charSetEncoding = DEFAULT_CHARSET_ENCODING;
+        }
+        try {
+            dataSource.serializeJSON(outputStream, charSetEncoding);
+        } catch (XMLStreamException e) {
+            throw new AxisFault("Error in writing the data service result as JSON: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Returns the data source of the response, if the result is not generated yet and it can be written directly
+     * as JSON.
+     */
+    private DSOMDataSource getJSONDataSource(MessageContext outMsgCtxt) {
+        if (outMsgCtxt.isProcessingFault()) {
+            return null;
+        }
+        SOAPEnvelope envelope = outMsgCtxt.getEnvelope();
+        if (envelope == null || envelope.getBody() == null) {
+            return null;
+        }
+        OMElement element = envelope.getBody().getFirstElement();
+        if (!(element instanceof OMSourcedElementImpl) || ((OMSourcedElementImpl) element).isExpanded()
+                || !(((OMSourcedElementImpl) element).getDataSource() instanceof DSOMDataSource)) {
+            return null;
+        }
+        DSOMDataSource dataSource = (DSOMDataSource) ((OMSourcedElementImpl) element).getDataSource();
+        return dataSource.isJSONSerializable() ? dataSource : null;
+    }
+
+}
@@ -147,6 +147,13 @@ public class DataServiceFactory {
                 disableLegacyBoxcarringMode = Boolean.parseBoolean(disableLegacyBoxcarringModeStr);
             }
 
+            boolean parallelRequestsEnabled = false;
+            String parallelRequestsEnabledStr =
+                    dbsElement.getAttributeValue(new QName(DBSFields.ENABLE_PARALLEL_REQUESTS));
+            if (parallelRequestsEnabledStr != null) {
+                parallelRequestsEnabled = Boolean.parseBoolean(parallelRequestsEnabledStr);
+            }
+
             /* txManagerName property */
             String userTxJNDIName = dbsElement.getAttributeValue(
                     new QName(DBSFields.TRANSACTION_MANAGER_JNDI_NAME));
@@ -176,6 +183,9 @@ public class DataServiceFactory {
             /* set disable legacy boxcarring mode */
             dataService.setDisableLegacyBoxcarringMode(disableLegacyBoxcarringMode);
 
+            /* set parallel requests mode */
+            dataService.setParallelRequestsEnabled(parallelRequestsEnabled);
+
             /* set transports */
             String transports = dbsElement.getAttributeValue(new QName(DBSFields.TRANSPORTS));
             if (transports != null && !transports.isEmpty()) {
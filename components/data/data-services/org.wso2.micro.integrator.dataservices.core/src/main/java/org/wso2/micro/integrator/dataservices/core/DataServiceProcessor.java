@@ -22,11 +22,16 @@ import org.apache.axiom.om.OMDocument;
 import org.apache.axiom.om.OMElement;
 import org.apache.axiom.om.OMFactory;
 import org.apache.axis2.context.MessageContext;
+import org.apache.axis2.description.AxisService;
+import org.apache.axis2.description.Parameter;
 import org.wso2.micro.integrator.dataservices.common.DBConstants;
 import org.wso2.micro.integrator.dataservices.core.dispatch.DataServiceRequest;
 import org.wso2.micro.integrator.dataservices.core.dispatch.DispatchStatus;
+import org.wso2.micro.integrator.dataservices.core.engine.DSOMDataSource;
 import org.wso2.micro.integrator.dataservices.core.engine.DataService;
+import org.wso2.micro.integrator.dataservices.core.engine.ParamValue;
 
+import java.util.Map;
 import javax.xml.namespace.QName;
 
 /**
@@ -36,7 +41,42 @@ public class DataServiceProcessor {
 
 	public static OMElement dispatch(MessageContext msgContext) throws DataServiceFault {
 	    DispatchStatus.clearRequestStatus();
-		DataServiceRequest request = DataServiceRequest.createDataServiceRequest(msgContext);
+		return dispatch(DataServiceRequest.createDataServiceRequest(msgContext));
+	}
+
+	/**
+	 * Invokes a request of a data service in-process with the given parameters, without building a request
+	 * payload. Unless the result has to be built, i.e. streaming is disabled or the result is transformed,
+	 * the returned element is backed by a {@link DSOMDataSource} and the query is executed when the element
+	 * is serialized or read. The user of a previous request in the current thread is not retained, the user
+	 * information is populated only from the given message context.
+	 *
+	 * @param dataService The data service to be invoked
+	 * @param requestName The service request name
+	 * @param params      The parameters of the request
+	 * @param msgContext  Current message context, used to retrieve the user information
+	 * @return The result of the request, or null if the request does not have a result
+	 * @throws DataServiceFault Thrown if a problem occurs in service dispatching
+	 */
+	public static OMElement invoke(DataService dataService, String requestName, Map<String, ParamValue> params,
+	                               MessageContext msgContext) throws DataServiceFault {
+		DispatchStatus.clearRequestStatus();
+		DataService.setCurrentUser(null);
+		return dispatch(DataServiceRequest.createDataServiceRequest(dataService, requestName, params, msgContext));
+	}
+
+	/**
+	 * Returns the data service deployed as the given axis service, or null if it is not a data service.
+	 */
+	public static DataService getDataService(AxisService axisService) {
+		Parameter dsParam = axisService.getParameter(DBConstants.DATA_SERVICE_OBJECT);
+		if (dsParam == null || !(dsParam.getValue() instanceof DataService)) {
+			return null;
+		}
+		return (DataService) dsParam.getValue();
+	}
+
+	private static OMElement dispatch(DataServiceRequest request) throws DataServiceFault {
 		OMElement result = request.dispatch();
 		if (result == null) {
 			DataService ds = request.getDataService();
@@ -127,6 +127,7 @@ public class JDBCPoolSQLConfig extends SQLConfig {
 	
 	private void filterJDBCPoolProps(Map<String, String> props) {
 		props.remove(RDBMS.FORCE_JDBC_BATCH_REQUESTS);
+		props.remove(RDBMS.NESTED_QUERY_BATCH_SIZE);
 		props.remove(RDBMS.FORCE_STORED_PROC);
 		props.remove(RDBMS.QUERY_TIMEOUT);
 		props.remove(RDBMS.AUTO_COMMIT);
@@ -22,6 +22,7 @@ import org.apache.commons.logging.LogFactory;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Map.Entry;
 
 /**
  * This class represents a thread local connection repository.
@@ -37,6 +38,11 @@ public class TLConnectionStore {
 		}
 	};
 	
+	/**
+	 * prefix of the ids of the connections attached from other threads
+	 */
+	private static final String ATTACHED_CONNECTION_PREFIX = "#ATTACHED# ";
+	
 	private static String generateDataServiceConnectionMapId(String confidId, String user, int queryLevel) {
 		String userSuffix;
 		if (user != null) {
@@ -57,6 +63,28 @@ public class TLConnectionStore {
 		return conns.get(generateDataServiceConnectionMapId(configId, user, queryLevel));
 	}
 	
+	/**
+	 * Removes the connections of the current thread from the store and returns them, so that they can be
+	 * committed or rolled back by the thread which started the request.
+	 */
+	public static Map<String, DataServiceConnection> detachAll() {
+		Map<String, DataServiceConnection> conns = new HashMap<String, DataServiceConnection>(tlCons.get());
+		tlCons.get().clear();
+		return conns;
+	}
+	
+	/**
+	 * Adds the connections detached from another thread to the store of the current thread, these are not
+	 * returned by {@link #getConnection(String, String, int)}, but committed, rolled back and closed together
+	 * with the connections of the current thread.
+	 */
+	public static void attachAll(Map<String, DataServiceConnection> connections) {
+		Map<String, DataServiceConnection> conns = tlCons.get();
+		for (Entry<String, DataServiceConnection> entry : connections.entrySet()) {
+			conns.put(ATTACHED_CONNECTION_PREFIX + conns.size() + " # " + entry.getKey(), entry.getValue());
+		}
+	}
+	
 	public static void commitAll() {
 		Map<String, DataServiceConnection> conns = tlCons.get();
 		for (DataServiceConnection conn : conns.values()) {
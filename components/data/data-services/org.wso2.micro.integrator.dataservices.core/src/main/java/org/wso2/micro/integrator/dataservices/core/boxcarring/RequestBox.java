@@ -27,6 +27,7 @@ import org.apache.commons.io.output.NullOutputStream;
 import org.wso2.micro.integrator.dataservices.core.DBUtils;
 import org.wso2.micro.integrator.dataservices.core.DataServiceFault;
 import org.wso2.micro.integrator.dataservices.core.dispatch.DataServiceRequest;
+import org.wso2.micro.integrator.dataservices.core.dispatch.ParallelRequestDispatcher;
 
 /**
  * Represents a boxcarring session service request group.
@@ -61,6 +62,12 @@ public class RequestBox {
 		List<DataServiceRequest> reqList = this.getRequests();
 		int n = reqList.size();
 		OMElement resultElement = null;
+		/* execute the independent requests concurrently, if enabled in the data service */
+		List<List<Integer>> groups = ParallelRequestDispatcher.groupBoxcarringRequests(reqList);
+		if (groups != null) {
+			resultElement = ParallelRequestDispatcher.dispatch(reqList, groups, false);
+			return DBUtils.wrapBoxCarringResponse(resultElement);
+		}
 		for (int i = 0; i < n; i++) {
 			result = reqList.get(i).dispatch();
 			if (result != null) {
@@ -30,8 +30,11 @@ import org.wso2.micro.integrator.dataservices.core.engine.DataService;
 import org.wso2.micro.integrator.dataservices.core.odata.ODataDataHandler;
 import org.wso2.micro.integrator.dataservices.core.odata.ODataServiceFault;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -44,9 +47,50 @@ public class ExcelConfig extends Config {
 	
 	private String excelDataSourcePath;
 
+	/**
+	 * flag to check if OOXML workbooks are read row by row, without loading them in to memory
+	 */
+	private boolean streaming;
+
+	/**
+	 * flag to check if the rows read from a local file are kept until the file is modified
+	 */
+	private boolean cacheWorkbook;
+
+	/**
+	 * rows extracted from the sheets of the workbook, a POI workbook is not thread safe, so only the extracted
+	 * values are shared between the requests
+	 */
+	private final Map<String, List<String[]>> cachedSheetRows = new HashMap<String, List<String[]>>();
+
+	private long cachedWorkbookLastModified;
+
 	public ExcelConfig(DataService dataService, String configId, Map<String, String> properties, boolean odataEnable) {
 		super(dataService, configId, DataSourceTypes.EXCEL, properties, odataEnable);
 		this.excelDataSourcePath = this.getProperty(DBConstants.Excel.DATASOURCE).trim();
+		this.streaming = Boolean.parseBoolean(this.getProperty(DBConstants.Excel.STREAMING));
+		this.cacheWorkbook = Boolean.parseBoolean(this.getProperty(DBConstants.Excel.CACHE_WORKBOOK));
+	}
+
+	public boolean isStreaming() {
+		return streaming;
+	}
+
+	public boolean isCacheWorkbook() {
+		return cacheWorkbook;
+	}
+
+	/**
+	 * Returns the Excel file if the workbook is read from the local file system.
+	 *
+	 * @return The local file or null if the workbook is read from a URL or the registry
+	 */
+	public File getLocalFile() {
+		String path = this.getExcelDataSourcePath();
+		if (path.startsWith("http://") || DBUtils.isRegistryPath(path)) {
+			return null;
+		}
+		return new File(path).getAbsoluteFile();
 	}
 
 	public String getExcelDataSourcePath() {
@@ -58,6 +102,36 @@ public class ExcelConfig extends Config {
 		Workbook wb = WorkbookFactory.create(ins);
 		return wb;
 	}
+
+	/**
+	 * Returns the cached rows of the given sheet.
+	 *
+	 * @param sheetName    The name of the sheet
+	 * @param lastModified The current modification time of the local file
+	 * @return The unmodifiable rows, or null if the rows are not cached or the file has been modified since
+	 */
+	public synchronized List<String[]> getCachedSheetRows(String sheetName, long lastModified) {
+		if (this.cachedWorkbookLastModified != lastModified) {
+			return null;
+		}
+		return this.cachedSheetRows.get(sheetName);
+	}
+
+	/**
+	 * Caches the rows extracted from the given sheet, the cached rows of the other sheets are dropped if they were
+	 * read from an older version of the file.
+	 *
+	 * @param sheetName    The name of the sheet
+	 * @param lastModified The modification time of the local file, read before the workbook was loaded
+	 * @param rows         The unmodifiable rows of the sheet
+	 */
+	public synchronized void cacheSheetRows(String sheetName, long lastModified, List<String[]> rows) {
+		if (this.cachedWorkbookLastModified != lastModified) {
+			this.cachedSheetRows.clear();
+			this.cachedWorkbookLastModified = lastModified;
+		}
+		this.cachedSheetRows.put(sheetName, rows);
+	}
 	
 	@Override
 	public boolean isActive() {
@@ -70,8 +144,8 @@ public class ExcelConfig extends Config {
 		}
 	}
 	
-	public void close() {
-		/* nothing to close */
+	public synchronized void close() {
+		this.cachedSheetRows.clear();
 	}
 
 	@Override
@@ -234,6 +234,19 @@ public abstract class SQLConfig extends Config {
         return result;
     }
 
+    /**
+     * Checks if the connections of this config are created by an XA data source, i.e. they take part in
+     * distributed transactions.
+     */
+    public boolean isXADataSource() throws DataServiceFault {
+        DataSource ds = this.getDataSource();
+        if (ds == null) {
+            return false;
+        }
+        boolean[] xaResult = this.isXADataSource(this.extractSourceDS(ds));
+        return xaResult[0] || xaResult[1];
+    }
+
     /**
      * Extract the datasource which is being used to create connections.
      *
@@ -29,6 +29,7 @@ import org.wso2.micro.integrator.dataservices.core.DataServiceFault;
 import org.wso2.micro.integrator.dataservices.core.description.query.QueryFactory;
 import org.wso2.micro.integrator.dataservices.core.engine.CallQuery;
 import org.wso2.micro.integrator.dataservices.core.engine.DataService;
+import org.wso2.micro.integrator.dataservices.core.engine.RequestResultCache;
 
 /**
  * This class creates the Operation objects by passing the 
@@ -78,6 +79,12 @@ public class OperationFactory {
 			returnReqStatus = Boolean.parseBoolean(returnReqStatusStr);
 		}
 		operation.setReturnRequestStatus(returnReqStatus);
+
+		/* result cache */
+		operation.setResultCache(RequestResultCache.createResultCache(dataService.getName(),
+				operation.getRequestName(), opEl.getAttributeValue(new QName(DBSFields.RESULT_CACHE_TIMEOUT)),
+				opEl.getAttributeValue(new QName(DBSFields.RESULT_CACHE_SIZE)),
+				opEl.getAttributeValue(new QName(DBSFields.RESULT_CACHE_TABLES))));
 		
 	    return operation;
 	}
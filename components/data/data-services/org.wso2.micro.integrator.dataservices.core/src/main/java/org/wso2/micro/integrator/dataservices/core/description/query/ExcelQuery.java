@@ -21,7 +21,6 @@ import org.apache.poi.hssf.usermodel.HSSFCell;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.ss.usermodel.Workbook;
 import org.wso2.micro.integrator.dataservices.core.DBUtils;
 import org.wso2.micro.integrator.dataservices.core.DataServiceFault;
 import org.wso2.micro.integrator.dataservices.core.description.config.ExcelConfig;
@@ -35,6 +34,9 @@ import org.wso2.micro.integrator.dataservices.core.engine.Result;
 
 import javax.xml.stream.XMLStreamWriter;
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -92,9 +94,56 @@ public class ExcelQuery extends Query {
         if (!this.isHasHeader()) {
             return null;
         }
-        Workbook wb = this.getConfig().createWorkbook();
-        Sheet sheet = wb.getSheet(this.getWorkbookName());
-        return this.extractRowData(sheet.getRow(this.getHeaderRow() - 1));
+        if (this.getConfig().isStreaming()) {
+            final String[][] header = new String[1][];
+            boolean streamed = ExcelStreamingSheetReader.readSheet(this.getConfig(), this.getWorkbookName(),
+                    this.getHeaderRow() - 1, new ExcelStreamingSheetReader.RowHandler() {
+                        @Override
+                        public boolean handleRow(String[] record) {
+                            header[0] = record;
+                            return false;
+                        }
+                    });
+            if (streamed) {
+                return header[0];
+            }
+        }
+        return this.getRecord(this.getSheetData(), this.getHeaderRow() - 1);
+    }
+
+    /**
+     * Returns the sheet to be read, or the rows of the sheet if caching is enabled for a local file. The rows are
+     * cached instead of the workbook, since a POI workbook cannot be shared by concurrent requests.
+     */
+    private Object getSheetData() throws Exception {
+        File file = this.getConfig().isCacheWorkbook() ? this.getConfig().getLocalFile() : null;
+        if (file == null) {
+            return this.getConfig().createWorkbook().getSheet(this.getWorkbookName());
+        }
+        long lastModified = file.lastModified();
+        List<String[]> rows = this.getConfig().getCachedSheetRows(this.getWorkbookName(), lastModified);
+        if (rows == null) {
+            rows = this.extractSheetRows(this.getConfig().createWorkbook().getSheet(this.getWorkbookName()));
+            this.getConfig().cacheSheetRows(this.getWorkbookName(), lastModified, rows);
+        }
+        return rows;
+    }
+
+    private List<String[]> extractSheetRows(Sheet sheet) {
+        List<String[]> rows = new ArrayList<String[]>(sheet.getLastRowNum() + 1);
+        for (int i = 0; i <= sheet.getLastRowNum(); i++) {
+            rows.add(this.extractRowData(sheet.getRow(i)));
+        }
+        return Collections.unmodifiableList(rows);
+    }
+
+    @SuppressWarnings("unchecked")
+    private String[] getRecord(Object sheetData, int rowIndex) {
+        if (sheetData instanceof Sheet) {
+            return this.extractRowData(((Sheet) sheetData).getRow(rowIndex));
+        }
+        List<String[]> rows = (List<String[]>) sheetData;
+        return rowIndex >= 0 && rowIndex < rows.size() ? rows.get(rowIndex) : null;
     }
 
     private String[] extractRowData(Row row) {
@@ -130,7 +179,7 @@ public class ExcelQuery extends Query {
         return data;
     }
 
-    private String processNumericValue(double val) {
+    static String processNumericValue(double val) {
         if (val == (long) val) {
             return String.valueOf((long) val);
         } else {
@@ -164,9 +213,12 @@ public class ExcelQuery extends Query {
 
     public Object runPreQuery(InternalParamCollection params, int queryLevel)
             throws DataServiceFault {
+        if (this.getConfig().isStreaming()) {
+            /* the rows are read while writing the result */
+            return null;
+        }
         try {
-            Workbook wb = this.getConfig().createWorkbook();
-            return wb.getSheet(this.getWorkbookName());
+            return this.getSheetData();
         } catch (Exception e) {
             throw new DataServiceFault(e, "Error in ExcelQuery.runQuery.");
         }
@@ -175,7 +227,17 @@ public class ExcelQuery extends Query {
     @Override
     public void runPostQuery(Object result, XMLStreamWriter xmlWriter,
                              InternalParamCollection params, int queryLevel) throws DataServiceFault {
-        Sheet sheet = (Sheet) result;
+        if (this.getConfig().isStreaming()) {
+            if (this.streamRows(xmlWriter, params, queryLevel)) {
+                return;
+            }
+            /* not an OOXML workbook */
+            try {
+                result = this.getSheetData();
+            } catch (Exception e) {
+                throw new DataServiceFault(e, "Error in ExcelQuery.runQuery.");
+            }
+        }
         int maxCount = this.getMaxRowCount();
         int i = this.getStartingRow() - 1;
         int count = 0;
@@ -183,7 +245,7 @@ public class ExcelQuery extends Query {
         String[] record;
         Map<Integer, String> columnsMap = this.getColumnMappings();
         boolean useColumnNumbers = this.isUsingColumnNumbers();
-        while ((record = this.extractRowData(sheet.getRow(i))) != null) {
+        while ((record = this.getRecord(result, i)) != null) {
             if (maxCount != -1 && count >= maxCount) {
                 break;
             }
@@ -198,4 +260,30 @@ public class ExcelQuery extends Query {
 
         }
     }
+
+    private boolean streamRows(final XMLStreamWriter xmlWriter, final InternalParamCollection params,
+                               final int queryLevel) throws DataServiceFault {
+        final int maxCount = this.getMaxRowCount();
+        if (maxCount == 0) {
+            return true;
+        }
+        final Map<Integer, String> columnsMap = this.getColumnMappings();
+        final boolean useColumnNumbers = this.isUsingColumnNumbers();
+        return ExcelStreamingSheetReader.readSheet(this.getConfig(), this.getWorkbookName(),
+                this.getStartingRow() - 1, new ExcelStreamingSheetReader.RowHandler() {
+                    private int count;
+
+                    @Override
+                    public boolean handleRow(String[] record) throws DataServiceFault {
+                        DataEntry dataEntry = new DataEntry();
+                        for (int j = 0; j < record.length; j++) {
+                            dataEntry.addValue(useColumnNumbers ? Integer.toString(j + 1) :
+                                    columnsMap.get(j + 1), new ParamValue(record[j]));
+                        }
+                        writeResultEntry(xmlWriter, dataEntry, params, queryLevel);
+                        count++;
+                        return maxCount == -1 || count < maxCount;
+                    }
+                });
+    }
 }
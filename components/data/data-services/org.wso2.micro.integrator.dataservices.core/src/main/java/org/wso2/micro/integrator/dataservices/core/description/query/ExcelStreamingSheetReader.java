@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.micro.integrator.dataservices.core.description.query;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.poifs.filesystem.FileMagic;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.wso2.micro.integrator.dataservices.core.DBUtils;
+import org.wso2.micro.integrator.dataservices.core.DataServiceFault;
+import org.wso2.micro.integrator.dataservices.core.description.config.ExcelConfig;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import javax.xml.parsers.ParserConfigurationException;
+
+/**
+ * Reads the rows of an OOXML (.xlsx) sheet using the SAX based event model of POI, without building the workbook
+ * in memory. The rows are handed over to a {@link RowHandler} as they are parsed, and the values are extracted the
+ * same way as {@link ExcelQuery} does from a POI workbook.
+ */
+class ExcelStreamingSheetReader {
+
+    private ExcelStreamingSheetReader() {
+    }
+
+    /**
+     * Handles the rows read from a sheet.
+     */
+    interface RowHandler {
+
+        /**
+         * @param record the cell values of the row
+         * @return false if the rest of the rows are not required
+         */
+        boolean handleRow(String[] record) throws DataServiceFault;
+    }
+
+    /**
+     * Reads the consecutive rows of the given sheet, starting from the given row, until a missing or an empty row
+     * is found.
+     *
+     * @param config    the Excel config
+     * @param sheetName the name of the sheet
+     * @param startRow  the 0 based index of the first row to read
+     * @param handler   the row handler
+     * @return false if the workbook is not an OOXML workbook, hence cannot be streamed
+     * @throws DataServiceFault if an error occurs in reading the workbook
+     */
+    static boolean readSheet(ExcelConfig config, String sheetName, int startRow, RowHandler handler)
+            throws DataServiceFault {
+        OPCPackage pkg = null;
+        InputStream ins = null;
+        try {
+            File file = config.getLocalFile();
+            if (file != null) {
+                if (FileMagic.valueOf(file) != FileMagic.OOXML) {
+                    return false;
+                }
+                pkg = OPCPackage.open(file, PackageAccess.READ);
+            } else {
+                ins = FileMagic.prepareToCheckMagic(DBUtils.getInputStreamFromPath(config.getExcelDataSourcePath()));
+                if (FileMagic.valueOf(ins) != FileMagic.OOXML) {
+                    return false;
+                }
+                pkg = OPCPackage.open(ins);
+            }
+            XSSFReader reader = new XSSFReader(pkg);
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            while (sheets.hasNext()) {
+                InputStream sheet = sheets.next();
+                try {
+                    if (sheets.getSheetName().equalsIgnoreCase(sheetName)) {
+                        parseSheet(sheet, new SheetHandler(new ReadOnlySharedStringsTable(pkg), startRow, handler));
+                        return true;
+                    }
+                } finally {
+                    sheet.close();
+                }
+            }
+            throw new DataServiceFault("Sheet '" + sheetName + "' does not exist in the Excel workbook");
+        } catch (IOException | OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new DataServiceFault(e, "Error in reading the Excel sheet: " + sheetName);
+        } finally {
+            if (pkg != null) {
+                pkg.revert();
+            }
+            if (ins != null) {
+                try {
+                    ins.close();
+                } catch (IOException ignore) {
+                    // ignore
+                }
+            }
+        }
+    }
+
+    private static void parseSheet(InputStream sheet, SheetHandler handler) throws DataServiceFault, IOException,
+            SAXException, ParserConfigurationException {
+        XMLReader parser = XMLHelper.newXMLReader();
+        parser.setContentHandler(handler);
+        try {
+            parser.parse(new InputSource(sheet));
+        } catch (StopParsingException e) {
+            if (e.fault != null) {
+                throw e.fault;
+            }
+        }
+    }
+
+    /**
+     * Thrown to stop parsing the sheet, when the rest of the rows are not required or the row handler fails.
+     */
+    private static class StopParsingException extends SAXException {
+
+        private static final long serialVersionUID = 1L;
+
+        private final DataServiceFault fault;
+
+        StopParsingException(DataServiceFault fault) {
+            this.fault = fault;
+        }
+    }
+
+    private static class SheetHandler extends DefaultHandler {
+
+        private final ReadOnlySharedStringsTable sharedStrings;
+
+        private final RowHandler handler;
+
+        private final List<String> rowValues = new ArrayList<String>();
+
+        private final StringBuilder text = new StringBuilder();
+
+        private int nextRow;
+
+        private int rowIndex = -1;
+
+        private int columnIndex;
+
+        private String cellType;
+
+        private boolean hasFormula;
+
+        private boolean hasValue;
+
+        private boolean collectText;
+
+        SheetHandler(ReadOnlySharedStringsTable sharedStrings, int startRow, RowHandler handler) {
+            this.sharedStrings = sharedStrings;
+            this.nextRow = startRow;
+            this.handler = handler;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            if ("row".equals(localName)) {
+                String ref = attributes.getValue("r");
+                this.rowIndex = ref != null ? Integer.parseInt(ref) - 1 : this.rowIndex + 1;
+                this.columnIndex = -1;
+                this.rowValues.clear();
+            } else if ("c".equals(localName)) {
+                String ref = attributes.getValue("r");
+                this.columnIndex = ref != null ? new CellReference(ref).getCol() : this.columnIndex + 1;
+                this.cellType = attributes.getValue("t");
+                this.hasFormula = false;
+                this.hasValue = false;
+                this.text.setLength(0);
+            } else if ("f".equals(localName)) {
+                this.hasFormula = true;
+            } else if ("v".equals(localName) || "t".equals(localName)) {
+                /* 't' elements are the text of inline strings */
+                this.hasValue = true;
+                this.collectText = true;
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (this.collectText) {
+                this.text.append(ch, start, length);
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) throws SAXException {
+            if ("v".equals(localName) || "t".equals(localName)) {
+                this.collectText = false;
+            } else if ("c".equals(localName)) {
+                if (this.rowIndex >= this.nextRow) {
+                    while (this.rowValues.size() <= this.columnIndex) {
+                        this.rowValues.add("");
+                    }
+                    this.rowValues.set(this.columnIndex, this.extractCellValue());
+                }
+            } else if ("row".equals(localName)) {
+                if (this.rowIndex < this.nextRow) {
+                    return;
+                }
+                /* a missing or an empty row ends the data */
+                if (this.rowIndex > this.nextRow || this.rowValues.isEmpty()) {
+                    throw new StopParsingException(null);
+                }
+                this.nextRow++;
+                try {
+                    if (!this.handler.handleRow(this.rowValues.toArray(new String[this.rowValues.size()]))) {
+                        throw new StopParsingException(null);
+                    }
+                } catch (DataServiceFault e) {
+                    throw new StopParsingException(e);
+                }
+            }
+        }
+
+        private String extractCellValue() {
+            if (this.hasFormula) {
+                return "{formula}";
+            }
+            String value = this.text.toString();
+            if ("s".equals(this.cellType)) {
+                return this.hasValue ? this.sharedStrings.getItemAt(Integer.parseInt(value.trim())).getString() : "";
+            } else if ("inlineStr".equals(this.cellType) || "str".equals(this.cellType)) {
+                return value;
+            } else if ("b".equals(this.cellType)) {
+                return String.valueOf("1".equals(value.trim()));
+            } else if ("e".equals(this.cellType)) {
+                /* error cells are not extracted from POI workbooks either */
+                return null;
+            } else if (!this.hasValue || value.length() == 0) {
+                return "";
+            } else if ("d".equals(this.cellType)) {
+                return value;
+            }
+            return ExcelQuery.processNumericValue(Double.parseDouble(value));
+        }
+    }
+
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.micro.integrator.dataservices.core.description.query;
+
+import org.wso2.micro.integrator.dataservices.core.engine.DataEntry;
+import org.wso2.micro.integrator.dataservices.core.engine.ParamValue;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * This class represents a chunk of parent rows for which a nested SQL query is executed at once, instead of being
+ * executed for each parent row. The values of the parent column passed into the nested query are collected as the
+ * keys of the batch, and the nested query rows are fetched for all the keys when the nested query is first called
+ * within the chunk. The rows are mapped to the keys by the exact value of the column, hence nested queries with a
+ * string parameter are not batched.
+ */
+class NestedQueryBatch {
+
+    /**
+     * thread local variable to keep the batches of the nested queries which are being written
+     */
+    private static ThreadLocal<Map<SQLQuery, NestedQueryBatch>> activeBatches =
+            new ThreadLocal<Map<SQLQuery, NestedQueryBatch>>() {
+                protected synchronized Map<SQLQuery, NestedQueryBatch> initialValue() {
+                    return new HashMap<SQLQuery, NestedQueryBatch>();
+                }
+            };
+
+    private final SQLQuery query;
+
+    private final Set<String> keys = new LinkedHashSet<String>();
+
+    private Map<String, List<DataEntry>> entries;
+
+    private boolean disabled;
+
+    private NestedQueryBatch previous;
+
+    NestedQueryBatch(SQLQuery query, String column, boolean caseSensitive, List<DataEntry> parentEntries) {
+        this.query = query;
+        for (DataEntry parentEntry : parentEntries) {
+            for (String name : parentEntry.getNames()) {
+                /* columns are looked up the same way as the call-query parameters are */
+                if (column.equals(caseSensitive ? name : name.toLowerCase())) {
+                    ParamValue value = parentEntry.getValue(name);
+                    if (value != null && value.getValueType() == ParamValue.PARAM_VALUE_SCALAR
+                            && value.getScalarValue() != null) {
+                        this.keys.add(value.getScalarValue());
+                    }
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the batch of the given nested query which is being written in the current thread, if there is any.
+     */
+    static NestedQueryBatch get(SQLQuery query) {
+        return activeBatches.get().get(query);
+    }
+
+    void register() {
+        this.previous = activeBatches.get().put(this.query, this);
+    }
+
+    void unregister() {
+        Map<SQLQuery, NestedQueryBatch> batches = activeBatches.get();
+        if (batches.get(this.query) != this) {
+            return;
+        }
+        if (this.previous != null) {
+            batches.put(this.query, this.previous);
+        } else {
+            batches.remove(this.query);
+        }
+        if (batches.isEmpty()) {
+            activeBatches.remove();
+        }
+    }
+
+    Set<String> getKeys() {
+        return keys;
+    }
+
+    boolean containsKey(String key) {
+        return !this.disabled && key != null && this.keys.contains(key);
+    }
+
+    boolean isFetched() {
+        return this.entries != null;
+    }
+
+    void setEntries(Map<String, List<DataEntry>> entries) {
+        this.entries = entries;
+    }
+
+    /**
+     * Returns the nested query rows of the given key, or null if the rows could not be fetched in the batch.
+     */
+    List<DataEntry> getEntries(String key) {
+        if (this.disabled || this.entries == null) {
+            return null;
+        }
+        List<DataEntry> result = this.entries.get(key);
+        return result != null ? result : Collections.<DataEntry>emptyList();
+    }
+
+    /**
+     * Falls back to executing the nested query for each parent row.
+     */
+    void disable() {
+        this.disabled = true;
+    }
+
+}
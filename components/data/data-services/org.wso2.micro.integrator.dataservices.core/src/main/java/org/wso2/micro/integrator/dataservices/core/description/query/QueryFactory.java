@@ -997,6 +997,7 @@ public class QueryFactory {
 	    /* create the XML mapping from the JSON mapping */
 		resultEl = getJSONResultFromText(resultEl.getText());
 		result.setResultType(ResultTypes.XML);
+		result.setJsonOutput(true);
 		/* process the XML mapping */
 		populateXMLResult(result, dataService, resultEl, namespace, isCaseSensitive);
 	}
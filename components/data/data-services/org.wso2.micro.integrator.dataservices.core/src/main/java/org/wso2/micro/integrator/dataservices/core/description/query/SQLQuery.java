@@ -26,7 +26,9 @@ import org.apache.commons.logging.LogFactory;
 import org.wso2.micro.integrator.dataservices.common.DBConstants;
 import org.wso2.micro.integrator.dataservices.common.DBConstants.AdvancedSQLProps;
 import org.wso2.micro.integrator.dataservices.common.DBConstants.AutoCommit;
+import org.wso2.micro.integrator.dataservices.common.DBConstants.DBSFields;
 import org.wso2.micro.integrator.dataservices.common.DBConstants.FaultCodes;
+import org.wso2.micro.integrator.dataservices.common.DBConstants.QueryParamTypes;
 import org.wso2.micro.integrator.dataservices.common.DBConstants.QueryTypes;
 import org.wso2.micro.integrator.dataservices.common.DBConstants.RDBMS;
 import org.wso2.micro.integrator.dataservices.core.DBUtils;
@@ -38,12 +40,16 @@ import org.wso2.micro.integrator.dataservices.core.description.event.EventTrigge
 import org.wso2.micro.integrator.dataservices.core.dispatch.BatchDataServiceRequest;
 import org.wso2.micro.integrator.dataservices.core.dispatch.BatchRequestParticipant;
 import org.wso2.micro.integrator.dataservices.core.dispatch.DispatchStatus;
+import org.wso2.micro.integrator.dataservices.core.engine.CallQuery;
+import org.wso2.micro.integrator.dataservices.core.engine.CallQuery.WithParam;
 import org.wso2.micro.integrator.dataservices.core.engine.DataEntry;
 import org.wso2.micro.integrator.dataservices.core.engine.DataService;
 import org.wso2.micro.integrator.dataservices.core.engine.InternalParam;
 import org.wso2.micro.integrator.dataservices.core.engine.InternalParamCollection;
+import org.wso2.micro.integrator.dataservices.core.engine.OutputElementGroup;
 import org.wso2.micro.integrator.dataservices.core.engine.ParamValue;
 import org.wso2.micro.integrator.dataservices.core.engine.QueryParam;
+import org.wso2.micro.integrator.dataservices.core.engine.RequestResultCache;
 import org.wso2.micro.integrator.dataservices.core.engine.Result;
 import org.wso2.micro.integrator.dataservices.core.engine.ResultSetWrapper;
 import org.wso2.micro.integrator.dataservices.core.sqlparser.LexicalConstants;
@@ -79,10 +85,15 @@ import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.TimeZone;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * This class represents an SQL query in a data service.
@@ -153,6 +164,57 @@ public class SQLQuery extends ExpressionQuery implements BatchRequestParticipant
 
     private QueryType sqlQueryType;
 
+    /**
+     * matches the single parameter of a nested query which can be executed in batches, i.e. "column = ?"
+     */
+    private static final Pattern NESTED_QUERY_BATCH_PARAM = Pattern.compile("([\\w.\"`\\[\\]]+)\\s*=\\s*\\?");
+
+    /**
+     * constructs which change the meaning of the query when the parameter is compared against a list of values
+     */
+    private static final Pattern NESTED_QUERY_BATCH_UNSUPPORTED = Pattern.compile(
+            "\\b(OR|LIMIT|TOP|FETCH|OFFSET|ROWNUM|UNION|INTERSECT|EXCEPT|MINUS)\\b", Pattern.CASE_INSENSITIVE);
+
+    /**
+     * parameter types which cannot be batched, since the rows are mapped back to the parent rows by the exact
+     * value of the parameter, while the database may compare them differently, e.g. ignoring the case or the
+     * trailing spaces of strings
+     */
+    private static final Set<String> NESTED_QUERY_BATCH_UNSUPPORTED_TYPES = new HashSet<String>(Arrays.asList(
+            DBConstants.DataTypes.STRING, DBConstants.DataTypes.CHAR, DBConstants.DataTypes.VARCHAR,
+            DBConstants.DataTypes.NVARCHAR, DBConstants.DataTypes.TEXT, DBConstants.DataTypes.CLOB,
+            DBConstants.DataTypes.UUID, DBConstants.DataTypes.INETADDRESS, DBConstants.DataTypes.QUERY_STRING));
+
+    private static final Pattern SELECT_KEYWORD = Pattern.compile("\\bSELECT\\b", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern WHERE_KEYWORD = Pattern.compile("\\bWHERE\\b", Pattern.CASE_INSENSITIVE);
+
+    /**
+     * matches the table changed by an insert, update, delete or merge statement
+     */
+    private static final Pattern MODIFIED_TABLE = Pattern.compile(
+            "^\\s*(?:UPDATE|INSERT\\s+INTO|DELETE\\s+FROM|MERGE\\s+INTO)\\s+([\\w.\"`\\[\\]]+)",
+            Pattern.CASE_INSENSITIVE);
+
+    /**
+     * lower case name of the table changed by this query, used to clear the result caches, null if not known
+     */
+    private String modifiedTable;
+
+    private int nestedQueryBatchSize;
+
+    /**
+     * the query split around the "column = ?" condition, set only if this query can be executed in batches
+     */
+    private String[] nestedQueryBatchSQL;
+
+    private String nestedQueryBatchColumn;
+
+    /**
+     * the nested queries of the result, which are executed in batches
+     */
+    private volatile List<CallQuery> batchedCallQueries;
+
     /**
      * thread local variable to keep the ordinal of the ref cursor if there is any
      */
@@ -231,6 +293,12 @@ public class SQLQuery extends ExpressionQuery implements BatchRequestParticipant
          * conditions
          */
         this.resultOnlyOutParams = this.calculateResultOnlyOutParams();
+        /* check if this query can be executed in batches when it is used as a nested query */
+        this.initNestedQueryBatch();
+        Matcher modifiedTableMatcher = MODIFIED_TABLE.matcher(this.getQuery());
+        if (modifiedTableMatcher.find()) {
+            this.modifiedTable = RequestResultCache.normalizeTableName(modifiedTableMatcher.group(1));
+        }
         /* set the optimal JDBC result set fetch size for mysql */
         if (DBUtils.getChangeFetchSizeForRDBMS(this.getConfig().getProperty(RDBMS.URL))) {
             this.fetchSizeProperty = new FetchSizeProperty(true, Integer.MIN_VALUE);
@@ -535,6 +603,73 @@ public class SQLQuery extends ExpressionQuery implements BatchRequestParticipant
         if (!DBUtils.isEmptyString(forceJDBCBatchRequests)) {
             this.forceJDBCBatchReqs = Boolean.parseBoolean(forceJDBCBatchRequests);
         }
+        /* nested query batch size */
+        String nestedQueryBatchSizeProp = props.get(RDBMS.NESTED_QUERY_BATCH_SIZE);
+        if (!DBUtils.isEmptyString(nestedQueryBatchSizeProp)) {
+            nestedQueryBatchSizeProp = nestedQueryBatchSizeProp.trim();
+            try {
+                this.nestedQueryBatchSize = Integer.parseInt(nestedQueryBatchSizeProp);
+                if (this.nestedQueryBatchSize <= 0) {
+                    throw new DataServiceFault("Invalid nested query batch size: " + nestedQueryBatchSizeProp
+                            + ", nested query batch size should be a positive integer");
+                }
+            } catch (NumberFormatException e) {
+                throw new DataServiceFault(e, "Invalid nested query batch size: " + nestedQueryBatchSizeProp
+                        + ", nested query batch size should be a positive integer");
+            }
+        }
+    }
+
+    /**
+     * Checks if this query can be executed for a batch of parent rows when it is used as a nested query. This is
+     * only possible for select queries having a single scalar parameter, which is compared to a column using
+     * "column = ?", so that the parameter can be replaced with "column IN (?, ?, ..)" and the rows can be mapped
+     * back to the parent rows using the column. String parameters are not batched, since the database may match
+     * a row to several parent rows, e.g. with a case insensitive collation, while it is mapped to a single one.
+     */
+    private void initNestedQueryBatch() {
+        this.nestedQueryBatchSQL = null;
+        this.nestedQueryBatchColumn = null;
+        if (this.nestedQueryBatchSize <= 0) {
+            return;
+        }
+        String query = this.getQuery();
+        List<QueryParam> queryParams = this.getQueryParams();
+        Matcher matcher = NESTED_QUERY_BATCH_PARAM.matcher(query);
+        boolean supported = this.queryType == SQLQuery.DS_QUERY_TYPE_NORMAL && this.hasResult()
+                && !this.isReturnGeneratedKeys() && !this.isReturnUpdatedRowCount() && !this.isHasMaxRows()
+                && this.getParamCount() == 1 && queryParams.size() == 1
+                && QueryTypes.IN.equals(queryParams.get(0).getType())
+                && QueryParamTypes.SCALAR.equals(queryParams.get(0).getParamType())
+                && queryParams.get(0).getSqlType() != null
+                && !NESTED_QUERY_BATCH_UNSUPPORTED_TYPES.contains(queryParams.get(0).getSqlType())
+                && query.indexOf('?') == query.lastIndexOf('?') && matcher.find()
+                && WHERE_KEYWORD.matcher(query.substring(0, matcher.start())).find()
+                && !NESTED_QUERY_BATCH_UNSUPPORTED.matcher(query).find();
+        if (supported) {
+            Matcher selectMatcher = SELECT_KEYWORD.matcher(query);
+            supported = selectMatcher.find() && !selectMatcher.find();
+        }
+        if (!supported) {
+            log.warn("Query '" + this.getQueryId() + "' cannot be executed in batches as a nested query, "
+                    + "it should be a select query with a single scalar parameter, which is not a string, used as "
+                    + "'column = ?'. The '"
+                    + RDBMS.NESTED_QUERY_BATCH_SIZE + "' property is ignored.");
+            return;
+        }
+        String column = matcher.group(1);
+        this.nestedQueryBatchSQL = new String[] { query.substring(0, matcher.start()) + column + " IN (",
+                ")" + query.substring(matcher.end()) };
+        column = column.substring(column.lastIndexOf('.') + 1);
+        this.nestedQueryBatchColumn = column.replaceAll("[\"`\\[\\]]", "");
+    }
+
+    /**
+     * Returns the number of parent rows for which this query is executed at once when it is used as a nested
+     * query, or zero if the query is executed for each parent row.
+     */
+    public int getNestedQueryBatchSize() {
+        return this.nestedQueryBatchSQL != null ? this.nestedQueryBatchSize : 0;
     }
 
     public boolean isHasFetchDirection() {
@@ -736,8 +871,9 @@ public class SQLQuery extends ExpressionQuery implements BatchRequestParticipant
         DataEntry dataEntry;
         try {
             krs = stmt.getGeneratedKeys();
+            RowCodec rowCodec = this.createRowCodec(krs);
             while (krs.next()) {
-                dataEntry = this.getDataEntryFromRS(new ResultSetWrapper(krs));
+                dataEntry = rowCodec.read();
                 this.writeResultEntry(xmlWriter, dataEntry, params, queryLevel);
             }
         } finally {
@@ -791,10 +927,12 @@ public class SQLQuery extends ExpressionQuery implements BatchRequestParticipant
                     /* if this is the last one, execute the full batch */
                     if (this.isJDBCLastBatchRequest()) {
                         stmt.executeBatch();
+                        this.getDataService().invalidateResultCaches(this.modifiedTable);
                     }
                 } else {
                     /* normal update operation */
                     stmt.executeUpdate();
+                    this.getDataService().invalidateResultCaches(this.modifiedTable);
                 }
             } else {
                 rs = stmt.executeQuery();
@@ -846,9 +984,28 @@ public class SQLQuery extends ExpressionQuery implements BatchRequestParticipant
                 }
             } else {
                 DataEntry dataEntry;
-                while (rs.next()) {
-                    dataEntry = this.getDataEntryFromRS(new ResultSetWrapper(rs));
-                    this.writeResultEntry(xmlWriter, dataEntry, params, queryLevel);
+                RowCodec rowCodec = this.createRowCodec(rs);
+                List<CallQuery> callQueries = this.getBatchedCallQueries();
+                if (callQueries.isEmpty()) {
+                    while (rs.next()) {
+                        dataEntry = rowCodec.read();
+                        this.writeResultEntry(xmlWriter, dataEntry, params, queryLevel);
+                    }
+                } else {
+                    /* buffer the rows, so that the nested queries are executed once for each chunk */
+                    int chunkSize = Integer.MAX_VALUE;
+                    for (CallQuery callQuery : callQueries) {
+                        chunkSize = Math.min(chunkSize, ((SQLQuery) callQuery.getQuery()).getNestedQueryBatchSize());
+                    }
+                    List<DataEntry> chunk = new ArrayList<DataEntry>(chunkSize);
+                    while (rs.next()) {
+                        chunk.add(rowCodec.read());
+                        if (chunk.size() == chunkSize) {
+                            this.writeResultEntries(xmlWriter, chunk, callQueries, params, queryLevel);
+                            chunk.clear();
+                        }
+                    }
+                    this.writeResultEntries(xmlWriter, chunk, callQueries, params, queryLevel);
                 }
             }
         } catch (Throwable e) {
@@ -860,6 +1017,184 @@ public class SQLQuery extends ExpressionQuery implements BatchRequestParticipant
         }
     }
 
+    /**
+     * Writes the given result entries, while the nested queries which are executed in batches are fetched once
+     * for all the entries.
+     */
+    private void writeResultEntries(XMLStreamWriter xmlWriter, List<DataEntry> entries,
+                                    List<CallQuery> callQueries, InternalParamCollection params,
+                                    int queryLevel) throws DataServiceFault {
+        if (entries.isEmpty()) {
+            return;
+        }
+        boolean caseSensitive = this.getConfig().isResultSetFieldsCaseSensitive();
+        List<NestedQueryBatch> batches = new ArrayList<NestedQueryBatch>(callQueries.size());
+        for (CallQuery callQuery : callQueries) {
+            WithParam withParam = callQuery.getWithParams().values().iterator().next();
+            batches.add(new NestedQueryBatch((SQLQuery) callQuery.getQuery(), withParam.getParam(),
+                                             caseSensitive, entries));
+        }
+        try {
+            for (NestedQueryBatch batch : batches) {
+                batch.register();
+            }
+            for (DataEntry dataEntry : entries) {
+                this.writeResultEntry(xmlWriter, dataEntry, params, queryLevel);
+            }
+        } finally {
+            for (int i = batches.size() - 1; i >= 0; i--) {
+                batches.get(i).unregister();
+            }
+        }
+    }
+
+    /**
+     * Returns the nested queries of the result, which can be executed for a batch of rows. These are the
+     * call-queries to SQL queries supporting batches, which are called with a single column of the row.
+     */
+    private List<CallQuery> getBatchedCallQueries() {
+        List<CallQuery> callQueries = this.batchedCallQueries;
+        if (callQueries == null) {
+            callQueries = new ArrayList<CallQuery>();
+            if (this.hasResult() && this.getResult().getDefaultElementGroup() != null) {
+                Set<Query> duplicateQueries = new HashSet<Query>();
+                this.collectBatchedCallQueries(this.getResult().getDefaultElementGroup(), callQueries,
+                                               duplicateQueries);
+                /* a query can only be batched for a single column of the row */
+                Iterator<CallQuery> itr = callQueries.iterator();
+                while (itr.hasNext()) {
+                    if (duplicateQueries.contains(itr.next().getQuery())) {
+                        itr.remove();
+                    }
+                }
+            }
+            this.batchedCallQueries = callQueries;
+        }
+        return callQueries;
+    }
+
+    private void collectBatchedCallQueries(OutputElementGroup elementGroup, List<CallQuery> callQueries,
+                                           Set<Query> duplicateQueries) {
+        for (CallQuery callQuery : elementGroup.getCallQueryEntries()) {
+            if (!(callQuery.getQuery() instanceof SQLQuery)) {
+                continue;
+            }
+            SQLQuery query = (SQLQuery) callQuery.getQuery();
+            if (query.getNestedQueryBatchSize() <= 0 || callQuery.getWithParams().size() != 1) {
+                continue;
+            }
+            WithParam withParam = callQuery.getWithParams().values().iterator().next();
+            if (!DBSFields.COLUMN.equals(withParam.getParamType())
+                    || !query.getQueryParams().get(0).getName().equals(withParam.getName())) {
+                continue;
+            }
+            for (CallQuery existing : callQueries) {
+                if (existing.getQuery() == query) {
+                    duplicateQueries.add(query);
+                }
+            }
+            callQueries.add(callQuery);
+        }
+        for (OutputElementGroup childGroup : elementGroup.getOutputElementGroupEntries()) {
+            this.collectBatchedCallQueries(childGroup, callQueries, duplicateQueries);
+        }
+    }
+
+    /**
+     * Returns the rows of this query for the current parameter if they are fetched within a batch of the parent
+     * rows, or null if the query has to be executed for the current parameter.
+     */
+    private List<DataEntry> getNestedQueryBatchEntries(InternalParamCollection params,
+                                                       int queryLevel) throws DataServiceFault {
+        if (this.nestedQueryBatchSQL == null) {
+            return null;
+        }
+        NestedQueryBatch batch = NestedQueryBatch.get(this);
+        InternalParam param = params.getParam(1);
+        if (batch == null || param == null || param.getValue() == null
+                || param.getValue().getValueType() != ParamValue.PARAM_VALUE_SCALAR
+                || !batch.containsKey(param.getValue().getScalarValue())) {
+            return null;
+        }
+        if (!batch.isFetched()) {
+            this.fetchNestedQueryBatch(batch, param, queryLevel);
+        }
+        return batch.getEntries(param.getValue().getScalarValue());
+    }
+
+    /**
+     * Executes this query for all the keys of the given batch at once, and maps the rows to the keys using the
+     * column compared with the parameter. The batch is disabled, i.e. the query is executed for each parent row,
+     * if the column is not in the result or if the rows cannot be mapped back to the keys.
+     */
+    private void fetchNestedQueryBatch(NestedQueryBatch batch, InternalParam param,
+                                       int queryLevel) throws DataServiceFault {
+        Set<String> keys = batch.getKeys();
+        StringBuilder sql = new StringBuilder(this.nestedQueryBatchSQL[0]);
+        for (int i = 0; i < keys.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        sql.append(this.nestedQueryBatchSQL[1]);
+        Connection conn = this.createConnection(queryLevel);
+        PreparedStatement stmt = null;
+        ResultSet rs = null;
+        try {
+            if (log.isDebugEnabled()) {
+                log.debug("Starting DB calls: for \"" + sql + "\" with " + keys.size() + " batched params, ThreadID - "
+                                  + Thread.currentThread().getId());
+            }
+            stmt = conn.prepareStatement(sql.toString());
+            if (this.isHasQueryTimeout()) {
+                stmt.setQueryTimeout(this.getQueryTimeout());
+            }
+            int index = 0;
+            for (String key : keys) {
+                this.setParamInPreparedStatement(stmt, param, key, SQLQuery.DS_QUERY_TYPE_NORMAL, index, conn);
+                index++;
+            }
+            rs = stmt.executeQuery();
+            RowCodec rowCodec = this.createRowCodec(rs);
+            String column = rowCodec.getColumnName(this.nestedQueryBatchColumn);
+            if (column == null) {
+                log.warn("Column '" + this.nestedQueryBatchColumn + "' is not in the result of query '"
+                                 + this.getQueryId() + "', the query is executed for each parent row.");
+                batch.disable();
+                return;
+            }
+            Map<String, List<DataEntry>> entries = new HashMap<String, List<DataEntry>>();
+            DataEntry dataEntry;
+            ParamValue value;
+            List<DataEntry> keyEntries;
+            while (rs.next()) {
+                dataEntry = rowCodec.read();
+                value = dataEntry.getValue(column);
+                if (value == null || !keys.contains(value.getScalarValue())) {
+                    /* the value is not formatted the same way as the parameter, e.g. different number scales */
+                    log.warn("Unable to map the rows of query '" + this.getQueryId() + "' to the parent rows using "
+                                     + "column '" + column + "', the query is executed for each parent row.");
+                    batch.disable();
+                    return;
+                }
+                keyEntries = entries.get(value.getScalarValue());
+                if (keyEntries == null) {
+                    keyEntries = new ArrayList<DataEntry>();
+                    entries.put(value.getScalarValue(), keyEntries);
+                }
+                keyEntries.add(dataEntry);
+            }
+            batch.setEntries(entries);
+        } catch (SQLException | NumberFormatException e) {
+            log.warn("Error in executing query '" + this.getQueryId() + "' for a batch of parent rows, the query is "
+                             + "executed for each parent row: " + e.getMessage(), e);
+            batch.disable();
+        } finally {
+            if (log.isDebugEnabled()) {
+                log.debug("Stopping DB calls: ThreadID - " + Thread.currentThread().getId());
+            }
+            this.releaseResources(rs, stmt);
+        }
+    }
+
     /**
      * This method write generate elements like, update_row_count,generated_keys to the response
      *
@@ -903,6 +1238,69 @@ public class SQLQuery extends ExpressionQuery implements BatchRequestParticipant
 
     }
 
+    /**
+     * This class contains the rows of a nested query, which are already fetched within a batch of parent rows.
+     */
+    private class NestedQueryResultInfo {
+
+        private List<DataEntry> entries;
+
+        public NestedQueryResultInfo(List<DataEntry> entries) {
+            this.entries = entries;
+        }
+
+        public List<DataEntry> getEntries() {
+            return entries;
+        }
+
+    }
+
+    /**
+     * This class extracts the rows of a result set into data entries. The column labels and types are read once
+     * from the result set meta data, so that only the column values are read for each row.
+     */
+    private class RowCodec {
+
+        private final ResultSet resultSet;
+
+        private final String[] columnNames;
+
+        private final int[] columnTypes;
+
+        public RowCodec(ResultSet resultSet) throws SQLException {
+            this.resultSet = resultSet;
+            ResultSetMetaData metaData = resultSet.getMetaData();
+            int columnCount = metaData.getColumnCount();
+            boolean useColumnNumbers = isUsingColumnNumbers();
+            this.columnNames = new String[columnCount];
+            this.columnTypes = new int[columnCount];
+            for (int i = 1; i <= columnCount; i++) {
+                this.columnNames[i - 1] = useColumnNumbers ? Integer.toString(i) : metaData.getColumnLabel(i);
+                this.columnTypes[i - 1] = metaData.getColumnType(i);
+            }
+        }
+
+        /**
+         * Returns the label of the given column, ignoring the case, or null if the column is not in the result set.
+         */
+        public String getColumnName(String column) {
+            for (String columnName : this.columnNames) {
+                if (columnName.equalsIgnoreCase(column)) {
+                    return columnName;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Extracts the current row of the result set.
+         */
+        public DataEntry read() throws SQLException {
+            return getDataEntryFromRS(this.resultSet, this.columnNames, this.columnTypes);
+        }
+
+    }
+
     private boolean isRSClosed(ResultSet rs) throws SQLException {
         try {
             return rs.isClosed();
@@ -939,9 +1337,12 @@ public class SQLQuery extends ExpressionQuery implements BatchRequestParticipant
                     /* if this is the last one, execute the full batch */
                     if (this.isJDBCLastBatchRequest()) {
                         stmt.executeBatch();
+                        /* the tables changed by a stored procedure are not known */
+                        this.getDataService().invalidateResultCaches(null);
                     }
                 } else {
                     stmt.executeUpdate();
+                    this.getDataService().invalidateResultCaches(null);
                 }
             } else {
                 /*
@@ -1021,8 +1422,9 @@ public class SQLQuery extends ExpressionQuery implements BatchRequestParticipant
                     } else {
                         /* do-while loop since, 'rs.next()' has already been called once */
                         DataEntry dataEntry;
+                        RowCodec rowCodec = this.createRowCodec(rs);
                         do {
-                            dataEntry = this.getDataEntryFromRS(new ResultSetWrapper(rs));
+                            dataEntry = rowCodec.read();
                             this.writeResultEntry(xmlWriter, dataEntry, params, queryLevel);
                         } while (rs.next());
                     }
@@ -1068,8 +1470,9 @@ public class SQLQuery extends ExpressionQuery implements BatchRequestParticipant
                 return entries;
             }
         }
+        RowCodec rowCodec = this.createRowCodec(rs);
         do {
-            entries.add(this.getDataEntryFromRS(new ResultSetWrapper(rs)));
+            entries.add(rowCodec.read());
         } while (rs.next());
         return entries;
     }
@@ -1136,10 +1539,17 @@ public class SQLQuery extends ExpressionQuery implements BatchRequestParticipant
         return dataEntry;
     }
 
-    private DataEntry getDataEntryFromRS(ResultSet rs) throws SQLException {
-        DataEntry dataEntry = new DataEntry();
-        ResultSetMetaData metaData = rs.getMetaData();
-        int columnCount = metaData.getColumnCount();
+    /**
+     * Creates a row codec for the given result set, which reads the column labels and types once from the result set
+     * meta data instead of reading them again for each row.
+     */
+    private RowCodec createRowCodec(ResultSet rs) throws SQLException {
+        return new RowCodec(new ResultSetWrapper(rs));
+    }
+
+    private DataEntry getDataEntryFromRS(ResultSet rs, String[] columnNames, int[] columnTypes)
+            throws SQLException {
+        DataEntry dataEntry = new DataEntry(columnNames.length);
         int columnType;
         String value;
         ParamValue paramValue;
@@ -1149,10 +1559,9 @@ public class SQLQuery extends ExpressionQuery implements BatchRequestParticipant
         Blob sqlBlob;
         BigDecimal bigDecimal;
         InputStream binInStream;
-        boolean useColumnNumbers = this.isUsingColumnNumbers();
-        for (int i = 1; i <= columnCount; i++) {
+        for (int i = 1; i <= columnNames.length; i++) {
             /* retrieve values according to the column type */
-            columnType = metaData.getColumnType(i);
+            columnType = columnTypes[i - 1];
             switch (columnType) {
             /* handle string types */
             case Types.VARCHAR:
@@ -1295,8 +1704,7 @@ public class SQLQuery extends ExpressionQuery implements BatchRequestParticipant
                 paramValue = new ParamValue(value);
                 break;
             }
-            dataEntry.addValue(useColumnNumbers ? Integer.toString(i) : metaData.getColumnLabel(i),
-                    paramValue);
+            dataEntry.addValue(columnNames[i - 1], paramValue);
         }
         return dataEntry;
     }
@@ -1408,10 +1816,6 @@ public class SQLQuery extends ExpressionQuery implements BatchRequestParticipant
                 query = generateSQLupdateQuery(params, query);
             }
 
-            String paramsStr1 = "";
-            for (int i = 1; i <= this.getParamCount(); i++) {
-                paramsStr1 = paramsStr1 + params.getParam(i) + ",";
-            }
             /*
              * lets see first if there's already a batch prepared statement
              * created
@@ -1428,9 +1832,9 @@ public class SQLQuery extends ExpressionQuery implements BatchRequestParticipant
                 currentParamCount = (Integer) result[1];
                 String processedSQL = this.createProcessedQuery(dynamicSQL, params, currentParamCount);
                 if (log.isDebugEnabled()) {
-                    String paramsStr = "";
+                    StringBuilder paramsStr = new StringBuilder();
                     for (int i = 1; i <= this.getParamCount(); i++) {
-                        paramsStr = paramsStr + params.getParam(i) + ",";
+                        paramsStr.append(params.getParam(i)).append(",");
                     }
                     log.debug("Starting DB calls: for \"" + processedSQL + "\" with params - " + paramsStr +
                               ", ThreadID - " + Thread.currentThread().getId());
@@ -2378,6 +2782,10 @@ public class SQLQuery extends ExpressionQuery implements BatchRequestParticipant
             throws DataServiceFault {
         int type = this.getQueryType();
         if (type == SQLQuery.DS_QUERY_TYPE_NORMAL) {
+            List<DataEntry> batchedEntries = this.getNestedQueryBatchEntries(params, queryLevel);
+            if (batchedEntries != null) {
+                return new NestedQueryResultInfo(batchedEntries);
+            }
             return this.processPreNormalQuery(params, queryLevel);
         } else if (type == SQLQuery.DS_QUERY_TYPE_STORED_PROC) {
             return this.processPreStoredProcQuery(params, queryLevel);
@@ -2389,7 +2797,10 @@ public class SQLQuery extends ExpressionQuery implements BatchRequestParticipant
     public void runPostQuery(Object result, XMLStreamWriter xmlWriter, InternalParamCollection params, int queryLevel)
             throws DataServiceFault {
         int type = this.getQueryType();
-        if (type == SQLQuery.DS_QUERY_TYPE_NORMAL) {
+        if (type == SQLQuery.DS_QUERY_TYPE_NORMAL && result instanceof NestedQueryResultInfo) {
+            this.writeResultEntries(xmlWriter, ((NestedQueryResultInfo) result).getEntries(),
+                                    this.getBatchedCallQueries(), params, queryLevel);
+        } else if (type == SQLQuery.DS_QUERY_TYPE_NORMAL) {
             this.processPostNormalQuery(result, xmlWriter, params, queryLevel);
         } else if (type == SQLQuery.DS_QUERY_TYPE_STORED_PROC) {
             this.processPostStoredProcQuery(result, xmlWriter, params, queryLevel);
@@ -27,6 +27,7 @@ import org.wso2.micro.integrator.dataservices.core.DataServiceFault;
 import org.wso2.micro.integrator.dataservices.core.description.query.QueryFactory;
 import org.wso2.micro.integrator.dataservices.core.engine.CallQuery;
 import org.wso2.micro.integrator.dataservices.core.engine.DataService;
+import org.wso2.micro.integrator.dataservices.core.engine.RequestResultCache;
 
 /**
  * Factory class to create resources in a data service.
@@ -74,6 +75,12 @@ public class ResourceFactory {
 			returnReqStatus = Boolean.parseBoolean(returnReqStatusStr);
 		}
 		resource.setReturnRequestStatus(returnReqStatus);
+
+		/* result cache */
+		resource.setResultCache(RequestResultCache.createResultCache(dataService.getName(),
+				resource.getRequestName(), resEl.getAttributeValue(new QName(DBSFields.RESULT_CACHE_TIMEOUT)),
+				resEl.getAttributeValue(new QName(DBSFields.RESULT_CACHE_SIZE)),
+				resEl.getAttributeValue(new QName(DBSFields.RESULT_CACHE_TABLES))));
 		
 		return resource;
 	}
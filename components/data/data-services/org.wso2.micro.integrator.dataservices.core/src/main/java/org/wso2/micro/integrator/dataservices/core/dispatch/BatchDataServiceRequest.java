@@ -99,13 +99,19 @@ public class BatchDataServiceRequest extends DataServiceRequest {
 			DispatchStatus.setBatchRequestCount(count);
 			/* dispatch individual requests */
 			OMElement result = null;
-			for (int i = 0; i < count; i++) {
-				/* set the current batch request number in TL */
-			    DispatchStatus.setBatchRequestNumber(i);
-				/* execute/enqueue request */
-				OMElement element = requests.get(i).dispatch();
-				if (element != null && element.getFirstOMChild() != null) {
-					result = element;
+			/* execute the batch items concurrently, if enabled in the data service */
+			List<List<Integer>> chunks = ParallelRequestDispatcher.groupBatchRequests(requests);
+			if (chunks != null) {
+				result = ParallelRequestDispatcher.dispatch(requests, chunks, true);
+			} else {
+				for (int i = 0; i < count; i++) {
+					/* set the current batch request number in TL */
+				    DispatchStatus.setBatchRequestNumber(i);
+					/* execute/enqueue request */
+					OMElement element = requests.get(i).dispatch();
+					if (element != null && element.getFirstOMChild() != null) {
+						result = element;
+					}
 				}
 			}
 			/* signal that there aren't any errors */
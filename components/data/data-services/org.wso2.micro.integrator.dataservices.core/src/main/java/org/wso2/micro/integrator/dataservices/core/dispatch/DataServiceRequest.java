@@ -136,6 +136,28 @@ public abstract class DataServiceRequest {
 
 		return dsRequest;
 	}
+
+	/**
+	 * Creates a single data service request with the given parameters, without reading them from the
+	 * incoming message. The message context is only used to populate the user information.
+	 * @param dataService The data service to be invoked
+	 * @param requestName The service request name
+	 * @param params The parameters of the request
+	 * @param msgContext Current message context
+	 * @return The data service request
+	 * @throws DataServiceFault
+	 */
+	public static DataServiceRequest createDataServiceRequest(DataService dataService, String requestName,
+			Map<String, ParamValue> params, MessageContext msgContext) throws DataServiceFault {
+		DataServiceRequest dsRequest = new SingleDataServiceRequest(dataService, requestName, params);
+		/* set user information */
+		populateUserInfo(dataService, dsRequest, msgContext);
+		/* checks if this is a boxcarring session */
+		if (isBoxcarringRequest(requestName)) {
+			dsRequest = new BoxcarringDataServiceRequest(dsRequest);
+		}
+		return dsRequest;
+	}
 	
 	public DataService getDataService() {
 		return dataService;
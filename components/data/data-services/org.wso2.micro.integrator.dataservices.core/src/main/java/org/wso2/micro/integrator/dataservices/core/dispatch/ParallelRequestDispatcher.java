@@ -0,0 +1,483 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.micro.integrator.dataservices.core.dispatch;
+
+import org.apache.axiom.om.OMElement;
+import org.apache.axiom.om.impl.llom.OMSourcedElementImpl;
+import org.apache.axis2.context.MessageContext;
+import org.apache.commons.io.output.NullOutputStream;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.micro.integrator.dataservices.common.DBConstants;
+import org.wso2.micro.integrator.dataservices.core.DBUtils;
+import org.wso2.micro.integrator.dataservices.core.DataServiceConnection;
+import org.wso2.micro.integrator.dataservices.core.DataServiceFault;
+import org.wso2.micro.integrator.dataservices.core.DataServiceUser;
+import org.wso2.micro.integrator.dataservices.core.TLConnectionStore;
+import org.wso2.micro.integrator.dataservices.core.description.config.Config;
+import org.wso2.micro.integrator.dataservices.core.description.config.SQLConfig;
+import org.wso2.micro.integrator.dataservices.core.description.query.CassandraQuery;
+import org.wso2.micro.integrator.dataservices.core.description.query.Query;
+import org.wso2.micro.integrator.dataservices.core.engine.CallQuery;
+import org.wso2.micro.integrator.dataservices.core.engine.CallableRequest;
+import org.wso2.micro.integrator.dataservices.core.engine.DataService;
+import org.wso2.micro.integrator.dataservices.core.engine.OutputElementGroup;
+import org.wso2.micro.integrator.dataservices.core.engine.StaticOutputElement;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.xml.stream.XMLStreamException;
+
+/**
+ * Executes the requests of a request box or a batch request concurrently, when the data service has enabled
+ * parallel requests. The requests of a request box are grouped by the configs they use, so that requests sharing
+ * a connection are still executed in order by a single thread. The items of a batch request are split into chunks
+ * only if they do not use a transactional config, since all the items of a transactional config must be executed
+ * in order on one connection. The connections opened by the worker threads are handed back to the calling thread,
+ * hence they are committed or rolled back together as in sequential execution.
+ * <p>
+ * Requests are executed sequentially when they depend on each other through exported values, when a config
+ * takes part in distributed transactions, or when the batch items use a transactional config or are combined to
+ * a single native batch.
+ */
+public class ParallelRequestDispatcher {
+
+    private static final Log log = LogFactory.getLog(ParallelRequestDispatcher.class);
+
+    private static final int DEFAULT_POOL_SIZE = Runtime.getRuntime().availableProcessors();
+
+    private static volatile ExecutorService executor;
+
+    private ParallelRequestDispatcher() {
+    }
+
+    private static ExecutorService getExecutor() {
+        if (executor == null) {
+            synchronized (ParallelRequestDispatcher.class) {
+                if (executor == null) {
+                    int poolSize = DEFAULT_POOL_SIZE;
+                    String poolSizeStr = System.getProperty(DBConstants.PARALLEL_REQUESTS_POOL_SIZE);
+                    if (poolSizeStr != null) {
+                        try {
+                            poolSize = Math.max(1, Integer.parseInt(poolSizeStr.trim()));
+                        } catch (NumberFormatException e) {
+                            log.warn("Invalid value '" + poolSizeStr + "' for "
+                                     + DBConstants.PARALLEL_REQUESTS_POOL_SIZE + ", using the default value "
+                                     + DEFAULT_POOL_SIZE);
+                        }
+                    }
+                    ThreadPoolExecutor pool = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                            new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+                        private final AtomicInteger count = new AtomicInteger();
+
+                        @Override
+                        public Thread newThread(Runnable runnable) {
+                            Thread thread = new Thread(runnable, "dss-parallel-request-" + count.incrementAndGet());
+                            thread.setDaemon(true);
+                            return thread;
+                        }
+                    });
+                    pool.allowCoreThreadTimeOut(true);
+                    executor = pool;
+                }
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * Splits the given request box requests to groups which can be executed concurrently.
+     *
+     * @param requests the requests of the request box
+     * @return the groups of request indices, or null if the requests must be executed sequentially
+     * @throws DataServiceFault if an error occurs in inspecting the configs of the requests
+     */
+    public static List<List<Integer>> groupBoxcarringRequests(List<? extends DataServiceRequest> requests)
+            throws DataServiceFault {
+        if (requests.size() < 2 || !isParallelRequestsAllowed(requests.get(0).getDataService())) {
+            return null;
+        }
+        /* requests using a common config are put in to the same group, keeping their order */
+        Map<String, Integer> configGroups = new HashMap<String, Integer>();
+        int[] parents = new int[requests.size()];
+        for (int i = 0; i < requests.size(); i++) {
+            parents[i] = i;
+            Set<String> configIds = collectConfigIds(requests.get(i), false);
+            if (configIds == null) {
+                return null;
+            }
+            for (String configId : configIds) {
+                Integer group = configGroups.get(configId);
+                if (group == null) {
+                    configGroups.put(configId, i);
+                } else {
+                    parents[findGroup(parents, i)] = findGroup(parents, group);
+                }
+            }
+        }
+        Map<Integer, List<Integer>> groups = new LinkedHashMap<Integer, List<Integer>>();
+        for (int i = 0; i < requests.size(); i++) {
+            int group = findGroup(parents, i);
+            List<Integer> indices = groups.get(group);
+            if (indices == null) {
+                indices = new ArrayList<Integer>();
+                groups.put(group, indices);
+            }
+            indices.add(i);
+        }
+        if (groups.size() < 2) {
+            return null;
+        }
+        return new ArrayList<List<Integer>>(groups.values());
+    }
+
+    /**
+     * Splits the given batch request items to chunks which can be executed concurrently. The items are only split
+     * if they do not use a transactional config.
+     *
+     * @param requests the items of the batch request
+     * @return the chunks of request indices, or null if the items must be executed sequentially
+     * @throws DataServiceFault if an error occurs in inspecting the configs of the requests
+     */
+    public static List<List<Integer>> groupBatchRequests(List<? extends DataServiceRequest> requests)
+            throws DataServiceFault {
+        /* a batch request within a request box is already part of the request box execution */
+        if (requests.size() < 2 || DispatchStatus.isBoxcarringRequest()
+                || !isParallelRequestsAllowed(requests.get(0).getDataService())
+                || collectConfigIds(requests.get(0), true) == null) {
+            return null;
+        }
+        int chunkCount = Math.min(requests.size(), ((ThreadPoolExecutor) getExecutor()).getMaximumPoolSize() + 1);
+        if (chunkCount < 2) {
+            return null;
+        }
+        List<List<Integer>> chunks = new ArrayList<List<Integer>>(chunkCount);
+        int chunkSize = (requests.size() + chunkCount - 1) / chunkCount;
+        for (int start = 0; start < requests.size(); start += chunkSize) {
+            List<Integer> chunk = new ArrayList<Integer>(chunkSize);
+            for (int i = start; i < Math.min(start + chunkSize, requests.size()); i++) {
+                chunk.add(i);
+            }
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    private static boolean isParallelRequestsAllowed(DataService dataService) {
+        return dataService.isParallelRequestsEnabled() && !dataService.isInDTX();
+    }
+
+    private static int findGroup(int[] parents, int index) {
+        while (parents[index] != index) {
+            parents[index] = parents[parents[index]];
+            index = parents[index];
+        }
+        return index;
+    }
+
+    /**
+     * Returns the ids of the configs used by the given request, or null if the request cannot be executed
+     * concurrently with other requests.
+     */
+    private static Set<String> collectConfigIds(DataServiceRequest request, boolean batchRequest)
+            throws DataServiceFault {
+        DataService dataService = request.getDataService();
+        CallableRequest callableRequest = dataService.getCallableRequest(request.getRequestName());
+        if (callableRequest == null || callableRequest.getCallQuery() == null) {
+            return null;
+        }
+        Set<String> configIds = new HashSet<String>();
+        if (!collectConfigIds(dataService, callableRequest.getCallQuery(), batchRequest, configIds,
+                              new HashSet<Query>())) {
+            return null;
+        }
+        return configIds;
+    }
+
+    private static boolean collectConfigIds(DataService dataService, CallQuery callQuery, boolean batchRequest,
+                                            Set<String> configIds, Set<Query> visitedQueries)
+            throws DataServiceFault {
+        Query query = callQuery.getQuery();
+        if (query == null) {
+            return false;
+        }
+        if (!visitedQueries.add(query)) {
+            return true;
+        }
+        if (batchRequest && query instanceof CassandraQuery) {
+            /* batch items are combined to a single native batch */
+            return false;
+        }
+        String configId = query.getConfigId();
+        if (configId != null) {
+            Config config = dataService.getConfig(configId);
+            if (batchRequest && isTransactional(config)) {
+                /* batch items of a transactional config are executed in order on one connection */
+                return false;
+            }
+            if (config instanceof SQLConfig && ((SQLConfig) config).isXADataSource()) {
+                return false;
+            }
+            configIds.add(configId);
+        }
+        if (query.getResult() != null) {
+            return collectConfigIds(dataService, query.getResult().getDefaultElementGroup(), batchRequest,
+                                    configIds, visitedQueries);
+        }
+        return true;
+    }
+
+    private static boolean collectConfigIds(DataService dataService, OutputElementGroup group, boolean batchRequest,
+                                            Set<String> configIds, Set<Query> visitedQueries)
+            throws DataServiceFault {
+        if (group == null) {
+            return true;
+        }
+        /* exported values are read by the following requests */
+        if (hasExports(group.getAttributeEntries()) || hasExports(group.getElementEntries())) {
+            return false;
+        }
+        for (CallQuery callQuery : group.getCallQueryEntries()) {
+            if (!collectConfigIds(dataService, callQuery, batchRequest, configIds, visitedQueries)) {
+                return false;
+            }
+        }
+        for (OutputElementGroup childGroup : group.getOutputElementGroupEntries()) {
+            if (!collectConfigIds(dataService, childGroup, batchRequest, configIds, visitedQueries)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if the connections of the given config take part in the transaction of the request, i.e. the changes
+     * of all the requests using the config are committed or rolled back together.
+     */
+    private static boolean isTransactional(Config config) {
+        return config instanceof SQLConfig;
+    }
+
+    private static boolean hasExports(List<StaticOutputElement> elements) {
+        for (StaticOutputElement element : elements) {
+            if (element.getExport() != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Executes the given groups of requests concurrently, the first group is executed by the calling thread.
+     *
+     * @param requests     the requests
+     * @param groups       the groups of request indices, the requests of a group are executed in order
+     * @param batchRequest true if the requests are the items of a batch request, the last non-empty result is
+     *                     returned, otherwise the result of the last request is returned
+     * @return the result
+     * @throws DataServiceFault the error of the first failed request
+     */
+    public static OMElement dispatch(List<? extends DataServiceRequest> requests, List<List<Integer>> groups,
+                                     boolean batchRequest) throws DataServiceFault {
+        RequestContext context = new RequestContext(requests.size(), batchRequest);
+        List<Future<GroupResult>> futures = new ArrayList<Future<GroupResult>>(groups.size() - 1);
+        for (int i = 1; i < groups.size(); i++) {
+            futures.add(getExecutor().submit(new GroupTask(requests, groups.get(i), context)));
+        }
+        GroupResult result = new GroupTask(requests, groups.get(0), null).execute();
+        List<GroupResult> results = new ArrayList<GroupResult>(groups.size());
+        results.add(result);
+        Throwable failure = null;
+        for (Future<GroupResult> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure = e;
+            } catch (ExecutionException e) {
+                failure = e.getCause();
+            }
+        }
+        /* the connections are committed or rolled back with the connections of the calling thread */
+        for (GroupResult groupResult : results) {
+            if (groupResult.connections != null) {
+                TLConnectionStore.attachAll(groupResult.connections);
+            }
+        }
+        if (failure != null) {
+            throw new DataServiceFault(failure, "Error in parallel request execution");
+        }
+        GroupResult error = null;
+        GroupResult last = null;
+        for (GroupResult groupResult : results) {
+            if (groupResult.error != null && (error == null || groupResult.errorIndex < error.errorIndex)) {
+                error = groupResult;
+            }
+            if (groupResult.result != null && (last == null || groupResult.resultIndex > last.resultIndex)) {
+                last = groupResult;
+            }
+        }
+        if (error != null) {
+            throw error.error;
+        }
+        return last != null ? last.result : null;
+    }
+
+    /**
+     * The state of the calling thread, which is set in the worker threads.
+     */
+    private static class RequestContext {
+
+        private final MessageContext messageContext = MessageContext.getCurrentMessageContext();
+
+        private final DataServiceUser user = DataService.getCurrentUser();
+
+        private final boolean boxcarring = DispatchStatus.isBoxcarringRequest();
+
+        private final int requestCount;
+
+        private final boolean batchRequest;
+
+        RequestContext(int requestCount, boolean batchRequest) {
+            this.requestCount = requestCount;
+            this.batchRequest = batchRequest;
+        }
+
+        void apply() {
+            MessageContext.setCurrentMessageContext(this.messageContext);
+            DataService.setCurrentUser(this.user);
+            if (this.boxcarring) {
+                DispatchStatus.setBoxcarringRequest();
+            }
+            if (this.batchRequest) {
+                DispatchStatus.setBatchRequest();
+                DispatchStatus.setBatchRequestCount(this.requestCount);
+            }
+        }
+
+        void clear() {
+            DispatchStatus.clearRequestStatus();
+            DataService.setCurrentUser(null);
+            MessageContext.setCurrentMessageContext(null);
+            Query.resetQueryPreprocessing();
+        }
+    }
+
+    private static class GroupResult {
+
+        private Map<String, DataServiceConnection> connections;
+
+        private OMElement result;
+
+        private int resultIndex = -1;
+
+        private DataServiceFault error;
+
+        private int errorIndex = -1;
+    }
+
+    /**
+     * Executes a group of requests in order, the context is null when executed by the calling thread.
+     */
+    private static class GroupTask implements Callable<GroupResult> {
+
+        private final List<? extends DataServiceRequest> requests;
+
+        private final List<Integer> indices;
+
+        private final RequestContext context;
+
+        GroupTask(List<? extends DataServiceRequest> requests, List<Integer> indices, RequestContext context) {
+            this.requests = requests;
+            this.indices = indices;
+            this.context = context;
+        }
+
+        @Override
+        public GroupResult call() {
+            this.context.apply();
+            try {
+                GroupResult groupResult = this.execute();
+                groupResult.connections = TLConnectionStore.detachAll();
+                return groupResult;
+            } finally {
+                TLConnectionStore.closeAll();
+                this.context.clear();
+            }
+        }
+
+        GroupResult execute() {
+            GroupResult groupResult = new GroupResult();
+            boolean batchRequest = this.context == null ? DispatchStatus.isBatchRequest()
+                                                        : this.context.batchRequest;
+            int lastIndex = this.requests.size() - 1;
+            for (int index : this.indices) {
+                try {
+                    if (batchRequest) {
+                        DispatchStatus.setBatchRequestNumber(index);
+                    }
+                    OMElement result = this.requests.get(index).dispatch();
+                    if (result == null) {
+                        continue;
+                    }
+                    if (batchRequest) {
+                        if (result instanceof OMSourcedElementImpl) {
+                            result = DBUtils.cloneAndReturnBuiltElement(result);
+                        }
+                        if (result.getFirstOMChild() != null) {
+                            groupResult.result = result;
+                            groupResult.resultIndex = index;
+                        }
+                    } else if (index == lastIndex) {
+                        groupResult.result = DBUtils.cloneAndReturnBuiltElement(result);
+                        groupResult.resultIndex = index;
+                    } else {
+                        /* process the result of the request, no need to cache the data */
+                        result.serializeAndConsume(new NullOutputStream());
+                    }
+                } catch (DataServiceFault e) {
+                    groupResult.error = e;
+                } catch (XMLStreamException e) {
+                    groupResult.error = new DataServiceFault(e, "Error in request box result serializing");
+                } catch (RuntimeException e) {
+                    groupResult.error = new DataServiceFault(e, "Error in parallel request execution");
+                }
+                if (groupResult.error != null) {
+                    groupResult.errorIndex = index;
+                    break;
+                }
+            }
+            return groupResult;
+        }
+    }
+
+}
@@ -48,6 +48,11 @@ public abstract class CallableRequest {
 
 	private CallableRequest parentRequest;
 
+	/**
+	 * The cache of the serialized results of this request, null if results are not cached
+	 */
+	private RequestResultCache resultCache;
+
 	/**
 	 * Creates a callable request with the given request name and a call query.
 	 */
@@ -78,6 +83,14 @@ public abstract class CallableRequest {
 		this.returnRequestStatus = returnRequestStatus;
 	}
 	
+	public RequestResultCache getResultCache() {
+		return resultCache;
+	}
+
+	public void setResultCache(RequestResultCache resultCache) {
+		this.resultCache = resultCache;
+	}
+	
 	public boolean isDisableStreamingRequest() {
 		return disableStreamingRequest;
 	}
@@ -19,8 +19,10 @@ package org.wso2.micro.integrator.dataservices.core.engine;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.OutputStream;
 import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 import javax.xml.stream.XMLStreamException;
@@ -29,8 +31,11 @@ import javax.xml.stream.XMLStreamWriter;
 
 import org.apache.axiom.om.OMDataSource;
 import org.apache.axiom.om.OMOutputFormat;
+import org.apache.axiom.om.impl.builder.StAXOMBuilder;
 import org.apache.commons.io.output.NullOutputStream;
+import org.wso2.micro.integrator.dataservices.common.DBConstants;
 import org.wso2.micro.integrator.dataservices.core.DBUtils;import org.wso2.micro.integrator.dataservices.core.DataServiceFault;
+import org.wso2.micro.integrator.dataservices.core.dispatch.DispatchStatus;
 
 /**
  * This class represents the data source for an OMElement,
@@ -47,6 +52,22 @@ public class DSOMDataSource implements OMDataSource {
 	private String opName;
 	
 	private Map<String, ParamValue> params;
+
+	/**
+	 * The result cache of the operation, set only if the result of the current request can be cached
+	 */
+	private RequestResultCache resultCache;
+
+	private boolean resultCacheLookedUp;
+
+	private String resultCacheKey;
+
+	private long resultCacheGeneration;
+
+	/**
+	 * The serialized result, if it is read from or written to the result cache
+	 */
+	private byte[] cachedResult;
 			
 	public DSOMDataSource(DataService dataService, String opName,
 			Map<String, ParamValue> params) {
@@ -79,17 +100,49 @@ public class DSOMDataSource implements OMDataSource {
 	}
 
 	public void serialize(OutputStream output, OMOutputFormat format) throws XMLStreamException {
-		XMLStreamWriter xmlWriter = DBUtils.getXMLOutputFactory().createXMLStreamWriter(output);
+		String charSetEncoding = format != null && format.getCharSetEncoding() != null ?
+				format.getCharSetEncoding() : OMOutputFormat.DEFAULT_CHAR_SET_ENCODING;
+		/* the cached result is UTF-8 encoded, hence it is written as it is only if the same encoding is requested */
+		if (this.lookupResultCache() && StandardCharsets.UTF_8.name().equalsIgnoreCase(charSetEncoding)) {
+			try {
+				output.write(this.getCachedResult());
+			} catch (IOException e) {
+				throw new XMLStreamException("Error in writing the cached result", e);
+			}
+			return;
+		}
+		XMLStreamWriter xmlWriter = DBUtils.getXMLOutputFactory().createXMLStreamWriter(output, charSetEncoding);
 		this.serialize(xmlWriter);
 	}
 	
 	public void serialize(Writer writer, OMOutputFormat format) throws XMLStreamException {
+		if (this.lookupResultCache()) {
+			try {
+				writer.write(new String(this.getCachedResult(), StandardCharsets.UTF_8));
+			} catch (IOException e) {
+				throw new XMLStreamException("Error in writing the cached result", e);
+			}
+			return;
+		}
 		XMLStreamWriter xmlWriter = DBUtils.getXMLOutputFactory().createXMLStreamWriter(writer);
 		this.serialize(xmlWriter);
 	}
 	
 	public void execute(XMLStreamWriter xmlWriter)
 			throws XMLStreamException {
+		if (this.lookupResultCache()) {
+			if (xmlWriter != null) {
+				this.writeCachedResult(xmlWriter);
+			} else if (this.cachedResult == null) {
+				/* preprocessing of the request, i.e. the result is not cached yet */
+				this.invoke(null);
+			}
+			return;
+		}
+		this.invoke(xmlWriter);
+	}
+
+	private void invoke(XMLStreamWriter xmlWriter) throws XMLStreamException {
 		try {
 			this.getDataService().invoke(xmlWriter, this.getOpName(), this.getParams());
 			/* flush the stream, if there's a result */
@@ -105,7 +158,43 @@ public class DSOMDataSource implements OMDataSource {
 		this.execute(xmlWriter);
 	}
 
+	/**
+	 * Returns the result definition of the current request, or null if the request does not have a result.
+	 */
+	public Result getResult() {
+		CallableRequest callableRequest = this.getDataService().getCallableRequest(this.getOpName());
+		if (callableRequest == null || !callableRequest.getCallQuery().isHasResult()) {
+			return null;
+		}
+		return callableRequest.getCallQuery().getQuery().getResult();
+	}
+
+	/**
+	 * Checks if the result can be written directly as JSON, i.e. it is an XML result which is not served from
+	 * the result cache.
+	 */
+	public boolean isJSONSerializable() {
+		Result result = this.getResult();
+		return result != null && result.getResultType() == DBConstants.ResultTypes.XML
+				&& !this.lookupResultCache();
+	}
+
+	/**
+	 * Executes the request and writes the result directly as JSON to the given stream.
+	 */
+	public void serializeJSON(OutputStream output, String charSetEncoding) throws XMLStreamException {
+		JSONStreamWriter jsonWriter = new JSONStreamWriter(output, charSetEncoding);
+		jsonWriter.writeStartDocument();
+		this.execute(jsonWriter);
+		jsonWriter.writeEndDocument();
+		jsonWriter.flush();
+	}
+
 	public XMLStreamReader getReader() throws XMLStreamException {
+		if (this.lookupResultCache()) {
+			return DBUtils.getXMLInputFactory().createXMLStreamReader(
+					new ByteArrayInputStream(this.getCachedResult()));
+		}
 		ByteArrayOutputStream byteOut = new ByteArrayOutputStream(XMLREADER_DEFAULT_MESSAGE_SIZE);
 		XMLStreamWriter xmlWriter = DBUtils.getXMLOutputFactory().createXMLStreamWriter(byteOut);
 		this.serialize(xmlWriter);
@@ -113,5 +202,49 @@ public class DSOMDataSource implements OMDataSource {
 		ByteArrayInputStream byteIn = new ByteArrayInputStream(byteOut.toByteArray());
 		return DBUtils.getXMLInputFactory().createXMLStreamReader(byteIn);
 	}
+
+	/**
+	 * Checks if the result of the current request can be cached, and if so, looks up the cached result. Results
+	 * are not cached within boxcarring sessions, batch requests and distributed transactions, since they may
+	 * depend on changes which are not committed yet.
+	 *
+	 * @return true if the result is read from or written to the result cache
+	 */
+	private boolean lookupResultCache() {
+		if (!this.resultCacheLookedUp) {
+			this.resultCacheLookedUp = true;
+			CallableRequest callableRequest = this.getDataService().getCallableRequest(this.getOpName());
+			RequestResultCache cache = callableRequest != null ? callableRequest.getResultCache() : null;
+			if (cache != null && !DispatchStatus.isInBatchBoxcarring() && !this.getDataService().isInDTX()) {
+				this.resultCache = cache;
+				this.resultCacheKey = RequestResultCache.createCacheKey(this.getOpName(), this.getParams());
+				this.resultCacheGeneration = cache.getGeneration();
+				this.cachedResult = cache.get(this.resultCacheKey);
+			}
+		}
+		return this.resultCache != null;
+	}
+
+	/**
+	 * Returns the cached result, or executes the request and caches its result if it is not cached yet.
+	 */
+	private byte[] getCachedResult() throws XMLStreamException {
+		if (this.cachedResult == null) {
+			ByteArrayOutputStream byteOut = new ByteArrayOutputStream(XMLREADER_DEFAULT_MESSAGE_SIZE);
+			XMLStreamWriter xmlWriter = DBUtils.getXMLOutputFactory().createXMLStreamWriter(byteOut);
+			this.invoke(xmlWriter);
+			xmlWriter.close();
+			this.cachedResult = byteOut.toByteArray();
+			this.resultCache.put(this.resultCacheKey, this.resultCacheGeneration, this.cachedResult);
+		}
+		return this.cachedResult;
+	}
+
+	private void writeCachedResult(XMLStreamWriter xmlWriter) throws XMLStreamException {
+		XMLStreamReader reader = DBUtils.getXMLInputFactory().createXMLStreamReader(
+				new ByteArrayInputStream(this.getCachedResult()));
+		new StAXOMBuilder(reader).getDocumentElement().serializeAndConsume(xmlWriter);
+		xmlWriter.flush();
+	}
 	
 }
@@ -32,6 +32,13 @@ public class DataEntry {
 		this.values = new HashMap<String, ParamValue>();
 	}
 
+	/**
+	 * Creates a data entry which holds the given number of values without resizing.
+	 */
+	public DataEntry(int size) {
+		this.values = new HashMap<String, ParamValue>((int) (size / 0.75f) + 1);
+	}
+
 	public Map<String, ParamValue> getData() {
 		return values;
 	}
@@ -44,6 +44,7 @@ import javax.transaction.TransactionManager;
 import javax.xml.stream.XMLStreamWriter;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -170,6 +171,11 @@ public class DataService implements AxisResources {
      */
     private boolean disableLegacyBoxcarringMode;
 
+    /**
+     * flag to check if the independent requests of request boxes and batch requests are executed in parallel
+     */
+    private boolean parallelRequestsEnabled;
+
     /**
      * The tenant to which this service belongs to.
      */
@@ -191,6 +197,22 @@ public class DataService implements AxisResources {
      */
     private String swaggerResourcePath;
 
+    /**
+     * Result caches of the callable requests.
+     */
+    private List<RequestResultCache> resultCaches = new ArrayList<RequestResultCache>();
+
+    /**
+     * Thread local variable to keep the result caches cleared by the current request, which are cleared again once
+     * the changes of the request are committed.
+     */
+    private static ThreadLocal<Set<RequestResultCache>> invalidatedResultCaches =
+            new ThreadLocal<Set<RequestResultCache>>() {
+                protected synchronized Set<RequestResultCache> initialValue() {
+                    return new HashSet<RequestResultCache>();
+                }
+            };
+
 	public DataService(String name, String description,
                        String defaultNamespace, String dsLocation, String serviceStatus,
                        boolean batchRequestsEnabled, boolean boxcarringEnabled,
@@ -347,6 +369,58 @@ public class DataService implements AxisResources {
                 query.getResult().getDefaultElementGroup().init();
             }
         }
+        /* init result caches */
+        for (CallableRequest callableRequest : this.getCallableRequests().values()) {
+            RequestResultCache resultCache = callableRequest.getResultCache();
+            if (resultCache == null) {
+                continue;
+            }
+            if (!callableRequest.getCallQuery().isHasResult()
+                    || callableRequest.getCallQuery().getResultWrapper() == null) {
+                log.warn("Results of request '" + callableRequest.getRequestName() + "' in data service '"
+                        + this.getName() + "' are not cached, since the request does not have a result element.");
+                callableRequest.setResultCache(null);
+                continue;
+            }
+            resultCache.init();
+            this.resultCaches.add(resultCache);
+        }
+    }
+
+    /**
+     * Clears the cached results of the requests reading from the given table. The results of the requests which
+     * do not declare the tables they read from are always cleared.
+     *
+     * @param table The lower case name of the changed table, or null if it is not known
+     */
+    public void invalidateResultCaches(String table) {
+        for (RequestResultCache resultCache : this.resultCaches) {
+            if (table == null || resultCache.getTables().isEmpty() || resultCache.getTables().contains(table)) {
+                resultCache.invalidate();
+                invalidatedResultCaches.get().add(resultCache);
+            }
+        }
+    }
+
+    /**
+     * Clears the result caches cleared by the current request once again after the changes are committed, since
+     * results read by other requests in between may have been cached.
+     */
+    private void invalidateResultCachesAfterCommit(String requestName) {
+        Set<RequestResultCache> caches = invalidatedResultCaches.get();
+        if (caches.isEmpty()) {
+            return;
+        }
+        CallableRequest callableRequest = this.getCallableRequest(requestName);
+        /* requests having a result are committed at the end of the second phase */
+        if (callableRequest != null && callableRequest.getCallQuery().isHasResult()
+                && !Query.isQueryPreprocessSecondary()) {
+            return;
+        }
+        for (RequestResultCache resultCache : caches) {
+            resultCache.invalidate();
+        }
+        invalidatedResultCaches.remove();
     }
 
     public int getTenantId() {
@@ -369,6 +443,14 @@ public class DataService implements AxisResources {
         this.disableLegacyBoxcarringMode = disableLegacyBoxcarringMode;
     }
 
+    public boolean isParallelRequestsEnabled() {
+        return parallelRequestsEnabled;
+    }
+
+    public void setParallelRequestsEnabled(boolean parallelRequestsEnabled) {
+        this.parallelRequestsEnabled = parallelRequestsEnabled;
+    }
+
     public DSSXATransactionManager getDSSTxManager() {
         return txManager;
     }
@@ -381,6 +463,10 @@ public class DataService implements AxisResources {
      * Cleanup operations done when undeploying the data service.
      */
     public void cleanup() throws DataServiceFault {
+        /* remove result caches */
+        for (RequestResultCache resultCache : this.resultCaches) {
+            resultCache.cleanup();
+        }
 //        if (log.isDebugEnabled()) {
 //            log.debug("Data Service '" + this.getName() + "' cleanup start..");
 //        }
@@ -619,6 +705,8 @@ public class DataService implements AxisResources {
             DataServiceFault dsf = new DataServiceFault(e);
             this.fillInDataServiceFault(dsf, requestName, params);
             throw dsf;
+        } finally {
+            this.invalidateResultCachesAfterCommit(requestName);
         }
     }
 
@@ -73,6 +73,10 @@ public class DataServiceSerializer {
         /* set 'disableLegacyBoxcarringMode' attribute */
         dataEl.addAttribute(DBSFields.DISABLE_LEGACY_BOXCARRING_MODE,
                             Boolean.toString(dataService.isDisableLegacyBoxcarringMode()), null);
+        /* set 'enableParallelRequests' attribute */
+        if (dataService.isParallelRequestsEnabled()) {
+            dataEl.addAttribute(DBSFields.ENABLE_PARALLEL_REQUESTS, Boolean.TRUE.toString(), null);
+        }
         /* set 'transports' attribute */
         StringBuilder stringBuilder = new StringBuilder("");
 		for (String transport : dataService.getTransports()) {
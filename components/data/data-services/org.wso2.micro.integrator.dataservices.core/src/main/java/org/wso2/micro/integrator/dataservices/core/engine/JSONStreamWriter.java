@@ -0,0 +1,465 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.micro.integrator.dataservices.core.engine;
+
+import javax.xml.XMLConstants;
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UnsupportedEncodingException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * This class writes the result of a data service request directly as JSON, without generating XML first. Rows are
+ * written as JSON arrays and values are written as JSON numbers or booleans according to their XSD types, the same
+ * way the schema based JSON formatter converts the XML result. The writer is used through the
+ * {@link XMLWriterHelper} methods, the plain {@link XMLStreamWriter} methods treat elements as JSON objects, elements
+ * having only text as string values and attributes as string values.
+ */
+public class JSONStreamWriter implements XMLStreamWriter {
+
+    private static final Pattern JSON_NUMBER = Pattern.compile("-?(0|[1-9]\\d*)(\\.\\d+)?([eE][+-]?\\d+)?");
+
+    private static final Set<String> NUMBER_TYPES = new HashSet<String>();
+
+    private static final NamespaceContext EMPTY_NAMESPACE_CONTEXT = new NamespaceContext() {
+        @Override
+        public String getNamespaceURI(String prefix) {
+            return XMLConstants.NULL_NS_URI;
+        }
+
+        @Override
+        public String getPrefix(String namespaceURI) {
+            return null;
+        }
+
+        @Override
+        public Iterator getPrefixes(String namespaceURI) {
+            return Collections.emptyIterator();
+        }
+    };
+
+    static {
+        /* the schema based JSON formatter writes only these types as JSON numbers, all others as strings */
+        Collections.addAll(NUMBER_TYPES, "int", "long", "double");
+    }
+
+    private final Writer writer;
+
+    private final Deque<JSONObjectState> objects = new ArrayDeque<JSONObjectState>();
+
+    /**
+     * name of the element which is started but not written yet, since it is not known yet whether it is an object
+     * or a value
+     */
+    private String pendingElement;
+
+    private StringBuilder pendingText;
+
+    public JSONStreamWriter(OutputStream out, String charSetEncoding) throws XMLStreamException {
+        try {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, charSetEncoding));
+        } catch (UnsupportedEncodingException e) {
+            throw new XMLStreamException("Unsupported encoding: " + charSetEncoding, e);
+        }
+    }
+
+    /**
+     * Starts a JSON object with the given name.
+     */
+    public void writeStartObject(String name) throws XMLStreamException {
+        this.flushPendingElement();
+        this.writeName(name);
+        this.write('{');
+        this.objects.push(new JSONObjectState());
+    }
+
+    /**
+     * Starts a JSON object with the given name, which is an element of the array with the same name. The array is
+     * started if the previous field of the current object is not the same array.
+     */
+    public void writeStartArrayObject(String name) throws XMLStreamException {
+        this.flushPendingElement();
+        JSONObjectState current = this.currentObject();
+        if (name.equals(current.arrayName)) {
+            this.write(',');
+        } else {
+            this.writeName(name);
+            this.write('[');
+            current.arrayName = name;
+        }
+        this.write('{');
+        this.objects.push(new JSONObjectState());
+    }
+
+    /**
+     * Writes a field of the current JSON object, the value is written as a JSON number or a boolean if the given XSD
+     * type is numeric or boolean and the value is valid as such.
+     */
+    public void writeField(String name, ParamValue value, QName xsdType) throws XMLStreamException {
+        this.flushPendingElement();
+        this.writeName(name);
+        if (value == null || (value.getArrayValue() == null && value.getScalarValue() == null
+                && value.getUdt() == null)) {
+            this.write("null");
+            return;
+        }
+        String text;
+        if (value.getValueType() == ParamValue.PARAM_VALUE_ARRAY) {
+            StringBuilder builder = new StringBuilder();
+            for (ParamValue val : value.getArrayValue()) {
+                builder.append(val.toString());
+            }
+            text = builder.toString();
+        } else {
+            text = value.toString();
+        }
+        this.writeValue(text, xsdType);
+    }
+
+    private void writeValue(String text, QName xsdType) throws XMLStreamException {
+        String type = xsdType != null ? xsdType.getLocalPart() : null;
+        if (text == null) {
+            this.write("null");
+        } else if (type != null && NUMBER_TYPES.contains(type) && JSON_NUMBER.matcher(text).matches()) {
+            this.write(text);
+        } else if ("boolean".equals(type) && ("true".equals(text) || "false".equals(text))) {
+            this.write(text);
+        } else {
+            this.writeString(text);
+        }
+    }
+
+    private JSONObjectState currentObject() throws XMLStreamException {
+        JSONObjectState current = this.objects.peek();
+        if (current == null) {
+            throw new XMLStreamException("No JSON object is started");
+        }
+        return current;
+    }
+
+    private void writeName(String name) throws XMLStreamException {
+        JSONObjectState current = this.currentObject();
+        if (current.arrayName != null) {
+            this.write(']');
+            current.arrayName = null;
+        }
+        if (current.hasFields) {
+            this.write(',');
+        }
+        current.hasFields = true;
+        this.writeString(name);
+        this.write(':');
+    }
+
+    private void endObject() throws XMLStreamException {
+        JSONObjectState current = this.currentObject();
+        if (current.arrayName != null) {
+            this.write(']');
+        }
+        this.write('}');
+        this.objects.pop();
+    }
+
+    private void flushPendingElement() throws XMLStreamException {
+        if (this.pendingElement != null) {
+            if (this.pendingText != null) {
+                throw new XMLStreamException("Mixed content is not supported in JSON output, element: "
+                        + this.pendingElement);
+            }
+            String name = this.pendingElement;
+            this.pendingElement = null;
+            this.writeStartObject(name);
+        }
+    }
+
+    private void writeString(String text) throws XMLStreamException {
+        this.write('"');
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            switch (c) {
+            case '"':
+                this.write("\\\"");
+                break;
+            case '\\':
+                this.write("\\\\");
+                break;
+            case '\n':
+                this.write("\\n");
+                break;
+            case '\r':
+                this.write("\\r");
+                break;
+            case '\t':
+                this.write("\\t");
+                break;
+            case '\b':
+                this.write("\\b");
+                break;
+            case '\f':
+                this.write("\\f");
+                break;
+            default:
+                if (c < 0x20 || c == 0x2028 || c == 0x2029) {
+                    this.write(String.format("\\u%04x", (int) c));
+                } else {
+                    this.write(c);
+                }
+            }
+        }
+        this.write('"');
+    }
+
+    private void write(char c) throws XMLStreamException {
+        try {
+            this.writer.write(c);
+        } catch (IOException e) {
+            throw new XMLStreamException("Error in writing JSON output", e);
+        }
+    }
+
+    private void write(String text) throws XMLStreamException {
+        try {
+            this.writer.write(text);
+        } catch (IOException e) {
+            throw new XMLStreamException("Error in writing JSON output", e);
+        }
+    }
+
+    @Override
+    public void writeStartDocument() throws XMLStreamException {
+        this.write('{');
+        this.objects.push(new JSONObjectState());
+    }
+
+    @Override
+    public void writeStartDocument(String version) throws XMLStreamException {
+        this.writeStartDocument();
+    }
+
+    @Override
+    public void writeStartDocument(String encoding, String version) throws XMLStreamException {
+        this.writeStartDocument();
+    }
+
+    @Override
+    public void writeEndDocument() throws XMLStreamException {
+        while (!this.objects.isEmpty()) {
+            this.writeEndElement();
+        }
+    }
+
+    @Override
+    public void writeStartElement(String localName) throws XMLStreamException {
+        this.flushPendingElement();
+        this.pendingElement = localName;
+    }
+
+    @Override
+    public void writeStartElement(String namespaceURI, String localName) throws XMLStreamException {
+        this.writeStartElement(localName);
+    }
+
+    @Override
+    public void writeStartElement(String prefix, String localName, String namespaceURI)
+            throws XMLStreamException {
+        this.writeStartElement(localName);
+    }
+
+    @Override
+    public void writeEmptyElement(String localName) throws XMLStreamException {
+        this.writeStartElement(localName);
+        this.writeEndElement();
+    }
+
+    @Override
+    public void writeEmptyElement(String namespaceURI, String localName) throws XMLStreamException {
+        this.writeEmptyElement(localName);
+    }
+
+    @Override
+    public void writeEmptyElement(String prefix, String localName, String namespaceURI)
+            throws XMLStreamException {
+        this.writeEmptyElement(localName);
+    }
+
+    @Override
+    public void writeEndElement() throws XMLStreamException {
+        if (this.pendingElement != null) {
+            String name = this.pendingElement;
+            String text = this.pendingText != null ? this.pendingText.toString() : null;
+            this.pendingElement = null;
+            this.pendingText = null;
+            this.writeName(name);
+            this.writeValue(text, null);
+        } else {
+            this.endObject();
+        }
+    }
+
+    @Override
+    public void writeAttribute(String localName, String value) throws XMLStreamException {
+        this.flushPendingElement();
+        this.writeName(localName);
+        this.writeString(value);
+    }
+
+    @Override
+    public void writeAttribute(String prefix, String namespaceURI, String localName, String value)
+            throws XMLStreamException {
+        if (!XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI.equals(namespaceURI)) {
+            this.writeAttribute(localName, value);
+        }
+    }
+
+    @Override
+    public void writeAttribute(String namespaceURI, String localName, String value) throws XMLStreamException {
+        this.writeAttribute(null, namespaceURI, localName, value);
+    }
+
+    @Override
+    public void writeNamespace(String prefix, String namespaceURI) {
+        /* namespaces are not written in JSON */
+    }
+
+    @Override
+    public void writeDefaultNamespace(String namespaceURI) {
+        /* namespaces are not written in JSON */
+    }
+
+    @Override
+    public void writeComment(String data) {
+        /* comments are not written in JSON */
+    }
+
+    @Override
+    public void writeProcessingInstruction(String target) {
+        /* processing instructions are not written in JSON */
+    }
+
+    @Override
+    public void writeProcessingInstruction(String target, String data) {
+        /* processing instructions are not written in JSON */
+    }
+
+    @Override
+    public void writeDTD(String dtd) {
+        /* DTDs are not written in JSON */
+    }
+
+    @Override
+    public void writeEntityRef(String name) throws XMLStreamException {
+        this.writeCharacters("&" + name + ";");
+    }
+
+    @Override
+    public void writeCData(String data) throws XMLStreamException {
+        this.writeCharacters(data);
+    }
+
+    @Override
+    public void writeCharacters(String text) throws XMLStreamException {
+        if (this.pendingElement == null) {
+            if (text.trim().length() == 0) {
+                return;
+            }
+            throw new XMLStreamException("Mixed content is not supported in JSON output");
+        }
+        if (this.pendingText == null) {
+            this.pendingText = new StringBuilder();
+        }
+        this.pendingText.append(text);
+    }
+
+    @Override
+    public void writeCharacters(char[] text, int start, int len) throws XMLStreamException {
+        this.writeCharacters(new String(text, start, len));
+    }
+
+    @Override
+    public String getPrefix(String uri) {
+        return null;
+    }
+
+    @Override
+    public void setPrefix(String prefix, String uri) {
+        /* namespaces are not written in JSON */
+    }
+
+    @Override
+    public void setDefaultNamespace(String uri) {
+        /* namespaces are not written in JSON */
+    }
+
+    @Override
+    public void setNamespaceContext(NamespaceContext context) {
+        /* namespaces are not written in JSON */
+    }
+
+    @Override
+    public NamespaceContext getNamespaceContext() {
+        return EMPTY_NAMESPACE_CONTEXT;
+    }
+
+    @Override
+    public Object getProperty(String name) {
+        throw new IllegalArgumentException("Property '" + name + "' is not supported");
+    }
+
+    @Override
+    public void flush() throws XMLStreamException {
+        try {
+            this.writer.flush();
+        } catch (IOException e) {
+            throw new XMLStreamException("Error in writing JSON output", e);
+        }
+    }
+
+    @Override
+    public void close() throws XMLStreamException {
+        this.flush();
+    }
+
+    /**
+     * State of a JSON object which is being written.
+     */
+    private static class JSONObjectState {
+
+        private boolean hasFields;
+
+        /**
+         * name of the array which is the last field of the object, if it is not closed yet
+         */
+        private String arrayName;
+
+    }
+
+}
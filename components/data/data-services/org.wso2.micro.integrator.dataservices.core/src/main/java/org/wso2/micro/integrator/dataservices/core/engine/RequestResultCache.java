@@ -0,0 +1,293 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.micro.integrator.dataservices.core.engine;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.caching.impl.CacheImpl;
+import org.wso2.micro.integrator.dataservices.core.DBUtils;
+import org.wso2.micro.integrator.dataservices.core.DataServiceFault;
+import org.wso2.micro.integrator.dataservices.core.DataServiceUser;
+
+import javax.cache.Cache;
+import javax.cache.CacheConfiguration;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class represents the result cache of a callable request. The serialized result of the request is cached
+ * against the request parameters and the current user, for a configured number of seconds. The cache is cleared
+ * when a query of the data service inserts, updates or deletes rows of a table which the request is declared to read
+ * from, or of any table if no tables are declared.
+ */
+public class RequestResultCache {
+
+    private static final Log log = LogFactory.getLog(RequestResultCache.class);
+
+    private static final String RESULT_CACHE_MANAGER = "DATA_SERVICES_RESULT_CACHE_MANAGER";
+
+    private static final String RESULT_CACHE_PREFIX = "DATA_SERVICES_RESULT_CACHE.";
+
+    private static final int DEFAULT_RESULT_CACHE_SIZE = 1000;
+
+    private final String cacheName;
+
+    private final long timeout;
+
+    private final int size;
+
+    /**
+     * lower case names of the tables the request reads from, empty if not declared
+     */
+    private final Set<String> tables;
+
+    /**
+     * incremented whenever the cache is cleared, so that results read before that are not cached
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile Cache<String, byte[]> cache;
+
+    public RequestResultCache(String serviceName, String requestName, long timeout, int size, Set<String> tables) {
+        this.cacheName = RESULT_CACHE_PREFIX + serviceName + "." + requestName;
+        this.timeout = timeout;
+        this.size = size;
+        this.tables = tables;
+    }
+
+    /**
+     * Creates the result cache of a callable request using the values of the result cache attributes of the
+     * request, or returns null if the result cache is not enabled.
+     *
+     * @param serviceName The data service name
+     * @param requestName The callable request name
+     * @param timeoutStr  The time in seconds a result is cached
+     * @param sizeStr     The maximum number of cached results
+     * @param tablesStr   The comma separated tables the request reads from
+     * @return The result cache, or null if the timeout is not given
+     * @throws DataServiceFault If the attribute values are invalid
+     */
+    public static RequestResultCache createResultCache(String serviceName, String requestName, String timeoutStr,
+                                                       String sizeStr, String tablesStr) throws DataServiceFault {
+        if (DBUtils.isEmptyString(timeoutStr)) {
+            return null;
+        }
+        long timeout;
+        int size = DEFAULT_RESULT_CACHE_SIZE;
+        try {
+            timeout = Long.parseLong(timeoutStr.trim());
+            if (!DBUtils.isEmptyString(sizeStr)) {
+                size = Integer.parseInt(sizeStr.trim());
+            }
+        } catch (NumberFormatException e) {
+            throw new DataServiceFault(e, "Invalid result cache configuration in request '" + requestName
+                    + "', the result cache timeout and size should be positive integers");
+        }
+        if (timeout <= 0 || size <= 0) {
+            throw new DataServiceFault("Invalid result cache configuration in request '" + requestName
+                    + "', the result cache timeout and size should be positive integers");
+        }
+        Set<String> tables = new HashSet<String>();
+        if (!DBUtils.isEmptyString(tablesStr)) {
+            for (String table : tablesStr.split(",")) {
+                String tableName = normalizeTableName(table);
+                if (!tableName.isEmpty()) {
+                    tables.add(tableName);
+                }
+            }
+        }
+        return new RequestResultCache(serviceName, requestName, TimeUnit.SECONDS.toMillis(timeout), size,
+                                      Collections.unmodifiableSet(tables));
+    }
+
+    /**
+     * Returns the table name without the schema qualifier and quotes, in lower case.
+     */
+    public static String normalizeTableName(String table) {
+        String tableName = table.trim();
+        tableName = tableName.substring(tableName.lastIndexOf('.') + 1);
+        return tableName.replaceAll("[\"`\\[\\]]", "").toLowerCase();
+    }
+
+    public Set<String> getTables() {
+        return tables;
+    }
+
+    public long getTimeout() {
+        return timeout;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Creates the underlying cache, replacing any cache left by an earlier deployment of the data service.
+     */
+    public void init() {
+        CacheManager cacheManager = Caching.getCacheManagerFactory().getCacheManager(RESULT_CACHE_MANAGER);
+        cacheManager.removeCache(this.cacheName);
+        CacheConfiguration.Duration duration = new CacheConfiguration.Duration(TimeUnit.MILLISECONDS, this.timeout);
+        Cache<String, byte[]> newCache = cacheManager.<String, byte[]>createCacheBuilder(this.cacheName)
+                .setExpiry(CacheConfiguration.ExpiryType.MODIFIED, duration)
+                .setExpiry(CacheConfiguration.ExpiryType.ACCESSED, duration)
+                .setStoreByValue(false).build();
+        if (newCache instanceof CacheImpl) {
+            ((CacheImpl) newCache).setCapacity(this.size);
+        }
+        this.cache = newCache;
+    }
+
+    /**
+     * Removes the underlying cache.
+     */
+    public void cleanup() {
+        if (this.cache == null) {
+            return;
+        }
+        this.cache = null;
+        try {
+            Caching.getCacheManagerFactory().getCacheManager(RESULT_CACHE_MANAGER).removeCache(this.cacheName);
+        } catch (IllegalStateException e) {
+            log.debug("Error in removing the result cache '" + this.cacheName + "': " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Returns the current generation of the cache, which should be read before executing the request and passed
+     * in when caching the result.
+     */
+    public long getGeneration() {
+        return this.generation.get();
+    }
+
+    public byte[] get(String key) {
+        Cache<String, byte[]> currentCache = this.cache;
+        if (currentCache == null) {
+            return null;
+        }
+        try {
+            return currentCache.get(key);
+        } catch (IllegalStateException e) {
+            /* the cache is stopped, e.g. the data service is being undeployed */
+            log.debug("Error in reading from the result cache '" + this.cacheName + "': " + e.getMessage(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Caches the given result, unless the cache has been cleared after the given generation, since the result may
+     * have been read before the rows were changed.
+     */
+    public void put(String key, long generation, byte[] result) {
+        Cache<String, byte[]> currentCache = this.cache;
+        if (currentCache == null || this.generation.get() != generation) {
+            return;
+        }
+        try {
+            currentCache.put(key, result);
+            /* the cache may have been cleared while the result was being added */
+            if (this.generation.get() != generation) {
+                currentCache.remove(key);
+            }
+        } catch (IllegalStateException e) {
+            log.debug("Error in writing to the result cache '" + this.cacheName + "': " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Clears all the cached results.
+     */
+    public void invalidate() {
+        this.generation.incrementAndGet();
+        Cache<String, byte[]> currentCache = this.cache;
+        if (currentCache == null) {
+            return;
+        }
+        try {
+            currentCache.removeAll();
+        } catch (IllegalStateException e) {
+            log.debug("Error in clearing the result cache '" + this.cacheName + "': " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Creates the cache key of a request, from the request name, the parameters and the current user. The values
+     * are prefixed with their lengths, so that different parameters cannot result in the same key.
+     *
+     * @param requestName The callable request name
+     * @param params      The request parameters
+     * @return The cache key
+     */
+    public static String createCacheKey(String requestName, Map<String, ParamValue> params) {
+        StringBuilder key = new StringBuilder(requestName);
+        Map<String, ParamValue> sortedParams = new TreeMap<String, ParamValue>();
+        for (Map.Entry<String, ParamValue> entry : params.entrySet()) {
+            /* parameter names are not case sensitive, see DataService#extractParams */
+            sortedParams.put(entry.getKey().toLowerCase(), entry.getValue());
+        }
+        for (Map.Entry<String, ParamValue> entry : sortedParams.entrySet()) {
+            appendKeyValue(key.append('&'), entry.getKey());
+            appendParamValue(key.append('='), entry.getValue());
+        }
+        DataServiceUser user = DataService.getCurrentUser();
+        if (user != null) {
+            appendKeyValue(key.append("&user="), user.getUsername());
+            if (user.getUserRoles() != null) {
+                String[] roles = user.getUserRoles().toArray(new String[0]);
+                Arrays.sort(roles);
+                key.append("&roles=");
+                for (String role : roles) {
+                    appendKeyValue(key, role);
+                }
+            }
+        }
+        return key.toString();
+    }
+
+    private static void appendParamValue(StringBuilder key, ParamValue value) {
+        if (value == null) {
+            key.append('N');
+        } else if (value.getValueType() == ParamValue.PARAM_VALUE_ARRAY) {
+            key.append('A').append(value.getArrayValue().size()).append(':');
+            for (ParamValue element : value.getArrayValue()) {
+                appendParamValue(key, element);
+            }
+        } else {
+            key.append('S');
+            appendKeyValue(key, value.getValueAsString());
+        }
+    }
+
+    private static void appendKeyValue(StringBuilder key, String value) {
+        if (value == null) {
+            key.append("-1:");
+        } else {
+            key.append(value.length()).append(':').append(value);
+        }
+    }
+
+}
@@ -48,6 +48,11 @@ public class Result {
 
     private boolean escapeNonPrintableChar;
 
+    /**
+     * true if the result is defined using a JSON mapping, i.e. it is written as JSON by default
+     */
+    private boolean jsonOutput;
+
     public Result(String xsltPath, int resultType)
             throws DataServiceFault {
         this(null, null, null, xsltPath, resultType);
@@ -177,4 +182,12 @@ public class Result {
     public void setEscapeNonPrintableChar(boolean escapeNonPrintableChar) {
         this.escapeNonPrintableChar = escapeNonPrintableChar;
     }
+
+    public boolean isJsonOutput() {
+        return jsonOutput;
+    }
+
+    public void setJsonOutput(boolean jsonOutput) {
+        this.jsonOutput = jsonOutput;
+    }
 }
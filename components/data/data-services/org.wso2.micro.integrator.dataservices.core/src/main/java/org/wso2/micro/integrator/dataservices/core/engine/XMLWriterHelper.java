@@ -52,6 +52,11 @@ public class XMLWriterHelper {
         }
 		switch (resultType) {
 		case DBConstants.ResultTypes.XML:
+			if (xmlWriter instanceof JSONStreamWriter) {
+				/* rows are written as the objects of an array */
+				((JSONStreamWriter) xmlWriter).writeStartArrayObject(name);
+				break;
+			}
 			xmlWriter.writeStartElement(this.getNamespace(), name);
 			break;
 		case DBConstants.ResultTypes.RDF:
@@ -80,7 +85,9 @@ public class XMLWriterHelper {
 		boolean writeNS;
 		switch (resultType) {
 		case DBConstants.ResultTypes.XML:
-			if (name != null) {
+			if (name != null && xmlWriter instanceof JSONStreamWriter) {
+				((JSONStreamWriter) xmlWriter).writeStartObject(name);
+			} else if (name != null) {
 			    /* start result wrapper */
 			    xmlWriter.writeStartElement(name);
 			    /* write default namespace */
@@ -139,7 +146,11 @@ public class XMLWriterHelper {
 		String nsPrefix;
 		boolean writeNS;
 		switch (resultType) {
-		case DBConstants.ResultTypes.XML:			
+		case DBConstants.ResultTypes.XML:
+			if (xmlWriter instanceof JSONStreamWriter) {
+				((JSONStreamWriter) xmlWriter).writeField(name, value, xsdType);
+				break;
+			}
 			xmlWriter.writeStartElement(name);
 			/* write default namespace */
 		    nsPrefix = xmlWriter.getNamespaceContext().getPrefix(this.getNamespace());
@@ -189,7 +200,11 @@ public class XMLWriterHelper {
 		switch (resultType) {
 		case DBConstants.ResultTypes.XML:
 			if (value != null && value.toString() != null) {
-			    xmlWriter.writeAttribute(name, value.toString());
+				if (xmlWriter instanceof JSONStreamWriter) {
+					((JSONStreamWriter) xmlWriter).writeField(name, value, xsdType);
+				} else {
+					xmlWriter.writeAttribute(name, value.toString());
+				}
 			}
 			break;
 		}		
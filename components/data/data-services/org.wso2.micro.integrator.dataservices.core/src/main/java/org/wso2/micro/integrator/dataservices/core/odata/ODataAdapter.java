@@ -1361,7 +1361,19 @@ public class ODataAdapter implements ServiceHandler {
                         String tableName = this.getTableName();
                         List<ODataEntry> entries = null;
 
-                        if (queryOptions.getOrderByOption() != null) {
+                        if (!this.isQueryPushDownAttempted() || queryOptions.isQueryPushedDown()) {
+                            this.setQueryPushDownAttempted(true);
+                            entries = oDataAdapter.dataHandler.streamTableWithQueryOptions(tableName,
+                                                                                           this.getProperties(),
+                                                                                           queryOptions);
+                        }
+                        if (entries != null) {
+                            if (entries.isEmpty()) {
+                                // the datasource has no more matching entities
+                                this.iterator = this.getEntityList().iterator();
+                                return false;
+                            }
+                        } else if (queryOptions.getOrderByOption() != null) {
                             entries = oDataAdapter.dataHandler.streamTableWithOrder(tableName,
                                                                                     queryOptions.getOrderByOption());
                         } else if (this.getProperties() != null) {
@@ -1374,7 +1386,7 @@ public class ODataAdapter implements ServiceHandler {
                         for (int i = 0; i < entries.size(); i++) {
                             Entity entity = createEntityForStreaming(oDataAdapter, tableName, entries.get(i), baseURL);
                             this.entityCount++;
-                            if (queryOptions.getFilterOption() != null) {
+                            if (queryOptions.getFilterOption() != null && !queryOptions.isQueryPushedDown()) {
                                 final VisitorOperand operand = queryOptions.getFilterOption().getExpression().accept(
                                         new ExpressionVisitorImpl(entity, edmEntitySet));
                                 final TypedOperand typedOperand = operand.asTypedOperand();
@@ -1389,13 +1401,13 @@ public class ODataAdapter implements ServiceHandler {
                                             Locale.ROOT);
                                 }
                             }
-                            if (queryOptions.getSkipOption() != null) {
+                            if (queryOptions.getSkipOption() != null && !queryOptions.isPagingPushedDown()) {
                                 queryOptions.stepSkipCount();
                                 if (queryOptions.getSkipCount() <= queryOptions.getSkipOption().getValue()) {
                                     continue;
                                 }
                             }
-                            if (queryOptions.getTopOption() != null) {
+                            if (queryOptions.getTopOption() != null && !queryOptions.isPagingPushedDown()) {
                                 queryOptions.stepTopCount();
                                 if (queryOptions.getTopCount() > queryOptions.getTopOption().getValue()) {
                                     this.iterator = this.getEntityList().iterator();
@@ -1420,11 +1432,11 @@ public class ODataAdapter implements ServiceHandler {
                         }
 
                         if (this.entityCount < this.rowsCount && this.getEntityList().isEmpty()) {
-                            if (queryOptions.getFilterOption() != null) {
+                            if (queryOptions.getFilterOption() != null && !queryOptions.isQueryPushedDown()) {
                                 return hasNext();
                             }
-                            if (queryOptions.getSkipOption() != null && (queryOptions.getSkipCount()
-                                    <= queryOptions.getSkipOption().getValue())) {
+                            if (queryOptions.getSkipOption() != null && !queryOptions.isPagingPushedDown()
+                                    && (queryOptions.getSkipCount() <= queryOptions.getSkipOption().getValue())) {
                                 return hasNext();
                             }
                             if (queryOptions.getSkipTokenOption() != null && (queryOptions.getSkipTokenCount()
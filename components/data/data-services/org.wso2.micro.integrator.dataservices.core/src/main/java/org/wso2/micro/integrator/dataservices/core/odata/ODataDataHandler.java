@@ -199,6 +199,23 @@ public interface ODataDataHandler {
      */
     List<ODataEntry> streamTableWithOrder(String tableName, OrderByOption orderByOption) throws ODataServiceFault;
 
+    /**
+     * This method reads a table to the stream buffer, where the filter, order by, skip and top query options are
+     * evaluated by the datasource itself. Returns null if the query options cannot be evaluated by the datasource,
+     * in which case the table has to be streamed using the other streaming methods.
+     * The query options evaluated by the datasource are marked in the given query options.
+     *
+     * @param tableName    Name of the table
+     * @param keys         Keys to check, or null
+     * @param queryOptions OData query options
+     * @return List of OData entries or null
+     * @throws ODataServiceFault
+     */
+    default List<ODataEntry> streamTableWithQueryOptions(String tableName, ODataEntry keys, QueryOptions queryOptions)
+            throws ODataServiceFault {
+        return null;
+    }
+
     /**
      * This method returns the number of entities in a table.
      *
@@ -72,6 +72,16 @@ public class QueryOptions {
      */
     private URI nextLinkUri;
 
+    /**
+     * Whether the filter and order by options are evaluated by the datasource.
+     */
+    private boolean queryPushedDown;
+
+    /**
+     * Whether the skip and top options are evaluated by the datasource.
+     */
+    private boolean pagingPushedDown;
+
     public QueryOptions(ExpandOption expandOption, FilterOption filterOption, CountOption countOption,
                         SkipOption skipOption, TopOption topOption, OrderByOption orderByOption,
                         SkipTokenOption skipTokenOption) {
@@ -214,4 +224,20 @@ public class QueryOptions {
     private void setNextLinkUri(String nextLink) throws URISyntaxException {
         this.nextLinkUri = new URI(nextLink);
     }
+
+    public boolean isQueryPushedDown() {
+        return queryPushedDown;
+    }
+
+    public void setQueryPushedDown(boolean queryPushedDown) {
+        this.queryPushedDown = queryPushedDown;
+    }
+
+    public boolean isPagingPushedDown() {
+        return pagingPushedDown;
+    }
+
+    public void setPagingPushedDown(boolean pagingPushedDown) {
+        this.pagingPushedDown = pagingPushedDown;
+    }
 }
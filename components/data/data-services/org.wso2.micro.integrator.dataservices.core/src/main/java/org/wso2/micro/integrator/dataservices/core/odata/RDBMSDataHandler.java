@@ -22,13 +22,17 @@ import org.apache.axis2.databinding.utils.ConverterUtil;
 import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.apache.olingo.server.api.ODataApplicationException;
 import org.apache.olingo.server.api.uri.queryoption.OrderByItem;
 import org.apache.olingo.server.api.uri.queryoption.OrderByOption;
+import org.apache.olingo.server.api.uri.queryoption.expression.ExpressionVisitException;
 import org.wso2.micro.integrator.dataservices.common.DBConstants;
 import org.wso2.micro.integrator.dataservices.core.odata.DataColumn.ODataDataType;
 import org.wso2.micro.integrator.dataservices.core.DBUtils;
 import org.wso2.micro.integrator.dataservices.core.DataServiceFault;
 import org.wso2.micro.integrator.dataservices.core.engine.DataEntry;
+import org.wso2.micro.integrator.dataservices.core.odata.expression.ExpressionVisitorSQLImpl;
+import org.wso2.micro.integrator.dataservices.core.odata.expression.operand.SQLOperand;
 
 import javax.sql.DataSource;
 import java.io.ByteArrayInputStream;
@@ -95,6 +99,16 @@ public class RDBMSDataHandler implements ODataDataHandler {
     public static final String ORACLE_SERVER = "oracle";
     public static final String MSSQL_SERVER = "microsoft sql server";
 
+    /**
+     * Databases supporting the LIMIT ... OFFSET ... paging syntax.
+     */
+    private static final String[] LIMIT_OFFSET_SERVERS = { "mysql", "mariadb", "postgresql", "h2", "hsql", "sqlite" };
+
+    /**
+     * Databases supporting the OFFSET ... ROWS FETCH NEXT ... ROWS ONLY paging syntax.
+     */
+    private static final String[] OFFSET_FETCH_SERVERS = { ORACLE_SERVER, MSSQL_SERVER, "db2", "derby" };
+
     /**
      * Preferred chunk size.
      */
@@ -120,6 +134,11 @@ public class RDBMSDataHandler implements ODataDataHandler {
      */
     private boolean initializeStream;
 
+    /**
+     * Lower case name of the database product, used to choose the dialect of the pushed down queries.
+     */
+    private String databaseProductName;
+
     private ThreadLocal<Connection> transactionalConnection = new ThreadLocal<Connection>() {
         protected synchronized Connection initialValue() {
             return null;
@@ -582,6 +601,230 @@ public class RDBMSDataHandler implements ODataDataHandler {
         }
     }
 
+    @Override
+    public List<ODataEntry> streamTableWithQueryOptions(String tableName, ODataEntry keys, QueryOptions queryOptions)
+            throws ODataServiceFault {
+        validateTableName(tableName);
+        try {
+            if (this.initializeStream) {
+                if (queryOptions.getFilterOption() == null && queryOptions.getOrderByOption() == null
+                        && queryOptions.getSkipOption() == null && queryOptions.getTopOption() == null) {
+                    return null;
+                }
+                if (!executeQueryWithQueryOptions(tableName, keys, queryOptions)) {
+                    return null;
+                }
+                this.initializeStream = false;
+            } else if (this.streamResultSet == null || this.streamResultSet.isClosed()) {
+                return new ArrayList<>();
+            }
+            List<ODataEntry> entries = readStreamResultSet(tableName);
+            if (entries.size() < this.chunkSize) {
+                this.closeStreamConnection();
+            }
+            return entries;
+        } catch (SQLException e) {
+            this.closeStreamConnection();
+            throw new ODataServiceFault(e, "Error occurred while reading entities from " + tableName + " table. :"
+                    + e.getMessage());
+        }
+    }
+
+    /**
+     * This method compiles the query options to an SQL query and executes it in a new stream connection.
+     *
+     * @param tableName    Name of the table
+     * @param keys         Keys to check, or null
+     * @param queryOptions OData query options
+     * @return false if the query options cannot be evaluated by the database
+     * @throws ODataServiceFault
+     */
+    private boolean executeQueryWithQueryOptions(String tableName, ODataEntry keys, QueryOptions queryOptions)
+            throws ODataServiceFault {
+        Connection connection = null;
+        PreparedStatement statement = null;
+        try {
+            connection = initializeConnection();
+            if (this.databaseProductName == null) {
+                this.databaseProductName = connection.getMetaData().getDatabaseProductName().toLowerCase();
+            }
+            List<SQLOperand.Parameter> parameters = new ArrayList<>();
+            boolean pagingPushedDown = queryOptions.getSkipTokenOption() == null
+                    && getPagingClause(queryOptions) != null;
+            String query = createReadSqlWithQueryOptions(tableName, keys, queryOptions, pagingPushedDown, parameters);
+            if (query == null) {
+                releaseConnection(connection);
+                return false;
+            }
+            statement = connection.prepareStatement(query, ResultSet.TYPE_SCROLL_INSENSITIVE,
+                                                    ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(this.chunkSize);
+            int index = 1;
+            for (SQLOperand.Parameter parameter : parameters) {
+                bindValuesToPreparedStatement(parameter.getType(), parameter.getValue(), index, statement,
+                                              connection);
+                index++;
+            }
+            this.streamResultSet = statement.executeQuery();
+            this.streamConnection = connection;
+            this.preparedStatement = statement;
+            queryOptions.setQueryPushedDown(true);
+            queryOptions.setPagingPushedDown(pagingPushedDown);
+            return true;
+        } catch (SQLException | ParseException | ODataServiceFault | NumberFormatException e) {
+            // the query options are evaluated for each entity instead, which reports the actual error if any
+            if (log.isDebugEnabled()) {
+                log.debug("Unable to evaluate the query options of " + tableName + " table in the database. :"
+                                  + e.getMessage(), e);
+            }
+            releaseResources(null, statement);
+            if (connection != null) {
+                releaseConnection(connection);
+            }
+            return false;
+        }
+    }
+
+    /**
+     * This method creates SQL query to read data after applying the filter, order by, skip and top query options.
+     *
+     * @param tableName        Name of the table
+     * @param keys             Keys to check, or null
+     * @param queryOptions     OData query options
+     * @param pagingPushedDown Whether the skip and top options should be applied
+     * @param parameters       List to add the values of the query parameters
+     * @return sql Query, or null if the query options cannot be compiled to SQL
+     */
+    private String createReadSqlWithQueryOptions(String tableName, ODataEntry keys, QueryOptions queryOptions,
+                                                 boolean pagingPushedDown, List<SQLOperand.Parameter> parameters) {
+        Map<String, Integer> columnTypes = this.rdbmsDataTypes.get(tableName);
+        ExpressionVisitorSQLImpl visitor = new ExpressionVisitorSQLImpl(columnTypes);
+        StringBuilder sql = new StringBuilder();
+        sql.append("SELECT * FROM ").append(tableName);
+        boolean propertyMatch = false;
+        if (keys != null) {
+            for (String column : columnTypes.keySet()) {
+                if (keys.getNames().contains(column)) {
+                    sql.append(propertyMatch ? " AND " : " WHERE ").append(column).append(" = ?");
+                    parameters.add(new SQLOperand.Parameter(columnTypes.get(column), keys.getValue(column)));
+                    propertyMatch = true;
+                }
+            }
+        }
+        try {
+            if (queryOptions.getFilterOption() != null) {
+                SQLOperand filter = queryOptions.getFilterOption().getExpression().accept(visitor);
+                if (filter.getKind() != SQLOperand.Kind.PREDICATE) {
+                    return null;
+                }
+                sql.append(propertyMatch ? " AND " : " WHERE ").append(filter.getSql());
+                parameters.addAll(filter.getParameters());
+            }
+            OrderByOption orderByOption = queryOptions.getOrderByOption();
+            if (orderByOption != null && !orderByOption.getOrders().isEmpty()) {
+                sql.append(" ORDER BY ");
+                for (int i = 0; i < orderByOption.getOrders().size(); i++) {
+                    OrderByItem item = orderByOption.getOrders().get(i);
+                    SQLOperand order = item.getExpression().accept(visitor);
+                    if (!isSortableInDatabase(tableName, order)) {
+                        return null;
+                    }
+                    if (i > 0) {
+                        sql.append(", ");
+                    }
+                    sql.append(order.getSql()).append(item.isDescending() ? " DESC" : " ASC");
+                    parameters.addAll(order.getParameters());
+                }
+            } else if (pagingPushedDown && this.databaseProductName.contains(MSSQL_SERVER)) {
+                // SQL Server requires an order by clause for paging
+                sql.append(" ORDER BY (SELECT NULL)");
+            }
+        } catch (ExpressionVisitException | ODataApplicationException e) {
+            return null;
+        }
+        if (pagingPushedDown) {
+            sql.append(getPagingClause(queryOptions));
+            long skip = queryOptions.getSkipOption() != null ? queryOptions.getSkipOption().getValue() : 0;
+            // the limit is an integer in some databases, e.g. H2
+            long top = queryOptions.getTopOption() != null ? queryOptions.getTopOption().getValue() : Integer.MAX_VALUE;
+            if (isPagingSupported(LIMIT_OFFSET_SERVERS)) {
+                parameters.add(new SQLOperand.Parameter(Types.BIGINT, String.valueOf(top)));
+                parameters.add(new SQLOperand.Parameter(Types.BIGINT, String.valueOf(skip)));
+            } else {
+                parameters.add(new SQLOperand.Parameter(Types.BIGINT, String.valueOf(skip)));
+                if (queryOptions.getTopOption() != null) {
+                    parameters.add(new SQLOperand.Parameter(Types.BIGINT, String.valueOf(top)));
+                }
+            }
+        }
+        return sql.toString();
+    }
+
+    /**
+     * This method checks whether the database sorts by the given operand the same way as the entities are sorted
+     * otherwise. Nulls are placed first by some databases and last by others, and the order of strings depends on
+     * the collation of the column, hence only non nullable columns of other types are sorted by the database.
+     *
+     * @param tableName Name of the table
+     * @param order     Compiled order by expression
+     * @return true if the order by expression can be evaluated by the database
+     */
+    private boolean isSortableInDatabase(String tableName, SQLOperand order) {
+        if (order.getKind() != SQLOperand.Kind.COLUMN) {
+            return false;
+        }
+        DataColumn column = this.tableMetaData.get(tableName).get(order.getSql());
+        if (column == null || column.isNullable()) {
+            return false;
+        }
+        switch (order.getType()) {
+            case Types.VARCHAR:
+            case Types.CHAR:
+            case Types.LONGVARCHAR:
+            case Types.NVARCHAR:
+            case Types.NCHAR:
+            case Types.LONGNVARCHAR:
+                return false;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * This method returns the paging clause of the database for the skip and top query options.
+     *
+     * @param queryOptions OData query options
+     * @return paging clause, or null if the database paging syntax is not known or there is nothing to page
+     */
+    private String getPagingClause(QueryOptions queryOptions) {
+        if (queryOptions.getSkipOption() == null && queryOptions.getTopOption() == null) {
+            return null;
+        }
+        if (isPagingSupported(LIMIT_OFFSET_SERVERS)) {
+            return " LIMIT ? OFFSET ?";
+        }
+        if (isPagingSupported(OFFSET_FETCH_SERVERS)) {
+            if (queryOptions.getTopOption() == null) {
+                return " OFFSET ? ROWS";
+            }
+            // a fetch of zero rows is rejected by some databases
+            if (queryOptions.getTopOption().getValue() == 0) {
+                return null;
+            }
+            return " OFFSET ? ROWS FETCH NEXT ? ROWS ONLY";
+        }
+        return null;
+    }
+
+    private boolean isPagingSupported(String[] servers) {
+        for (String server : servers) {
+            if (this.databaseProductName.contains(server)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * This method creates an OData entry for a given table.
      *
@@ -82,6 +82,11 @@ public class StreamingEntityIterator extends EntityIterator {
      */
     private QueryOptions queryOptions;
 
+    /**
+     * Whether the datasource was requested to evaluate the query options.
+     */
+    private boolean queryPushDownAttempted;
+
     public StreamingEntityIterator(ODataAdapter adapter, EdmEntitySet edmEntitySet, String baseURL,
                                    Iterator<Entity> iterator, List<Entity> entityList, QueryOptions queryOptions,
                                    int rowsCount, ODataEntry properties, String tableName) {
@@ -123,6 +128,14 @@ public class StreamingEntityIterator extends EntityIterator {
         this.tableName = tableName;
     }
 
+    public boolean isQueryPushDownAttempted() {
+        return queryPushDownAttempted;
+    }
+
+    public void setQueryPushDownAttempted(boolean queryPushDownAttempted) {
+        this.queryPushDownAttempted = queryPushDownAttempted;
+    }
+
     public ODataAdapter getAdapter() {
         return adapter;
     }
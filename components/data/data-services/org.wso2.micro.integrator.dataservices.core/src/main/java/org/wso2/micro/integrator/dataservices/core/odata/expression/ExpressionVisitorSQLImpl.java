@@ -0,0 +1,305 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.micro.integrator.dataservices.core.odata.expression;
+
+import org.apache.olingo.commons.api.edm.EdmEnumType;
+import org.apache.olingo.commons.api.edm.EdmProperty;
+import org.apache.olingo.commons.api.edm.EdmType;
+import org.apache.olingo.commons.api.http.HttpStatusCode;
+import org.apache.olingo.server.api.ODataApplicationException;
+import org.apache.olingo.server.api.uri.UriResource;
+import org.apache.olingo.server.api.uri.UriResourcePrimitiveProperty;
+import org.apache.olingo.server.api.uri.queryoption.expression.BinaryOperatorKind;
+import org.apache.olingo.server.api.uri.queryoption.expression.Expression;
+import org.apache.olingo.server.api.uri.queryoption.expression.ExpressionVisitException;
+import org.apache.olingo.server.api.uri.queryoption.expression.ExpressionVisitor;
+import org.apache.olingo.server.api.uri.queryoption.expression.Literal;
+import org.apache.olingo.server.api.uri.queryoption.expression.Member;
+import org.apache.olingo.server.api.uri.queryoption.expression.MethodKind;
+import org.apache.olingo.server.api.uri.queryoption.expression.UnaryOperatorKind;
+import org.wso2.micro.integrator.dataservices.core.odata.ODataConstants;
+import org.wso2.micro.integrator.dataservices.core.odata.expression.operand.SQLOperand;
+import org.wso2.micro.integrator.dataservices.core.odata.expression.operand.SQLOperand.Kind;
+import org.wso2.micro.integrator.dataservices.core.odata.expression.operand.SQLOperand.Parameter;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * This class compiles an OData filter or order by expression to an SQL fragment, where the literals are bound as
+ * parameters. Only the expressions which are evaluated the same way by the database and by
+ * {@link ExpressionVisitorImpl} are compiled, the rest is reported as not implemented, so that the caller can fall
+ * back to evaluating the expression on each entity. String values are only checked for null, since comparing them
+ * or matching them against a pattern depends on the collation of the column, e.g. a case insensitive collation.
+ */
+public class ExpressionVisitorSQLImpl implements ExpressionVisitor<SQLOperand> {
+
+    /**
+     * JDBC types of the columns of the table.
+     */
+    private final Map<String, Integer> columnTypes;
+
+    public ExpressionVisitorSQLImpl(final Map<String, Integer> columnTypes) {
+        this.columnTypes = columnTypes;
+    }
+
+    @Override
+    public SQLOperand visitBinaryOperator(final BinaryOperatorKind operator, final SQLOperand left,
+                                          final SQLOperand right)
+            throws ExpressionVisitException, ODataApplicationException {
+        switch (operator) {
+            case AND:
+                return logicalOperator("AND", left, right);
+            case OR:
+                return logicalOperator("OR", left, right);
+            case EQ:
+                return equalityOperator(true, left, right);
+            case NE:
+                return equalityOperator(false, left, right);
+            case GE:
+                return comparisonOperator(">=", left, right);
+            case GT:
+                return comparisonOperator(">", left, right);
+            case LE:
+                return comparisonOperator("<=", left, right);
+            case LT:
+                return comparisonOperator("<", left, right);
+            default:
+                return throwNotImplemented();
+        }
+    }
+
+    @Override
+    public SQLOperand visitBinaryOperator(final BinaryOperatorKind operator, final SQLOperand left,
+                                          final List<SQLOperand> right)
+            throws ExpressionVisitException, ODataApplicationException {
+        if (operator != BinaryOperatorKind.IN || !left.isValue() || isString(left.getType()) || right.isEmpty()) {
+            return throwNotImplemented();
+        }
+        List<Parameter> parameters = new ArrayList<>(left.getParameters());
+        StringBuilder sql = new StringBuilder(left.getSql()).append(" IN (");
+        for (int i = 0; i < right.size(); i++) {
+            SQLOperand value = right.get(i);
+            if (value.getKind() != Kind.LITERAL) {
+                return throwNotImplemented();
+            }
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(value.getSql());
+            parameters.addAll(bindAs(value, left).getParameters());
+        }
+        sql.append(")");
+        return new SQLOperand(Kind.PREDICATE, sql.toString(), Types.BOOLEAN, parameters);
+    }
+
+    @Override
+    public SQLOperand visitUnaryOperator(final UnaryOperatorKind operator, final SQLOperand operand)
+            throws ExpressionVisitException, ODataApplicationException {
+        // NOT is evaluated differently on null values by the database, hence it is not compiled
+        return throwNotImplemented();
+    }
+
+    @Override
+    public SQLOperand visitMethodCall(final MethodKind methodCall, final List<SQLOperand> parameters)
+            throws ExpressionVisitException, ODataApplicationException {
+        // string functions and pattern matching depend on the collation and trailing space handling of the database
+        return throwNotImplemented();
+    }
+
+    @Override
+    public SQLOperand visitLambdaExpression(final String lambdaFunction, final String lambdaVariable,
+                                            final Expression expression)
+            throws ExpressionVisitException, ODataApplicationException {
+        return throwNotImplemented();
+    }
+
+    @Override
+    public SQLOperand visitLiteral(Literal literal) throws ExpressionVisitException, ODataApplicationException {
+        EdmType type = literal.getType();
+        String text = literal.getText();
+        if (type == null || "null".equals(text)) {
+            return SQLOperand.nullLiteral();
+        } else if (type.equals(ODataConstants.primitiveString)) {
+            return SQLOperand.literal(text.substring(1, text.length() - 1).replace("''", "'"), Types.VARCHAR);
+        } else if (type.equals(ODataConstants.primitiveBoolean)) {
+            return SQLOperand.literal(text, Types.BOOLEAN);
+        } else if (type.equals(ODataConstants.primitiveByte) || type.equals(ODataConstants.primitiveSByte) ||
+                   type.equals(ODataConstants.primitiveInt16) || type.equals(ODataConstants.primitiveInt32)) {
+            return SQLOperand.literal(text, Types.INTEGER);
+        } else if (type.equals(ODataConstants.primitiveInt64)) {
+            return SQLOperand.literal(text, Types.BIGINT);
+        } else if (type.equals(ODataConstants.primitiveDecimal)) {
+            return SQLOperand.literal(text, Types.DECIMAL);
+        } else if (type.equals(ODataConstants.primitiveSingle) || type.equals(ODataConstants.primitiveDouble)) {
+            return SQLOperand.literal(text, Types.DOUBLE);
+        } else if (type.equals(ODataConstants.primitiveDate)) {
+            return SQLOperand.literal(text, Types.DATE);
+        } else if (type.equals(ODataConstants.primitiveDateTimeOffset)) {
+            return SQLOperand.literal(text, Types.TIMESTAMP);
+        } else if (type.equals(ODataConstants.primitiveTimeOfDay)) {
+            return SQLOperand.literal(text, Types.TIME);
+        } else if (type.equals(ODataConstants.primitiveGuid)) {
+            return SQLOperand.literal(text, Types.VARCHAR);
+        }
+        return throwNotImplemented();
+    }
+
+    @Override
+    public SQLOperand visitMember(Member member) throws ExpressionVisitException, ODataApplicationException {
+        final List<UriResource> uriResourceParts = member.getResourcePath().getUriResourceParts();
+        if (uriResourceParts.size() != 1 || !(uriResourceParts.get(0) instanceof UriResourcePrimitiveProperty)) {
+            return throwNotImplemented();
+        }
+        EdmProperty property = ((UriResourcePrimitiveProperty) uriResourceParts.get(0)).getProperty();
+        Integer type = columnTypes.get(property.getName());
+        if (type == null || !isComparable(type)) {
+            return throwNotImplemented();
+        }
+        return SQLOperand.column(property.getName(), type);
+    }
+
+    @Override
+    public SQLOperand visitAlias(final String aliasName) throws ExpressionVisitException, ODataApplicationException {
+        return throwNotImplemented();
+    }
+
+    @Override
+    public SQLOperand visitTypeLiteral(final EdmType type) throws ExpressionVisitException, ODataApplicationException {
+        return throwNotImplemented();
+    }
+
+    @Override
+    public SQLOperand visitLambdaReference(final String variableName)
+            throws ExpressionVisitException, ODataApplicationException {
+        return throwNotImplemented();
+    }
+
+    @Override
+    public SQLOperand visitEnum(final EdmEnumType type, final List<String> enumValues)
+            throws ExpressionVisitException, ODataApplicationException {
+        return throwNotImplemented();
+    }
+
+    private SQLOperand logicalOperator(String operator, SQLOperand left, SQLOperand right)
+            throws ODataApplicationException {
+        if (left.getKind() != Kind.PREDICATE || right.getKind() != Kind.PREDICATE) {
+            return throwNotImplemented();
+        }
+        return new SQLOperand(Kind.PREDICATE, "(" + left.getSql() + " " + operator + " " + right.getSql() + ")",
+                              Types.BOOLEAN, SQLOperand.joinParameters(left, right));
+    }
+
+    private SQLOperand equalityOperator(boolean equals, SQLOperand left, SQLOperand right)
+            throws ODataApplicationException {
+        if (left.getKind() == Kind.NULL || right.getKind() == Kind.NULL) {
+            SQLOperand value = left.getKind() == Kind.NULL ? right : left;
+            if (!value.isValue()) {
+                return throwNotImplemented();
+            }
+            return new SQLOperand(Kind.PREDICATE, value.getSql() + (equals ? " IS NULL" : " IS NOT NULL"),
+                                  Types.BOOLEAN, value.getParameters());
+        }
+        SQLOperand comparison = comparisonOperator(equals ? "=" : "<>", left, right);
+        if (equals) {
+            return comparison;
+        }
+        // a null value is not equal to any other value in OData, whereas the comparison is unknown in SQL
+        StringBuilder sql = new StringBuilder("(").append(comparison.getSql());
+        List<Parameter> parameters = new ArrayList<>(comparison.getParameters());
+        for (SQLOperand operand : new SQLOperand[] { left, right }) {
+            if (operand.getKind() != Kind.LITERAL) {
+                sql.append(" OR ").append(operand.getSql()).append(" IS NULL");
+                parameters.addAll(operand.getParameters());
+            }
+        }
+        sql.append(")");
+        return new SQLOperand(Kind.PREDICATE, sql.toString(), Types.BOOLEAN, parameters);
+    }
+
+    private SQLOperand comparisonOperator(String operator, SQLOperand left, SQLOperand right)
+            throws ODataApplicationException {
+        if (!left.isValue() || !right.isValue()) {
+            return throwNotImplemented();
+        }
+        SQLOperand leftOperand = bindAs(left, right);
+        SQLOperand rightOperand = bindAs(right, left);
+        if (isString(leftOperand.getType()) || isString(rightOperand.getType())) {
+            return throwNotImplemented();
+        }
+        return new SQLOperand(Kind.PREDICATE, leftOperand.getSql() + " " + operator + " " + rightOperand.getSql(),
+                              Types.BOOLEAN, SQLOperand.joinParameters(leftOperand, rightOperand));
+    }
+
+    /**
+     * A literal compared with a column is bound with the type of the column.
+     */
+    private SQLOperand bindAs(SQLOperand operand, SQLOperand other) {
+        if (operand.getKind() == Kind.LITERAL && other.getKind() == Kind.COLUMN) {
+            return operand.withType(other.getType());
+        }
+        return operand;
+    }
+
+    private boolean isString(int type) {
+        switch (type) {
+            case Types.VARCHAR:
+            case Types.CHAR:
+            case Types.LONGVARCHAR:
+            case Types.NVARCHAR:
+            case Types.NCHAR:
+            case Types.LONGNVARCHAR:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Large objects, binary and vendor specific columns cannot be compared portably in SQL.
+     */
+    private boolean isComparable(int type) {
+        switch (type) {
+            case Types.BIT:
+            case Types.BOOLEAN:
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+            case Types.BIGINT:
+            case Types.FLOAT:
+            case Types.REAL:
+            case Types.DOUBLE:
+            case Types.NUMERIC:
+            case Types.DECIMAL:
+            case Types.DATE:
+            case Types.TIME:
+            case Types.TIMESTAMP:
+                return true;
+            default:
+                return isString(type);
+        }
+    }
+
+    private SQLOperand throwNotImplemented() throws ODataApplicationException {
+        throw new ODataApplicationException("Not implemented", HttpStatusCode.NOT_IMPLEMENTED.getStatusCode(),
+                                            Locale.ROOT);
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.micro.integrator.dataservices.core.odata.expression.operand;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class represents an SQL fragment compiled from an OData expression, along with the values to be bound to its
+ * parameters in the order they appear in the fragment.
+ */
+public class SQLOperand {
+
+    public enum Kind {
+        /**
+         * Reference to a column of the table.
+         */
+        COLUMN,
+        /**
+         * Literal value, which is bound as a parameter.
+         */
+        LITERAL,
+        /**
+         * The null literal.
+         */
+        NULL,
+        /**
+         * Value computed from other operands.
+         */
+        VALUE,
+        /**
+         * Boolean condition, which can only be used in the where clause or combined with other conditions.
+         */
+        PREDICATE
+    }
+
+    private final Kind kind;
+
+    private final String sql;
+
+    /**
+     * JDBC type of the value.
+     */
+    private final int type;
+
+    private final List<Parameter> parameters;
+
+    public SQLOperand(Kind kind, String sql, int type, List<Parameter> parameters) {
+        this.kind = kind;
+        this.sql = sql;
+        this.type = type;
+        this.parameters = Collections.unmodifiableList(parameters);
+    }
+
+    public static SQLOperand column(String column, int type) {
+        return new SQLOperand(Kind.COLUMN, column, type, Collections.<Parameter>emptyList());
+    }
+
+    public static SQLOperand literal(String value, int type) {
+        return new SQLOperand(Kind.LITERAL, "?", type, Collections.singletonList(new Parameter(type, value)));
+    }
+
+    public static SQLOperand nullLiteral() {
+        return new SQLOperand(Kind.NULL, "NULL", Types.NULL, Collections.<Parameter>emptyList());
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public int getType() {
+        return type;
+    }
+
+    public List<Parameter> getParameters() {
+        return parameters;
+    }
+
+    /**
+     * Returns whether this operand evaluates to a value, which can be compared or passed to a function.
+     *
+     * @return true if the operand is a value
+     */
+    public boolean isValue() {
+        return kind == Kind.COLUMN || kind == Kind.LITERAL || kind == Kind.VALUE;
+    }
+
+    /**
+     * Returns the literal value of this operand.
+     *
+     * @return literal value or null if this operand is not a literal
+     */
+    public String getLiteralValue() {
+        return kind == Kind.LITERAL ? parameters.get(0).getValue() : null;
+    }
+
+    /**
+     * Binds a literal with the given type, so that it is converted the same way as the column it is compared with.
+     *
+     * @param type JDBC type
+     * @return literal operand with the given type
+     */
+    public SQLOperand withType(int type) {
+        if (kind != Kind.LITERAL) {
+            return this;
+        }
+        return literal(getLiteralValue(), type);
+    }
+
+    /**
+     * Joins the parameters of the given operands in order.
+     *
+     * @param operands operands
+     * @return parameters of the operands
+     */
+    public static List<Parameter> joinParameters(SQLOperand... operands) {
+        List<Parameter> parameters = new ArrayList<>();
+        for (SQLOperand operand : operands) {
+            parameters.addAll(operand.getParameters());
+        }
+        return parameters;
+    }
+
+    /**
+     * A value to be bound to a parameter of a prepared statement.
+     */
+    public static class Parameter {
+
+        private final int type;
+
+        private final String value;
+
+        public Parameter(int type, String value) {
+            this.type = type;
+            this.value = value;
+        }
+
+        public int getType() {
+            return type;
+        }
+
+        public String getValue() {
+            return value;
+        }
+    }
+}
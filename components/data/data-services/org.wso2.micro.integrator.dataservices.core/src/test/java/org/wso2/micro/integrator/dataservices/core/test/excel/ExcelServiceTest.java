@@ -21,6 +21,8 @@ import org.apache.axiom.om.OMElement;
 import org.wso2.micro.integrator.dataservices.core.test.DataServiceBaseTestCase;
 import org.wso2.micro.integrator.dataservices.core.test.util.TestUtils;
 
+import java.util.Iterator;
+
 public class ExcelServiceTest extends DataServiceBaseTestCase {
 
 private String epr = null;
@@ -77,5 +79,93 @@ private String epr = null;
 			fail(e.getMessage());
 		}
 	}
+
+	/**
+	 * Test streaming an Excel 2007 file datasource, the result should be the same as reading it in to memory
+	 */
+	public void testExcelNewFormatStreaming() {
+		TestUtils.showMessage(this.epr + " - testExcelNewFormatStreaming");
+		try {
+            TestUtils.checkForService(this.epr);
+			OMElement expected = TestUtils.callOperation(this.epr, "excel_new_op", null);
+			OMElement result = TestUtils.callOperation(this.epr, "excel_new_streaming_op", null);
+			assertTrue(TestUtils.validateResultStructure(result, TestUtils.CUSTOMER_XSD_PATH));
+			assertEquals(expected.toString(), result.toString());
+			assertEquals(122, this.countCustomers(result));
+			assertEquals("103", TestUtils.getFirstValue(result, "/Customers/Customer[1]/customerNumber",
+					TestUtils.DEFAULT_DS_WS_NAMESPACE));
+			assertEquals("496", TestUtils.getFirstValue(result, "/Customers/Customer[122]/customerNumber",
+					TestUtils.DEFAULT_DS_WS_NAMESPACE));
+		} catch (Exception e) {
+			e.printStackTrace();
+			fail(e.getMessage());
+		}
+	}
+
+	/**
+	 * Test the starting row and the maximum row count when streaming an Excel 2007 file datasource
+	 */
+	public void testExcelNewFormatStreamingRange() {
+		TestUtils.showMessage(this.epr + " - testExcelNewFormatStreamingRange");
+		try {
+            TestUtils.checkForService(this.epr);
+			OMElement result = TestUtils.callOperation(this.epr, "excel_new_streaming_range_op", null);
+			assertEquals(3, this.countCustomers(result));
+			assertEquals("119", TestUtils.getFirstValue(result, "/Customers/Customer[1]/customerNumber",
+					TestUtils.DEFAULT_DS_WS_NAMESPACE));
+			assertEquals("124", TestUtils.getFirstValue(result, "/Customers/Customer[3]/customerNumber",
+					TestUtils.DEFAULT_DS_WS_NAMESPACE));
+		} catch (Exception e) {
+			e.printStackTrace();
+			fail(e.getMessage());
+		}
+	}
+
+	/**
+	 * Test an Excel 2000/XP file datasource with streaming enabled, which is read in to memory
+	 */
+	public void testExcelOldFormatStreamingFallback() {
+		TestUtils.showMessage(this.epr + " - testExcelOldFormatStreamingFallback");
+		try {
+            TestUtils.checkForService(this.epr);
+			OMElement expected = TestUtils.callOperation(this.epr, "customers_old_no_ints_op", null);
+			OMElement result = TestUtils.callOperation(this.epr, "customers_old_no_ints_streaming_op", null);
+			assertTrue(TestUtils.validateResultStructure(result, TestUtils.OFFICES_XSD_PATH));
+			assertEquals(expected.toString(), result.toString());
+		} catch (Exception e) {
+			e.printStackTrace();
+			fail(e.getMessage());
+		}
+	}
+
+	/**
+	 * Test an Excel 2007 file datasource with the rows cached, the cached rows are shared by the requests
+	 */
+	public void testExcelNewFormatCached() {
+		TestUtils.showMessage(this.epr + " - testExcelNewFormatCached");
+		try {
+            TestUtils.checkForService(this.epr);
+			OMElement expected = TestUtils.callOperation(this.epr, "excel_new_op", null);
+			for (int i = 0; i < 2; i++) {
+				OMElement result = TestUtils.callOperation(this.epr, "excel_new_cached_op", null);
+				assertEquals(expected.toString(), result.toString());
+				result = TestUtils.callOperation(this.epr, "excel_new_cached_range_op", null);
+				assertEquals(3, this.countCustomers(result));
+				assertEquals("119", TestUtils.getFirstValue(result, "/Customers/Customer[1]/customerNumber",
+						TestUtils.DEFAULT_DS_WS_NAMESPACE));
+			}
+		} catch (Exception e) {
+			e.printStackTrace();
+			fail(e.getMessage());
+		}
+	}
+
+	private int countCustomers(OMElement result) {
+		int count = 0;
+		for (Iterator<?> itr = result.getChildElements(); itr.hasNext(); itr.next()) {
+			count++;
+		}
+		return count;
+	}
 	
 }
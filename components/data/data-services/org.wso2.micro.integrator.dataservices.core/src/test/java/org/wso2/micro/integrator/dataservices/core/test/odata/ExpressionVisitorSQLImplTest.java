@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.micro.integrator.dataservices.core.test.odata;
+
+import junit.framework.TestCase;
+import org.apache.olingo.commons.api.edm.EdmType;
+import org.apache.olingo.commons.api.http.HttpStatusCode;
+import org.apache.olingo.server.api.ODataApplicationException;
+import org.apache.olingo.server.api.uri.queryoption.expression.BinaryOperatorKind;
+import org.apache.olingo.server.api.uri.queryoption.expression.ExpressionVisitException;
+import org.apache.olingo.server.api.uri.queryoption.expression.ExpressionVisitor;
+import org.apache.olingo.server.api.uri.queryoption.expression.Literal;
+import org.apache.olingo.server.api.uri.queryoption.expression.MethodKind;
+import org.apache.olingo.server.api.uri.queryoption.expression.UnaryOperatorKind;
+import org.wso2.micro.integrator.dataservices.core.odata.ODataConstants;
+import org.wso2.micro.integrator.dataservices.core.odata.expression.ExpressionVisitorSQLImpl;
+import org.wso2.micro.integrator.dataservices.core.odata.expression.operand.SQLOperand;
+
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tests compiling OData filter expressions to SQL.
+ */
+public class ExpressionVisitorSQLImplTest extends TestCase {
+
+    private final ExpressionVisitorSQLImpl visitor;
+
+    private final SQLOperand age = SQLOperand.column("AGE", Types.INTEGER);
+
+    private final SQLOperand price = SQLOperand.column("PRICE", Types.DECIMAL);
+
+    private final SQLOperand name = SQLOperand.column("NAME", Types.VARCHAR);
+
+    public ExpressionVisitorSQLImplTest() {
+        super("ExpressionVisitorSQLImplTest");
+        Map<String, Integer> columnTypes = new HashMap<>();
+        columnTypes.put("AGE", Types.INTEGER);
+        columnTypes.put("PRICE", Types.DECIMAL);
+        columnTypes.put("NAME", Types.VARCHAR);
+        visitor = new ExpressionVisitorSQLImpl(columnTypes);
+    }
+
+    public void testComparison() throws Exception {
+        SQLOperand result = visitor.visitBinaryOperator(BinaryOperatorKind.GT, age, literal("30", Types.INTEGER));
+        assertEquals(SQLOperand.Kind.PREDICATE, result.getKind());
+        assertEquals("AGE > ?", result.getSql());
+        assertParameters(result, Types.INTEGER, "30");
+    }
+
+    public void testLiteralIsBoundWithColumnType() throws Exception {
+        SQLOperand result = visitor.visitBinaryOperator(BinaryOperatorKind.LE, literal("10", Types.INTEGER), price);
+        assertEquals("? <= PRICE", result.getSql());
+        assertParameters(result, Types.DECIMAL, "10");
+    }
+
+    public void testNotEqualMatchesNulls() throws Exception {
+        SQLOperand result = visitor.visitBinaryOperator(BinaryOperatorKind.NE, age, literal("30", Types.INTEGER));
+        assertEquals("(AGE <> ? OR AGE IS NULL)", result.getSql());
+        assertParameters(result, Types.INTEGER, "30");
+    }
+
+    public void testNullComparison() throws Exception {
+        SQLOperand isNull = visitor.visitBinaryOperator(BinaryOperatorKind.EQ, name, SQLOperand.nullLiteral());
+        assertEquals("NAME IS NULL", isNull.getSql());
+        assertTrue(isNull.getParameters().isEmpty());
+
+        SQLOperand isNotNull = visitor.visitBinaryOperator(BinaryOperatorKind.NE, SQLOperand.nullLiteral(), name);
+        assertEquals("NAME IS NOT NULL", isNotNull.getSql());
+        assertTrue(isNotNull.getParameters().isEmpty());
+    }
+
+    public void testLogicalOperatorsKeepParameterOrder() throws Exception {
+        SQLOperand left = visitor.visitBinaryOperator(BinaryOperatorKind.GE, age, literal("18", Types.INTEGER));
+        SQLOperand right = visitor.visitBinaryOperator(BinaryOperatorKind.LT, price, literal("9.5", Types.DECIMAL));
+        SQLOperand and = visitor.visitBinaryOperator(BinaryOperatorKind.AND, left, right);
+        assertEquals("(AGE >= ? AND PRICE < ?)", and.getSql());
+        assertParameters(and, Types.INTEGER, "18", Types.DECIMAL, "9.5");
+
+        SQLOperand or = visitor.visitBinaryOperator(BinaryOperatorKind.OR, right, left);
+        assertEquals("(PRICE < ? OR AGE >= ?)", or.getSql());
+        assertParameters(or, Types.DECIMAL, "9.5", Types.INTEGER, "18");
+    }
+
+    public void testIn() throws Exception {
+        List<SQLOperand> values = Arrays.asList(literal("1", Types.INTEGER), literal("2", Types.BIGINT));
+        SQLOperand result = visitor.visitBinaryOperator(BinaryOperatorKind.IN, age, values);
+        assertEquals("AGE IN (?, ?)", result.getSql());
+        assertParameters(result, Types.INTEGER, "1", Types.INTEGER, "2");
+    }
+
+    public void testStringComparisonIsNotCompiled() throws Exception {
+        for (BinaryOperatorKind operator : new BinaryOperatorKind[] {
+                BinaryOperatorKind.EQ, BinaryOperatorKind.NE, BinaryOperatorKind.LT, BinaryOperatorKind.GE }) {
+            assertNotImplemented(operator, name, literal("abc", Types.VARCHAR));
+        }
+        try {
+            visitor.visitBinaryOperator(BinaryOperatorKind.IN, name, Arrays.asList(literal("abc", Types.VARCHAR)));
+            fail("String values should not be compiled to IN");
+        } catch (ODataApplicationException e) {
+            assertEquals(HttpStatusCode.NOT_IMPLEMENTED.getStatusCode(), e.getStatusCode());
+        }
+    }
+
+    public void testStringMethodsAreNotCompiled() throws Exception {
+        for (MethodKind method : new MethodKind[] {
+                MethodKind.CONTAINS, MethodKind.STARTSWITH, MethodKind.ENDSWITH, MethodKind.TOLOWER,
+                MethodKind.TOUPPER, MethodKind.TRIM, MethodKind.LENGTH }) {
+            try {
+                visitor.visitMethodCall(method, Arrays.asList(name, literal("abc", Types.VARCHAR)));
+                fail(method + " should not be compiled");
+            } catch (ODataApplicationException e) {
+                assertEquals(HttpStatusCode.NOT_IMPLEMENTED.getStatusCode(), e.getStatusCode());
+            }
+        }
+    }
+
+    public void testNotIsNotCompiled() throws Exception {
+        SQLOperand predicate = visitor.visitBinaryOperator(BinaryOperatorKind.EQ, age, literal("1", Types.INTEGER));
+        try {
+            visitor.visitUnaryOperator(UnaryOperatorKind.NOT, predicate);
+            fail("NOT should not be compiled");
+        } catch (ODataApplicationException e) {
+            assertEquals(HttpStatusCode.NOT_IMPLEMENTED.getStatusCode(), e.getStatusCode());
+        }
+    }
+
+    public void testLogicalOperatorNeedsPredicates() throws Exception {
+        assertNotImplemented(BinaryOperatorKind.AND, age, literal("1", Types.INTEGER));
+    }
+
+    public void testLiterals() throws Exception {
+        SQLOperand string = visitor.visitLiteral(new TestLiteral("'O''Brien'", ODataConstants.primitiveString));
+        assertEquals(SQLOperand.Kind.LITERAL, string.getKind());
+        assertParameters(string, Types.VARCHAR, "O'Brien");
+
+        SQLOperand number = visitor.visitLiteral(new TestLiteral("42", ODataConstants.primitiveInt32));
+        assertParameters(number, Types.INTEGER, "42");
+
+        assertEquals(SQLOperand.Kind.NULL, visitor.visitLiteral(new TestLiteral("null", null)).getKind());
+    }
+
+    private void assertNotImplemented(BinaryOperatorKind operator, SQLOperand left, SQLOperand right)
+            throws ExpressionVisitException {
+        try {
+            visitor.visitBinaryOperator(operator, left, right);
+            fail(operator + " should not be compiled for " + left.getSql());
+        } catch (ODataApplicationException e) {
+            assertEquals(HttpStatusCode.NOT_IMPLEMENTED.getStatusCode(), e.getStatusCode());
+        }
+    }
+
+    /**
+     * Asserts the parameters of an operand, given as pairs of JDBC type and value.
+     */
+    private void assertParameters(SQLOperand operand, Object... typesAndValues) {
+        List<SQLOperand.Parameter> parameters = operand.getParameters();
+        assertEquals(typesAndValues.length / 2, parameters.size());
+        for (int i = 0; i < parameters.size(); i++) {
+            assertEquals(typesAndValues[2 * i], parameters.get(i).getType());
+            assertEquals(typesAndValues[2 * i + 1], parameters.get(i).getValue());
+        }
+    }
+
+    private SQLOperand literal(String value, int type) {
+        return SQLOperand.literal(value, type);
+    }
+
+    private static class TestLiteral implements Literal {
+
+        private final String text;
+
+        private final EdmType type;
+
+        TestLiteral(String text, EdmType type) {
+            this.text = text;
+            this.type = type;
+        }
+
+        @Override
+        public String getText() {
+            return text;
+        }
+
+        @Override
+        public EdmType getType() {
+            return type;
+        }
+
+        @Override
+        public <T> T accept(ExpressionVisitor<T> visitor) throws ExpressionVisitException, ODataApplicationException {
+            return visitor.visitLiteral(this);
+        }
+    }
+}
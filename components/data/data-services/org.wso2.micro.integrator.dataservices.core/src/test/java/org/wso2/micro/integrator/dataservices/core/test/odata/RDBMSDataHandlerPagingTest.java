@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.micro.integrator.dataservices.core.test.odata;
+
+import junit.framework.TestCase;
+import org.apache.olingo.server.core.uri.queryoption.SkipOptionImpl;
+import org.apache.olingo.server.core.uri.queryoption.TopOptionImpl;
+import org.h2.jdbcx.JdbcDataSource;
+import org.wso2.micro.integrator.dataservices.core.odata.ODataEntry;
+import org.wso2.micro.integrator.dataservices.core.odata.QueryOptions;
+import org.wso2.micro.integrator.dataservices.core.odata.RDBMSDataHandler;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.sql.DataSource;
+
+/**
+ * Tests the paging clauses generated by the RDBMS OData data handler for the $skip and $top query options. The
+ * queries are executed in an H2 database reporting the product name of the database under test, since H2 supports
+ * both the LIMIT ... OFFSET and the OFFSET ... FETCH paging syntax.
+ */
+public class RDBMSDataHandlerPagingTest extends TestCase {
+
+    private static final String TABLE = "PAGING_ITEMS";
+
+    private static final String SELECT = "SELECT * FROM " + TABLE;
+
+    private static final int ROWS = 10;
+
+    private final JdbcDataSource h2DataSource = new JdbcDataSource();
+
+    /**
+     * product name reported by the database metadata, or null to report the actual product name
+     */
+    private String databaseProductName;
+
+    private final List<String> preparedQueries = new ArrayList<>();
+
+    public RDBMSDataHandlerPagingTest() {
+        super("RDBMSDataHandlerPagingTest");
+        h2DataSource.setURL("jdbc:h2:mem:odata-paging-test-db;DB_CLOSE_DELAY=-1");
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        try (Connection conn = h2DataSource.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("DROP TABLE IF EXISTS " + TABLE);
+            stmt.executeUpdate("CREATE TABLE " + TABLE + " (ID INTEGER NOT NULL PRIMARY KEY, NAME VARCHAR(20))");
+            for (int i = 1; i <= ROWS; i++) {
+                stmt.executeUpdate("INSERT INTO " + TABLE + " VALUES (" + i + ", 'item" + i + "')");
+            }
+        }
+        databaseProductName = null;
+        preparedQueries.clear();
+    }
+
+    public void testLimitOffset() throws Exception {
+        for (String productName : new String[] { "MySQL", "MariaDB", "PostgreSQL", "H2", "HSQL Database Engine",
+                "SQLite" }) {
+            QueryOptions queryOptions = queryOptions(2, 3);
+            List<ODataEntry> entries = streamTable(productName, queryOptions);
+            assertEquals(productName, SELECT + " LIMIT ? OFFSET ?", lastQuery());
+            assertTrue(productName, queryOptions.isPagingPushedDown());
+            assertIds(entries, 3, 4, 5);
+        }
+    }
+
+    public void testLimitOffsetWithoutTop() throws Exception {
+        QueryOptions queryOptions = queryOptions(8, null);
+        List<ODataEntry> entries = streamTable("MySQL", queryOptions);
+        assertEquals(SELECT + " LIMIT ? OFFSET ?", lastQuery());
+        assertTrue(queryOptions.isPagingPushedDown());
+        assertIds(entries, 9, 10);
+    }
+
+    public void testLimitOffsetWithoutSkip() throws Exception {
+        QueryOptions queryOptions = queryOptions(null, 2);
+        List<ODataEntry> entries = streamTable("PostgreSQL", queryOptions);
+        assertEquals(SELECT + " LIMIT ? OFFSET ?", lastQuery());
+        assertIds(entries, 1, 2);
+    }
+
+    public void testOffsetFetch() throws Exception {
+        for (String productName : new String[] { "Oracle", "DB2/LINUXX8664", "Apache Derby" }) {
+            QueryOptions queryOptions = queryOptions(2, 3);
+            List<ODataEntry> entries = streamTable(productName, queryOptions);
+            assertEquals(productName, SELECT + " OFFSET ? ROWS FETCH NEXT ? ROWS ONLY", lastQuery());
+            assertTrue(productName, queryOptions.isPagingPushedDown());
+            assertIds(entries, 3, 4, 5);
+        }
+    }
+
+    public void testOffsetFetchWithoutTop() throws Exception {
+        QueryOptions queryOptions = queryOptions(8, null);
+        List<ODataEntry> entries = streamTable("Oracle", queryOptions);
+        assertEquals(SELECT + " OFFSET ? ROWS", lastQuery());
+        assertTrue(queryOptions.isPagingPushedDown());
+        assertIds(entries, 9, 10);
+    }
+
+    public void testOffsetFetchWithoutSkip() throws Exception {
+        QueryOptions queryOptions = queryOptions(null, 2);
+        List<ODataEntry> entries = streamTable("Oracle", queryOptions);
+        assertEquals(SELECT + " OFFSET ? ROWS FETCH NEXT ? ROWS ONLY", lastQuery());
+        assertIds(entries, 1, 2);
+    }
+
+    public void testSQLServerPagingRequiresOrder() throws Exception {
+        QueryOptions queryOptions = queryOptions(2, 3);
+        List<ODataEntry> entries = streamTable("Microsoft SQL Server", queryOptions);
+        assertEquals(SELECT + " ORDER BY (SELECT NULL) OFFSET ? ROWS FETCH NEXT ? ROWS ONLY", lastQuery());
+        assertTrue(queryOptions.isPagingPushedDown());
+        // the order of the rows is not defined without an order by option
+        assertEquals(3, entries.size());
+    }
+
+    public void testZeroTopIsNotFetched() throws Exception {
+        QueryOptions queryOptions = queryOptions(2, 0);
+        List<ODataEntry> entries = streamTable("Oracle", queryOptions);
+        // a fetch of zero rows is rejected by some databases, hence the paging is applied to the streamed entities
+        assertEquals(SELECT, lastQuery());
+        assertFalse(queryOptions.isPagingPushedDown());
+        assertEquals(ROWS, entries.size());
+    }
+
+    public void testUnknownDatabaseIsNotPaged() throws Exception {
+        QueryOptions queryOptions = queryOptions(2, 3);
+        List<ODataEntry> entries = streamTable("Informix Dynamic Server", queryOptions);
+        assertEquals(SELECT, lastQuery());
+        assertFalse(queryOptions.isPagingPushedDown());
+        assertEquals(ROWS, entries.size());
+    }
+
+    private List<ODataEntry> streamTable(String productName, QueryOptions queryOptions) throws Exception {
+        databaseProductName = null;
+        RDBMSDataHandler dataHandler = new RDBMSDataHandler(dataSource(), "PagingTestConfig");
+        databaseProductName = productName;
+        dataHandler.initStreaming();
+        List<ODataEntry> entries = dataHandler.streamTableWithQueryOptions(TABLE, null, queryOptions);
+        assertNotNull(productName, entries);
+        assertTrue(productName, queryOptions.isQueryPushedDown());
+        return entries;
+    }
+
+    private static QueryOptions queryOptions(Integer skip, Integer top) {
+        return new QueryOptions(null, null, null, skip != null ? new SkipOptionImpl().setValue(skip) : null,
+                                top != null ? new TopOptionImpl().setValue(top) : null, null, null);
+    }
+
+    private String lastQuery() {
+        assertFalse(preparedQueries.isEmpty());
+        return preparedQueries.get(preparedQueries.size() - 1);
+    }
+
+    private static void assertIds(List<ODataEntry> entries, Integer... ids) {
+        List<Integer> actual = new ArrayList<>();
+        for (ODataEntry entry : entries) {
+            actual.add(Integer.valueOf(entry.getValue("ID")));
+        }
+        assertEquals(Arrays.asList(ids), actual);
+    }
+
+    /**
+     * Returns a data source of the H2 database which reports the configured product name and records the
+     * prepared queries.
+     */
+    private DataSource dataSource() {
+        return proxy(DataSource.class, h2DataSource, (target, method, args) -> {
+            if ("getConnection".equals(method.getName())) {
+                return connection((Connection) invoke(target, method, args));
+            }
+            return invoke(target, method, args);
+        });
+    }
+
+    private Connection connection(Connection connection) {
+        return proxy(Connection.class, connection, (target, method, args) -> {
+            if ("getMetaData".equals(method.getName())) {
+                return metaData((DatabaseMetaData) invoke(target, method, args));
+            }
+            if ("prepareStatement".equals(method.getName())) {
+                preparedQueries.add((String) args[0]);
+            }
+            return invoke(target, method, args);
+        });
+    }
+
+    private DatabaseMetaData metaData(DatabaseMetaData metaData) {
+        return proxy(DatabaseMetaData.class, metaData, (target, method, args) -> {
+            if ("getDatabaseProductName".equals(method.getName()) && databaseProductName != null) {
+                return databaseProductName;
+            }
+            return invoke(target, method, args);
+        });
+    }
+
+    private static <T> T proxy(Class<T> type, T target, TargetInvocationHandler<T> handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> handler.invoke(target, method, args);
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, invocationHandler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private interface TargetInvocationHandler<T> {
+
+        Object invoke(T target, Method method, Object[] args) throws Throwable;
+    }
+}
@@ -89,6 +89,40 @@ public abstract class AbstractBasicServiceTest extends DataServiceBaseTestCase {
 		}
 	}
 	
+	/**
+	 * Test with a multi row select statement, where the rows after the first one
+	 * are read using the row reader cached for the result set.
+	 */
+	protected void basicSelectRowValues() {
+		TestUtils.showMessage(this.epr + " - basicSelectRowValues");
+		try {
+            TestUtils.checkForService(this.epr);
+			OMElement result = TestUtils.callOperation(this.epr,
+					"select_row_values_op", null);
+			String[][] expected = {
+					{ "103", "Atelier graphique", "", "", "21000.0" },
+					{ "112", "Signal Gift Stores", "", "NV", "71800.0" },
+					{ "114", "Australian Collectors, Co.", "Level 3", "Victoria", "117300.0" } };
+			for (int i = 0; i < expected.length; i++) {
+				String row = "/Customers/Customer[" + (i + 1) + "]/";
+				assertEquals(expected[i][0], TestUtils.getFirstValue(result,
+						row + "customerNumber", TestUtils.DEFAULT_DS_WS_NAMESPACE));
+				assertEquals(expected[i][1], TestUtils.getFirstValue(result,
+						row + "customerName", TestUtils.DEFAULT_DS_WS_NAMESPACE));
+				assertEquals(expected[i][2], TestUtils.getFirstValue(result,
+						row + "addressLine2", TestUtils.DEFAULT_DS_WS_NAMESPACE));
+				assertEquals(expected[i][3], TestUtils.getFirstValue(result,
+						row + "state", TestUtils.DEFAULT_DS_WS_NAMESPACE));
+				assertEquals(Double.parseDouble(expected[i][4]), Double.parseDouble(
+						TestUtils.getFirstValue(result, row + "creditLimit",
+								TestUtils.DEFAULT_DS_WS_NAMESPACE)));
+			}
+		} catch (Exception e) {
+			e.printStackTrace();
+			fail(e.getMessage());
+		}
+	}
+
 	/**
 	 * Test with a simple select statement with attributes.
 	 */
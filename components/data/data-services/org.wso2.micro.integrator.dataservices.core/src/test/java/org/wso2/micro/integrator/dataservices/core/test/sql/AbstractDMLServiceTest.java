@@ -17,6 +17,9 @@
  */
 package org.wso2.micro.integrator.dataservices.core.test.sql;
 
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -94,6 +97,24 @@ public abstract class AbstractDMLServiceTest extends DataServiceBaseTestCase {
 		}
 	}
 
+	private void insertDataWithStoredProc(String id) throws Exception {
+		Map<String, String> params = new HashMap<String, String>();
+		params.put("customerNumber", id);
+		params.put("customerName", "Stored Proc Customer");
+		params.put("contactLastName", "Proc");
+		params.put("contactFirstName", "Stored");
+		try {
+            TestUtils.checkForService(this.epr);
+			assertNotNull(TestUtils.callOperation(this.epr,
+					"insert_stored_proc_data_op", params));
+		} catch (AxisFault e) {
+			// ignore for now
+			if (!INCOMING_MESSAGE_IS_NULL_ERROR.equals(e.getReason())) {
+				throw e;
+			}
+		}
+	}
+
 	private void insertData(Map<String, String> params) throws Exception {
 		// TODO: Fix exception occuring "org.apache.axis2.AxisFault: The input
 		// stream for an incoming message is null"
@@ -480,5 +501,112 @@ public abstract class AbstractDMLServiceTest extends DataServiceBaseTestCase {
 		}
 	}
 
+	private int selectCachedDataCount(String operation, String id) throws Exception {
+		Map<String, String> params = new HashMap<String, String>();
+		params.put("customerNumber", id);
+        TestUtils.checkForService(this.epr);
+		OMElement result = TestUtils.callOperation(this.epr, operation, params);
+		String val = TestUtils.getFirstValue(result,
+				"/Customers/CustomerDetails/customerCount",
+				TestUtils.DEFAULT_DS_WS_NAMESPACE);
+		return Integer.parseInt(val);
+	}
+
+	/**
+	 * Inserts a record without going through the data service, so that the cached
+	 * results of the data service are not cleared.
+	 */
+	private void insertDataDirectly(String id) throws Exception {
+		Connection conn = DriverManager.getConnection(this.getDirectConnectionURL());
+		try {
+			PreparedStatement stmt = conn.prepareStatement(
+					"INSERT INTO Customers (customerNumber,customerName) values(?,?)");
+			stmt.setInt(1, Integer.parseInt(id));
+			stmt.setString(2, "Cached Customer");
+			stmt.executeUpdate();
+			stmt.close();
+		} finally {
+			conn.close();
+		}
+	}
+
+	/**
+	 * Returns the JDBC URL of the database the data service is using.
+	 */
+	protected String getDirectConnectionURL() {
+		throw new UnsupportedOperationException("Direct connections are not supported by " + this.getName());
+	}
+
+	/**
+	 * Result Cache Test. Steps:-
+	 * > Delete record with the given id - remove any previous left over data.
+	 * > Select cached record count - caches a zero count.
+	 * > Insert record directly - the cached zero count is still returned.
+	 * > Delete another record - a delete on the same table clears the cache, the new count is returned.
+	 * > Delete record - the cache is cleared again, the zero count is returned.
+	 */
+	protected void doResultCacheOperations() {
+		TestUtils.showMessage(this.epr + " - doResultCacheOperations");
+		try {
+			deleteData(TMP_CUSTOMER_NUMBER);
+			assertEquals(0, selectCachedDataCount("select_cached_count_id_op", TMP_CUSTOMER_NUMBER));
+			insertDataDirectly(TMP_CUSTOMER_NUMBER);
+			assertEquals(0, selectCachedDataCount("select_cached_count_id_op", TMP_CUSTOMER_NUMBER));
+			assertEquals(1, selectDataCount(TMP_CUSTOMER_NUMBER));
+			deleteData("450002");
+			assertEquals(1, selectCachedDataCount("select_cached_count_id_op", TMP_CUSTOMER_NUMBER));
+			deleteData(TMP_CUSTOMER_NUMBER);
+			assertEquals(0, selectCachedDataCount("select_cached_count_id_op", TMP_CUSTOMER_NUMBER));
+		} catch (Exception e) {
+			e.printStackTrace();
+			fail(e.getMessage());
+		}
+	}
+
+	/**
+	 * Result Cache Stored Procedure Test. Steps:-
+	 * > Delete record with the given id - remove any previous left over data.
+	 * > Select cached record count - caches a zero count.
+	 * > Insert record with a stored procedure - the tables changed by a stored procedure are not known, hence
+	 * all the cached results are cleared and the new count is returned.
+	 * > Delete record - the cache is cleared again, the zero count is returned.
+	 */
+	protected void doResultCacheStoredProcOperations() {
+		TestUtils.showMessage(this.epr + " - doResultCacheStoredProcOperations");
+		try {
+			deleteData(TMP_CUSTOMER_NUMBER);
+			assertEquals(0, selectCachedDataCount("select_cached_count_id_op", TMP_CUSTOMER_NUMBER));
+			insertDataWithStoredProc(TMP_CUSTOMER_NUMBER);
+			assertEquals(1, selectCachedDataCount("select_cached_count_id_op", TMP_CUSTOMER_NUMBER));
+			deleteData(TMP_CUSTOMER_NUMBER);
+			assertEquals(0, selectCachedDataCount("select_cached_count_id_op", TMP_CUSTOMER_NUMBER));
+		} catch (Exception e) {
+			e.printStackTrace();
+			fail(e.getMessage());
+		}
+	}
+
+	/**
+	 * Result Cache Expiry Test. Steps:-
+	 * > Delete record with the given id - remove any previous left over data.
+	 * > Select cached record count - caches a zero count for a second.
+	 * > Insert record directly - the cached zero count is still returned.
+	 * > Wait until the cached result expires - the new count is returned.
+	 */
+	protected void doResultCacheExpiryOperations() {
+		TestUtils.showMessage(this.epr + " - doResultCacheExpiryOperations");
+		try {
+			deleteData(TMP_CUSTOMER_NUMBER);
+			assertEquals(0, selectCachedDataCount("select_expiring_count_id_op", TMP_CUSTOMER_NUMBER));
+			insertDataDirectly(TMP_CUSTOMER_NUMBER);
+			assertEquals(0, selectCachedDataCount("select_expiring_count_id_op", TMP_CUSTOMER_NUMBER));
+			Thread.sleep(1500);
+			assertEquals(1, selectCachedDataCount("select_expiring_count_id_op", TMP_CUSTOMER_NUMBER));
+			deleteData(TMP_CUSTOMER_NUMBER);
+		} catch (Exception e) {
+			e.printStackTrace();
+			fail(e.getMessage());
+		}
+	}
 
 }
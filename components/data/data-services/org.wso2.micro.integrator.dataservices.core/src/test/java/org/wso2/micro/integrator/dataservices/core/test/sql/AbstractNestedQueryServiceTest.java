@@ -21,6 +21,8 @@ import org.apache.axiom.om.OMElement;
 import org.wso2.micro.integrator.dataservices.core.test.DataServiceBaseTestCase;
 import org.wso2.micro.integrator.dataservices.core.test.util.TestUtils;
 
+import java.util.Iterator;
+
 /**
  * Class to represent nested sql query test cases.
  */
@@ -62,6 +64,56 @@ public abstract class AbstractNestedQueryServiceTest extends
 		}
 	}
 	
+	/*
+	 * Test nested query executed in batches of the parent rows, against the
+	 * same nested query executed for each parent row
+	 */
+	protected void nestedQueryBatch() {
+		TestUtils.showMessage(this.epr + " - nestedQueryBatch");
+		try {
+            TestUtils.checkForService(this.epr);
+			OMElement expected = TestUtils.callOperation(this.epr,
+					"customer_payments_op", null);
+			assertEquals(21, this.countPayments(expected));
+			OMElement result = TestUtils.callOperation(this.epr,
+					"customer_payments_batched_op", null);
+			assertEquals(expected.toString(), result.toString());
+			/* a query string parameter cannot be batched, it is executed for each parent row */
+			result = TestUtils.callOperation(this.epr,
+					"customer_payments_query_string_op", null);
+			assertEquals(expected.toString(), result.toString());
+			/* a string parameter is not batched, it is executed for each parent row */
+			expected = TestUtils.callOperation(this.epr,
+					"office_employees_op", null);
+			assertTrue(expected.toString().contains("<lastName>"));
+			result = TestUtils.callOperation(this.epr,
+					"office_employees_string_op", null);
+			assertEquals(expected.toString(), result.toString());
+		} catch (Exception e) {
+			e.printStackTrace();
+			fail(e.getMessage());
+		}
+	}
+
+	private int countPayments(OMElement customers) {
+		int count = 0;
+		Iterator<?> customerItr = customers.getChildElements();
+		while (customerItr.hasNext()) {
+			Iterator<?> itr = ((OMElement) customerItr.next()).getChildElements();
+			while (itr.hasNext()) {
+				OMElement payments = (OMElement) itr.next();
+				if ("Payments".equals(payments.getLocalName())) {
+					Iterator<?> paymentItr = payments.getChildElements();
+					while (paymentItr.hasNext()) {
+						paymentItr.next();
+						count++;
+					}
+				}
+			}
+		}
+		return count;
+	}
+
 	/*
 	 * Test nested query with DateTime 
 	 */
@@ -37,6 +37,10 @@ public class H2BasicTest extends AbstractBasicServiceTest {
 		this.basicSelectCount();
 	}
 	
+	public void testH2BasicSelectRowValues() {
+		this.basicSelectRowValues();
+	}
+
 	public void testH2BasicSelectWithAttributes() {
 		this.basicSelectWithAttributes();
 	}
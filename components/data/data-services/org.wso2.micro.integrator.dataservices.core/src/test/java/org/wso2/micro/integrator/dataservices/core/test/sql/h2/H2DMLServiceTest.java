@@ -60,5 +60,22 @@ public class H2DMLServiceTest extends AbstractDMLServiceTest {
 	public void testH2DMLOperationsVal6() {
 		this.doDMLOperationsVal6();
 	}
+
+	public void testH2ResultCacheOperations() {
+		this.doResultCacheOperations();
+	}
+
+	public void testH2ResultCacheStoredProcOperations() {
+		this.doResultCacheStoredProcOperations();
+	}
+
+	public void testH2ResultCacheExpiryOperations() {
+		this.doResultCacheExpiryOperations();
+	}
+
+	@Override
+	protected String getDirectConnectionURL() {
+		return "jdbc:h2:mem:ds-test-db";
+	}
 	
 }
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.micro.integrator.dataservices.core.test.sql.h2;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import javax.xml.namespace.QName;
+
+import org.apache.axiom.om.OMElement;
+import org.apache.axis2.context.MessageContext;
+import org.apache.axis2.description.AxisService;
+import org.wso2.micro.integrator.dataservices.common.DBConstants;
+import org.wso2.micro.integrator.dataservices.core.DataServiceProcessor;
+import org.wso2.micro.integrator.dataservices.core.engine.DataService;
+import org.wso2.micro.integrator.dataservices.core.engine.ParamValue;
+import org.wso2.micro.integrator.dataservices.core.test.DataServiceBaseTestCase;
+import org.wso2.micro.integrator.dataservices.core.test.util.TestUtils;
+import org.wso2.micro.integrator.dataservices.core.test.util.UtilServer;
+
+/**
+ * Class to represent the test cases of invoking data service operations in-process with typed parameters.
+ */
+public class H2InvokeServiceTest extends DataServiceBaseTestCase {
+
+	private static final String SERVICE_NAME = "H2InvokeService";
+
+	private static final String OPERATION_NAME = "select_customers_in_cities_op";
+
+	private String epr = null;
+
+	public H2InvokeServiceTest(String testName) {
+		super(testName);
+		this.epr = this.baseEpr + SERVICE_NAME;
+	}
+
+	/**
+	 * Test invoking an operation with a scalar and an array parameter.
+	 */
+	public void testH2InvokeWithArrayParam() {
+		TestUtils.showMessage(this.epr + " - invokeWithArrayParam");
+		try {
+			OMElement result = DataServiceProcessor.invoke(this.getDataService(), OPERATION_NAME,
+					this.createParams("Las Vegas", "San Francisco", "Boston"), new MessageContext());
+			assertEquals(5, this.countCustomers(result));
+			assertEquals("112", TestUtils.getFirstValue(result, "/Customers/Customer[1]/customerNumber",
+					TestUtils.DEFAULT_DS_WS_NAMESPACE));
+			assertEquals("495", TestUtils.getFirstValue(result, "/Customers/Customer[5]/customerNumber",
+					TestUtils.DEFAULT_DS_WS_NAMESPACE));
+		} catch (Exception e) {
+			e.printStackTrace();
+			fail(e.getMessage());
+		}
+	}
+
+	/**
+	 * Test invoking an operation with an array parameter having a single value.
+	 */
+	public void testH2InvokeWithSingleValueArrayParam() {
+		TestUtils.showMessage(this.epr + " - invokeWithSingleValueArrayParam");
+		try {
+			OMElement result = DataServiceProcessor.invoke(this.getDataService(), OPERATION_NAME,
+					this.createParams("Las Vegas"), new MessageContext());
+			assertEquals(1, this.countCustomers(result));
+			assertEquals("112", TestUtils.getFirstValue(result, "/Customers/Customer/customerNumber",
+					TestUtils.DEFAULT_DS_WS_NAMESPACE));
+		} catch (Exception e) {
+			e.printStackTrace();
+			fail(e.getMessage());
+		}
+	}
+
+	/**
+	 * Test that the user of the message context is propagated, and that a following invocation without a user
+	 * in the same thread does not retain the roles of the previous user.
+	 */
+	public void testH2InvokeUserInfoPropagation() {
+		TestUtils.showMessage(this.epr + " - invokeUserInfoPropagation");
+		try {
+			MessageContext userMsgContext = new MessageContext();
+			userMsgContext.setProperty(DBConstants.MSG_CONTEXT_USERNAME_PROPERTY, "dsuser");
+			OMElement result = DataServiceProcessor.invoke(this.getDataService(), OPERATION_NAME,
+					this.createParams("Las Vegas"), userMsgContext);
+			assertEquals("7025551838", TestUtils.getFirstValue(result, "/Customers/Customer/phone",
+					TestUtils.DEFAULT_DS_WS_NAMESPACE));
+
+			result = DataServiceProcessor.invoke(this.getDataService(), OPERATION_NAME,
+					this.createParams("Las Vegas"), new MessageContext());
+			OMElement customer = result.getFirstElement();
+			assertNotNull(customer);
+			assertNull(customer.getFirstChildWithName(new QName(TestUtils.DEFAULT_DS_WS_NAMESPACE, "phone")));
+		} catch (Exception e) {
+			e.printStackTrace();
+			fail(e.getMessage());
+		}
+	}
+
+	private DataService getDataService() throws Exception {
+		TestUtils.checkForService(this.epr);
+		AxisService axisService = UtilServer.getConfigurationContext().getAxisConfiguration().getService(
+				SERVICE_NAME);
+		assertNotNull(axisService);
+		DataService dataService = DataServiceProcessor.getDataService(axisService);
+		assertNotNull(dataService);
+		return dataService;
+	}
+
+	private Map<String, ParamValue> createParams(String... cities) {
+		Map<String, ParamValue> params = new HashMap<String, ParamValue>();
+		params.put("country", new ParamValue("USA"));
+		ParamValue cityValue = new ParamValue(ParamValue.PARAM_VALUE_ARRAY);
+		for (String city : cities) {
+			cityValue.addToArrayValue(new ParamValue(city));
+		}
+		params.put("city", cityValue);
+		return params;
+	}
+
+	private int countCustomers(OMElement result) {
+		int count = 0;
+		for (Iterator<?> itr = result.getChildElements(); itr.hasNext(); itr.next()) {
+			count++;
+		}
+		return count;
+	}
+
+}
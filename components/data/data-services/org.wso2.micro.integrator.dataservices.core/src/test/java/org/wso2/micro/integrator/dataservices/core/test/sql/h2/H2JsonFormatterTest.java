@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.micro.integrator.dataservices.core.test.sql.h2;
+
+import java.io.ByteArrayOutputStream;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import javax.xml.namespace.QName;
+
+import org.apache.axiom.om.OMAbstractFactory;
+import org.apache.axiom.om.OMElement;
+import org.apache.axiom.om.OMOutputFormat;
+import org.apache.axiom.om.impl.llom.OMSourcedElementImpl;
+import org.apache.axiom.soap.SOAPEnvelope;
+import org.apache.axis2.Constants;
+import org.apache.axis2.context.MessageContext;
+import org.apache.axis2.description.AxisService;
+import org.apache.axis2.json.gson.JsonFormatter;
+import org.apache.axis2.transport.MessageFormatter;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.wso2.micro.integrator.dataservices.core.DBJsonFormatter;
+import org.wso2.micro.integrator.dataservices.core.DataServiceProcessor;
+import org.wso2.micro.integrator.dataservices.core.engine.DSOMDataSource;
+import org.wso2.micro.integrator.dataservices.core.engine.DataService;
+import org.wso2.micro.integrator.dataservices.core.engine.ParamValue;
+import org.wso2.micro.integrator.dataservices.core.test.DataServiceBaseTestCase;
+import org.wso2.micro.integrator.dataservices.core.test.util.TestUtils;
+import org.wso2.micro.integrator.dataservices.core.test.util.UtilServer;
+
+/**
+ * Class to represent the test cases of writing data service results directly as JSON, the output of
+ * DBJsonFormatter is compared with the output of the schema based gson formatter.
+ */
+public class H2JsonFormatterTest extends DataServiceBaseTestCase {
+
+	private static final String SERVICE_NAME = "H2JsonFormatterService";
+
+	private static final String CUSTOMER_OPERATION = "select_customer_op";
+
+	private static final String CUSTOMER_NUMBERS_OPERATION = "select_customer_numbers_op";
+
+	private String epr = null;
+
+	public H2JsonFormatterTest(String testName) {
+		super(testName);
+		this.epr = this.baseEpr + SERVICE_NAME;
+	}
+
+	/**
+	 * Test a customer having null values, an attribute, an element group and a nested query with several rows.
+	 */
+	public void testH2JsonFormatterNullsAndNestedResults() {
+		TestUtils.showMessage(this.epr + " - jsonFormatterNullsAndNestedResults");
+		try {
+			JSONObject result = this.assertSameAsGsonFormatter(CUSTOMER_OPERATION, 112);
+			JSONObject customer = result.getJSONObject("Customers").getJSONArray("Customer").getJSONObject(0);
+			assertEquals(JSONObject.NULL, customer.get("addressLine2"));
+			assertEquals("Las Vegas", customer.getJSONObject("address").getString("city"));
+			assertEquals(3, customer.getJSONObject("Payments").getJSONArray("Payment").length());
+		} catch (Exception e) {
+			e.printStackTrace();
+			fail(e.getMessage());
+		}
+	}
+
+	/**
+	 * Test a result having a single row and a nested query having a single row, which are written as arrays.
+	 */
+	public void testH2JsonFormatterSingleElementArrays() {
+		TestUtils.showMessage(this.epr + " - jsonFormatterSingleElementArrays");
+		try {
+			JSONObject result = this.assertSameAsGsonFormatter(CUSTOMER_OPERATION, 211);
+			JSONArray customers = result.getJSONObject("Customers").getJSONArray("Customer");
+			assertEquals(1, customers.length());
+			assertEquals(1, customers.getJSONObject(0).getJSONObject("Payments").getJSONArray("Payment").length());
+		} catch (Exception e) {
+			e.printStackTrace();
+			fail(e.getMessage());
+		}
+	}
+
+	/**
+	 * Test a customer without payments, i.e. a nested query without rows.
+	 */
+	public void testH2JsonFormatterEmptyNestedResult() {
+		TestUtils.showMessage(this.epr + " - jsonFormatterEmptyNestedResult");
+		try {
+			JSONObject result = this.assertSameAsGsonFormatter(CUSTOMER_OPERATION, 125);
+			JSONObject customer = result.getJSONObject("Customers").getJSONArray("Customer").getJSONObject(0);
+			assertEquals(0, customer.getJSONObject("Payments").length());
+		} catch (Exception e) {
+			e.printStackTrace();
+			fail(e.getMessage());
+		}
+	}
+
+	/**
+	 * Test values of the numeric xsd types.
+	 */
+	public void testH2JsonFormatterNumericTypes() {
+		TestUtils.showMessage(this.epr + " - jsonFormatterNumericTypes");
+		try {
+			JSONObject result = this.assertSameAsGsonFormatter(CUSTOMER_NUMBERS_OPERATION, 112);
+			JSONObject customer = result.getJSONObject("Customers").getJSONArray("Customer").getJSONObject(0);
+			assertTrue(customer.get("asInt") instanceof Number);
+			assertTrue(customer.get("asDouble") instanceof Number);
+			assertTrue(customer.get("asString") instanceof String);
+		} catch (Exception e) {
+			e.printStackTrace();
+			fail(e.getMessage());
+		}
+	}
+
+	/**
+	 * Formats the result of the operation with both formatters, asserts that the results are the same and returns
+	 * the result.
+	 */
+	private JSONObject assertSameAsGsonFormatter(String operation, int customerNumber) throws Exception {
+		String expected = this.format(new JsonFormatter(), operation, customerNumber);
+		String actual = this.format(new DBJsonFormatter(), operation, customerNumber);
+		JSONObject expectedJson = new JSONObject(expected);
+		JSONObject actualJson = new JSONObject(actual);
+		this.assertSameJson("", expectedJson, actualJson);
+		return actualJson;
+	}
+
+	private String format(MessageFormatter formatter, String operation, int customerNumber) throws Exception {
+		TestUtils.checkForService(this.epr);
+		AxisService axisService = UtilServer.getConfigurationContext().getAxisConfiguration().getService(
+				SERVICE_NAME);
+		assertNotNull(axisService);
+		DataService dataService = DataServiceProcessor.getDataService(axisService);
+		assertNotNull(dataService);
+		Map<String, ParamValue> params = new HashMap<String, ParamValue>();
+		params.put("customerNumber", new ParamValue(String.valueOf(customerNumber)));
+		OMElement result = DataServiceProcessor.invoke(dataService, operation, params, new MessageContext());
+		/* the result must not be generated yet, for it to be written directly as JSON */
+		assertTrue(result instanceof OMSourcedElementImpl);
+		assertFalse(((OMSourcedElementImpl) result).isExpanded());
+		assertTrue(((DSOMDataSource) ((OMSourcedElementImpl) result).getDataSource()).isJSONSerializable());
+
+		MessageContext outMsgContext = new MessageContext();
+		outMsgContext.setConfigurationContext(UtilServer.getConfigurationContext());
+		outMsgContext.setAxisService(axisService);
+		outMsgContext.setAxisOperation(axisService.getOperation(new QName(operation)));
+		outMsgContext.setProperty(Constants.Configuration.CHARACTER_SET_ENCODING, "UTF-8");
+		SOAPEnvelope envelope = OMAbstractFactory.getSOAP11Factory().getDefaultEnvelope();
+		envelope.getBody().addChild(result);
+		outMsgContext.setEnvelope(envelope);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		formatter.writeTo(outMsgContext, new OMOutputFormat(), out, false);
+		return new String(out.toByteArray(), "UTF-8");
+	}
+
+	private void assertSameJson(String path, Object expected, Object actual) throws Exception {
+		if (expected instanceof JSONObject) {
+			assertTrue("Expected an object at " + path + ", found: " + actual, actual instanceof JSONObject);
+			JSONObject expectedObject = (JSONObject) expected;
+			JSONObject actualObject = (JSONObject) actual;
+			assertEquals("Fields of " + path, expectedObject.length(), actualObject.length());
+			for (Iterator<?> itr = expectedObject.keys(); itr.hasNext();) {
+				String key = (String) itr.next();
+				assertTrue("Missing field " + path + "/" + key, actualObject.has(key));
+				this.assertSameJson(path + "/" + key, expectedObject.get(key), actualObject.get(key));
+			}
+		} else if (expected instanceof JSONArray) {
+			assertTrue("Expected an array at " + path + ", found: " + actual, actual instanceof JSONArray);
+			JSONArray expectedArray = (JSONArray) expected;
+			JSONArray actualArray = (JSONArray) actual;
+			assertEquals("Elements of " + path, expectedArray.length(), actualArray.length());
+			for (int i = 0; i < expectedArray.length(); i++) {
+				this.assertSameJson(path + "[" + i + "]", expectedArray.get(i), actualArray.get(i));
+			}
+		} else if (expected instanceof Number) {
+			assertTrue("Expected a number at " + path + ", found: " + actual, actual instanceof Number);
+			assertEquals(path, ((Number) expected).doubleValue(), ((Number) actual).doubleValue(), 0);
+		} else {
+			assertEquals(path, expected, actual);
+		}
+	}
+
+}
@@ -17,7 +17,13 @@
  */
 package org.wso2.micro.integrator.dataservices.core.test.sql.h2;
 
+import org.apache.axis2.description.AxisService;
+import org.wso2.micro.integrator.dataservices.core.DataServiceProcessor;
+import org.wso2.micro.integrator.dataservices.core.description.query.SQLQuery;
+import org.wso2.micro.integrator.dataservices.core.engine.DataService;
 import org.wso2.micro.integrator.dataservices.core.test.sql.AbstractNestedQueryServiceTest;
+import org.wso2.micro.integrator.dataservices.core.test.util.TestUtils;
+import org.wso2.micro.integrator.dataservices.core.test.util.UtilServer;
 
 public class H2NestedQueryTest extends AbstractNestedQueryServiceTest {
 
@@ -32,5 +38,28 @@ public class H2NestedQueryTest extends AbstractNestedQueryServiceTest {
     public void testH2NestedQuery2() {
     	this.nestedQuery2();
 	}
+
+	public void testH2NestedQueryBatch() {
+		this.nestedQueryBatch();
+	}
+
+	/*
+	 * Test that only the nested queries having a non string parameter are executed in batches
+	 */
+	public void testH2NestedQueryBatchSize() throws Exception {
+		TestUtils.checkForService(this.baseEpr + "H2NestedQueryStoredProcService");
+		AxisService axisService = UtilServer.getConfigurationContext().getAxisConfiguration().getService(
+				"H2NestedQueryStoredProcService");
+		assertNotNull(axisService);
+		DataService dataService = DataServiceProcessor.getDataService(axisService);
+		assertEquals(2, this.getNestedQueryBatchSize(dataService, "select_customer_payments_batched_query"));
+		assertEquals(0, this.getNestedQueryBatchSize(dataService, "select_customer_payments_query_string_query"));
+		assertEquals(0, this.getNestedQueryBatchSize(dataService, "select_office_employees_string_query"));
+		assertEquals(0, this.getNestedQueryBatchSize(dataService, "select_customer_payments_query"));
+	}
+
+	private int getNestedQueryBatchSize(DataService dataService, String queryId) {
+		return ((SQLQuery) dataService.getQuery(queryId)).getNestedQueryBatchSize();
+	}
 	
 }
@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.micro.integrator.dataservices.core.test.tools;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.axiom.om.OMElement;
+import org.apache.axiom.om.impl.builder.StAXOMBuilder;
+import org.wso2.micro.integrator.dataservices.core.DataServiceFault;
+import org.wso2.micro.integrator.dataservices.core.dispatch.DataServiceRequest;
+import org.wso2.micro.integrator.dataservices.core.dispatch.ParallelRequestDispatcher;
+import org.wso2.micro.integrator.dataservices.core.engine.DataService;
+import org.wso2.micro.integrator.dataservices.core.test.DataServiceBaseTestCase;
+import org.wso2.micro.integrator.dataservices.core.test.util.TestUtils;
+import org.wso2.micro.integrator.dataservices.core.tools.DSTools;
+
+/**
+ * Tests the grouping and the execution of the requests of request boxes and batch requests, when parallel
+ * requests are enabled in a data service.
+ */
+public class ParallelRequestDispatcherTest extends DataServiceBaseTestCase {
+
+	private static final String UPDATE_OP = "update_customer_op";
+
+	private static final String SELECT_OP = "select_customer_op";
+
+	private static final String CUSTOMERS_OP = "customer_list_op";
+
+	private static final String OFFICES_OP = "office_list_op";
+
+	private DataService dataService;
+
+	public ParallelRequestDispatcherTest() {
+		super("ParallelRequestDispatcherTest");
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		String filePath = "." + File.separator + "src" + File.separator + "test" + File.separator + "resources"
+				+ File.separator + "test-dbs" + File.separator + "ParallelRequestService.dbs";
+		FileInputStream in = new FileInputStream(filePath);
+		try {
+			OMElement dsElement = (new StAXOMBuilder(in)).getDocumentElement();
+			dsElement.build();
+			this.dataService = DSTools.createDataService(dsElement, filePath);
+		} finally {
+			in.close();
+		}
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		if (this.dataService != null) {
+			this.dataService.cleanup();
+		}
+	}
+
+	private List<RecordingRequest> createRequests(List<String> executions, String... requestNames)
+			throws DataServiceFault {
+		List<RecordingRequest> requests = new ArrayList<RecordingRequest>();
+		for (int i = 0; i < requestNames.length; i++) {
+			requests.add(new RecordingRequest(this.dataService, requestNames[i], i, executions));
+		}
+		return requests;
+	}
+
+	/**
+	 * Tests that requests of a request box using a common config are kept in one group, in order.
+	 */
+	public void testBoxcarringRequestsGroupedByConfig() throws Exception {
+		TestUtils.showMessage("testBoxcarringRequestsGroupedByConfig");
+		List<RecordingRequest> requests = this.createRequests(null, UPDATE_OP, CUSTOMERS_OP, SELECT_OP,
+				OFFICES_OP, UPDATE_OP);
+		List<List<Integer>> groups = ParallelRequestDispatcher.groupBoxcarringRequests(requests);
+		assertNotNull(groups);
+		assertEquals(3, groups.size());
+		assertEquals(Arrays.asList(0, 2, 4), groups.get(0));
+		assertEquals(Collections.singletonList(1), groups.get(1));
+		assertEquals(Collections.singletonList(3), groups.get(2));
+	}
+
+	/**
+	 * Tests that requests of a request box using a single config are executed sequentially.
+	 */
+	public void testBoxcarringRequestsOfOneConfig() throws Exception {
+		TestUtils.showMessage("testBoxcarringRequestsOfOneConfig");
+		List<RecordingRequest> requests = this.createRequests(null, UPDATE_OP, SELECT_OP, UPDATE_OP);
+		assertNull(ParallelRequestDispatcher.groupBoxcarringRequests(requests));
+	}
+
+	/**
+	 * Tests that the items of a batch request using a transactional config are executed sequentially.
+	 */
+	public void testTransactionalBatchRequests() throws Exception {
+		TestUtils.showMessage("testTransactionalBatchRequests");
+		List<RecordingRequest> requests = this.createRequests(null, UPDATE_OP, UPDATE_OP, UPDATE_OP, UPDATE_OP);
+		assertNull(ParallelRequestDispatcher.groupBatchRequests(requests));
+	}
+
+	/**
+	 * Tests that the items of a batch request using a non transactional config are split into ordered chunks.
+	 */
+	public void testNonTransactionalBatchRequests() throws Exception {
+		TestUtils.showMessage("testNonTransactionalBatchRequests");
+		List<RecordingRequest> requests = this.createRequests(null, CUSTOMERS_OP, CUSTOMERS_OP, CUSTOMERS_OP,
+				CUSTOMERS_OP, CUSTOMERS_OP);
+		List<List<Integer>> chunks = ParallelRequestDispatcher.groupBatchRequests(requests);
+		assertNotNull(chunks);
+		assertTrue(chunks.size() > 1);
+		List<Integer> indices = new ArrayList<Integer>();
+		for (List<Integer> chunk : chunks) {
+			indices.addAll(chunk);
+		}
+		assertEquals(Arrays.asList(0, 1, 2, 3, 4), indices);
+	}
+
+	/**
+	 * Tests that the requests of a group are executed in order by a single thread.
+	 */
+	public void testGroupExecutedInOrderOnOneThread() throws Exception {
+		TestUtils.showMessage("testGroupExecutedInOrderOnOneThread");
+		List<String> executions = Collections.synchronizedList(new ArrayList<String>());
+		List<RecordingRequest> requests = this.createRequests(executions, UPDATE_OP, CUSTOMERS_OP, SELECT_OP,
+				OFFICES_OP, UPDATE_OP);
+		List<List<Integer>> groups = ParallelRequestDispatcher.groupBoxcarringRequests(requests);
+		assertNull(ParallelRequestDispatcher.dispatch(requests, groups, false));
+		assertEquals(requests.size(), executions.size());
+		List<String> transactionalExecutions = new ArrayList<String>();
+		for (String execution : executions) {
+			if (!execution.startsWith("1@") && !execution.startsWith("3@")) {
+				transactionalExecutions.add(execution);
+			}
+		}
+		String thread = Thread.currentThread().getName();
+		assertEquals(Arrays.asList("0@" + thread, "2@" + thread, "4@" + thread), transactionalExecutions);
+	}
+
+	/**
+	 * Tests that the error of the first failed request is thrown, and the following requests of its group are not
+	 * executed.
+	 */
+	public void testFirstErrorInRequestOrder() throws Exception {
+		TestUtils.showMessage("testFirstErrorInRequestOrder");
+		List<String> executions = Collections.synchronizedList(new ArrayList<String>());
+		List<RecordingRequest> requests = this.createRequests(executions, UPDATE_OP, CUSTOMERS_OP, UPDATE_OP,
+				OFFICES_OP, UPDATE_OP);
+		requests.get(1).fail = true;
+		requests.get(2).fail = true;
+		requests.get(3).fail = true;
+		List<List<Integer>> groups = ParallelRequestDispatcher.groupBoxcarringRequests(requests);
+		try {
+			ParallelRequestDispatcher.dispatch(requests, groups, false);
+			fail("The request errors are not thrown");
+		} catch (DataServiceFault e) {
+			assertEquals("Request 1 failed", e.getDsFaultMessage());
+		}
+		for (String execution : executions) {
+			assertFalse(execution.startsWith("4@"));
+		}
+	}
+
+	/**
+	 * Request which records the order and the thread it is executed in, instead of executing the query.
+	 */
+	private static class RecordingRequest extends DataServiceRequest {
+
+		private final int index;
+
+		private final List<String> executions;
+
+		private boolean fail;
+
+		RecordingRequest(DataService dataService, String requestName, int index, List<String> executions)
+				throws DataServiceFault {
+			super(dataService, requestName);
+			this.index = index;
+			this.executions = executions;
+		}
+
+		@Override
+		public OMElement processRequest() throws DataServiceFault {
+			this.executions.add(this.index + "@" + Thread.currentThread().getName());
+			if (this.fail) {
+				throw new DataServiceFault("Request " + this.index + " failed");
+			}
+			return null;
+		}
+	}
+
+}
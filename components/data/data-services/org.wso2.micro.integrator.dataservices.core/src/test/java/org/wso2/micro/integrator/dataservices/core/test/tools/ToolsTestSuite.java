@@ -29,6 +29,7 @@ public class ToolsTestSuite extends TestCase {
 		//$JUnit-BEGIN$
 		suite.addTestSuite(ToolsInitTest.class);
 		suite.addTestSuite(ToolsTest.class);
+		suite.addTestSuite(ParallelRequestDispatcherTest.class);
 		suite.addTestSuite(ToolsFinalizeTest.class);
 		//$JUnit-END$
 		return suite;
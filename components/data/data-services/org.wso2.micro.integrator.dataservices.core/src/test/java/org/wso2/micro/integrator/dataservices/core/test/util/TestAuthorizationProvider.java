@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.micro.integrator.dataservices.core.test.util;
+
+import java.util.Map;
+
+import org.apache.axis2.context.MessageContext;
+import org.wso2.micro.integrator.dataservices.core.DataServiceFault;
+import org.wso2.micro.integrator.dataservices.core.auth.AbstractAuthorizationProvider;
+
+/**
+ * Authorization provider which assigns the configured roles to any user set in the message context.
+ */
+public class TestAuthorizationProvider extends AbstractAuthorizationProvider {
+
+	private String[] roles = new String[0];
+
+	public TestAuthorizationProvider() { }
+
+	public String[] getUserRoles(MessageContext msgContext) throws DataServiceFault {
+		return this.getUsername(msgContext) == null ? null : this.roles;
+	}
+
+	public String[] getAllRoles() throws DataServiceFault {
+		return this.roles;
+	}
+
+	public void init(Map<String, String> authorizationProps) throws DataServiceFault {
+		String rolesProp = authorizationProps.get("roles");
+		if (rolesProp != null) {
+			this.roles = rolesProp.trim().split("\\s*,\\s*");
+		}
+	}
+
+}
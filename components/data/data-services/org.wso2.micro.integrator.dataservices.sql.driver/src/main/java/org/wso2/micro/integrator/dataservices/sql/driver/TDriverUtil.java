@@ -57,6 +57,7 @@ import org.apache.synapse.config.SynapseConfiguration;
 import org.wso2.micro.integrator.dataservices.sql.driver.internal.SQLDriverDSComponent;
 import org.wso2.micro.integrator.dataservices.sql.driver.parser.Constants;
 import org.wso2.micro.integrator.dataservices.sql.driver.processor.reader.DataTable;
+import org.wso2.micro.integrator.dataservices.sql.driver.processor.reader.ExcelDataReader;
 import org.wso2.micro.integrator.dataservices.sql.driver.query.ColumnInfo;
 import org.wso2.micro.integrator.dataservices.sql.driver.query.ParamInfo;
 import org.wso2.micro.integrator.dataservices.sql.driver.query.QueryFactory;
@@ -238,6 +239,7 @@ public class TDriverUtil {
     public static void writeRecords(Workbook workbook, String filePath) throws SQLException {
         OutputStream out = null;
         PipedInputStream pin = null;
+        File localFile = null;
         try {
             /*
                 Security Comment :
@@ -285,6 +287,7 @@ public class TDriverUtil {
                 /* this is a relative path */
                     filePath = file.getAbsolutePath();
                 }
+                localFile = file;
                 out = new FileOutputStream(filePath);
                 workbook.write(out);
             }
@@ -308,6 +311,10 @@ public class TDriverUtil {
 
                 }
             }
+            if (localFile != null) {
+                /* the sheets read before the write must not be served anymore */
+                ExcelDataReader.invalidateCache(localFile);
+            }
         }
     }
 
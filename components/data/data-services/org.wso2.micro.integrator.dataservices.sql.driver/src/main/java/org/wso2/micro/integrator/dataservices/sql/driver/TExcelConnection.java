@@ -17,6 +17,7 @@
  */
 package org.wso2.micro.integrator.dataservices.sql.driver;
 
+import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
@@ -60,7 +61,25 @@ public class TExcelConnection extends TConnection {
     public TExcelConnection(Properties props) throws SQLException {
         super(props);
         filePath = (String) props.get(Constants.DRIVER_PROPERTIES.FILE_PATH);
-        this.workbook = this.createConnectionToExcelDocument(filePath);
+        File localFile = this.getLocalFile();
+        if (localFile == null) {
+            this.workbook = this.createConnectionToExcelDocument(filePath);
+        } else if (!localFile.isFile()) {
+            throw new SQLException("Could not locate the EXCEL datasource in the provided location");
+        }
+        /* local workbooks are read on demand, since the sheets may already be cached by the data reader */
+    }
+
+    /**
+     * Returns the Excel file if the workbook is read from the local file system.
+     *
+     * @return The local file or null if the workbook is read from a URL or the registry
+     */
+    public File getLocalFile() {
+        if (filePath.startsWith("http://") || TDriverUtil.isRegistryPath(filePath)) {
+            return null;
+        }
+        return new File(filePath).getAbsoluteFile();
     }
 
     /**
@@ -141,7 +160,10 @@ public class TExcelConnection extends TConnection {
         }
     }
 
-    public Workbook getWorkbook() {
+    public Workbook getWorkbook() throws SQLException {
+        if (workbook == null) {
+            workbook = this.createConnectionToExcelDocument(filePath);
+        }
         return workbook;
     }
 
@@ -225,9 +247,13 @@ public class TExcelConnection extends TConnection {
 
     public void close() throws SQLException {
         try {
-            workbook.close();
+            if (workbook != null) {
+                workbook.close();
+            }
         } catch (IOException ignore) {
         } finally {
+            /* read the workbook again if the connection is used after closing */
+            workbook = null;
             releaseLock();
         }
     }
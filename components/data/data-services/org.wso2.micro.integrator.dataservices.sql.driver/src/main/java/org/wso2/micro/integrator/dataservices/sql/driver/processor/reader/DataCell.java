@@ -75,4 +75,11 @@ public class DataCell {
         this.cellValue = cellValue;
     }
 
+    public DataCell copy() {
+        DataCell cell = new DataCell(this.getColumnId(), this.getCellType(), this.getCellValue());
+        cell.setRowId(this.getRowId());
+        cell.setColumnName(this.getColumnName());
+        return cell;
+    }
+
 }
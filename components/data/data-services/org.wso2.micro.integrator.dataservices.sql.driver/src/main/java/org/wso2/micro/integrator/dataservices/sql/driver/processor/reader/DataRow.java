@@ -55,5 +55,16 @@ public class DataRow {
         return getCells().get(id);
     }
 
+    /**
+     * Returns a copy of this row with copies of its cells, which can be modified without affecting this row.
+     */
+    public DataRow copy() {
+        DataRow row = new DataRow(this.getRowId());
+        for (Map.Entry<Integer, DataCell> entry : this.getCells().entrySet()) {
+            row.addCell(entry.getKey(), entry.getValue() == null ? null : entry.getValue().copy());
+        }
+        return row;
+    }
+
 
 }
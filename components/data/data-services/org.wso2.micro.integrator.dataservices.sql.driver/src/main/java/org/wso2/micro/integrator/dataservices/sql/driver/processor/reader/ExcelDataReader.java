@@ -17,12 +17,17 @@
  */
 package org.wso2.micro.integrator.dataservices.sql.driver.processor.reader;
 
+import java.io.File;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Types;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellType;
@@ -36,18 +41,79 @@ import org.wso2.micro.integrator.dataservices.sql.driver.query.ColumnInfo;
 
 public class ExcelDataReader extends AbstractFixedDataReader {
 
+    /**
+     * Maximum number of parsed local workbooks kept in the cache
+     */
+    private static final int MAX_CACHED_WORKBOOKS = 16;
+
+    /**
+     * Parsed local workbooks, keyed by the file path and the header settings of the connection
+     */
+    private static final Map<String, CachedWorkbook> workbookCache = Collections.synchronizedMap(
+            new LinkedHashMap<String, CachedWorkbook>(MAX_CACHED_WORKBOOKS, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CachedWorkbook> eldest) {
+                    return size() > MAX_CACHED_WORKBOOKS;
+                }
+            });
+
     public ExcelDataReader(Connection connection) throws SQLException {
         super(connection);
     }
 
+    /**
+     * Removes the cached sheets of the given workbook, this is called when the workbook is written.
+     *
+     * @param file Local Excel file
+     */
+    public static void invalidateCache(File file) {
+        String path = file.getAbsolutePath();
+        synchronized (workbookCache) {
+            for (Iterator<String> itr = workbookCache.keySet().iterator(); itr.hasNext();) {
+                if (itr.next().startsWith(path + "#")) {
+                    itr.remove();
+                }
+            }
+        }
+    }
+
     public void populateData() throws SQLException {
-        Workbook workbook = ((TExcelConnection) getConnection()).getWorkbook();
+        TExcelConnection connection = (TExcelConnection) getConnection();
+        File file = connection.getLocalFile();
+        String cacheKey = null;
+        long lastModified = 0;
+        long length = 0;
+        if (file != null) {
+            cacheKey = file.getAbsolutePath() + "#" + connection.hasHeader() + "#" + connection.getMaxColumns();
+            lastModified = file.lastModified();
+            length = file.length();
+            CachedWorkbook cachedWorkbook = workbookCache.get(cacheKey);
+            if (cachedWorkbook != null && cachedWorkbook.lastModified == lastModified
+                    && cachedWorkbook.length == length) {
+                for (FixedDataTable dataTable : cachedWorkbook.tables.values()) {
+                    this.getData().put(dataTable.getTableName(), dataTable.copy());
+                }
+                return;
+            }
+        }
+        Map<String, FixedDataTable> tables = this.readWorkbook(connection.getWorkbook());
+        for (FixedDataTable dataTable : tables.values()) {
+            this.getData().put(dataTable.getTableName(), dataTable.copy());
+        }
+        /* a file modified while it was being read is not cached */
+        if (file != null && lastModified != 0 && file.lastModified() == lastModified) {
+            workbookCache.put(cacheKey, new CachedWorkbook(lastModified, length, tables));
+        }
+    }
+
+    private Map<String, FixedDataTable> readWorkbook(Workbook workbook) throws SQLException {
+        Map<String, FixedDataTable> tables = new HashMap<String, FixedDataTable>();
         int noOfSheets = workbook.getNumberOfSheets();
         for (int i = 0; i < noOfSheets; i++) {
             Sheet sheet = workbook.getSheetAt(i);
             String sheetName = sheet.getSheetName();
             ColumnInfo[] headers = this.extractColumnHeaders(sheet);
-            DataTable dataTable = new FixedDataTable(sheetName, headers);
+            FixedDataTable dataTable = new FixedDataTable(sheetName, headers);
 
             Iterator<Row> rowItr = sheet.rowIterator();
             while (rowItr.hasNext()) {
@@ -66,8 +132,9 @@ public class ExcelDataReader extends AbstractFixedDataReader {
                     dataTable.addRow(dataRow);
                 }
             }
-            this.getData().put(dataTable.getTableName(), dataTable);
+            tables.put(dataTable.getTableName(), dataTable);
         }
+        return tables;
     }
 
     /**
@@ -140,4 +207,19 @@ public class ExcelDataReader extends AbstractFixedDataReader {
         return headers.toArray(new ColumnInfo[headers.size()]);
     }
 
+    private static class CachedWorkbook {
+
+        private final long lastModified;
+
+        private final long length;
+
+        private final Map<String, FixedDataTable> tables;
+
+        CachedWorkbook(long lastModified, long length, Map<String, FixedDataTable> tables) {
+            this.lastModified = lastModified;
+            this.length = length;
+            this.tables = tables;
+        }
+    }
+
 }
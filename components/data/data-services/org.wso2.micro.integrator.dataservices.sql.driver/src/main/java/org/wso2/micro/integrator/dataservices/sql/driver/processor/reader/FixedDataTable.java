@@ -18,9 +18,12 @@
 package org.wso2.micro.integrator.dataservices.sql.driver.processor.reader;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
-import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 
@@ -28,141 +31,253 @@ import org.wso2.micro.integrator.dataservices.sql.driver.parser.Constants;
 import org.wso2.micro.integrator.dataservices.sql.driver.query.ColumnInfo;
 
 /**
- * Fixed data table implementation.
+ * Fixed data table implementation. The rows are kept in a snapshot which is never modified once it is handed out
+ * to a reader, a modification creates a new snapshot instead. Since the rows of a snapshot are shared by all the
+ * copies of the table, a returned row must not be modified in place, an update should be made on a copy of the row
+ * obtained through {@link DataRow#copy()}. Conditions are evaluated using per column indexes, which are built on the
+ * first condition applied on the column of a snapshot.
  */
 public class FixedDataTable extends DataTable {
 
-    private Map<Integer, DataRow> rows;
+    private volatile Snapshot snapshot;
 
     public FixedDataTable(String tableName, ColumnInfo[] headers) {
         super(tableName, headers);
-        this.rows = Collections.synchronizedMap(new TreeMap<Integer, DataRow>());
+        this.snapshot = new Snapshot(new TreeMap<Integer, DataRow>());
+    }
+
+    private FixedDataTable(String tableName, ColumnInfo[] headers, Snapshot snapshot) {
+        super(tableName, headers);
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Returns a table sharing the current rows of this table, the rows are copied only if either of the tables is
+     * modified.
+     */
+    public FixedDataTable copy() {
+        return new FixedDataTable(this.getTableName(), this.getRawHeaders(), this.getPublishedSnapshot());
+    }
+
+    private ColumnInfo[] getRawHeaders() {
+        try {
+            return this.getHeaders();
+        } catch (SQLException e) {
+            // FixedDataTable headers are never looked up lazily
+            return null;
+        }
+    }
+
+    private Snapshot getPublishedSnapshot() {
+        Snapshot current = this.snapshot;
+        current.published = true;
+        return current;
     }
 
     @Override
     public Map<Integer, DataRow> getRows() {
-        return rows;
+        return Collections.unmodifiableMap(this.getPublishedSnapshot().rows);
+    }
+
+    public synchronized void setData(Map<Integer, DataRow> rows) {
+        this.snapshot = new Snapshot(rows);
     }
 
-    public void setData(Map<Integer, DataRow> rows) {
-        this.rows = rows;
+    /**
+     * Returns the current rows for modification, copying them if they are already visible to readers.
+     */
+    private Map<Integer, DataRow> getWritableRows() {
+        Snapshot current = this.snapshot;
+        if (current.published) {
+            current = new Snapshot(new TreeMap<Integer, DataRow>(current.rows));
+            this.snapshot = current;
+        }
+        return current.rows;
     }
 
     @Override
-    public void addRow(DataRow dataRow) {
-        getRows().put(dataRow.getRowId(), dataRow);
+    public synchronized void addRow(DataRow dataRow) {
+        this.getWritableRows().put(dataRow.getRowId(), dataRow);
     }
-    
-    private void handleEqualCondition(Map<Integer, DataRow> dataRows, int cellId, String value, 
-    		String operator) {
-    	DataRow tmpRow;
-    	double tmpNumberLhs, tmpNumberRhs = 0;
-    	boolean isNumber = true;
-    	try {
-    		tmpNumberRhs = Double.parseDouble(value);
-    	} catch (NumberFormatException e) {
-    		isNumber = false;
-		}
-    	for (Iterator<Map.Entry<Integer, DataRow>> itr = dataRows.entrySet().iterator(); 
-    	            itr.hasNext();) {
-			tmpRow = itr.next().getValue();
-			try {
-				if (isNumber) {
-				    tmpNumberLhs = Double.parseDouble(tmpRow.getCell(
-						    cellId).getCellValue().toString());
-				    if (!(tmpNumberLhs == tmpNumberRhs)) {
-					    itr.remove();
-				    }
-				    continue;
-				}
-			} catch (NumberFormatException e) {
-				isNumber = false;
-			}	
-			if (!value.equals(tmpRow.getCell(cellId).getCellValue())) {
-				itr.remove();
-			}
-		}
+
+    @Override
+    public Map<Integer, DataRow> applyCondition(String column,
+                                                String value, String operator) throws SQLException {
+        int cellId = this.getHeader(column).getId();
+        ColumnIndex index = this.getPublishedSnapshot().getIndex(cellId);
+        Double number = ColumnIndex.toNumber(value);
+        if (number != null && number.isNaN()) {
+            /* NaN is neither equal to, less than nor greater than any value */
+            return new HashMap<Integer, DataRow>();
+        }
+        if (Constants.EQUAL.equals(operator)) {
+            return index.findEqual(value, number);
+        } else if (Constants.GREATER_THAN.equals(operator)) {
+            return number == null ? new HashMap<Integer, DataRow>() : index.findGreaterThan(number);
+        } else if (Constants.LESS_THAN.equals(operator)) {
+            return number == null ? new HashMap<Integer, DataRow>() : index.findLessThan(number);
+        } else {
+            throw new RuntimeException("Unsupported operator: " + operator);
+        }
+    }
+
+    @Override
+    public synchronized void updateRows(DataRow... dataRows) {
+        Map<Integer, DataRow> rows = this.getWritableRows();
+        for (DataRow dataRow : dataRows) {
+            /* the given row may still be referred by the caller, so a copy is kept */
+            rows.put(dataRow.getRowId(), dataRow.copy());
+        }
     }
-    
-    private void handleLessThanCondition(Map<Integer, DataRow> dataRows, int cellId, String value, 
-    		String operator) {
-    	double tmpNumberLhs, tmpNumberRhs;
-    	try {
-    		tmpNumberRhs = Double.parseDouble(value);
-    	} catch (NumberFormatException e) {
-			dataRows.clear();
-			return;
-		}
-    	DataRow tmpRow;
-		for (Iterator<Map.Entry<Integer, DataRow>> itr = dataRows.entrySet().iterator(); 
-		            itr.hasNext();) {
-			tmpRow = itr.next().getValue();
-			try {
-				tmpNumberLhs = Double.parseDouble(tmpRow.getCell(
-						cellId).getCellValue().toString());
-				if (!(tmpNumberLhs < tmpNumberRhs)) {
-					itr.remove();
-				}
-			} catch (NumberFormatException e) {
-				itr.remove();
-			}
-		}
+
+    @Override
+    public synchronized void deleteRows(int... rowIds) {
+        Map<Integer, DataRow> rows = this.getWritableRows();
+        for (int rowId : rowIds) {
+            rows.remove(rowId);
+        }
     }
-    
-    private void handleGreaterThanCondition(Map<Integer, DataRow> dataRows, int cellId, String value, 
-    		String operator) {
-    	double tmpNumberLhs, tmpNumberRhs;
-    	try {
-    		tmpNumberRhs = Double.parseDouble(value);
-    	} catch (NumberFormatException e) {
-			dataRows.clear();
-			return;
-		}
-    	DataRow tmpRow;
-		for (Iterator<Map.Entry<Integer, DataRow>> itr = dataRows.entrySet().iterator(); 
-		            itr.hasNext();) {
-			tmpRow = itr.next().getValue();
-			try {
-				tmpNumberLhs = Double.parseDouble(tmpRow.getCell(
-						cellId).getCellValue().toString());
-				if (!(tmpNumberLhs > tmpNumberRhs)) {
-					itr.remove();
-				}
-			} catch (NumberFormatException e) {
-				itr.remove();
-			}
-		}
+
+    /**
+     * Rows of the table at a point of time, along with the indexes built on them.
+     */
+    private static class Snapshot {
+
+        private final Map<Integer, DataRow> rows;
+
+        private final Map<Integer, ColumnIndex> indexes = new HashMap<Integer, ColumnIndex>();
+
+        private volatile boolean published;
+
+        Snapshot(Map<Integer, DataRow> rows) {
+            this.rows = rows;
+        }
+
+        synchronized ColumnIndex getIndex(int cellId) {
+            ColumnIndex index = this.indexes.get(cellId);
+            if (index == null) {
+                index = new ColumnIndex(this.rows.values(), cellId);
+                this.indexes.put(cellId, index);
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Typed index of the values of a column. Numeric values, including numeric text, are kept sorted for equality
+     * and range lookups, other text values are hashed for equality lookups.
+     */
+    private static class ColumnIndex {
+
+        private final double[] numbers;
+
+        private final DataRow[] numberRows;
+
+        private final Map<String, List<DataRow>> texts = new HashMap<String, List<DataRow>>();
+
+        ColumnIndex(Iterable<DataRow> rows, int cellId) {
+            List<NumericValue> numericValues = new ArrayList<NumericValue>();
+            for (DataRow row : rows) {
+                DataCell cell = row.getCell(cellId);
+                if (cell == null || cell.getCellValue() == null) {
+                    continue;
+                }
+                Object cellValue = cell.getCellValue();
+                Double number = cellValue instanceof Double ? (Double) cellValue : toNumber(cellValue.toString());
+                if (number != null) {
+                    if (!number.isNaN()) {
+                        numericValues.add(new NumericValue(number, row));
+                    }
+                } else if (cellValue instanceof String) {
+                    List<DataRow> textRows = this.texts.get(cellValue);
+                    if (textRows == null) {
+                        textRows = new ArrayList<DataRow>(1);
+                        this.texts.put((String) cellValue, textRows);
+                    }
+                    textRows.add(row);
+                }
+            }
+            NumericValue[] sorted = numericValues.toArray(new NumericValue[numericValues.size()]);
+            Arrays.sort(sorted, new Comparator<NumericValue>() {
+                @Override
+                public int compare(NumericValue value1, NumericValue value2) {
+                    return Double.compare(value1.number, value2.number);
+                }
+            });
+            this.numbers = new double[sorted.length];
+            this.numberRows = new DataRow[sorted.length];
+            for (int i = 0; i < sorted.length; i++) {
+                this.numbers[i] = sorted[i].number;
+                this.numberRows[i] = sorted[i].row;
+            }
+        }
+
+        static Double toNumber(String value) {
+            try {
+                return Double.parseDouble(value);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        /**
+         * Returns the position of the first number which is greater than, or if inclusive, equal to the given value.
+         */
+        private int lowerBound(double value, boolean inclusive) {
+            int low = 0;
+            int high = this.numbers.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (this.numbers[mid] < value || (!inclusive && this.numbers[mid] == value)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private Map<Integer, DataRow> toResult(int from, int to) {
+            Map<Integer, DataRow> result = new HashMap<Integer, DataRow>();
+            for (int i = from; i < to; i++) {
+                result.put(this.numberRows[i].getRowId(), this.numberRows[i]);
+            }
+            return result;
+        }
+
+        Map<Integer, DataRow> findEqual(String value, Double number) {
+            if (number != null) {
+                return this.toResult(this.lowerBound(number, true), this.lowerBound(number, false));
+            }
+            Map<Integer, DataRow> result = new HashMap<Integer, DataRow>();
+            List<DataRow> textRows = this.texts.get(value);
+            if (textRows != null) {
+                for (DataRow row : textRows) {
+                    result.put(row.getRowId(), row);
+                }
+            }
+            return result;
+        }
+
+        Map<Integer, DataRow> findLessThan(double number) {
+            return this.toResult(0, this.lowerBound(number, true));
+        }
+
+        Map<Integer, DataRow> findGreaterThan(double number) {
+            return this.toResult(this.lowerBound(number, false), this.numbers.length);
+        }
+    }
+
+    private static class NumericValue {
+
+        private final double number;
+
+        private final DataRow row;
+
+        NumericValue(double number, DataRow row) {
+            this.number = number;
+            this.row = row;
+        }
     }
-    
-	@Override
-	public Map<Integer, DataRow> applyCondition(String column,
-			String value, String operator) throws SQLException {
-		Map<Integer, DataRow> dataRows = new HashMap<Integer, DataRow>(this.getRows());
-		int cellId = this.getHeader(column).getId();
-		if (Constants.EQUAL.equals(operator)) {
-			this.handleEqualCondition(dataRows, cellId, value, operator);
-		} else if (Constants.GREATER_THAN.equals(operator)) {
-			this.handleGreaterThanCondition(dataRows, cellId, value, operator);
-		} else if (Constants.LESS_THAN.equals(operator)) {
-			this.handleLessThanCondition(dataRows, cellId, value, operator);
-		} else {
-			throw new RuntimeException("Unsupported operator: " + operator);
-		}
-		return dataRows;
-	}
-
-	@Override
-	public void updateRows(DataRow... dataRows) {
-		for (DataRow dataRow : dataRows) {
-			this.getRows().put(dataRow.getRowId(), dataRow);
-		}
-	}
-
-	@Override
-	public void deleteRows(int... rowIds) {
-		for (int rowId : rowIds) {
-			this.getRows().remove(rowId);
-		}
-	}
 
 }
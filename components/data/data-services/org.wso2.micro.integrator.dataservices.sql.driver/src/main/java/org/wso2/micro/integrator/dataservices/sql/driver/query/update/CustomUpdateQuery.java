@@ -61,7 +61,8 @@ public class CustomUpdateQuery extends UpdateQuery {
         }
         DataRow row;
         for (Map.Entry<Integer, DataRow> entry : result.entrySet()) {
-        	row = entry.getValue();
+        	/* the rows of a table may be shared with other readers, so the updated values are set on a copy */
+        	row = entry.getValue().copy();
     		for (ColumnInfo column : this.getTargetColumns()) {
     			if (column == null) {
     				continue;
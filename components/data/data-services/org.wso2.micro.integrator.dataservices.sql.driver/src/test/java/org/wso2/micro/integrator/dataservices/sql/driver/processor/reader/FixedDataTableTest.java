@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.micro.integrator.dataservices.sql.driver.processor.reader;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.wso2.micro.integrator.dataservices.sql.driver.parser.Constants;
+import org.wso2.micro.integrator.dataservices.sql.driver.query.ColumnInfo;
+
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Map;
+
+public class FixedDataTableTest {
+
+    private static final int NAME = 1;
+
+    private static final int AMOUNT = 2;
+
+    private FixedDataTable table;
+
+    @Before
+    public void createTable() {
+        ColumnInfo[] headers = new ColumnInfo[] {
+                new ColumnInfo(NAME, "name", "Payments", Types.VARCHAR, 1),
+                new ColumnInfo(AMOUNT, "amount", "Payments", Types.VARCHAR, 2)};
+        table = new FixedDataTable("Payments", headers);
+        table.addRow(createRow(1, "alpha", 10.0));
+        table.addRow(createRow(2, "beta", "20"));
+        table.addRow(createRow(3, "gamma", "5.5"));
+        table.addRow(createRow(4, "alpha", "n/a"));
+        table.addRow(createRow(5, "delta", null));
+        table.addRow(createRow(6, "epsilon", "10"));
+    }
+
+    private static DataRow createRow(int rowId, String name, Object amount) {
+        DataRow row = new DataRow(rowId);
+        row.addCell(NAME, new DataCell(NAME, 1, name));
+        row.addCell(AMOUNT, new DataCell(AMOUNT, amount instanceof Double ? 0 : 1, amount));
+        return row;
+    }
+
+    private static Object amountOf(DataTable table, int rowId) throws SQLException {
+        return table.getRows().get(rowId).getCell(AMOUNT).getCellValue();
+    }
+
+    @Test
+    public void updateOfCopyIsNotVisibleToOtherCopies() throws SQLException {
+        FixedDataTable copy1 = table.copy();
+        FixedDataTable copy2 = table.copy();
+        DataRow row = copy2.getRows().get(2).copy();
+        row.getCell(AMOUNT).setCellValue("25");
+        copy2.updateRows(row);
+
+        Assert.assertEquals("25", amountOf(copy2, 2));
+        Assert.assertEquals("20", amountOf(copy1, 2));
+        Assert.assertEquals("20", amountOf(table, 2));
+        Assert.assertTrue(copy1.applyCondition("amount", "25", Constants.EQUAL).isEmpty());
+        Assert.assertEquals(1, copy2.applyCondition("amount", "25", Constants.EQUAL).size());
+    }
+
+    @Test
+    public void updatedRowIsCopied() throws SQLException {
+        DataRow row = table.getRows().get(3).copy();
+        row.getCell(AMOUNT).setCellValue("7");
+        table.updateRows(row);
+        row.getCell(AMOUNT).setCellValue("8");
+
+        Assert.assertEquals("7", amountOf(table, 3));
+    }
+
+    @Test
+    public void rowCopyDoesNotShareCells() {
+        DataRow row = createRow(1, "alpha", "1");
+        DataRow copy = row.copy();
+        copy.getCell(NAME).setCellValue("beta");
+
+        Assert.assertEquals(1, copy.getRowId());
+        Assert.assertEquals("alpha", row.getCell(NAME).getCellValue());
+        Assert.assertEquals("1", copy.getCell(AMOUNT).getCellValue());
+    }
+
+    @Test
+    public void addAndDeleteOfCopyIsNotVisibleToOtherCopies() throws SQLException {
+        FixedDataTable copy = table.copy();
+        Assert.assertEquals(2, table.applyCondition("name", "alpha", Constants.EQUAL).size());
+        copy.addRow(createRow(7, "alpha", "1"));
+        copy.deleteRows(1);
+
+        Assert.assertEquals(6, table.getRows().size());
+        Assert.assertEquals(6, copy.getRows().size());
+        Assert.assertTrue(copy.getRows().containsKey(7));
+        Assert.assertFalse(copy.getRows().containsKey(1));
+        Assert.assertEquals(2, table.applyCondition("name", "alpha", Constants.EQUAL).keySet().size());
+        Map<Integer, DataRow> result = copy.applyCondition("name", "alpha", Constants.EQUAL);
+        Assert.assertEquals(2, result.size());
+        Assert.assertTrue(result.containsKey(4));
+        Assert.assertTrue(result.containsKey(7));
+    }
+
+    @Test
+    public void equalMatchesNumbersAndText() throws SQLException {
+        Map<Integer, DataRow> result = table.applyCondition("amount", "10.0", Constants.EQUAL);
+        Assert.assertEquals(2, result.size());
+        Assert.assertTrue(result.containsKey(1));
+        Assert.assertTrue(result.containsKey(6));
+        Assert.assertEquals(2, table.applyCondition("amount", "10", Constants.EQUAL).size());
+        Assert.assertEquals(4, table.applyCondition("amount", "n/a", Constants.EQUAL).keySet().iterator().next()
+                .intValue());
+        Assert.assertEquals(1, table.applyCondition("name", "gamma", Constants.EQUAL).size());
+        Assert.assertTrue(table.applyCondition("name", "zeta", Constants.EQUAL).isEmpty());
+    }
+
+    @Test
+    public void rangeMatchesNumbersOnly() throws SQLException {
+        Map<Integer, DataRow> result = table.applyCondition("amount", "10", Constants.GREATER_THAN);
+        Assert.assertEquals(1, result.size());
+        Assert.assertTrue(result.containsKey(2));
+
+        result = table.applyCondition("amount", "10", Constants.LESS_THAN);
+        Assert.assertEquals(1, result.size());
+        Assert.assertTrue(result.containsKey(3));
+
+        Assert.assertEquals(4, table.applyCondition("amount", "0", Constants.GREATER_THAN).size());
+        Assert.assertTrue(table.applyCondition("amount", "n/a", Constants.GREATER_THAN).isEmpty());
+        Assert.assertTrue(table.applyCondition("amount", "n/a", Constants.LESS_THAN).isEmpty());
+    }
+
+    @Test
+    public void nanMatchesNothing() throws SQLException {
+        table.addRow(createRow(8, "eta", "NaN"));
+        Assert.assertTrue(table.applyCondition("amount", "NaN", Constants.EQUAL).isEmpty());
+        Assert.assertTrue(table.applyCondition("amount", "NaN", Constants.GREATER_THAN).isEmpty());
+        Assert.assertTrue(table.applyCondition("amount", "NaN", Constants.LESS_THAN).isEmpty());
+        Assert.assertEquals(4, table.applyCondition("amount", "100", Constants.LESS_THAN).size());
+    }
+
+}
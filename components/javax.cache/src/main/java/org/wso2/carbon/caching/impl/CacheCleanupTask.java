@@ -25,9 +25,9 @@ import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
- * TODO: class description
- * <p/>
- * TODO: Also handle cache eviction - remove items from cache when the cache is full
+ * Periodically expires the due entries of the monitored caches. Each cache keeps its entries ordered by the expiry
+ * time, hence a run only goes through the entries which are due. Expired entries are also removed when they are
+ * accessed, so a run is not needed for them to be treated as absent.
  */
 public class CacheCleanupTask implements Runnable {
     private static final Log log = LogFactory.getLog(CacheCleanupTask.class);
@@ -43,7 +43,7 @@ public class CacheCleanupTask implements Runnable {
 
     @Override
     @SuppressWarnings("unchecked")
-    public synchronized void run() {
+    public void run() {
         if (log.isDebugEnabled()) {
             log.debug("Cache expiry scheduler running...");
         }
@@ -154,7 +154,7 @@ public final class CacheConfigurationImpl implements CacheConfiguration {
 
     @Override
     public Duration getExpiry(ExpiryType type) {
-        return timeToLive[type.ordinal()];
+        return timeToLive == null ? null : timeToLive[type.ordinal()];
     }
 
     void setExpiry(long expiryTime, TimeUnit timeUnit, ExpiryType type) {
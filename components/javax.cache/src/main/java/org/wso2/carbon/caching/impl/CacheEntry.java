@@ -31,6 +31,8 @@ public class CacheEntry<K, V> implements Cache.Entry<K, V>, Serializable {
     private V value;
     private long lastAccessed;
     private long lastModified;
+    // bucket of the expiry queue in which the entry is scheduled in the local cache
+    private transient volatile long expiryBucket;
 
     public CacheEntry(K key, V value) {
         this.key = key;
@@ -66,6 +68,14 @@ public class CacheEntry<K, V> implements Cache.Entry<K, V>, Serializable {
         this.lastAccessed = lastAccessed;
     }
 
+    long getExpiryBucket() {
+        return expiryBucket;
+    }
+
+    void setExpiryBucket(long expiryBucket) {
+        this.expiryBucket = expiryBucket;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
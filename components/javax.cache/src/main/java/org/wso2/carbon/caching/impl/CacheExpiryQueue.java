@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.caching.impl;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Keeps the entries of a cache in buckets ordered by the time they are due to expire, so that expired entries can be
+ * found without going through the whole cache. An entry is scheduled once, with the expiry time known when it is
+ * added to the cache. Since accessing an entry can only postpone its expiry, the entries of a due bucket are checked
+ * again and the ones which are not expired yet are scheduled with their new expiry time. Hence the cost of an expiry
+ * run depends on the number of due entries and not on the size of the cache.
+ */
+final class CacheExpiryQueue<K, V> {
+
+    private final long bucketWidth;
+    private final ConcurrentSkipListMap<Long, Map<K, CacheEntry<K, V>>> buckets = new ConcurrentSkipListMap<>();
+
+    CacheExpiryQueue(long bucketWidth) {
+        this.bucketWidth = bucketWidth;
+    }
+
+    /**
+     * Schedule an entry to be checked for expiry
+     *
+     * @param entry      cache entry
+     * @param expiryTime time the entry is due to expire
+     * @param now        current time
+     */
+    void schedule(CacheEntry<K, V> entry, long expiryTime, long now) {
+        // entries which are already due go to the next bucket, since the current one may be being polled
+        long bucket = Math.max(expiryTime / bucketWidth, now / bucketWidth + 1);
+        entry.setExpiryBucket(bucket);
+        buckets.computeIfAbsent(bucket, b -> new ConcurrentHashMap<>()).put(entry.getKey(), entry);
+    }
+
+    /**
+     * Remove an entry which is no longer in the cache
+     *
+     * @param entry cache entry
+     */
+    void unschedule(CacheEntry<K, V> entry) {
+        Map<K, CacheEntry<K, V>> bucket = buckets.get(entry.getExpiryBucket());
+        if (bucket != null) {
+            bucket.remove(entry.getKey(), entry);
+        }
+    }
+
+    /**
+     * Remove and return the earliest bucket which is due
+     *
+     * @param now current time
+     * @return entries of the bucket or null if no bucket is due
+     */
+    Map<K, CacheEntry<K, V>> pollDueBucket(long now) {
+        Map.Entry<Long, Map<K, CacheEntry<K, V>>> first = buckets.firstEntry();
+        if (first == null || first.getKey() > now / bucketWidth) {
+            return null;
+        }
+        return buckets.remove(first.getKey());
+    }
+
+    void clear() {
+        buckets.clear();
+    }
+}
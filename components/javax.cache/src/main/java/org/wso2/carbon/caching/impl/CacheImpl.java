@@ -21,6 +21,7 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.caching.impl.clustering.ClusterCacheInvalidationRequestSender;
 import org.wso2.carbon.caching.impl.eviction.EvictionAlgorithm;
+import org.wso2.carbon.caching.impl.eviction.EvictionSampler;
 import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
 import org.wso2.micro.integrator.core.services.CarbonServerConfigurationService;
 
@@ -47,14 +48,12 @@ import javax.management.MBeanServerFactory;
 import javax.management.ObjectName;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.TreeSet;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
@@ -62,6 +61,8 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
 
 import static org.wso2.carbon.caching.impl.CachingConstants.ILLEGAL_STATE_EXCEPTION_MESSAGE;
 
@@ -78,10 +79,7 @@ import static org.wso2.carbon.caching.impl.Constants.SUPER_TENANT_ID;
 public class CacheImpl<K, V> implements Cache<K, V> {
 
     private static final Log log = LogFactory.getLog(CacheImpl.class);
-    private static final long MAX_CLEANUP_TIME = 60000;
     private static final int CACHE_LOADER_THREADS = 2;
-    private static final float CACHE_OVERCAPACITY_FACTOR = 0.75f;
-    private static final float CACHE_EVICTION_FACTOR = 0.25f;
 
     private String cacheName;
     private CacheManager cacheManager;
@@ -107,6 +105,12 @@ public class CacheImpl<K, V> implements Cache<K, V> {
     private long lastAccessed = System.currentTimeMillis();
 
     private EvictionAlgorithm evictionAlgorithm = CachingConstants.DEFAULT_EVICTION_ALGORITHM;
+    private final EvictionSampler<K, V> evictionSampler = new EvictionSampler<>(localCache.values());
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final CacheExpiryQueue<K, V> expiryQueue =
+            new CacheExpiryQueue<>(CachingConstants.EXPIRY_BUCKET_WIDTH_MILLIS);
+    private volatile long accessedExpiryDuration = TimeUnit.MINUTES.toMillis(Util.getDefaultCacheTimeout());
+    private volatile long modifiedExpiryDuration = TimeUnit.MINUTES.toMillis(Util.getDefaultCacheTimeout());
 
     private boolean forceLocalCache;
 
@@ -220,6 +224,11 @@ public class CacheImpl<K, V> implements Cache<K, V> {
         checkStatusStarted();
         lastAccessed = System.currentTimeMillis();
         CacheEntry entry = localCache.get(key);
+        if (entry != null && getExpiryTime(entry) <= lastAccessed) {
+            // Expired entries are removed on access without waiting for the cache cleanup task
+            expireEntry(key, entry);
+            return null;
+        }
         V value = null;
         if (entry != null) {
             value = (V) entry.getValue();
@@ -231,7 +240,7 @@ public class CacheImpl<K, V> implements Cache<K, V> {
             entry = distributedCache.get(key);
             if (entry != null) {
                 entry.setLastAccessed(lastAccessed);
-                localCache.put(key, entry);
+                putLocalEntry(key, entry);
                 value = (V) entry.getValue();
                 localTimestampMap.put(key,lastAccessed);
                 notifyCacheEntryRead(key, value);
@@ -263,7 +272,7 @@ public class CacheImpl<K, V> implements Cache<K, V> {
                 CacheEntry<K, V> value = entry.getValue();
                 if(!localCache.containsKey(key) ||
                         value.getLastModified() > localCache.get(key).getLastModified()){
-                    localCache.put(key, value);
+                    putLocalEntry(key, value);
                     distributedTimestampMap.put(key,value.getLastAccessed());
                 }
             }
@@ -291,7 +300,7 @@ public class CacheImpl<K, V> implements Cache<K, V> {
                         Long distributedLastAccessed = distributedTimestampMap.get(key);
                         setLastAccessed(value, distributedLastAccessed);
                     }
-                    localCache.put(key, value);
+                    putLocalEntry(key, value);
                 } else {
                     if (distributedCache.containsKey(key)) {
 //                        log.warn("Cache value is null but key [" + key + "] is available!");
@@ -367,14 +376,81 @@ public class CacheImpl<K, V> implements Cache<K, V> {
     }
 
     private void internalPut(K key, V value) {
-        // If the cache capacity has been exceeded by more than CACHE_OVERCAPACITY_FACTOR, do not put anymore until cache gets cleared
-        if(localCache.size() >= capacity * (1 + CACHE_OVERCAPACITY_FACTOR)){
-            return;
-        }
-        this.localCache.put(key, new CacheEntry(key, value));
+        CacheEntry<K, V> previous = putLocalEntry(key, new CacheEntry(key, value));
         if (!isLocalCache) {
             this.distributedCache.put(key, new CacheEntry(key, value));
         }
+        // Make room for the new entry by evicting the entries selected by the eviction algorithm
+        if (previous == null && localCache.size() > capacity) {
+            evictToCapacity(evictionAlgorithm, key);
+        }
+    }
+
+    private CacheEntry<K, V> putLocalEntry(K key, CacheEntry<K, V> entry) {
+        CacheEntry<K, V> previous = localCache.put(key, entry);
+        if (previous != null) {
+            expiryQueue.unschedule(previous);
+        }
+        expiryQueue.schedule(entry, getExpiryTime(entry), System.currentTimeMillis());
+        return previous;
+    }
+
+    private CacheEntry<K, V> removeLocalEntry(Object key) {
+        CacheEntry<K, V> entry = localCache.remove(key);
+        if (entry != null) {
+            expiryQueue.unschedule(entry);
+        }
+        return entry;
+    }
+
+    private void clearLocalEntries() {
+        localCache.clear();
+        expiryQueue.clear();
+    }
+
+    private long getExpiryTime(CacheEntry<K, V> entry) {
+        return Math.min(addDuration(entry.getLastAccessed(), accessedExpiryDuration),
+                addDuration(entry.getLastModified(), modifiedExpiryDuration));
+    }
+
+    private static long addDuration(long time, long duration) {
+        return duration >= Long.MAX_VALUE - time ? Long.MAX_VALUE : time + duration;
+    }
+
+    /**
+     * Evict entries selected by the given eviction algorithm until the cache is within its capacity. The algorithm
+     * chooses among a small sample of the entries, hence the cost of an eviction does not depend on the cache size.
+     * Only one thread evicts at a time, other threads rely on it to bring the cache back within its capacity.
+     *
+     * @param algorithm eviction algorithm used to select the entries
+     * @return number of evicted entries
+     */
+    public int evictToCapacity(EvictionAlgorithm algorithm) {
+        return evictToCapacity(algorithm, null);
+    }
+
+    private int evictToCapacity(EvictionAlgorithm algorithm, K excludedKey) {
+        if (localCache.size() <= capacity || !evictionLock.tryLock()) {
+            return 0;
+        }
+        int evictedCount = 0;
+        try {
+            while (localCache.size() > capacity) {
+                List<CacheEntry> samples = evictionSampler.sample(CachingConstants.EVICTION_SAMPLE_SIZE, excludedKey);
+                CacheEntry entry = samples.isEmpty() ? null : algorithm.selectEntryForEviction(samples);
+                if (entry == null) {
+                    break;
+                }
+                // the sampled entry may have been replaced or removed in the meantime
+                if (localCache.get(entry.getKey()) == entry) {
+                    evict((K) entry.getKey());
+                    evictedCount++;
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+        return evictedCount;
     }
 
     @Override
@@ -530,7 +606,7 @@ public class CacheImpl<K, V> implements Cache<K, V> {
         Util.checkAccess(ownerTenantDomain, ownerTenantId);
         checkStatusStarted();
         lastAccessed = System.currentTimeMillis();
-        CacheEntry entry = localCache.remove((K) key);
+        CacheEntry entry = removeLocalEntry(key);
         if (!isLocalCache) {
             distributedCache.remove(key);
             distributedTimestampMap.remove(key);
@@ -548,7 +624,7 @@ public class CacheImpl<K, V> implements Cache<K, V> {
         Util.checkAccess(ownerTenantDomain, ownerTenantId);
         checkStatusStarted();
         lastAccessed = System.currentTimeMillis();
-        CacheEntry<K, V> cacheEntry = localCache.remove(key);
+        CacheEntry<K, V> cacheEntry = removeLocalEntry(key);
         if (!isLocalCache) {
             distributedCache.remove(key);
             distributedTimestampMap.remove(key);
@@ -563,7 +639,7 @@ public class CacheImpl<K, V> implements Cache<K, V> {
         Util.checkAccess(ownerTenantDomain, ownerTenantId);
         checkStatusStarted();
         lastAccessed = System.currentTimeMillis();
-        CacheEntry entry = localCache.remove(key);
+        CacheEntry entry = removeLocalEntry(key);
         if (!isLocalCache) {
             distributedCache.remove(key);
             distributedTimestampMap.remove(key);
@@ -625,9 +701,8 @@ public class CacheImpl<K, V> implements Cache<K, V> {
         Util.checkAccess(ownerTenantDomain, ownerTenantId);
         checkStatusStarted();
         lastAccessed = System.currentTimeMillis();
-        Map<K, CacheEntry<K, V>> map = localCache;
         for (K key : keys) {
-            CacheEntry entry = map.remove(key);
+            CacheEntry entry = removeLocalEntry(key);
             if(!isLocalCache){
                 distributedCache.remove(key);
                 distributedTimestampMap.remove(key);
@@ -661,7 +736,7 @@ public class CacheImpl<K, V> implements Cache<K, V> {
         for (Map.Entry<K, CacheEntry<K, V>> entry : map.entrySet()) {
             notifyCacheEntryRemoved(entry.getKey(), entry.getValue().getValue());
         }
-        map.clear();
+        clearLocalEntries();
         if (!isLocalCache) {
             distributedCache.clear();
             distributedTimestampMap.clear();
@@ -787,7 +862,7 @@ public class CacheImpl<K, V> implements Cache<K, V> {
         Util.checkAccess(ownerTenantDomain, ownerTenantId);
         checkStatusStarted();
         lastAccessed = System.currentTimeMillis();
-        localCache.clear();
+        clearLocalEntries();
 
         if (!isLocalCache) {
             distributedCache.clear();
@@ -814,7 +889,37 @@ public class CacheImpl<K, V> implements Cache<K, V> {
 
     public void expire(K key) {
         Util.checkAccess(ownerTenantDomain, ownerTenantId);
-        CacheEntry entry = localCache.remove(key);
+        CacheEntry entry = removeLocalEntry(key);
+        onExpiry(key, entry);
+    }
+
+    /**
+     * Expire an entry only if it is still the entry mapped to the key. An entry found expired may be replaced by a
+     * concurrent put before it is removed, in which case the new entry is kept.
+     *
+     * @param key   key of the entry
+     * @param entry expired entry
+     * @return true if the entry was expired
+     */
+    boolean expireEntry(K key, CacheEntry<K, V> entry) {
+        // entries are compared by identity, since an equal entry may have been put after this one expired
+        AtomicBoolean removed = new AtomicBoolean(false);
+        localCache.computeIfPresent(key, (k, current) -> {
+            if (current != entry) {
+                return current;
+            }
+            removed.set(true);
+            return null;
+        });
+        if (!removed.get()) {
+            return false;
+        }
+        expiryQueue.unschedule(entry);
+        onExpiry(key, entry);
+        return true;
+    }
+
+    private void onExpiry(K key, CacheEntry entry) {
         if(!isLocalCache){
             try {
                 distributedCache.remove(key);
@@ -840,7 +945,7 @@ public class CacheImpl<K, V> implements Cache<K, V> {
     public void evict(K key) {
         Util.checkAccess(ownerTenantDomain, ownerTenantId);
         checkStatusStarted();
-        localCache.remove(key);
+        removeLocalEntry(key);
         /*if (log.isDebugEnabled()) {
             log.debug("Evicted entry:" + key + ", from local cache:" + cacheName);
         }*/
@@ -862,6 +967,37 @@ public class CacheImpl<K, V> implements Cache<K, V> {
     public void setCacheConfiguration(CacheConfigurationImpl cacheConfiguration) {
         Util.checkAccess(ownerTenantDomain, ownerTenantId);
         this.cacheConfiguration = cacheConfiguration;
+        long previousAccessedExpiryDuration = accessedExpiryDuration;
+        long previousModifiedExpiryDuration = modifiedExpiryDuration;
+        accessedExpiryDuration = getExpiryDuration(cacheConfiguration, CacheConfiguration.ExpiryType.ACCESSED);
+        modifiedExpiryDuration = getExpiryDuration(cacheConfiguration, CacheConfiguration.ExpiryType.MODIFIED);
+        if (accessedExpiryDuration != previousAccessedExpiryDuration ||
+                modifiedExpiryDuration != previousModifiedExpiryDuration) {
+            rescheduleLocalEntries();
+        }
+    }
+
+    /**
+     * Schedule the local entries again with the current expiry durations. Entries are scheduled with the expiry time
+     * known when they are added, so an entry would otherwise be checked only after the previous duration.
+     */
+    private void rescheduleLocalEntries() {
+        long now = System.currentTimeMillis();
+        for (CacheEntry<K, V> entry : localCache.values()) {
+            expiryQueue.unschedule(entry);
+            // the entry may have been removed while it was being rescheduled
+            if (localCache.get(entry.getKey()) == entry) {
+                expiryQueue.schedule(entry, getExpiryTime(entry), now);
+            }
+        }
+    }
+
+    private static long getExpiryDuration(CacheConfiguration cacheConfiguration,
+                                          CacheConfiguration.ExpiryType expiryType) {
+        CacheConfiguration.Duration expiry = cacheConfiguration.getExpiry(expiryType);
+        return expiry == null ?
+                Util.getDefaultCacheTimeout() * 60 * 1000 :
+                expiry.getTimeUnit().toMillis(expiry.getDurationAmount());
     }
 
     public void setCapacity(long capacity) {
@@ -935,85 +1071,35 @@ public class CacheImpl<K, V> implements Cache<K, V> {
         return result;
     }
 
-    @SuppressWarnings("unchecked")
+    /**
+     * Expire the entries which are due. Only the entries scheduled to expire up to now are checked, an entry which
+     * is accessed since it was scheduled is scheduled again with its new expiry time.
+     */
     void runCacheExpiry() {
-        CacheConfiguration cacheConfiguration = getConfiguration();
-
-        CacheConfiguration.Duration modifiedExpiry =
-                cacheConfiguration.getExpiry(CacheConfiguration.ExpiryType.MODIFIED);
-        long modifiedExpiryDuration =
-                modifiedExpiry == null ?
-                        Util.getDefaultCacheTimeout() * 60 * 1000 :
-                        modifiedExpiry.getTimeUnit().toMillis(modifiedExpiry.getDurationAmount());
-
-        CacheConfiguration.Duration accessedExpiry =
-                cacheConfiguration.getExpiry(CacheConfiguration.ExpiryType.ACCESSED);
-        long accessedExpiryDuration =
-                accessedExpiry == null ?
-                        Util.getDefaultCacheTimeout() * 60 * 1000 :
-                        accessedExpiry.getTimeUnit().toMillis(accessedExpiry.getDurationAmount());
-
-        Collection<CacheEntry<K, V>> cacheEntries = getAll();
-
-        long evictionListSize = 0;
-        if (localCache.size() > capacity) {
-            evictionListSize = localCache.size() - capacity; // Evict all extra entries
-            evictionListSize += (long) (capacity * CachingConstants.CACHE_EVICTION_FACTOR); // Evict 25% of cache
-        }
-
-        TreeSet<CacheEntry> evictionList = new TreeSet<CacheEntry>(new Comparator<CacheEntry>() {
-
-            @Override
-            /**
-             * Compares its two arguments for order.  Returns a negative integer,
-             * zero, or a positive integer as the first argument is less than, equal
-             * to, or greater than the second.
-             */
-            public int compare(CacheEntry o1, CacheEntry o2) {
-                if(o1.getLastAccessed() == o2.getLastAccessed()) {
-                    if(o1.getKey().equals(o2.getKey())){
-                        return 0;
+        long now = System.currentTimeMillis();
+        Map<K, CacheEntry<K, V>> dueEntries;
+        while ((dueEntries = expiryQueue.pollDueBucket(now)) != null) {
+            for (CacheEntry<K, V> entry : dueEntries.values()) {
+                K key = entry.getKey();
+                // the entry may have been replaced or removed after it was scheduled
+                if (localCache.get(key) != entry) {
+                    continue;
+                }
+                long expiryTime = getExpiryTime(entry);
+                if (expiryTime <= now) {
+                    if (expireEntry(key, entry) && log.isDebugEnabled()) {
+                        log.debug("Expired: Cache:" + cacheName + ", entry:" + key);
                     }
-                    return -1;
                 } else {
-                    return (int) (o1.getLastAccessed() - o2.getLastAccessed());
-                }
-            }
-        });
-        long start = System.currentTimeMillis();
-        for (CacheEntry<K, V> localCacheEntry : cacheEntries) { // All Cache entries in a Cache
-            K key = localCacheEntry.getKey();
-            if (localCache.size() >= capacity) {
-                evictionList.add(localCacheEntry);
-            }
-
-            long lastAccessed = localCacheEntry.getLastAccessed();
-            long lastModified = localCacheEntry.getLastModified();
-            long now = System.currentTimeMillis();
-
-            if (now - lastAccessed >= accessedExpiryDuration || now - lastModified >= modifiedExpiryDuration) {
-                expire(key);
-                if (log.isDebugEnabled()) {
-                    log.debug("Expired: Cache:" + cacheName + ", entry:" + key);
-                }
-                if (System.currentTimeMillis() - start > MAX_CLEANUP_TIME) {
-                    break;
+                    expiryQueue.schedule(entry, expiryTime, now);
                 }
             }
         }
 
-        if (localCache.size() >= capacity) {
-            start = System.currentTimeMillis();
-            for (int i = 0; i < evictionListSize; i++) {
-                CacheEntry entry = evictionAlgorithm.getEntryForEviction(evictionList);
-                if (entry != null) {
-                    this.evict((K) entry.getKey());
-                }
-                if (System.currentTimeMillis() - start > MAX_CLEANUP_TIME) {
-                    break;
-                }
-            }
-            log.info("Evicted " + evictionListSize + " entries from cache " + cacheName);
+        // Entries copied from the distributed cache are not evicted on put
+        int evictedCount = evictToCapacity(evictionAlgorithm);
+        if (evictedCount > 0) {
+            log.info("Evicted " + evictedCount + " entries from cache " + cacheName);
         }
 
         // Replicate timestamps
@@ -1152,13 +1238,13 @@ public class CacheImpl<K, V> implements Cache<K, V> {
                 } else {
                     distributedTimestampMap.put((K) key, value.getLastAccessed());
                 }
-                localCache.put((K) key, value);
+                putLocalEntry((K) key, value);
             }
         }
 
         @Override
         public void mapCleared() {
-            localCache.clear();
+            clearLocalEntries();
         }
 
         @Override
@@ -1174,7 +1260,7 @@ public class CacheImpl<K, V> implements Cache<K, V> {
             }
 
 
-            localCache.remove((K)key);
+            removeLocalEntry(key);
         }
 
         @Override
@@ -1198,7 +1284,7 @@ public class CacheImpl<K, V> implements Cache<K, V> {
                 }else{
                     distributedTimestampMap.put((K) key,value.getLastAccessed());
                 }
-                localCache.put((K)key, value);
+                putLocalEntry((K) key, value);
             }
         }
     }
@@ -1243,7 +1329,7 @@ public class CacheImpl<K, V> implements Cache<K, V> {
 
         @Override
         public void mapCleared() {
-            localCache.clear();
+            clearLocalEntries();
         }
     }
 }
@@ -27,7 +27,10 @@ public final class CachingConstants {
 
     public static final int DEFAULT_CACHE_CAPACITY = 10000;
     public static final EvictionAlgorithm DEFAULT_EVICTION_ALGORITHM = new LeastRecentlyUsedEvictionAlgorithm();
-    public static final double CACHE_EVICTION_FACTOR = 0.25;
+    // Number of entries compared by the eviction algorithm when selecting an entry to evict
+    public static final int EVICTION_SAMPLE_SIZE = 8;
+    // Entries expiring within the same interval are grouped together for expiry
+    public static final long EXPIRY_BUCKET_WIDTH_MILLIS = 1000;
     public static final long MAX_CACHE_IDLE_TIME_MILLIS = 15 * 60 * 1000; // 15mins
 
     public static final long DEFAULT_CACHE_EXPIRY_MINS = 15;
@@ -18,8 +18,9 @@
 package org.wso2.carbon.caching.impl.eviction;
 
 import org.wso2.carbon.caching.impl.CacheEntry;
-import org.wso2.carbon.caching.impl.CacheImpl;
 
+import java.util.Comparator;
+import java.util.List;
 import java.util.TreeSet;
 
 /**
@@ -29,4 +30,18 @@ public interface EvictionAlgorithm {
 
     CacheEntry getEntryForEviction(TreeSet<CacheEntry> evictionSet);
 
+    /**
+     * Select the entry to evict among a sample of the cache entries. Used when a put exceeds the cache capacity.
+     * The default implementation orders the sample by the last accessed time and delegates to
+     * {@link #getEntryForEviction(TreeSet)}.
+     *
+     * @param samples sampled cache entries
+     * @return entry to evict or null if none of the entries can be evicted
+     */
+    default CacheEntry selectEntryForEviction(List<CacheEntry> samples) {
+        Comparator<CacheEntry> lastAccessedOrder = Comparator.comparingLong(CacheEntry::getLastAccessed);
+        TreeSet<CacheEntry> evictionSet = new TreeSet<>(lastAccessedOrder.thenComparingInt(System::identityHashCode));
+        evictionSet.addAll(samples);
+        return getEntryForEviction(evictionSet);
+    }
 }
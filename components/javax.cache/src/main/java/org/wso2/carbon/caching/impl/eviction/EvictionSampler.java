@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.caching.impl.eviction;
+
+import org.wso2.carbon.caching.impl.CacheEntry;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Samples the entries of a cache for eviction. A cursor is kept over the cache entries and each sample continues
+ * from where the previous one stopped, so that all the entries are considered over time without ordering or copying
+ * the whole cache. The caller has to make sure only one thread samples at a time.
+ */
+public class EvictionSampler<K, V> {
+
+    private final Collection<CacheEntry<K, V>> entries;
+    private Iterator<CacheEntry<K, V>> cursor;
+
+    public EvictionSampler(Collection<CacheEntry<K, V>> entries) {
+        this.entries = entries;
+    }
+
+    /**
+     * Get the next entries of the cache
+     *
+     * @param sampleSize  maximum number of entries to return
+     * @param excludedKey key which must not be sampled, e.g. the key being added to the cache
+     * @return sampled entries
+     */
+    public List<CacheEntry> sample(int sampleSize, Object excludedKey) {
+        List<CacheEntry> samples = new ArrayList<>(sampleSize);
+        boolean restarted = false;
+        while (samples.size() < sampleSize) {
+            if (cursor == null || !cursor.hasNext()) {
+                if (restarted) {
+                    // all the entries are visited
+                    break;
+                }
+                cursor = entries.iterator();
+                restarted = true;
+                if (!cursor.hasNext()) {
+                    break;
+                }
+            }
+            CacheEntry<K, V> entry = cursor.next();
+            if (excludedKey == null || !excludedKey.equals(entry.getKey())) {
+                samples.add(entry);
+            }
+        }
+        return samples;
+    }
+}
@@ -18,20 +18,19 @@
 package org.wso2.carbon.caching.impl.eviction;
 
 import org.wso2.carbon.caching.impl.CacheImpl;
-import org.wso2.carbon.caching.impl.CarbonCacheManager;
 
 /**
- * TODO: class description
+ * Utility to bring a cache back within its capacity
  */
 public class EvictionUtil {
 
     /**
-     * @deprecated Do not use this method
-     * @param cache
-     * @param algorithm
+     * Evict entries of the given cache, selected by the given algorithm, until the cache is within its capacity
+     *
+     * @param cache     cache to evict entries from
+     * @param algorithm eviction algorithm used to select the entries
      */
     public static void evict(CacheImpl cache, EvictionAlgorithm algorithm) {
-
-
+        cache.evictToCapacity(algorithm);
     }
 }
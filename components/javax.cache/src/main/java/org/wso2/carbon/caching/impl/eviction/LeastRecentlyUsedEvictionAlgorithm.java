@@ -19,6 +19,7 @@ package org.wso2.carbon.caching.impl.eviction;
 
 import org.wso2.carbon.caching.impl.CacheEntry;
 
+import java.util.List;
 import java.util.TreeSet;
 
 /**
@@ -30,4 +31,15 @@ public class LeastRecentlyUsedEvictionAlgorithm implements EvictionAlgorithm {
     public CacheEntry getEntryForEviction(TreeSet<CacheEntry> evictionList) {
         return evictionList.pollFirst();
     }
+
+    @Override
+    public CacheEntry selectEntryForEviction(List<CacheEntry> samples) {
+        CacheEntry leastRecentlyUsed = null;
+        for (CacheEntry entry : samples) {
+            if (leastRecentlyUsed == null || entry.getLastAccessed() < leastRecentlyUsed.getLastAccessed()) {
+                leastRecentlyUsed = entry;
+            }
+        }
+        return leastRecentlyUsed;
+    }
 }
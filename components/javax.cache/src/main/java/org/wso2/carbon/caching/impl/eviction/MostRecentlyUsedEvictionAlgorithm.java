@@ -19,6 +19,7 @@ package org.wso2.carbon.caching.impl.eviction;
 
 import org.wso2.carbon.caching.impl.CacheEntry;
 
+import java.util.List;
 import java.util.TreeSet;
 
 /**
@@ -30,4 +31,15 @@ public class MostRecentlyUsedEvictionAlgorithm implements EvictionAlgorithm {
     public CacheEntry getEntryForEviction(TreeSet<CacheEntry> evictionList) {
         return evictionList.pollLast();
     }
+
+    @Override
+    public CacheEntry selectEntryForEviction(List<CacheEntry> samples) {
+        CacheEntry mostRecentlyUsed = null;
+        for (CacheEntry entry : samples) {
+            if (mostRecentlyUsed == null || entry.getLastAccessed() > mostRecentlyUsed.getLastAccessed()) {
+                mostRecentlyUsed = entry;
+            }
+        }
+        return mostRecentlyUsed;
+    }
 }
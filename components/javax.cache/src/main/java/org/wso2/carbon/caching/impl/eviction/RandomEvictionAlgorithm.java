@@ -19,6 +19,7 @@ package org.wso2.carbon.caching.impl.eviction;
 
 import org.wso2.carbon.caching.impl.CacheEntry;
 
+import java.util.List;
 import java.util.Random;
 import java.util.TreeSet;
 
@@ -33,4 +34,9 @@ public class RandomEvictionAlgorithm implements EvictionAlgorithm {
         int evictionIndex = random.nextInt(2);
         return evictionIndex == 0? evictionSet.pollFirst() : evictionSet.pollLast();
     }
+
+    @Override
+    public CacheEntry selectEntryForEviction(List<CacheEntry> samples) {
+        return samples.isEmpty() ? null : samples.get(random.nextInt(samples.size()));
+    }
 }
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.caching.impl;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.caching.impl.eviction.LeastRecentlyUsedEvictionAlgorithm;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests the eviction of local cache entries when a put exceeds the cache capacity
+ */
+public class CacheImplEvictionTest {
+
+    private CarbonCacheManager cacheManager;
+
+    @BeforeMethod
+    public void setUp() {
+        cacheManager = new CarbonCacheManager("evictionTestCacheManager", new CacheManagerFactoryImpl());
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        cacheManager.shutdown();
+    }
+
+    @Test
+    public void testPutBeyondCapacityEvictsAnExistingEntry() {
+        CacheImpl<String, String> cache = createCache("putEvictionCache", 3);
+        cache.put("key1", "value1");
+        cache.put("key2", "value2");
+        cache.put("key3", "value3");
+
+        cache.put("key4", "value4");
+        assertEquals(cache.getAll().size(), 3);
+        // the new entry is never the one evicted to make room for it
+        assertEquals(cache.get("key4"), "value4");
+        int remaining = 0;
+        for (String key : new String[]{"key1", "key2", "key3"}) {
+            if (cache.containsKey(key)) {
+                remaining++;
+            }
+        }
+        assertEquals(remaining, 2);
+    }
+
+    @Test
+    public void testPutBeyondCapacityEvictsLeastRecentlyUsedEntry() throws Exception {
+        CacheImpl<String, String> cache = createCache("lruEvictionCache", 2);
+        cache.setEvictionAlgorithm(new LeastRecentlyUsedEvictionAlgorithm());
+        cache.put("key1", "value1");
+        Thread.sleep(10);
+        cache.put("key2", "value2");
+        Thread.sleep(10);
+        assertEquals(cache.get("key1"), "value1");
+
+        cache.put("key3", "value3");
+        assertTrue(cache.containsKey("key1"));
+        assertFalse(cache.containsKey("key2"));
+        assertEquals(cache.get("key3"), "value3");
+    }
+
+    @Test
+    public void testReplacingAnEntryAtCapacityDoesNotEvict() {
+        CacheImpl<String, String> cache = createCache("replaceEvictionCache", 2);
+        cache.put("key1", "value1");
+        cache.put("key2", "value2");
+
+        cache.put("key1", "newValue1");
+        assertEquals(cache.getAll().size(), 2);
+        assertEquals(cache.get("key1"), "newValue1");
+        assertEquals(cache.get("key2"), "value2");
+    }
+
+    private CacheImpl<String, String> createCache(String name, long capacity) {
+        CacheImpl<String, String> cache =
+                (CacheImpl<String, String>) cacheManager.<String, String>createCacheBuilder(name).build();
+        cache.setCapacity(capacity);
+        return cache;
+    }
+}
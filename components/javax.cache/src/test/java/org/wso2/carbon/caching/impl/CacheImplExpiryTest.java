@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.caching.impl;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.TimeUnit;
+import javax.cache.CacheConfiguration;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests the expiry of local cache entries
+ */
+public class CacheImplExpiryTest {
+
+    private CarbonCacheManager cacheManager;
+
+    @BeforeMethod
+    public void setUp() {
+        cacheManager = new CarbonCacheManager("expiryTestCacheManager", new CacheManagerFactoryImpl());
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        cacheManager.shutdown();
+    }
+
+    @Test
+    public void testExpiredEntryIsRemovedOnGet() throws Exception {
+        CacheImpl<String, String> cache = createCache("getExpiryCache", 50);
+        cache.put("key", "value");
+        assertEquals(cache.get("key"), "value");
+
+        Thread.sleep(100);
+        assertNull(cache.get("key"));
+        assertFalse(cache.containsKey("key"));
+    }
+
+    @Test
+    public void testExpiredEntryIsRemovedByExpiryRun() throws Exception {
+        CacheImpl<String, String> cache = createCache("expiryRunCache", 50);
+        cache.put("key", "value");
+
+        Thread.sleep(1100 + CachingConstants.EXPIRY_BUCKET_WIDTH_MILLIS);
+        cache.runCacheExpiry();
+        assertFalse(cache.containsKey("key"));
+    }
+
+    @Test
+    public void testOnlyTheExpiredEntryInstanceIsRemoved() {
+        CacheImpl<String, String> cache = createCache("conditionalExpiryCache", 50);
+        cache.put("key", "value");
+
+        // an equal entry which is not the one in the cache, e.g. an entry replaced by a concurrent put
+        assertFalse(cache.expireEntry("key", new CacheEntry<>("key", "value")));
+        assertTrue(cache.containsKey("key"));
+        assertEquals(cache.get("key"), "value");
+    }
+
+    @Test
+    public void testEntriesAreRescheduledWhenExpiryChanges() throws Exception {
+        CacheImpl<String, String> cache = createCache("rescheduledExpiryCache", TimeUnit.MINUTES.toMillis(15));
+        cache.put("key", "value");
+
+        CacheConfigurationImpl configuration = new CacheConfigurationImpl();
+        configuration.setExpiry(50, TimeUnit.MILLISECONDS, CacheConfiguration.ExpiryType.ACCESSED);
+        configuration.setExpiry(50, TimeUnit.MILLISECONDS, CacheConfiguration.ExpiryType.MODIFIED);
+        cache.setCacheConfiguration(configuration);
+
+        Thread.sleep(1100 + CachingConstants.EXPIRY_BUCKET_WIDTH_MILLIS);
+        cache.runCacheExpiry();
+        assertFalse(cache.containsKey("key"));
+    }
+
+    @Test
+    public void testCacheWithoutExpiryUsesDefaultTimeout() {
+        CacheImpl<String, String> cache =
+                (CacheImpl<String, String>) cacheManager.<String, String>createCacheBuilder("defaultExpiryCache").build();
+        cache.put("key", "value");
+        cache.runCacheExpiry();
+        assertEquals(cache.get("key"), "value");
+    }
+
+    private CacheImpl<String, String> createCache(String name, long expiryMillis) {
+        return (CacheImpl<String, String>) cacheManager.<String, String>createCacheBuilder(name)
+                .setExpiry(CacheConfiguration.ExpiryType.ACCESSED,
+                        new CacheConfiguration.Duration(TimeUnit.MILLISECONDS, expiryMillis))
+                .setExpiry(CacheConfiguration.ExpiryType.MODIFIED,
+                        new CacheConfiguration.Duration(TimeUnit.MILLISECONDS, expiryMillis))
+                .build();
+    }
+}
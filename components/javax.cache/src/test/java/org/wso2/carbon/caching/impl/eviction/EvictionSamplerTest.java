@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.caching.impl.eviction;
+
+import org.testng.annotations.Test;
+import org.wso2.carbon.caching.impl.CacheEntry;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests the sampled eviction of cache entries
+ */
+public class EvictionSamplerTest {
+
+    @Test
+    public void testSamplesContinueFromPreviousSample() {
+        Map<String, CacheEntry<String, String>> entries = createEntries(10);
+        EvictionSampler<String, String> sampler = new EvictionSampler<>(entries.values());
+
+        Set<Object> sampledKeys = new HashSet<>();
+        for (int i = 0; i < 5; i++) {
+            List<CacheEntry> samples = sampler.sample(2, null);
+            assertEquals(samples.size(), 2);
+            for (CacheEntry sample : samples) {
+                assertTrue(sampledKeys.add(sample.getKey()), "Entry " + sample.getKey() + " sampled twice");
+            }
+        }
+        assertEquals(sampledKeys, entries.keySet());
+    }
+
+    @Test
+    public void testSampleWrapsAroundTheEntries() {
+        Map<String, CacheEntry<String, String>> entries = createEntries(3);
+        EvictionSampler<String, String> sampler = new EvictionSampler<>(entries.values());
+
+        assertEquals(sampler.sample(2, null).size(), 2);
+        List<CacheEntry> samples = sampler.sample(2, null);
+        assertEquals(samples.size(), 2);
+        assertEquals(samples.get(0).getKey(), "key-2");
+        assertEquals(samples.get(1).getKey(), "key-0");
+    }
+
+    @Test
+    public void testSampleIsLimitedToTheAvailableEntries() {
+        Map<String, CacheEntry<String, String>> entries = createEntries(3);
+        EvictionSampler<String, String> sampler = new EvictionSampler<>(entries.values());
+
+        assertEquals(sampler.sample(8, null).size(), 3);
+        assertTrue(new EvictionSampler<String, String>(new ArrayList<>()).sample(8, null).isEmpty());
+    }
+
+    @Test
+    public void testExcludedKeyIsNotSampled() {
+        Map<String, CacheEntry<String, String>> entries = createEntries(3);
+        EvictionSampler<String, String> sampler = new EvictionSampler<>(entries.values());
+
+        List<CacheEntry> samples = sampler.sample(8, "key-1");
+        assertEquals(samples.size(), 2);
+        for (CacheEntry sample : samples) {
+            assertFalse("key-1".equals(sample.getKey()));
+        }
+        assertTrue(new EvictionSampler<>(createEntries(1).values()).sample(8, "key-0").isEmpty());
+    }
+
+    @Test
+    public void testSampleSeesEntriesAddedAfterCreation() {
+        Map<String, CacheEntry<String, String>> entries = createEntries(2);
+        EvictionSampler<String, String> sampler = new EvictionSampler<>(entries.values());
+
+        assertEquals(sampler.sample(2, null).size(), 2);
+        entries.put("key-2", new CacheEntry<>("key-2", "value-2"));
+        Set<Object> sampledKeys = new HashSet<>();
+        for (CacheEntry sample : sampler.sample(3, null)) {
+            sampledKeys.add(sample.getKey());
+        }
+        assertTrue(sampledKeys.contains("key-2"));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntryIsSelected() {
+        List<CacheEntry> samples = createSamples();
+        assertSame(new LeastRecentlyUsedEvictionAlgorithm().selectEntryForEviction(samples), samples.get(1));
+        assertNull(new LeastRecentlyUsedEvictionAlgorithm().selectEntryForEviction(new ArrayList<>()));
+    }
+
+    @Test
+    public void testMostRecentlyUsedEntryIsSelected() {
+        List<CacheEntry> samples = createSamples();
+        assertSame(new MostRecentlyUsedEvictionAlgorithm().selectEntryForEviction(samples), samples.get(2));
+        assertNull(new MostRecentlyUsedEvictionAlgorithm().selectEntryForEviction(new ArrayList<>()));
+    }
+
+    @Test
+    public void testRandomEntryIsSelectedFromTheSample() {
+        List<CacheEntry> samples = createSamples();
+        for (int i = 0; i < 10; i++) {
+            assertTrue(samples.contains(new RandomEvictionAlgorithm().selectEntryForEviction(samples)));
+        }
+        assertNull(new RandomEvictionAlgorithm().selectEntryForEviction(new ArrayList<>()));
+    }
+
+    @Test
+    public void testCustomAlgorithmIsUsedForSamples() {
+        EvictionAlgorithm newestFirst = new EvictionAlgorithm() {
+            @Override
+            public CacheEntry getEntryForEviction(TreeSet<CacheEntry> evictionSet) {
+                return evictionSet.pollLast();
+            }
+        };
+        List<CacheEntry> samples = createSamples();
+        assertSame(newestFirst.selectEntryForEviction(samples), samples.get(2));
+        assertNull(newestFirst.selectEntryForEviction(new ArrayList<>()));
+    }
+
+    private Map<String, CacheEntry<String, String>> createEntries(int count) {
+        Map<String, CacheEntry<String, String>> entries = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            entries.put("key-" + i, new CacheEntry<>("key-" + i, "value-" + i));
+        }
+        return entries;
+    }
+
+    private List<CacheEntry> createSamples() {
+        List<CacheEntry> samples = new ArrayList<>();
+        long[] lastAccessed = {2000L, 1000L, 3000L};
+        for (int i = 0; i < lastAccessed.length; i++) {
+            CacheEntry<String, String> entry = new CacheEntry<>("key-" + i, "value-" + i);
+            entry.setLastAccessed(lastAccessed[i]);
+            samples.add(entry);
+        }
+        return samples;
+    }
+}
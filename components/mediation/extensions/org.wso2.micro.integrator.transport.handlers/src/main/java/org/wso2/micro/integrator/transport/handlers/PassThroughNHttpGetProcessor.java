@@ -25,12 +25,15 @@ import org.apache.axis2.context.MessageContext;
 import org.apache.axis2.description.AxisService;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.apache.http.Header;
+import org.apache.http.HttpHeaders;
 import org.apache.http.HttpInetConnection;
 import org.apache.http.HttpRequest;
 import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
 import org.apache.http.nio.NHttpServerConnection;
 import org.apache.http.protocol.HTTP;
+import org.apache.synapse.api.API;
 import org.apache.synapse.transport.passthru.HttpGetRequestProcessor;
 import org.apache.synapse.transport.passthru.PassThroughConstants;
 import org.apache.synapse.transport.passthru.ProtocolState;
@@ -39,9 +42,12 @@ import org.apache.synapse.transport.passthru.SourceHandler;
 import org.apache.synapse.transport.passthru.config.PassThroughConfiguration;
 import org.wso2.micro.core.transports.CarbonHttpRequest;
 import org.wso2.micro.core.transports.CarbonHttpResponse;
+import org.wso2.micro.core.transports.HttpGetResponseCache;
+import org.wso2.micro.core.transports.HttpGetResponseCache.CachedResponse;
 import org.wso2.micro.integrator.core.services.CarbonServerConfigurationService;
 import org.wso2.micro.integrator.transport.handlers.utils.RequestProcessorDispatcherUtil;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.LinkedHashMap;
@@ -57,6 +63,8 @@ public class PassThroughNHttpGetProcessor extends AbstractHttpGetRequestProcesso
 
     private static final Log log = LogFactory.getLog(PassThroughNHttpGetProcessor.class);
 
+    private static final String GZIP = "gzip";
+
     private void processWithGetProcessor(HttpRequest request,
                                          HttpResponse response,
                                          String requestUri,
@@ -64,7 +72,32 @@ public class PassThroughNHttpGetProcessor extends AbstractHttpGetRequestProcesso
                                          String queryString,
                                          String item,
                                          OutputStream outputStream,
-                                         NHttpServerConnection conn) throws Exception {
+                                         NHttpServerConnection conn,
+                                         String artifactName,
+                                         Object artifact) throws Exception {
+        HttpGetResponseCache responseCache = HttpGetResponseCache.getInstance();
+        // the WSDL of a proxy service loaded from the registry or a URI may change without redeploying the proxy, and
+        // the endpoints of a document rendered for an absolute request URI depend on the client
+        boolean cacheable = artifact != null && responseCache.isCacheable(item, queryString)
+                && requestUri.indexOf("://") == -1 && !(artifact instanceof AxisService
+                && RequestProcessorDispatcherUtil.isProxyWSDLFromExternalSource(artifactName));
+        String cacheKey = null;
+        if (cacheable) {
+            String artifactKey = (artifact instanceof AxisService ? "service:" : "api:") + artifactName;
+            cacheKey = HttpGetResponseCache.getRequestKey(artifactKey, queryString,
+                    ((HttpInetConnection) conn).getLocalPort());
+        }
+        if (cacheable) {
+            CachedResponse cachedResponse = responseCache.get(cacheKey, artifact);
+            if (cachedResponse != null) {
+                try {
+                    writeCachedResponse(request, response, cachedResponse, outputStream, conn);
+                } finally {
+                    sourceHandler.commitResponseHideExceptions(conn, response);
+                }
+                return;
+            }
+        }
         OverflowBlob temporaryData = new OverflowBlob(256, 4048, "_nhttp", ".dat");
         try {
             CarbonHttpRequest carbonHttpRequest = new CarbonHttpRequest(
@@ -94,6 +127,16 @@ public class PassThroughNHttpGetProcessor extends AbstractHttpGetRequestProcesso
                     temporaryData.getOutputStream());
 
             (getRequestProcessors.get(item)).process(carbonHttpRequest, carbonHttpResponse, cfgCtx);
+
+            if (cacheable && carbonHttpResponse.getStatusCode() == HttpStatus.SC_OK && !carbonHttpResponse.isError()
+                    && !carbonHttpResponse.isRedirect()) {
+                ByteArrayOutputStream body = new ByteArrayOutputStream((int) temporaryData.getLength());
+                temporaryData.writeTo(body);
+                CachedResponse cachedResponse = responseCache.put(cacheKey, artifactName, artifact,
+                        carbonHttpResponse.getHeaders(), body.toByteArray());
+                writeCachedResponse(request, response, cachedResponse, outputStream, conn);
+                return;
+            }
             
              // adding headers
             Map<String, String> responseHeaderMap = carbonHttpResponse.getHeaders();
@@ -142,6 +185,45 @@ public class PassThroughNHttpGetProcessor extends AbstractHttpGetRequestProcesso
         }
     }
 
+    /**
+     * Writes a cached response. The response is written compressed if the client accepts gzip encoding, and only
+     * the headers are written if the client already has the response.
+     */
+    private void writeCachedResponse(HttpRequest request, HttpResponse response, CachedResponse cachedResponse,
+                                     OutputStream outputStream, NHttpServerConnection conn) throws IOException {
+        for (Map.Entry<String, String> header : cachedResponse.getHeaders().entrySet()) {
+            response.addHeader(header.getKey(), header.getValue());
+        }
+        boolean compressed = false;
+        if (cachedResponse.getCompressedBody() != null) {
+            Header acceptEncoding = request.getFirstHeader(HttpHeaders.ACCEPT_ENCODING);
+            compressed = acceptEncoding != null && acceptEncoding.getValue().toLowerCase().contains(GZIP);
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        response.addHeader(HttpHeaders.ETAG,
+                compressed ? cachedResponse.getCompressedETag() : cachedResponse.getETag());
+
+        Header ifNoneMatch = request.getFirstHeader(HttpHeaders.IF_NONE_MATCH);
+        boolean notModified = ifNoneMatch != null && cachedResponse.matches(ifNoneMatch.getValue());
+        if (notModified) {
+            response.setStatusCode(HttpStatus.SC_NOT_MODIFIED);
+        } else {
+            response.setStatusCode(HttpStatus.SC_OK);
+            if (compressed) {
+                response.addHeader(HTTP.CONTENT_ENCODING, GZIP);
+            }
+        }
+        SourceContext.updateState(conn, ProtocolState.WSDL_RESPONSE_DONE);
+        if (!notModified) {
+            byte[] body = compressed ? cachedResponse.getCompressedBody() : cachedResponse.getBody();
+            outputStream.write(body);
+        }
+        try {
+            outputStream.flush();
+            outputStream.close();
+        } catch (Exception ignored) {}
+    }
+
     public void init(ConfigurationContext configurationContext, SourceHandler sourceHandler)
             throws AxisFault {
         
@@ -228,6 +310,7 @@ public class PassThroughNHttpGetProcessor extends AbstractHttpGetRequestProcesso
                 */
                 boolean reverseProxyMode = Boolean.parseBoolean(System.getProperty("reverseProxyMode"));                
                 AxisService axisService = null;
+                API api = null;
                 if (!reverseProxyMode) {
                     if (!(beginIndex < 0 || beginIndex > requestUri.length())) {
                 	    serviceName = requestUri.substring(beginIndex);
@@ -242,15 +325,19 @@ public class PassThroughNHttpGetProcessor extends AbstractHttpGetRequestProcesso
                                         queryString.indexOf("&") == item.length() ||
                                         queryString.indexOf("=") == item.length())) {
                             //check for APIs since no axis2 service found
-                            if (axisService == null &&
-                                    !RequestProcessorDispatcherUtil.isDispatchToApiGetProcessor(requestUri, cfgCtx)) {
-                                continue;
+                            if (axisService == null) {
+                                api = RequestProcessorDispatcherUtil.getAPI(requestUri);
+                                if (api == null) {
+                                    continue;
+                                }
                             }
 
                             try {
                                 processWithGetProcessor(request, response, requestUri,
                                         requestUrl, queryString,
-                                        item, outputStream, conn);
+                                        item, outputStream, conn,
+                                        axisService != null ? axisService.getName() : api.getName(),
+                                        axisService != null ? axisService : api);
                                 messageContext.setProperty("WSDL_GEN_HANDLED", true);
                             } catch (Exception e) {
                                 handleBrowserException(response, conn, outputStream,
@@ -20,7 +20,10 @@ package org.wso2.micro.integrator.transport.handlers.utils;
 import org.apache.axis2.context.ConfigurationContext;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.apache.synapse.api.API;
 import org.apache.synapse.config.SynapseConfigUtils;
+import org.apache.synapse.config.SynapseConfiguration;
+import org.apache.synapse.core.axis2.ProxyService;
 import org.wso2.micro.core.Constants;
 
 /**
@@ -36,11 +39,39 @@ public class RequestProcessorDispatcherUtil {
      * @return True if API is found, false otherwise
      */
     public static boolean isDispatchToApiGetProcessor(String requestUri, ConfigurationContext configurationContext) {
-        String apiName = requestUri.substring(1);
-        //check the API in synapse configurations based on current tenant
-        if (SynapseConfigUtils.getSynapseConfiguration(Constants.SUPER_TENANT_DOMAIN_NAME).getAPI(apiName) != null) {
+        if (getAPI(requestUri) != null) {
             return true;
         }
         return false;
     }
+
+    /**
+     * Returns the API matching the given URI
+     *
+     * @param requestUri URI of the request
+     * @return API matching the URI, or null if there is no such API
+     */
+    public static API getAPI(String requestUri) {
+        String apiName = requestUri.substring(1);
+        //check the API in synapse configurations based on current tenant
+        return SynapseConfigUtils.getSynapseConfiguration(Constants.SUPER_TENANT_DOMAIN_NAME).getAPI(apiName);
+    }
+
+    /**
+     * Checks whether the given service is a proxy service whose WSDL or imported resources are loaded from a source
+     * which may change while the proxy service is deployed, i.e. a registry key, a URI or an endpoint
+     *
+     * @param serviceName name of the service
+     * @return True if the WSDL of the proxy service is loaded from such a source, false otherwise
+     */
+    public static boolean isProxyWSDLFromExternalSource(String serviceName) {
+        SynapseConfiguration synapseConfiguration =
+                SynapseConfigUtils.getSynapseConfiguration(Constants.SUPER_TENANT_DOMAIN_NAME);
+        if (synapseConfiguration == null) {
+            return false;
+        }
+        ProxyService proxyService = synapseConfiguration.getProxyService(serviceName);
+        return proxyService != null && (proxyService.getWSDLKey() != null || proxyService.getWsdlURI() != null
+                || proxyService.getPublishWSDLEndpoint() != null || proxyService.getResourceMap() != null);
+    }
 }
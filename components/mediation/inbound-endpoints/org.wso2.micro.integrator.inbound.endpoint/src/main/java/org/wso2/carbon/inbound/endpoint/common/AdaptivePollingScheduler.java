@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.inbound.endpoint.common;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Backlog aware scheduler for polling inbound endpoints. A polling cycle is repeated immediately while the previous
+ * cycle consumed messages, and once a cycle comes back empty the delay between cycles grows exponentially from the
+ * minimum interval up to the configured polling interval.
+ * <p>
+ * The scheduler runs inside a single task trigger for at most one scheduler window and keeps its delay across
+ * triggers, so an idle endpoint settles on the configured interval while a busy endpoint drains back to back.
+ */
+public class AdaptivePollingScheduler implements AdaptivePollingSchedulerMBean {
+
+    private static final Log log = LogFactory.getLog(AdaptivePollingScheduler.class);
+
+    public static final long DEFAULT_MIN_INTERVAL = 10;
+
+    private final long minInterval;
+    private final long maxInterval;
+    private final long window;
+
+    private volatile long currentInterval;
+    private volatile double effectivePollingRate;
+    private volatile long pollCount;
+    private volatile long productivePollCount;
+
+    /**
+     * @param minInterval delay in milliseconds after the first empty cycle
+     * @param maxInterval upper bound of the delay in milliseconds, i.e. the configured polling interval
+     * @param window      time in milliseconds a single task trigger may keep polling
+     */
+    public AdaptivePollingScheduler(long minInterval, long maxInterval, long window) {
+        this.minInterval = Math.max(1, minInterval);
+        this.maxInterval = Math.max(this.minInterval, maxInterval);
+        this.window = window;
+        this.currentInterval = 0;
+    }
+
+    /**
+     * Run polling cycles until the scheduler window elapses or the next cycle is due after the window.
+     *
+     * @param pollingCycle runs a single polling cycle and returns whether it consumed any message
+     */
+    public void run(BooleanSupplier pollingCycle) {
+        long windowStart = System.nanoTime();
+        long windowEnd = windowStart + TimeUnit.MILLISECONDS.toNanos(window);
+        int cycles = 0;
+        while (true) {
+            boolean productive = pollingCycle.getAsBoolean();
+            cycles++;
+            pollCount++;
+            if (productive) {
+                productivePollCount++;
+                currentInterval = 0;
+            } else if (currentInterval == 0) {
+                currentInterval = minInterval;
+            } else {
+                currentInterval = Math.min(currentInterval * 2, maxInterval);
+            }
+            long now = System.nanoTime();
+            if (now + TimeUnit.MILLISECONDS.toNanos(currentInterval) >= windowEnd) {
+                break;
+            }
+            if (currentInterval > 0) {
+                try {
+                    Thread.sleep(currentInterval);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - windowStart);
+        effectivePollingRate = cycles * 1000.0 / Math.max(elapsed, 1);
+        if (log.isDebugEnabled()) {
+            log.debug("Executed " + cycles + " polling cycle(s) in " + elapsed + " ms. Current interval : "
+                              + currentInterval + " ms");
+        }
+    }
+
+    @Override
+    public long getCurrentInterval() {
+        return currentInterval;
+    }
+
+    @Override
+    public double getEffectivePollingRate() {
+        return effectivePollingRate;
+    }
+
+    @Override
+    public long getPollCount() {
+        return pollCount;
+    }
+
+    @Override
+    public long getProductivePollCount() {
+        return productivePollCount;
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.inbound.endpoint.common;
+
+/**
+ * JMX view of the adaptive polling scheduler of an inbound endpoint task
+ */
+public interface AdaptivePollingSchedulerMBean {
+
+    /**
+     * @return the delay in milliseconds the scheduler currently waits between two polling cycles
+     */
+    long getCurrentInterval();
+
+    /**
+     * @return the polling cycles executed per second during the last scheduler window
+     */
+    double getEffectivePollingRate();
+
+    /**
+     * @return the total number of polling cycles executed
+     */
+    long getPollCount();
+
+    /**
+     * @return the total number of polling cycles which consumed messages
+     */
+    long getProductivePollCount();
+}
@@ -27,6 +27,7 @@ import org.apache.synapse.task.TaskManager;
 import org.jetbrains.annotations.NotNull;
 import org.wso2.carbon.inbound.endpoint.persistence.InboundEndpointsDataStore;
 import org.wso2.carbon.inbound.endpoint.protocol.generic.GenericTask;
+import org.wso2.carbon.inbound.endpoint.protocol.jms.JMSSessionPoolTask;
 import org.wso2.carbon.inbound.endpoint.protocol.jms.JMSTask;
 import org.wso2.micro.integrator.mediation.ntask.NTaskTaskManager;
 import org.wso2.micro.integrator.ntask.core.TaskUtils;
@@ -77,12 +78,13 @@ public abstract class InboundRequestProcessorImpl implements InboundRequestProce
     private void handleTask(InboundTask task, String endpointPostfix) {
         try {
             TaskDescription taskDescription = getTaskDescription(task, endpointPostfix);
+            task.setTaskName(taskDescription.getName());
             StartUpController startUpController = new StartUpController();
             startUpController.setTaskDescription(taskDescription);
             startUpController.init(synapseEnvironment);
             startUpControllersList.add(startUpController);
             // Register a listener to be notified when the local Cron/Generic task is deleted/paused
-            if (task instanceof JMSTask || task instanceof GenericTask) {
+            if (task instanceof JMSTask || task instanceof GenericTask || task instanceof JMSSessionPoolTask) {
                 TaskManager taskManagerImpl = synapseEnvironment.getTaskManager().getTaskManagerImpl();
                 if (taskManagerImpl instanceof NTaskTaskManager) {
                     NTaskTaskManager ntaskManager = (NTaskTaskManager) taskManagerImpl;
@@ -90,6 +92,8 @@ public abstract class InboundRequestProcessorImpl implements InboundRequestProce
                         ntaskManager.registerListener((JMSTask) task, taskDescription.getName());
                     } else if (task instanceof GenericTask) {
                         ntaskManager.registerListener((GenericTask) task, taskDescription.getName());
+                    } else {
+                        ntaskManager.registerListener((JMSSessionPoolTask) task, taskDescription.getName());
                     }
                 }
             }
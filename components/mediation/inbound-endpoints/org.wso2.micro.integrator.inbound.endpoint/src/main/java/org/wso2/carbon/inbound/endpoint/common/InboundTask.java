@@ -20,8 +20,9 @@ package org.wso2.carbon.inbound.endpoint.common;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.synapse.ManagedLifecycle;
+import org.apache.synapse.commons.jmx.MBeanRegistrar;
+import org.wso2.carbon.inbound.endpoint.protocol.PollingConstants;
 
-import java.util.Date;
 import java.util.Properties;
 
 /**
@@ -35,19 +36,31 @@ public abstract class InboundTask implements org.apache.synapse.task.Task, Manag
 
     public static final int TASK_THRESHOLD_INTERVAL = 1000;
 
+    private static final String ADAPTIVE_POLLING_MBEAN_CATEGORY = "InboundEndpointPolling";
+
+    private String taskName;
+    private AdaptivePollingScheduler adaptivePollingScheduler;
+    private boolean adaptivePollingResolved;
+
     public void execute() {
         logger.debug("Common Inbound Task executing.");
 
+        AdaptivePollingScheduler scheduler = getAdaptivePollingScheduler();
+        if (scheduler != null) {
+            scheduler.run(this::pollOnce);
+            return;
+        }
+
         //If the thresehold value is greater than i second just run the cycle
         if (interval >= TASK_THRESHOLD_INTERVAL) {
             taskExecute();
         } else {
-            long lStartTime = (new Date()).getTime();
+            long lStartTime = System.currentTimeMillis();
             long lCurrentTime = lStartTime;
             //Run the cycles within one second (1000ms)
             while ((lCurrentTime - lStartTime) < TASK_THRESHOLD_INTERVAL) {
                 taskExecute();
-                long lEndTime = (new Date()).getTime();
+                long lEndTime = System.currentTimeMillis();
                 long lRequiredSleep = interval - (lEndTime - lCurrentTime);
                 if (lRequiredSleep > 0) {
                     try {
@@ -56,7 +69,7 @@ public abstract class InboundTask implements org.apache.synapse.task.Task, Manag
                         logger.debug("Unable to sleep the inbound thread less than 1 second");
                     }
                 }
-                lCurrentTime = (new Date()).getTime();
+                lCurrentTime = System.currentTimeMillis();
             }
         }
 
@@ -64,5 +77,67 @@ public abstract class InboundTask implements org.apache.synapse.task.Task, Manag
 
     protected abstract void taskExecute();
 
+    /**
+     * Run a single polling cycle in the adaptive polling mode and report whether it consumed any message. The
+     * scheduler decides when the next cycle runs, hence implementations should skip their own interval checks. The
+     * default implementation cannot tell whether messages were consumed and reports none, which makes the scheduler
+     * settle on the configured interval.
+     *
+     * @return true if the cycle consumed at least one message
+     */
+    protected boolean pollOnce() {
+        taskExecute();
+        return false;
+    }
+
+    /**
+     * Set the name of the scheduled task. The name identifies the adaptive polling statistics of the task.
+     *
+     * @param taskName name of the scheduled task
+     */
+    public void setTaskName(String taskName) {
+        this.taskName = taskName;
+    }
+
+    private AdaptivePollingScheduler getAdaptivePollingScheduler() {
+        if (adaptivePollingResolved) {
+            return adaptivePollingScheduler;
+        }
+        adaptivePollingResolved = true;
+        Properties properties = getInboundProperties();
+        if (properties == null
+                || !Boolean.parseBoolean(properties.getProperty(PollingConstants.INBOUND_ADAPTIVE_POLLING))) {
+            return null;
+        }
+        long minInterval = AdaptivePollingScheduler.DEFAULT_MIN_INTERVAL;
+        String strMinInterval = properties.getProperty(PollingConstants.INBOUND_ADAPTIVE_POLLING_MIN_INTERVAL);
+        if (strMinInterval != null) {
+            try {
+                minInterval = Long.parseLong(strMinInterval.trim());
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid value for " + PollingConstants.INBOUND_ADAPTIVE_POLLING_MIN_INTERVAL + " : "
+                                    + strMinInterval + ". Default value of " + minInterval + " ms will be used.");
+            }
+        }
+        adaptivePollingScheduler = new AdaptivePollingScheduler(minInterval, interval,
+                                                                Math.max(interval, TASK_THRESHOLD_INTERVAL));
+        if (taskName != null) {
+            MBeanRegistrar.getInstance().registerMBean(adaptivePollingScheduler, ADAPTIVE_POLLING_MBEAN_CATEGORY,
+                                                       taskName);
+        }
+        return adaptivePollingScheduler;
+    }
+
+    /**
+     * Unregister the adaptive polling statistics of the task. Tasks call this when they are destroyed, so that the
+     * MBean does not outlive the inbound endpoint.
+     */
+    protected void unregisterAdaptivePollingScheduler() {
+        if (adaptivePollingScheduler != null && taskName != null) {
+            MBeanRegistrar.getInstance().unRegisterMBean(ADAPTIVE_POLLING_MBEAN_CATEGORY, taskName);
+        }
+        adaptivePollingScheduler = null;
+    }
+
     public abstract Properties getInboundProperties();
 }
@@ -32,4 +32,8 @@ public class PollingConstants {
 
     public static final String INBOUND_CONCURRENT_CONSUMERS = "concurrent.consumers";
 
+    public static final String INBOUND_ADAPTIVE_POLLING = "adaptive.polling";
+
+    public static final String INBOUND_ADAPTIVE_POLLING_MIN_INTERVAL = "adaptive.polling.min.interval";
+
 }
@@ -39,16 +39,28 @@ import org.apache.synapse.commons.vfs.VFSUtils;
 import org.apache.synapse.core.SynapseEnvironment;
 import org.wso2.carbon.inbound.endpoint.protocol.Utils;
 
+import java.nio.file.Paths;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 import static org.wso2.carbon.inbound.endpoint.common.Constants.DEFAULT_GRACEFUL_SHUTDOWN_POLL_INTERVAL_MS;
 
@@ -68,10 +80,19 @@ public class FilePollingConsumer {
     private long scanInterval;
     private Long lastRanTime;
     private int lastCycle;
+    private int cycleProcessCount;
     private FileInjectHandler injectHandler;
     private Long waitTimeBeforeRead;
     private double fileSizeLimit = VFSConstants.DEFAULT_TRANSPORT_FILE_SIZE_LIMIT;
     public static final String UNDEPLOYMENT_GRACE_TIMEOUT = "undeployment.grace.timeout";
+    public static final String FILE_PROCESSING_THREAD_COUNT = "transport.vfs.FileProcessingThreadCount";
+    public static final String FILE_PROCESSING_GROUP_PATTERN = "transport.vfs.FileProcessingGroupPattern";
+    public static final String INCREMENTAL_SCAN = "transport.vfs.IncrementalScan";
+    public static final String INCREMENTAL_SCAN_SEEN_CACHE_SIZE = "transport.vfs.IncrementalScanSeenCacheSize";
+    public static final String INCREMENTAL_SCAN_STATE_DIRECTORY = "transport.vfs.IncrementalScanStateDirectory";
+    private static final int DEFAULT_INCREMENTAL_SCAN_SEEN_CACHE_SIZE = 10000;
+    private static final String CARBON_HOME = "carbon.home";
+    private static final long FILE_PROCESSING_WORKER_SHUTDOWN_TIMEOUT = 30000;
 
     private FileObject fileObject;
     private Integer iFileProcessingInterval = null;
@@ -88,6 +109,10 @@ public class FilePollingConsumer {
     private volatile boolean isClosed;
 
     private boolean readSubDirectories = false;
+    private int fileProcessingThreadCount = 1;
+    private Pattern fileProcessingGroupPattern;
+    private ExecutorService[] fileProcessingWorkers;
+    private IncrementalDirectoryScanner incrementalScanner;
     private String fileURI;
 
     private String actionAfterProcess;
@@ -120,6 +145,7 @@ public class FilePollingConsumer {
         this.unDeploymentWaitTimeout = NumberUtils.toLong(vfsProperties.getProperty(UNDEPLOYMENT_GRACE_TIMEOUT), 0);
 
         setupParams();
+        initFileProcessingWorkers();
         try {
             StandardFileSystemManager fsm = new StandardFileSystemManager();
             fsm.setConfiguration(getClass().getClassLoader().getResource("providers.xml"));
@@ -176,6 +202,23 @@ public class FilePollingConsumer {
         }
     }
 
+    /**
+     * Run a polling cycle without the scan interval check. Used by the adaptive polling mode where the task
+     * scheduler decides when the next cycle runs.
+     *
+     * @return true if any file was processed during the cycle
+     */
+    public boolean executeCycle() {
+        cycleProcessCount = 0;
+        try {
+            lastRanTime = System.currentTimeMillis();
+            poll();
+        } catch (Exception e) {
+            log.error("Error while reading file. " + e.getMessage(), e);
+        }
+        return cycleProcessCount > 0;
+    }
+
     /**
      * Do the file processing operation for the given set of properties. Do the
      * checks and pass the control to processFile method
@@ -211,8 +254,10 @@ public class FilePollingConsumer {
             lastCycle = 0;
             if (fileObject.exists() && fileObject.isReadable()) {
                 FileObject[] children = null;
+                boolean incrementalScan = incrementalScanner != null && fileObject.isFolder();
                 try {
-                    children = fileObject.getChildren();
+                    children = incrementalScan ? incrementalScanner.listNewChildren(fileObject)
+                            : fileObject.getChildren();
                 } catch (FileNotFolderException ignored) {
                     if (log.isDebugEnabled()) {
                         log.debug("No Folder found. Only file found on : " + VFSUtils.maskURLPassword(fileURI));
@@ -221,8 +266,13 @@ public class FilePollingConsumer {
                     log.error(ex.getMessage(), ex);
                 }
 
-                // if this is a file that would translate to a single message
-                if (children == null || children.length == 0) {
+                if (incrementalScan && (children == null || children.length == 0)) {
+                    // nothing new in the directory since the last cycle
+                    if (log.isDebugEnabled()) {
+                        log.debug("No new files found in : " + VFSUtils.maskURLPassword(fileURI));
+                    }
+                } else if (children == null || children.length == 0) {
+                    // if this is a file that would translate to a single message
                     // Fail record is a one that is processed but was not moved
                     // or deleted due to an error.
                     boolean isFailedRecord = VFSUtils.isFailRecord(fsManager, fileObject, fso);
@@ -249,7 +299,14 @@ public class FilePollingConsumer {
                         }
                     }
                 } else {
-                    FileObject fileObject = directoryHandler(children);
+                    FileObject fileObject;
+                    try {
+                        fileObject = directoryHandler(children);
+                    } finally {
+                        if (incrementalScan) {
+                            incrementalScanner.commit();
+                        }
+                    }
                     if (fileObject != null) {
                         return fileObject;
                     }
@@ -291,6 +348,7 @@ public class FilePollingConsumer {
         if (fileObject.getType() == FileType.FILE) {
             if (!fileLock || (fileLock && acquireLock(fsManager, fileObject))) {
                 boolean runPostProcess = true;
+                cycleProcessCount++;
                 try {
                     if (processFile(fileObject) == null) {
                         runPostProcess = false;
@@ -338,6 +396,22 @@ public class FilePollingConsumer {
     /**
      * Setup the required parameters
      */
+    /**
+     * Returns the directory to persist the incremental scan watermark in. Unless configured, the watermark is kept
+     * with the server data so that it survives restarts, unlike in a temporary directory.
+     */
+    private String getIncrementalScanStateDirectory() {
+        String stateDirectory = vfsProperties.getProperty(INCREMENTAL_SCAN_STATE_DIRECTORY);
+        if (StringUtils.isNotEmpty(stateDirectory)) {
+            return stateDirectory;
+        }
+        String carbonHome = System.getProperty(CARBON_HOME);
+        if (carbonHome == null) {
+            return null;
+        }
+        return Paths.get(carbonHome, "repository", "data", "inbound-file-scan").toString();
+    }
+
     private void setupParams() {
 
         ResolvedFileUri inFileUri = extractFileUri(VFSConstants.TRANSPORT_FILE_FILE_URI);
@@ -503,6 +577,83 @@ public class FilePollingConsumer {
             log.warn("VFS " + VFSConstants.TRANSPORT_FILE_SIZE_LIMIT + "is not set properly. Current value is: "
                     + strFileSizeLimit + ", using default: unlimited");
         }
+
+        String strThreadCount = vfsProperties.getProperty(FILE_PROCESSING_THREAD_COUNT);
+        if (strThreadCount != null) {
+            try {
+                fileProcessingThreadCount = Math.max(1, Integer.parseInt(strThreadCount.trim()));
+            } catch (NumberFormatException e) {
+                log.warn("Invalid param value for " + FILE_PROCESSING_THREAD_COUNT + " : " + strThreadCount
+                                 + ". Expected numeric value. Files will be processed sequentially.");
+            }
+        }
+        String strIncrementalScan = vfsProperties.getProperty(INCREMENTAL_SCAN);
+        if (IncrementalDirectoryScanner.SCAN_BY_MTIME.equalsIgnoreCase(strIncrementalScan)
+                || IncrementalDirectoryScanner.SCAN_BY_NAME.equalsIgnoreCase(strIncrementalScan)) {
+            int seenCacheSize = NumberUtils.toInt(vfsProperties.getProperty(INCREMENTAL_SCAN_SEEN_CACHE_SIZE),
+                                                  DEFAULT_INCREMENTAL_SCAN_SEEN_CACHE_SIZE);
+            String stateDirectory = getIncrementalScanStateDirectory();
+            if (stateDirectory != null) {
+                incrementalScanner = new IncrementalDirectoryScanner(name, fileURI, strIncrementalScan,
+                                                                     readSubDirectories, seenCacheSize,
+                                                                     stateDirectory);
+            } else {
+                log.warn("No directory to persist the scan watermark of inbound endpoint : " + name + ". Set "
+                                 + INCREMENTAL_SCAN_STATE_DIRECTORY + ". The whole directory will be scanned.");
+            }
+        } else if (strIncrementalScan != null && !"none".equalsIgnoreCase(strIncrementalScan)) {
+            log.warn("Invalid param value for " + INCREMENTAL_SCAN + " : " + strIncrementalScan + ". Expected "
+                             + IncrementalDirectoryScanner.SCAN_BY_MTIME + " or "
+                             + IncrementalDirectoryScanner.SCAN_BY_NAME + ". The whole directory will be scanned.");
+        }
+
+        String strGroupPattern = vfsProperties.getProperty(FILE_PROCESSING_GROUP_PATTERN);
+        if (StringUtils.isNotEmpty(strGroupPattern)) {
+            try {
+                fileProcessingGroupPattern = Pattern.compile(strGroupPattern);
+            } catch (PatternSyntaxException e) {
+                log.warn("Invalid param value for " + FILE_PROCESSING_GROUP_PATTERN + " : " + strGroupPattern
+                                 + ". Files will be processed without ordering.", e);
+            }
+        }
+    }
+
+    /**
+     * Create the workers used to process the files of a directory concurrently. Without a group pattern a single
+     * pool is shared by all the files. With a group pattern each worker is single threaded and all the files of a
+     * group are handed to the same worker, hence they are processed one after another in the listing order.
+     */
+    private void initFileProcessingWorkers() {
+        if (fileProcessingThreadCount <= 1) {
+            return;
+        }
+        if (fileProcessingGroupPattern == null) {
+            fileProcessingWorkers = new ExecutorService[] {
+                    Executors.newFixedThreadPool(fileProcessingThreadCount, new FileProcessingThreadFactory(name, 0))
+            };
+        } else {
+            fileProcessingWorkers = new ExecutorService[fileProcessingThreadCount];
+            for (int i = 0; i < fileProcessingThreadCount; i++) {
+                fileProcessingWorkers[i] = Executors.newSingleThreadExecutor(new FileProcessingThreadFactory(name, i));
+            }
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Processing files of Inbound EP : " + name + " using " + fileProcessingThreadCount
+                              + " threads" + (fileProcessingGroupPattern == null ? "." : " ordered by group."));
+        }
+    }
+
+    private ExecutorService getFileProcessingWorker(FileObject file) {
+        if (fileProcessingWorkers.length == 1) {
+            return fileProcessingWorkers[0];
+        }
+        String baseName = file.getName().getBaseName();
+        String group = baseName;
+        Matcher matcher = fileProcessingGroupPattern.matcher(baseName);
+        if (matcher.find()) {
+            group = matcher.groupCount() > 0 && matcher.group(1) != null ? matcher.group(1) : matcher.group();
+        }
+        return fileProcessingWorkers[(group.hashCode() & Integer.MAX_VALUE) % fileProcessingWorkers.length];
     }
 
     /**
@@ -518,6 +669,7 @@ public class FilePollingConsumer {
         int failCount = 0;
         int successCount = 0;
         int processCount = 0;
+        List<Future<Integer>> pendingFiles = new ArrayList<>();
 
         if (log.isDebugEnabled()) {
             log.debug(
@@ -556,8 +708,10 @@ public class FilePollingConsumer {
 
         for (FileObject child : children) {
             if (isClosed) {
+                awaitFileProcessing(pendingFiles);
                 return null;
             }
+            boolean submitted = false;
             // skipping *.lock / *.fail file
             if (child.getName().getBaseName().endsWith(".lock") || child.getName().getBaseName().endsWith(".fail")) {
                 continue;
@@ -595,60 +749,37 @@ public class FilePollingConsumer {
                 }
 
                 if ((!fileLock || (fileLock && acquireLock(fsManager, child)))) {
-                    // process the file
-                    boolean runPostProcess = true;
-                    try {
-                        if (log.isDebugEnabled()) {
-                            log.debug("Processing file :" + VFSUtils.maskURLPassword(child.toString()));
-                        }
-                        processCount++;
-                        if (processFile(child) == null) {
-                            runPostProcess = false;
-                        } else {
+                    if (log.isDebugEnabled()) {
+                        log.debug("Processing file :" + VFSUtils.maskURLPassword(child.toString()));
+                    }
+                    processCount++;
+                    cycleProcessCount++;
+                    if (fileProcessingWorkers != null && injectHandler != null) {
+                        // the lock is released by the worker once the file is moved or deleted, the worker also
+                        // waits for the file processing interval so that the processing is throttled
+                        pendingFiles.add(getFileProcessingWorker(child).submit(() -> {
+                            int status = processLockedFile(child);
+                            if (status == 1) {
+                                markHandled(child);
+                            }
+                            waitFileProcessingInterval();
+                            return status;
+                        }));
+                        submitted = true;
+                    } else {
+                        lastCycle = processLockedFile(child);
+                        if (lastCycle == 1) {
+                            // only files which are processed are skipped by the incremental scan, others are
+                            // listed again in the next cycle
+                            markHandled(child);
                             successCount++;
-                        }
-                        // tell moveOrDeleteAfterProcessing() file was success
-                        lastCycle = 1;
-                    } catch (Exception e) {
-                        if (e.getCause() instanceof FileNotFoundException) {
-                            log.warn("Error processing File URI : " + VFSUtils
-                                    .maskURLPassword(child.getName().toString())
-                                             + ". This can be due to file moved from another process.");
-                            runPostProcess = false;
-                        } else {
-                            log.error("Error processing File URI : " + VFSUtils
-                                    .maskURLPassword(child.getName().toString()), e);
+                        } else if (lastCycle > 1) {
                             failCount++;
-                            // tell moveOrDeleteAfterProcessing() file failed
-                            lastCycle = 2;
                         }
-
-                    }
-                    // skipping un-locking file if failed to do delete/move
-                    // after process
-                    boolean skipUnlock = false;
-                    if (runPostProcess) {
-                        try {
-                            moveOrDeleteAfterProcessing(child);
-                        } catch (SynapseException synapseException) {
-                            log.error("File object '" + VFSUtils.maskURLPassword(child.getURL().toString())
-                                              + "'cloud not be moved, will remain in \"locked\" state",
-                                      synapseException);
-                            skipUnlock = true;
-                            failCount++;
-                            lastCycle = 3;
-                            VFSUtils.markFailRecord(fsManager, child);
+                        if (injectHandler == null) {
+                            return child;
                         }
                     }
-                    // if there is a failure or not we'll try to release the
-                    // lock
-                    if (fileLock && !skipUnlock) {
-                        // TODO: passing null to avoid build break. Fix properly
-                        VFSUtils.releaseLock(fsManager, child, fso);
-                    }
-                    if (injectHandler == null) {
-                        return child;
-                    }
                 }
             } else if (log.isDebugEnabled() && strFilePattern != null && !child.getName().getBaseName()
                     .matches(strFilePattern) && !isFailedRecord) {
@@ -659,6 +790,7 @@ public class FilePollingConsumer {
                 try {
                     lastCycle = 1;
                     moveOrDeleteAfterProcessing(child);
+                    markHandled(child);
                 } catch (SynapseException synapseException) {
                     log.error("File object '" + VFSUtils.maskURLPassword(child.getURL().toString())
                                       + "'cloud not be moved, will remain in \"fail\" state", synapseException);
@@ -675,10 +807,16 @@ public class FilePollingConsumer {
             } else if (!isReadyToRead) {
                 log.debug("File cannot be read as it has to wait for some time: " + child.getName().getBaseName());
             }
+            if (strFilePattern != null && !child.getName().getBaseName().matches(strFilePattern)) {
+                // a file not matching the pattern never needs to be listed again
+                markHandled(child);
+            }
 
-            //close the file system after processing
+            //close the file system after processing, files handed to the workers are closed by the workers
             try {
-                child.close();
+                if (!submitted) {
+                    child.close();
+                }
             } catch (Exception e) {
             }
 
@@ -686,24 +824,26 @@ public class FilePollingConsumer {
                 // in a server shutting down scenario or in a inbound endpoint undeployment, it is unnecessary
                 // to continue the below logic, such as waiting for file processing interval,
                 // checking file processing count as the file polling will be stopped soon.
+                awaitFileProcessing(pendingFiles);
                 return null;
             }
 
-            // Manage throttling of file processing
+            // Manage throttling of file processing, files handed to the workers are throttled by the workers
             if (iFileProcessingInterval != null && iFileProcessingInterval > 0) {
-                try {
-                    if (log.isDebugEnabled()) {
-                        log.debug("Put the VFS processor to sleep for : " + iFileProcessingInterval);
-                    }
-                    Thread.sleep(iFileProcessingInterval);
-                } catch (InterruptedException ie) {
-                    log.error("Unable to set the interval between file processors." + ie);
-                    Thread.currentThread().interrupt();
+                if (!submitted) {
+                    waitFileProcessingInterval();
                 }
             } else if (iFileProcessingCount != null && iFileProcessingCount <= processCount) {
                 break;
             }
         }
+        for (int status : awaitFileProcessing(pendingFiles)) {
+            if (status == 1) {
+                successCount++;
+            } else if (status > 1) {
+                failCount++;
+            }
+        }
         if (failCount == 0 && successCount > 0) {
             lastCycle = 1;
         } else if (successCount == 0 && failCount > 0) {
@@ -714,6 +854,106 @@ public class FilePollingConsumer {
         return null;
     }
 
+    private void waitFileProcessingInterval() {
+        if (iFileProcessingInterval == null || iFileProcessingInterval <= 0 || isClosed) {
+            return;
+        }
+        try {
+            if (log.isDebugEnabled()) {
+                log.debug("Put the VFS processor to sleep for : " + iFileProcessingInterval);
+            }
+            Thread.sleep(iFileProcessingInterval);
+        } catch (InterruptedException ie) {
+            log.error("Unable to set the interval between file processors." + ie);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void markHandled(FileObject child) {
+        if (incrementalScanner != null) {
+            incrementalScanner.markHandled(child);
+        }
+    }
+
+    /**
+     * Process a locked file, do the post processing actions and release the lock
+     *
+     * @param child locked file
+     * @return 1 if the file was processed, 2 if processing failed, 3 if the post processing failed or 0 if the file
+     * was skipped
+     */
+    private int processLockedFile(FileObject child) {
+        int status = 0;
+        boolean runPostProcess = true;
+        try {
+            if (processFile(child) == null) {
+                runPostProcess = false;
+            } else {
+                status = 1;
+            }
+        } catch (Exception e) {
+            if (e.getCause() instanceof FileNotFoundException) {
+                log.warn("Error processing File URI : " + VFSUtils.maskURLPassword(child.getName().toString())
+                                 + ". This can be due to file moved from another process.");
+                runPostProcess = false;
+            } else {
+                log.error("Error processing File URI : " + VFSUtils.maskURLPassword(child.getName().toString()), e);
+                status = 2;
+            }
+        }
+        // skipping un-locking file if failed to do delete/move
+        // after process
+        boolean skipUnlock = false;
+        if (runPostProcess) {
+            try {
+                moveOrDeleteAfterProcessing(child, status);
+            } catch (SynapseException synapseException) {
+                log.error("File object '" + VFSUtils.maskURLPassword(child.getName().getURI())
+                                  + "'cloud not be moved, will remain in \"locked\" state", synapseException);
+                skipUnlock = true;
+                status = 3;
+                VFSUtils.markFailRecord(fsManager, child);
+            }
+        }
+        // if there is a failure or not we'll try to release the
+        // lock
+        if (fileLock && !skipUnlock) {
+            VFSUtils.releaseLock(fsManager, child, fso);
+        }
+        if (fileProcessingWorkers != null && injectHandler != null) {
+            try {
+                child.close();
+            } catch (Exception e) {
+            }
+        }
+        return status;
+    }
+
+    /**
+     * Wait until the files handed to the processing workers are done
+     *
+     * @param pendingFiles results of the submitted files
+     * @return processing status of each file
+     */
+    private List<Integer> awaitFileProcessing(List<Future<Integer>> pendingFiles) {
+        List<Integer> statuses = new ArrayList<>(pendingFiles.size());
+        for (Future<Integer> pendingFile : pendingFiles) {
+            try {
+                statuses.add(pendingFile.get());
+            } catch (InterruptedException e) {
+                log.error("Interrupted while waiting for the files to be processed.", e);
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                log.error("Error while processing the file/folder in URL : " + VFSUtils.maskURLPassword(fileURI),
+                          e.getCause());
+                statuses.add(2);
+            }
+        }
+        pendingFiles.clear();
+        return statuses;
+    }
+
     /**
      * Check if the file/folder exists before proceeding and retrying
      */
@@ -835,10 +1075,9 @@ public class FilePollingConsumer {
                     log.warn("Unable to set file length or last modified date header.", e);
                 }
 
-                injectHandler.setTransportHeaders(transportHeaders);
                 injectHandler.setFileURI(this.fileURI);
                 // injectHandler
-                if (!injectHandler.invoke(file, name)) {
+                if (!injectHandler.invoke(file, name, transportHeaders)) {
                     if (log.isDebugEnabled()) {
                         log.debug("Failed to inject the file : " + VFSUtils.maskURLPassword(file.toString()));
                     }
@@ -859,11 +1098,22 @@ public class FilePollingConsumer {
      * @throws SynapseException
      */
     private void moveOrDeleteAfterProcessing(FileObject fileObject) throws SynapseException {
+        moveOrDeleteAfterProcessing(fileObject, lastCycle);
+    }
+
+    /**
+     * Do the post processing actions for the given processing status
+     *
+     * @param fileObject
+     * @param status 1 if the file was processed successfully or 2 if processing failed
+     * @throws SynapseException
+     */
+    private void moveOrDeleteAfterProcessing(FileObject fileObject, int status) throws SynapseException {
 
         String moveToDirectoryURI = null;
         boolean supportSubDirectory = false;
         try {
-            switch (lastCycle) {
+            switch (status) {
             case 1:
                 if (MOVE.equals(actionAfterProcess)) {
                     supportSubDirectory = moveProcessedFilesToSubDirectories;
@@ -1076,6 +1326,12 @@ public class FilePollingConsumer {
             }
         }
 
+        if (fileProcessingWorkers != null) {
+            shutdownFileProcessingWorkers();
+        }
+        if (incrementalScanner != null) {
+            incrementalScanner.close();
+        }
         fsManager.close();
 
         if (inFlightMessages.get() > 0) {
@@ -1086,6 +1342,31 @@ public class FilePollingConsumer {
         }
     }
 
+    /**
+     * Shutdown the file processing workers and wait for the files in progress, so that a file is not cut off while it
+     * is being moved or deleted
+     */
+    private void shutdownFileProcessingWorkers() {
+        for (ExecutorService worker : fileProcessingWorkers) {
+            worker.shutdown();
+        }
+        long waitUntil = System.currentTimeMillis()
+                + Math.max(unDeploymentWaitTimeout, FILE_PROCESSING_WORKER_SHUTDOWN_TIMEOUT);
+        for (ExecutorService worker : fileProcessingWorkers) {
+            try {
+                long remaining = waitUntil - System.currentTimeMillis();
+                if (remaining <= 0 || !worker.awaitTermination(remaining, TimeUnit.MILLISECONDS)) {
+                    log.warn("File processing workers of Inbound EP : " + name + " did not finish in time. The "
+                                     + "files in progress will be interrupted.");
+                    worker.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                worker.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
     void close() {
         isClosed = true;
     }
@@ -1154,4 +1435,17 @@ public class FilePollingConsumer {
         String pathRelativeToInDirectory = parentPath.replaceFirst(path, "");
         return pathRelativeToInDirectory;
     }
+
+    private static class FileProcessingThreadFactory implements ThreadFactory {
+        private final String namePrefix;
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        FileProcessingThreadFactory(String name, int workerIndex) {
+            this.namePrefix = "file-inbound-" + name + "-worker-" + workerIndex + "-";
+        }
+
+        public Thread newThread(Runnable r) {
+            return new Thread(r, namePrefix + threadNumber.getAndIncrement());
+        }
+    }
 }
@@ -45,6 +45,12 @@ public class FileTask extends InboundTask {
         fileScanner.execute();
     }
 
+    @Override
+    protected boolean pollOnce() {
+        logger.debug("File Task executing adaptive polling cycle.");
+        return fileScanner.executeCycle();
+    }
+
     @Override
     public Properties getInboundProperties() {
         return fileScanner.getInboundProperties();
@@ -56,5 +62,6 @@ public class FileTask extends InboundTask {
 
     public void destroy() {
         logger.debug("Destroying Task. ");
+        unregisterAdaptivePollingScheduler();
     }
 }
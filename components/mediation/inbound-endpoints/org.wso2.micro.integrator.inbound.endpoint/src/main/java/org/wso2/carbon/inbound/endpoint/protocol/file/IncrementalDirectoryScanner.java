@@ -0,0 +1,434 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.inbound.endpoint.protocol.file;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.commons.vfs2.FileObject;
+import org.apache.commons.vfs2.FileSystemException;
+import org.apache.commons.vfs2.NameScope;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Keeps track of the files of a directory which are already handled by the file inbound endpoint, so that a polling
+ * cycle only hands the new files to the consumer. Files are ordered either by the last modified time or by the name
+ * and the highest value handled without leaving an older file behind is kept as a watermark. The watermark and the
+ * files handled at the watermark are persisted per inbound endpoint and file URI, so that they survive restarts.
+ * Files above the watermark are told apart by a bounded set of recently handled files. Files are expected to appear in
+ * the directory in the order of the chosen attribute, a file copied in with a last modified time or a name below the
+ * watermark is not picked up. Files whose last modified time cannot be read are never compared with the watermark and
+ * do not move it, they are only told apart by the recently handled files.
+ * <p>
+ * Local directories are listed through a {@link DirectoryStream} without materialising the whole listing and are
+ * watched using a {@link WatchService}, hence the directory is not listed at all when nothing has changed since the
+ * last cycle. Other file systems are listed as usual, but only the new files are sorted and processed.
+ */
+public class IncrementalDirectoryScanner {
+
+    private static final Log log = LogFactory.getLog(IncrementalDirectoryScanner.class);
+
+    public static final String SCAN_BY_MTIME = "mtime";
+    public static final String SCAN_BY_NAME = "name";
+
+    private static final String LOCAL_FILE_SCHEME = "file";
+    private static final String WATERMARK = "watermark";
+    private static final String WATERMARK_FILE = "watermark.file.";
+    private static final String STATE_FILE_SUFFIX = ".watermark";
+    private static final String UNKNOWN_LAST_MODIFIED = ":?";
+    private static final FileObject[] NO_FILES = new FileObject[0];
+
+    private final boolean scanByName;
+    private final boolean readSubDirectories;
+    private final Path stateFile;
+    private final Set<String> recentlyHandled;
+    private final Set<String> handledAtWatermark = new HashSet<>();
+    private final Map<String, ScanEntry> candidates = new LinkedHashMap<>();
+
+    private String watermark;
+    private WatchService watchService;
+    private WatchKey watchKey;
+    private boolean rescanRequired = true;
+
+    public IncrementalDirectoryScanner(String name, String fileURI, String scanBy, boolean readSubDirectories,
+                                       int seenCacheSize, String stateDirectory) {
+        this.scanByName = SCAN_BY_NAME.equalsIgnoreCase(scanBy);
+        this.readSubDirectories = readSubDirectories;
+        this.recentlyHandled = Collections.newSetFromMap(new LinkedHashMap<String, Boolean>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > seenCacheSize;
+            }
+        });
+        if (stateDirectory == null) {
+            throw new IllegalArgumentException("A directory to persist the scan watermark is required");
+        }
+        // a changed file URI must not pick up the watermark of the previous directory
+        this.stateFile = Paths.get(stateDirectory, name + "-" + digest(fileURI) + STATE_FILE_SUFFIX);
+        loadWatermark();
+    }
+
+    /**
+     * List the files of the directory which are not handled yet. Sub directories are listed whenever they are read,
+     * since only the files of the directory itself are tracked.
+     *
+     * @param directory directory to scan
+     * @return new children of the directory
+     * @throws FileSystemException if the directory cannot be listed
+     */
+    public FileObject[] listNewChildren(FileObject directory) throws FileSystemException {
+        candidates.clear();
+        if (LOCAL_FILE_SCHEME.equals(directory.getName().getScheme())) {
+            try {
+                return listNewLocalChildren(directory, Paths.get(directory.getURL().toURI()));
+            } catch (URISyntaxException | IOException e) {
+                log.warn("Unable to stream the listing of directory : " + directory.getName().getBaseName()
+                                 + ". Falling back to the file system listing.", e);
+                candidates.clear();
+            }
+        }
+        List<FileObject> newChildren = new ArrayList<>();
+        for (FileObject child : directory.getChildren()) {
+            if (isLockOrFailRecord(child.getName().getBaseName())) {
+                continue;
+            }
+            if (child.isFolder()) {
+                if (readSubDirectories) {
+                    newChildren.add(child);
+                }
+                continue;
+            }
+            ScanEntry entry;
+            if (scanByName) {
+                entry = new ScanEntry(child.getName().getBaseName(), 0);
+            } else {
+                try {
+                    entry = new ScanEntry(child.getName().getBaseName(), child.getContent().getLastModifiedTime());
+                } catch (FileSystemException e) {
+                    if (log.isDebugEnabled()) {
+                        log.debug("Unable to read the last modified time of file : " + child.getName().getBaseName()
+                                          + ". It is tracked by name only.", e);
+                    }
+                    entry = new ScanEntry(child.getName().getBaseName());
+                }
+            }
+            if (isNew(entry)) {
+                candidates.put(child.getName().getURI(), entry);
+                newChildren.add(child);
+            }
+        }
+        return newChildren.toArray(NO_FILES);
+    }
+
+    private FileObject[] listNewLocalChildren(FileObject directory, Path path) throws IOException {
+        if (watchKey == null) {
+            registerWatcher(path);
+        } else {
+            boolean changed = false;
+            for (WatchEvent<?> event : watchKey.pollEvents()) {
+                // lock and fail records are created by the consumer itself
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW
+                        || !isLockOrFailRecord(String.valueOf(event.context()))) {
+                    changed = true;
+                }
+            }
+            if (!watchKey.reset()) {
+                // the directory is no longer accessible, watch it again in the next cycle
+                close();
+            } else if (!changed && !rescanRequired) {
+                return NO_FILES;
+            }
+        }
+        List<FileObject> newChildren = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(path)) {
+            for (Path childPath : stream) {
+                String baseName = childPath.getFileName().toString();
+                if (isLockOrFailRecord(baseName)) {
+                    continue;
+                }
+                BasicFileAttributes attributes;
+                try {
+                    attributes = Files.readAttributes(childPath, BasicFileAttributes.class);
+                } catch (IOException e) {
+                    // the file was removed after listing
+                    continue;
+                }
+                if (attributes.isDirectory()) {
+                    if (readSubDirectories) {
+                        newChildren.add(directory.resolveFile(baseName, NameScope.CHILD));
+                    }
+                    continue;
+                }
+                ScanEntry entry = new ScanEntry(baseName, attributes.lastModifiedTime().toMillis());
+                if (isNew(entry)) {
+                    FileObject child = directory.resolveFile(baseName, NameScope.CHILD);
+                    candidates.put(child.getName().getURI(), entry);
+                    newChildren.add(child);
+                }
+            }
+        }
+        return newChildren.toArray(NO_FILES);
+    }
+
+    private void registerWatcher(Path path) {
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            watchKey = path.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                                     StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException | UnsupportedOperationException e) {
+            log.warn("Unable to watch directory : " + path + ". It will be listed in each polling cycle.", e);
+            close();
+        }
+    }
+
+    private boolean isLockOrFailRecord(String baseName) {
+        return baseName.endsWith(".lock") || baseName.endsWith(".fail");
+    }
+
+    private boolean isNew(ScanEntry entry) {
+        String seenKey = entry.seenKey(scanByName);
+        if (watermark != null && entry.hasKey(scanByName)) {
+            int comparison = compare(entry, watermark);
+            if (comparison < 0 || (comparison == 0 && handledAtWatermark.contains(seenKey))) {
+                return false;
+            }
+        }
+        return !recentlyHandled.contains(seenKey);
+    }
+
+    /**
+     * Mark a listed file as handled, i.e. it was processed or does not match the file name pattern. Files which are not
+     * marked are listed again in the next cycle. Files may be marked from the threads processing them.
+     *
+     * @param file listed file
+     */
+    public void markHandled(FileObject file) {
+        ScanEntry entry = candidates.get(file.getName().getURI());
+        if (entry != null) {
+            entry.handled = true;
+        }
+    }
+
+    /**
+     * Complete the cycle. The watermark is moved up to the highest handled file which has no older file left
+     * behind, so that files which are not ready to be read, locked by another node or failed to be processed are
+     * listed again.
+     */
+    public void commit() {
+        ScanEntry oldestPending = null;
+        boolean pending = false;
+        for (ScanEntry entry : candidates.values()) {
+            if (entry.handled) {
+                recentlyHandled.add(entry.seenKey(scanByName));
+                continue;
+            }
+            pending = true;
+            // a file without a last modified time does not hold back the watermark, since it is not compared with it
+            if (entry.hasKey(scanByName) && (oldestPending == null || compare(entry, oldestPending) < 0)) {
+                oldestPending = entry;
+            }
+        }
+        // files handled in earlier cycles are not listed again, hence they are taken from the recently handled files
+        String newWatermark = watermark;
+        for (String seenKey : recentlyHandled) {
+            if (seenKey.endsWith(UNKNOWN_LAST_MODIFIED)) {
+                continue;
+            }
+            String key = keyOf(seenKey);
+            if ((oldestPending == null || compareKeys(key, oldestPending.key(scanByName)) < 0)
+                    && (newWatermark == null || compareKeys(key, newWatermark) > 0)) {
+                newWatermark = key;
+            }
+        }
+        boolean changed = false;
+        if (newWatermark != null && !newWatermark.equals(watermark)) {
+            handledAtWatermark.clear();
+            watermark = newWatermark;
+            changed = true;
+        }
+        if (watermark != null) {
+            for (String seenKey : recentlyHandled) {
+                if (!seenKey.endsWith(UNKNOWN_LAST_MODIFIED) && compareKeys(keyOf(seenKey), watermark) == 0) {
+                    changed |= handledAtWatermark.add(seenKey);
+                }
+            }
+        }
+        // changes in sub directories are not watched
+        rescanRequired = pending || watchKey == null || readSubDirectories;
+        candidates.clear();
+        if (changed) {
+            storeWatermark();
+        }
+    }
+
+    private int compare(ScanEntry entry, ScanEntry other) {
+        return compareKeys(entry.key(scanByName), other.key(scanByName));
+    }
+
+    private int compare(ScanEntry entry, String key) {
+        return compareKeys(entry.key(scanByName), key);
+    }
+
+    private int compareKeys(String key, String other) {
+        if (scanByName) {
+            return key.compareTo(other);
+        }
+        return Long.compare(Long.parseLong(key), Long.parseLong(other));
+    }
+
+    private String keyOf(String seenKey) {
+        return scanByName ? seenKey : seenKey.substring(seenKey.lastIndexOf(':') + 1);
+    }
+
+    private void loadWatermark() {
+        if (!Files.exists(stateFile)) {
+            return;
+        }
+        Properties state = new Properties();
+        try (InputStream in = Files.newInputStream(stateFile)) {
+            state.load(in);
+            String value = state.getProperty(WATERMARK);
+            if (value != null && !scanByName) {
+                Long.parseLong(value);
+            }
+            watermark = value;
+            for (String key : state.stringPropertyNames()) {
+                if (key.startsWith(WATERMARK_FILE)) {
+                    handledAtWatermark.add(state.getProperty(key));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            log.warn("Unable to read the scan watermark from : " + stateFile + ". The directory will be scanned "
+                             + "from the beginning.", e);
+        }
+    }
+
+    private void storeWatermark() {
+        Properties state = new Properties();
+        state.setProperty(WATERMARK, watermark);
+        int index = 0;
+        for (String seenKey : handledAtWatermark) {
+            state.setProperty(WATERMARK_FILE + index++, seenKey);
+        }
+        Path tempFile = stateFile.resolveSibling(stateFile.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(stateFile.getParent());
+            try (OutputStream out = Files.newOutputStream(tempFile)) {
+                state.store(out, null);
+            }
+            Files.move(tempFile, stateFile, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.warn("Unable to persist the scan watermark to : " + stateFile, e);
+        }
+    }
+
+    /**
+     * Stop watching the directory
+     */
+    public void close() {
+        watchKey = null;
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                log.debug("Error while closing the directory watcher.", e);
+            }
+            watchService = null;
+        }
+    }
+
+    private static String digest(String fileURI) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = messageDigest.digest(String.valueOf(fileURI).getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder();
+            for (int i = 0; i < 8; i++) {
+                hex.append(String.format("%02x", hash[i]));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            return Integer.toHexString(String.valueOf(fileURI).hashCode());
+        }
+    }
+
+    private static class ScanEntry {
+        private final String name;
+        private final long lastModified;
+        private final boolean lastModifiedKnown;
+        private volatile boolean handled;
+
+        ScanEntry(String name, long lastModified) {
+            this.name = name;
+            this.lastModified = lastModified;
+            this.lastModifiedKnown = true;
+        }
+
+        /**
+         * Creates an entry of a file whose last modified time is unknown
+         */
+        ScanEntry(String name) {
+            this.name = name;
+            this.lastModified = 0;
+            this.lastModifiedKnown = false;
+        }
+
+        /**
+         * Returns whether the entry has a key to be compared with the watermark
+         */
+        boolean hasKey(boolean scanByName) {
+            return scanByName || lastModifiedKnown;
+        }
+
+        String key(boolean scanByName) {
+            return scanByName ? name : String.valueOf(lastModified);
+        }
+
+        String seenKey(boolean scanByName) {
+            if (scanByName) {
+                return name;
+            }
+            // a file name can be reused by a newer file when scanning by the last modified time
+            return lastModifiedKnown ? name + ":" + lastModified : name + UNKNOWN_LAST_MODIFIED;
+        }
+    }
+}
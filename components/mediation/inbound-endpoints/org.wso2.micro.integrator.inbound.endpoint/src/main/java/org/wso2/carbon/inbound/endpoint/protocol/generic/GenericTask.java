@@ -41,6 +41,15 @@ public class GenericTask extends InboundTask implements LocalTaskActionListener
         pollingConsumer.poll();
     }
 
+    /**
+     * Generic polling consumers report a consumed message by returning a non null value from poll.
+     */
+    @Override
+    protected boolean pollOnce() {
+        logger.debug("Generic Task executing adaptive polling cycle.");
+        return pollingConsumer.poll() != null;
+    }
+
     @Override
     public Properties getInboundProperties() {
         return pollingConsumer.getInboundProperties();
@@ -52,6 +61,7 @@ public class GenericTask extends InboundTask implements LocalTaskActionListener
 
     public void destroy() {
         logger.debug("Destroying Task. ");
+        unregisterAdaptivePollingScheduler();
     }
 
     /**
@@ -252,6 +252,20 @@ public class JMSConstants {
 
     public static final String JMS_RETRY_DURATION = "transport.jms.retry.duration";
 
+    /**
+     * Consumer mode of the inbound endpoint. Polling consumers are used unless the listener mode is selected
+     */
+    public static final String PARAM_CONSUMER_MODE = "transport.jms.ConsumerMode";
+
+    public static final String CONSUMER_MODE_LISTENER = "listener";
+
+    /**
+     * No. of messages and time in milliseconds after which a transacted listener mode session is committed
+     */
+    public static final String PARAM_BATCH_COMMIT_SIZE = "transport.jms.BatchCommitSize";
+
+    public static final String PARAM_BATCH_COMMIT_INTERVAL = "transport.jms.BatchCommitInterval";
+
     /**
      * JMS 2.0 Parameters
      */
@@ -81,6 +81,7 @@ public class JMSPollingConsumer {
     private jakarta.jms.Destination jakartaReplyDestination = null;
 
     private int currentNegativeCommitOrAckCount = 0;
+    private int cycleMessageCount = 0;
     private boolean pollingSuspended = false;
     private int pollingSuspensionLimit = -1;
     private int pollingSuspensionPeriod = JMSConstants.DEFAULT_JMS_CLIENT_POLLING_SUSPENSION_PERIOD;
@@ -203,6 +204,21 @@ public class JMSPollingConsumer {
      * interval. Timestamp based check is done to avoid that.
      */
     public void execute() {
+        execute(false);
+    }
+
+    /**
+     * Run a polling cycle without the scan interval check. Used by the adaptive polling mode where the task
+     * scheduler decides when the next cycle runs.
+     *
+     * @return true if any message was received during the cycle
+     */
+    public boolean executeCycle() {
+        return execute(true);
+    }
+
+    private boolean execute(boolean ignoreInterval) {
+        cycleMessageCount = 0;
         try {
             logger.debug("Executing : JMS Inbound EP : ");
             // Check if the cycles are running in correct interval and start
@@ -210,7 +226,7 @@ public class JMSPollingConsumer {
             if (pollingSuspensionLimit == 0) {
                 logger.info("Polling is suspended permanently since \""
                                     + JMSConstants.JMS_CLIENT_POLLING_RETRIES_BEFORE_SUSPENSION + "\" is Zero.");
-                return;
+                return false;
             }
 
             long currentTime = (new Date()).getTime();
@@ -226,11 +242,11 @@ public class JMSPollingConsumer {
                                 "Polling is suspended. Polling will be re-activated in " + (pollingSuspensionPeriod - (
                                         currentTime - lastRanTime)) + " milliseconds.");
                     }
-                    return;
+                    return false;
                 }
             }
 
-            if (lastRanTime == null || ((lastRanTime + (scanInterval)) <= currentTime)) {
+            if (ignoreInterval || lastRanTime == null || ((lastRanTime + (scanInterval)) <= currentTime)) {
                 lastRanTime = currentTime;
                 if (isJmsSpec31) {
                     pollForJakarta();
@@ -246,6 +262,7 @@ public class JMSPollingConsumer {
         } catch (Exception e) {
             logger.error("Error while retrieving or injecting JMS message. " + e.getMessage(), e);
         }
+        return cycleMessageCount > 0;
     }
 
     /**
@@ -338,6 +355,7 @@ public class JMSPollingConsumer {
                     }
                     injectHandler.setConnection(connection);
                     commitOrAck = injectHandler.invoke(msg, name);
+                    cycleMessageCount++;
 
                     // if client acknowledgement is selected, and processing
                     // requested ACK
@@ -535,6 +553,7 @@ public class JMSPollingConsumer {
                     }
                     jakartaInjectHandler.setConnection(jakartaConnection);
                     commitOrAck = jakartaInjectHandler.invoke(msg, name);
+                    cycleMessageCount++;
 
                     // if client acknowledgement is selected, and processing
                     // requested ACK
@@ -39,12 +39,14 @@ public class JMSProcessor extends InboundRequestProcessorImpl implements TaskSta
     private static final String ENDPOINT_POSTFIX = "JMS" + COMMON_ENDPOINT_POSTFIX;
 
     private List<JMSPollingConsumer> pollingConsumers = new ArrayList<>();
+    private JMSSessionPoolConsumer sessionPoolConsumer;
     private Properties jmsProperties;
     private boolean sequential;
     private String injectingSeq;
     private String onErrorSeq;
     private int concurrentConsumers;
     private boolean isJmsSpec31 = false;
+    private boolean listenerMode = false;
 
     public JMSProcessor(InboundProcessorParams params) {
         this.name = params.getName();
@@ -79,6 +81,13 @@ public class JMSProcessor extends InboundRequestProcessorImpl implements TaskSta
             }
             this.concurrentConsumers = Integer.parseInt(concurrentConsumers);
         }
+        this.listenerMode = JMSConstants.CONSUMER_MODE_LISTENER.equalsIgnoreCase(
+                jmsProperties.getProperty(JMSConstants.PARAM_CONSUMER_MODE));
+        if (listenerMode && isJmsSpec31) {
+            log.warn("Listener consumer mode is not supported for JMS spec version 3.1. Inbound endpoint " + name
+                             + " will use polling consumers.");
+            this.listenerMode = false;
+        }
         this.injectingSeq = params.getInjectingSeq();
         this.onErrorSeq = params.getOnErrorSeq();
         this.synapseEnvironment = params.getSynapseEnvironment();
@@ -103,6 +112,14 @@ public class JMSProcessor extends InboundRequestProcessorImpl implements TaskSta
             return;
         }
         log.info("Initializing inbound JMS listener for inbound endpoint " + name);
+        if (listenerMode) {
+            sessionPoolConsumer = new JMSSessionPoolConsumer(jmsProperties, concurrentConsumers, interval, name);
+            sessionPoolConsumer.registerHandler(
+                    () -> new JMSInjectHandler(injectingSeq, onErrorSeq, sequential, synapseEnvironment,
+                                               jmsProperties));
+            start(new JMSSessionPoolTask(sessionPoolConsumer, interval), ENDPOINT_POSTFIX + 0);
+            return;
+        }
         for (int consumers = 0; consumers < concurrentConsumers; consumers++) {
             JMSPollingConsumer jmsPollingConsumer = new JMSPollingConsumer(jmsProperties, interval, name);
             if (isJmsSpec31) {
@@ -125,6 +142,9 @@ public class JMSProcessor extends InboundRequestProcessorImpl implements TaskSta
         for (JMSPollingConsumer pollingConsumer : pollingConsumers) {
             pollingConsumer.destroy();
         }
+        if (sessionPoolConsumer != null) {
+            sessionPoolConsumer.stop();
+        }
         super.destroy();
     }
 
@@ -133,6 +153,9 @@ public class JMSProcessor extends InboundRequestProcessorImpl implements TaskSta
         for (JMSPollingConsumer pollingConsumer : pollingConsumers) {
             pollingConsumer.stopPolling();
         }
+        if (sessionPoolConsumer != null) {
+            sessionPoolConsumer.stop();
+        }
     }
 
     /**
@@ -169,6 +192,9 @@ public class JMSProcessor extends InboundRequestProcessorImpl implements TaskSta
             for (JMSPollingConsumer pollingConsumer : pollingConsumers) {
                 pollingConsumer.destroy();
             }
+            if (sessionPoolConsumer != null) {
+                sessionPoolConsumer.stop();
+            }
         }
     }
 
@@ -0,0 +1,365 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.inbound.endpoint.protocol.jms;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.synapse.SynapseException;
+import org.wso2.carbon.inbound.endpoint.common.InboundTask;
+import org.wso2.carbon.inbound.endpoint.protocol.jms.factory.JMSConnectionFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import javax.jms.Connection;
+import javax.jms.Destination;
+import javax.jms.JMSException;
+import javax.jms.Message;
+import javax.jms.MessageConsumer;
+import javax.jms.Session;
+
+/**
+ * Event driven JMS consumer which keeps a single connection open and receives messages through a pool of
+ * concurrent sessions. Each session is served by a dedicated thread blocking on {@link MessageConsumer#receive(long)},
+ * so messages are injected as soon as they arrive instead of on the polling interval. For transacted sessions the
+ * session is committed once per configured number of messages or once the configured commit interval elapses.
+ * <p>
+ * The pool is (re)started by {@link JMSSessionPoolTask}. Each execution of the task renews a lease of three polling
+ * intervals and the session threads stop once the lease expires, hence the pool only keeps consuming on the node where
+ * the task is scheduled, honouring coordination and pinned servers. The pool is also stopped when the task is paused
+ * and started again when it is resumed.
+ * <p>
+ * When the injection of a message fails in a transacted session, the session is rolled back and every uncommitted
+ * message of the batch is redelivered along with the failed one, so messages which were already injected are injected
+ * again. To keep a failing message from taking the rest of the batch down with it again, the redelivered messages are
+ * committed one by one afterwards.
+ */
+public class JMSSessionPoolConsumer {
+
+    private static final Log logger = LogFactory.getLog(JMSSessionPoolConsumer.class.getName());
+
+    private static final int DEFAULT_RECEIVE_TIMEOUT = 1000;
+    private static final int DEFAULT_BATCH_COMMIT_SIZE = 1;
+    private static final long DEFAULT_BATCH_COMMIT_INTERVAL = 1000;
+    private static final int LEASE_INTERVALS = 3;
+
+    private final JMSConnectionFactory jmsConnectionFactory;
+    private final Properties jmsProperties;
+    private final String name;
+    private final int sessionCount;
+    private final String strUserName;
+    private final String strPassword;
+    private final String replyDestinationName;
+    private final long leaseTimeout;
+    private int receiveTimeout = DEFAULT_RECEIVE_TIMEOUT;
+    private int batchCommitSize = DEFAULT_BATCH_COMMIT_SIZE;
+    private long batchCommitInterval = DEFAULT_BATCH_COMMIT_INTERVAL;
+
+    private Supplier<JMSInjectHandler> injectHandlerSupplier;
+    private Connection connection;
+    private AtomicBoolean active;
+    private final List<Thread> sessionThreads = new ArrayList<>();
+    private volatile long leaseExpiry;
+    private volatile boolean paused = false;
+
+    public JMSSessionPoolConsumer(Properties jmsProperties, int sessionCount, long interval, String name) {
+        this.jmsConnectionFactory = new JMSConnectionFactory(jmsProperties);
+        this.jmsProperties = jmsProperties;
+        this.sessionCount = sessionCount;
+        this.name = name;
+        this.leaseTimeout = LEASE_INTERVALS * Math.max(interval, InboundTask.TASK_THRESHOLD_INTERVAL);
+        this.strUserName = jmsProperties.getProperty(JMSConstants.PARAM_JMS_USERNAME);
+        this.strPassword = jmsProperties.getProperty(JMSConstants.PARAM_JMS_PASSWORD);
+        this.replyDestinationName = jmsProperties.getProperty(JMSConstants.PARAM_REPLY_DESTINATION);
+
+        String strReceiveTimeout = jmsProperties.getProperty(JMSConstants.RECEIVER_TIMEOUT);
+        if (strReceiveTimeout != null) {
+            try {
+                // a blocking receive without a timeout would never observe shutdown or commit intervals
+                int timeout = Integer.parseInt(strReceiveTimeout.trim());
+                receiveTimeout = timeout > 0 ? timeout : DEFAULT_RECEIVE_TIMEOUT;
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid value for transport.jms.ReceiveTimeout : " + strReceiveTimeout);
+            }
+        }
+        String strBatchCommitSize = jmsProperties.getProperty(JMSConstants.PARAM_BATCH_COMMIT_SIZE);
+        String strBatchCommitInterval = jmsProperties.getProperty(JMSConstants.PARAM_BATCH_COMMIT_INTERVAL);
+        try {
+            if (strBatchCommitSize != null) {
+                batchCommitSize = Math.max(1, Integer.parseInt(strBatchCommitSize.trim()));
+            }
+            if (strBatchCommitInterval != null) {
+                batchCommitInterval = Long.parseLong(strBatchCommitInterval.trim());
+            }
+        } catch (NumberFormatException e) {
+            throw new SynapseException("Invalid numeric value for " + JMSConstants.PARAM_BATCH_COMMIT_SIZE + " or "
+                                               + JMSConstants.PARAM_BATCH_COMMIT_INTERVAL + ". Inbound Endpoint "
+                                               + name + " deployment failed.", e);
+        }
+    }
+
+    /**
+     * Register a supplier which creates the inject handler of each session. Inject handlers keep the connection and
+     * reply destination of their session, hence they cannot be shared between sessions.
+     *
+     * @param injectHandlerSupplier supplier of per session inject handlers
+     */
+    public void registerHandler(Supplier<JMSInjectHandler> injectHandlerSupplier) {
+        this.injectHandlerSupplier = injectHandlerSupplier;
+    }
+
+    /**
+     * Renew the lease of the pool, then open the connection and start the session threads unless they are already
+     * running or the pool is paused.
+     */
+    public synchronized void start() {
+        leaseExpiry = System.currentTimeMillis() + leaseTimeout;
+        if (paused || isRunning()) {
+            return;
+        }
+        // make sure the threads of a failed pool are gone before creating the new sessions
+        shutdown();
+        connection = jmsConnectionFactory.createConnection(strUserName, strPassword);
+        if (connection == null) {
+            logger.warn("Inbound JMS endpoint " + name + " unable to get a connection.");
+            return;
+        }
+        AtomicBoolean poolActive = new AtomicBoolean(true);
+        try {
+            connection.setExceptionListener(e -> {
+                logger.error("JMS connection of Inbound Endpoint " + name + " failed. The session pool will be "
+                                     + "restarted in the next cycle.", e);
+                poolActive.set(false);
+            });
+        } catch (JMSException e) {
+            logger.warn("Unable to register exception listener for Inbound Endpoint " + name, e);
+        }
+        active = poolActive;
+        AtomicInteger openSessions = new AtomicInteger(sessionCount);
+        for (int i = 0; i < sessionCount; i++) {
+            Thread sessionThread = new Thread(new SessionWorker(connection, poolActive, openSessions),
+                                              "jms-inbound-" + name + "-session-" + i);
+            sessionThreads.add(sessionThread);
+            sessionThread.start();
+        }
+        jmsConnectionFactory.start(connection);
+        logger.info("Started " + sessionCount + " JMS session(s) for Inbound Endpoint " + name);
+    }
+
+    /**
+     * Stop the session threads and close the connection. The pool is not restarted until it is resumed.
+     */
+    public synchronized void stop() {
+        logger.info("Stopping JMS session pool for Inbound Endpoint: " + name);
+        paused = true;
+        shutdown();
+    }
+
+    /**
+     * Allow the pool to be started again by the next execution of the task.
+     */
+    public synchronized void resume() {
+        logger.info("Resuming JMS session pool for Inbound Endpoint: " + name);
+        paused = false;
+    }
+
+    private void shutdown() {
+        if (active != null) {
+            active.set(false);
+            active = null;
+        }
+        for (Thread sessionThread : sessionThreads) {
+            try {
+                sessionThread.join(receiveTimeout * 2L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        sessionThreads.clear();
+        if (connection != null) {
+            closeConnection(connection);
+            connection = null;
+        }
+    }
+
+    private void closeConnection(Connection connection) {
+        try {
+            // closing a closed connection is a no-op, hence the last session and shutdown may both close it
+            connection.close();
+        } catch (JMSException e) {
+            logger.error("JMS Exception while closing the connection of Inbound Endpoint " + name, e);
+        }
+    }
+
+    public boolean isRunning() {
+        AtomicBoolean poolActive = active;
+        return poolActive != null && poolActive.get();
+    }
+
+    private boolean isLeaseExpired() {
+        return System.currentTimeMillis() > leaseExpiry;
+    }
+
+    protected Properties getInboundProperties() {
+        return jmsProperties;
+    }
+
+    /**
+     * Receives and injects messages of a single session until the pool is stopped.
+     */
+    private class SessionWorker implements Runnable {
+
+        private final Connection connection;
+        private final AtomicBoolean poolActive;
+        private final AtomicInteger openSessions;
+        private Session session;
+        private MessageConsumer messageConsumer;
+        private JMSInjectHandler injectHandler;
+        private int uncommittedCount = 0;
+        private int perMessageCommits = 0;
+        private long lastCommitTime = System.currentTimeMillis();
+
+        SessionWorker(Connection connection, AtomicBoolean poolActive, AtomicInteger openSessions) {
+            this.connection = connection;
+            this.poolActive = poolActive;
+            this.openSessions = openSessions;
+        }
+
+        @Override
+        public void run() {
+            try {
+                session = jmsConnectionFactory.getSession(connection);
+                if (session == null) {
+                    logger.warn("Inbound JMS endpoint " + name + " unable to get a session.");
+                    poolActive.set(false);
+                    return;
+                }
+                Destination destination = jmsConnectionFactory.getDestination(session);
+                messageConsumer = jmsConnectionFactory.createMessageConsumer(session, destination);
+                if (messageConsumer == null) {
+                    logger.warn("Inbound JMS endpoint " + name + " unable to create a consumer.");
+                    poolActive.set(false);
+                    return;
+                }
+                injectHandler = injectHandlerSupplier.get();
+                injectHandler.setConnection(connection);
+                if (replyDestinationName != null && !replyDestinationName.trim().isEmpty()) {
+                    injectHandler.setReplyDestination(
+                            jmsConnectionFactory.createDestination(session, replyDestinationName));
+                }
+                while (poolActive.get()) {
+                    if (isLeaseExpired()) {
+                        if (poolActive.compareAndSet(true, false)) {
+                            logger.info("JMS session pool of Inbound Endpoint " + name + " is stopped since its "
+                                                + "task is no longer executed on this node.");
+                        }
+                        break;
+                    }
+                    Message msg = messageConsumer.receive(receiveTimeout);
+                    if (msg != null) {
+                        onMessage(msg);
+                    }
+                    commitIfRequired();
+                }
+                commit();
+            } catch (JMSException e) {
+                if (poolActive.getAndSet(false)) {
+                    logger.error("Error while receiving JMS message for " + name, e);
+                }
+            } catch (Exception e) {
+                logger.error("Error while receiving JMS message for " + name, e);
+                poolActive.set(false);
+            } finally {
+                close();
+                if (openSessions.decrementAndGet() == 0) {
+                    closeConnection(connection);
+                }
+            }
+        }
+
+        private void onMessage(Message msg) throws JMSException {
+            if (JMSUtils.inferJMSMessageType(msg) == null) {
+                logger.error("Invalid JMS Message type.");
+                return;
+            }
+            boolean commitOrAck = injectHandler.invoke(msg, name);
+            if (jmsConnectionFactory.isTransactedSession()) {
+                if (commitOrAck) {
+                    uncommittedCount++;
+                    if (perMessageCommits > 0) {
+                        perMessageCommits--;
+                        commit();
+                    }
+                } else {
+                    // the whole uncommitted batch is redelivered along with the failed message, commit the
+                    // redelivered messages one by one so that only the failing message is rolled back again
+                    session.rollback();
+                    if (logger.isDebugEnabled()) {
+                        logger.debug("Session for message : " + msg.getJMSMessageID() + " rolled back with "
+                                             + uncommittedCount + " uncommitted message(s)");
+                    }
+                    perMessageCommits = uncommittedCount + 1;
+                    uncommittedCount = 0;
+                    lastCommitTime = System.currentTimeMillis();
+                }
+            } else if (jmsConnectionFactory.getSessionAckMode() == Session.CLIENT_ACKNOWLEDGE) {
+                if (commitOrAck) {
+                    msg.acknowledge();
+                } else {
+                    session.recover();
+                }
+            }
+        }
+
+        private void commitIfRequired() throws JMSException {
+            if (uncommittedCount >= batchCommitSize
+                    || (uncommittedCount > 0 && System.currentTimeMillis() - lastCommitTime >= batchCommitInterval)) {
+                commit();
+            }
+        }
+
+        private void commit() throws JMSException {
+            if (uncommittedCount > 0) {
+                session.commit();
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Committed " + uncommittedCount + " message(s) for Inbound Endpoint " + name);
+                }
+            }
+            uncommittedCount = 0;
+            lastCommitTime = System.currentTimeMillis();
+        }
+
+        private void close() {
+            try {
+                if (messageConsumer != null) {
+                    messageConsumer.close();
+                }
+                if (session != null) {
+                    session.close();
+                }
+            } catch (JMSException e) {
+                if (logger.isDebugEnabled()) {
+                    logger.debug("JMS Exception while closing the session of Inbound Endpoint " + name, e);
+                }
+            }
+        }
+    }
+}
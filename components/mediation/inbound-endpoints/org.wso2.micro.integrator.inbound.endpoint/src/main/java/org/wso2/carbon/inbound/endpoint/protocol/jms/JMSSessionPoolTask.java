@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.inbound.endpoint.protocol.jms;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.synapse.core.SynapseEnvironment;
+import org.wso2.carbon.inbound.endpoint.common.InboundTask;
+import org.wso2.micro.integrator.ntask.core.impl.LocalTaskActionListener;
+
+import java.util.Properties;
+
+/**
+ * JMSSessionPoolTask keeps the session pool of a listener mode JMS inbound endpoint running. Messages are received by
+ * the session threads of the pool, each execution renews the lease of the pool and (re)starts it when it is not
+ * running.
+ */
+public class JMSSessionPoolTask extends InboundTask implements LocalTaskActionListener {
+
+    private static final Log logger = LogFactory.getLog(JMSSessionPoolTask.class.getName());
+
+    private JMSSessionPoolConsumer sessionPoolConsumer;
+
+    public JMSSessionPoolTask(JMSSessionPoolConsumer sessionPoolConsumer, long interval) {
+        logger.debug("Initializing JMS Session Pool Task.");
+        this.sessionPoolConsumer = sessionPoolConsumer;
+        this.interval = interval;
+    }
+
+    protected void taskExecute() {
+        sessionPoolConsumer.start();
+    }
+
+    @Override
+    public Properties getInboundProperties() {
+        return sessionPoolConsumer.getInboundProperties();
+    }
+
+    public void init(SynapseEnvironment synapseEnvironment) {
+        logger.debug("Initializing.");
+    }
+
+    public void destroy() {
+        logger.debug("Destroying JMS Session Pool Task.");
+        sessionPoolConsumer.stop();
+        unregisterAdaptivePollingScheduler();
+    }
+
+    @Override
+    public void notifyLocalTaskRemoval(String taskName) {
+        destroy();
+        if (logger.isDebugEnabled()) {
+            logger.debug("Stopped JMS session pool due to deletion of task: " + taskName);
+        }
+    }
+
+    @Override
+    public void notifyLocalTaskPause(String taskName) {
+        logger.info("Stop the JMS session pool upon pause of task: " + taskName);
+        sessionPoolConsumer.stop();
+    }
+
+    @Override
+    public void notifyLocalTaskResume(String taskName) {
+        sessionPoolConsumer.resume();
+    }
+}
@@ -50,6 +50,16 @@ public class JMSTask extends InboundTask implements LocalTaskActionListener {
         }
     }
 
+    @Override
+    protected boolean pollOnce() {
+        logger.debug("Executing JMS Task adaptive polling cycle.");
+        if (jmsPollingConsumer != null) {
+            return jmsPollingConsumer.executeCycle();
+        }
+        logger.error("JMS Polling Consumer is closed. Cannot execute the task.");
+        return false;
+    }
+
     @Override
     public Properties getInboundProperties() {
         return jmsPollingConsumer.getInboundProperites();
@@ -64,6 +74,7 @@ public class JMSTask extends InboundTask implements LocalTaskActionListener {
         jmsPollingConsumer.destroy();
         // removing the consumer reference to avoid dangling consumers in broker side.
         jmsPollingConsumer = null;
+        unregisterAdaptivePollingScheduler();
     }
 
     /**
@@ -0,0 +1,350 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.inbound.endpoint.protocol.kafka;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.synapse.SynapseException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Kafka listener built on the {@link KafkaConsumer#poll(Duration)} API. Each poll fetches a batch of records which is
+ * split by partition and handed to a fixed set of single threaded workers, so records of the same partition are
+ * always injected in order while different partitions are injected in parallel. Offsets of the processed records are
+ * committed asynchronously once the configured number of records or the configured commit interval is reached.
+ * <p>
+ * If a record of a partition cannot be injected, the remaining records of that partition are not injected, the offset
+ * of the partition is not advanced beyond the failed record and the consumer is moved back to it, so that the failed
+ * record and the records after it are delivered again by the next poll.
+ */
+public class BatchKafkaMessageListener extends AbstractKafkaMessageListener {
+
+    private static final long DEFAULT_POLL_TIMEOUT = 1000;
+    private static final int DEFAULT_COMMIT_BATCH_SIZE = 500;
+    private static final long DEFAULT_COMMIT_INTERVAL = 1000;
+    private static final long WORKER_SHUTDOWN_TIMEOUT = 30;
+    private static final long ALL_INJECTED = -1;
+
+    private final Object consumerLock = new Object();
+    private final Map<TopicPartition, OffsetAndMetadata> pendingOffsets = new HashMap<>();
+
+    private Consumer<byte[], byte[]> consumer;
+    private ConsumerRecords<byte[], byte[]> pendingRecords;
+    private ExecutorService[] workers;
+    private String name;
+    private String connection;
+    private Duration pollTimeout;
+    private int commitBatchSize;
+    private long commitInterval;
+    private int uncommittedCount;
+    private long lastCommitTime;
+    private volatile boolean closed;
+
+    public BatchKafkaMessageListener(int threadCount, List<String> topics, Properties kafkaProperties,
+                                     InjectHandler injectHandler, String name) {
+        this.threadCount = threadCount;
+        this.topics = topics;
+        this.kafkaProperties = kafkaProperties;
+        this.injectHandler = injectHandler;
+        this.name = name;
+        validateInputParameters();
+    }
+
+    /**
+     * Validate the input parameters for the batch consumer
+     */
+    private void validateInputParameters() {
+        connection = kafkaProperties.getProperty(KAFKAConstants.BOOTSTRAP_SERVERS);
+        if (connection == null || connection.isEmpty()) {
+            log.error("batch consumer bootstrap servers is invalid");
+            throw new SynapseException("batch consumer bootstrap servers is invalid");
+        }
+        try {
+            pollTimeout = Duration.ofMillis(getLongProperty(KAFKAConstants.POLL_TIMEOUT, DEFAULT_POLL_TIMEOUT));
+            commitBatchSize = (int) getLongProperty(KAFKAConstants.COMMIT_BATCH_SIZE, DEFAULT_COMMIT_BATCH_SIZE);
+            commitInterval = getLongProperty(KAFKAConstants.COMMIT_INTERVAL, DEFAULT_COMMIT_INTERVAL);
+        } catch (NumberFormatException nfe) {
+            log.error("Invalid numeric value for batch consumer configuration." + nfe.getMessage(), nfe);
+            throw new SynapseException("Invalid numeric value for batch consumer configuration.", nfe);
+        }
+    }
+
+    private long getLongProperty(String key, long defaultValue) {
+        String value = kafkaProperties.getProperty(key);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        return Long.parseLong(value.trim());
+    }
+
+    /**
+     * Create the kafka consumer and subscribe to the topics
+     */
+    @Override
+    public boolean createKafkaConsumerConnector() throws Exception {
+        if (consumer != null) {
+            return !closed;
+        }
+        log.info("Creating Kafka batch consumer...");
+        try {
+            Properties consumerProperties = new Properties();
+            consumerProperties.putAll(kafkaProperties);
+            consumerProperties.putIfAbsent(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG,
+                                           ByteArrayDeserializer.class.getName());
+            consumerProperties.putIfAbsent(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG,
+                                           ByteArrayDeserializer.class.getName());
+            // offsets are committed by this listener once the records are injected
+            consumerProperties.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+            consumer = createConsumer(consumerProperties);
+            workers = new ExecutorService[threadCount];
+            for (int i = 0; i < threadCount; i++) {
+                workers[i] = Executors.newSingleThreadExecutor(new KafkaWorkerThreadFactory(name, i));
+            }
+            lastCommitTime = System.currentTimeMillis();
+            log.info("Kafka batch consumer is created");
+            start();
+        } catch (Exception e) {
+            log.error("Error in Creating Kafka batch consumer." + e.getMessage(), e);
+            throw new SynapseException("Error in Creating Kafka batch consumer", e);
+        }
+        return true;
+    }
+
+    /**
+     * Create the kafka consumer used to poll the records
+     *
+     * @param consumerProperties properties of the consumer
+     * @return kafka consumer
+     */
+    protected Consumer<byte[], byte[]> createConsumer(Properties consumerProperties) {
+        return new KafkaConsumer<>(consumerProperties);
+    }
+
+    /**
+     * Subscribe to the configured topics or to the topics matching the configured topic filter
+     */
+    @Override
+    public void start() throws Exception {
+        if (topics != null && topics.size() > 0) {
+            consumer.subscribe(topics);
+        } else if (kafkaProperties.getProperty(KAFKAConstants.TOPIC_FILTER) != null) {
+            consumer.subscribe(Pattern.compile(kafkaProperties.getProperty(KAFKAConstants.TOPIC_FILTER)));
+        } else {
+            throw new SynapseException("Either topics or topic filter should be specified for the batch consumer");
+        }
+    }
+
+    /**
+     * Poll the next batch of records unless the previous batch is still to be injected. Processed offsets are
+     * committed here as well so that the commit interval is honoured while the topics are idle.
+     */
+    @Override
+    public boolean hasNext() {
+        synchronized (consumerLock) {
+            if (closed) {
+                return false;
+            }
+            if (pendingRecords == null || pendingRecords.isEmpty()) {
+                try {
+                    pendingRecords = consumer.poll(pollTimeout);
+                } catch (WakeupException e) {
+                    if (log.isDebugEnabled()) {
+                        log.debug("Kafka batch consumer is woken up for shutdown.");
+                    }
+                    return false;
+                }
+                if (pendingRecords.isEmpty()) {
+                    commitIfRequired();
+                }
+            }
+            return !pendingRecords.isEmpty();
+        }
+    }
+
+    /**
+     * Inject the polled batch through the partition workers and commit the processed offsets
+     */
+    @Override
+    public void injectMessageToESB(String sequenceName) {
+        synchronized (consumerLock) {
+            if (closed || pendingRecords == null || pendingRecords.isEmpty()) {
+                return;
+            }
+            ConsumerRecords<byte[], byte[]> records = pendingRecords;
+            pendingRecords = null;
+            dispatch(records, sequenceName);
+            commitIfRequired();
+        }
+    }
+
+    private void dispatch(ConsumerRecords<byte[], byte[]> records, String sequenceName) {
+        Map<TopicPartition, Future<Long>> futures = new LinkedHashMap<>();
+        for (TopicPartition partition : records.partitions()) {
+            List<ConsumerRecord<byte[], byte[]>> partitionRecords = records.records(partition);
+            ExecutorService worker = workers[(partition.hashCode() & Integer.MAX_VALUE) % workers.length];
+            futures.put(partition, worker.submit(() -> injectPartitionRecords(partitionRecords, sequenceName)));
+        }
+        boolean interrupted = false;
+        for (Map.Entry<TopicPartition, Future<Long>> entry : futures.entrySet()) {
+            TopicPartition partition = entry.getKey();
+            List<ConsumerRecord<byte[], byte[]>> partitionRecords = records.records(partition);
+            long firstOffset = partitionRecords.get(0).offset();
+            long failedOffset;
+            if (interrupted) {
+                failedOffset = firstOffset;
+            } else {
+                try {
+                    failedOffset = entry.getValue().get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    log.error("Interrupted while waiting for the Kafka batch to be injected.", e);
+                    interrupted = true;
+                    failedOffset = firstOffset;
+                } catch (ExecutionException e) {
+                    log.error("Error while injecting Kafka batch." + e.getMessage(), e.getCause());
+                    failedOffset = firstOffset;
+                }
+            }
+            if (failedOffset == ALL_INJECTED) {
+                long lastOffset = partitionRecords.get(partitionRecords.size() - 1).offset();
+                pendingOffsets.put(partition, new OffsetAndMetadata(lastOffset + 1));
+                uncommittedCount += partitionRecords.size();
+            } else {
+                if (failedOffset > firstOffset) {
+                    pendingOffsets.put(partition, new OffsetAndMetadata(failedOffset));
+                    uncommittedCount += (int) (failedOffset - firstOffset);
+                }
+                // deliver the failed record and the records after it again
+                consumer.seek(partition, failedOffset);
+            }
+        }
+    }
+
+    /**
+     * Inject the records of a partition in order, stopping at the first record which cannot be injected
+     *
+     * @return offset of the first record which is not injected or ALL_INJECTED
+     */
+    private long injectPartitionRecords(List<ConsumerRecord<byte[], byte[]>> partitionRecords, String sequenceName) {
+        for (ConsumerRecord<byte[], byte[]> record : partitionRecords) {
+            KafkaMessageContext kafkaMessageContext = new KafkaMessageContext(connection, record.topic(),
+                                                                              record.value());
+            boolean injected;
+            try {
+                injected = injectHandler.invoke(kafkaMessageContext, sequenceName);
+            } catch (RuntimeException e) {
+                log.error("Error while injecting the Kafka record at offset " + record.offset() + " of partition "
+                                  + record.partition() + " of topic " + record.topic() + "." + e.getMessage(), e);
+                injected = false;
+            }
+            if (!injected) {
+                log.warn("Kafka record at offset " + record.offset() + " of partition " + record.partition()
+                                 + " of topic " + record.topic() + " is not injected and will be delivered again.");
+                return record.offset();
+            }
+        }
+        return ALL_INJECTED;
+    }
+
+    private void commitIfRequired() {
+        if (pendingOffsets.isEmpty()) {
+            return;
+        }
+        long currentTime = System.currentTimeMillis();
+        if (uncommittedCount >= commitBatchSize || currentTime - lastCommitTime >= commitInterval) {
+            consumer.commitAsync(new HashMap<>(pendingOffsets), (offsets, exception) -> {
+                if (exception != null) {
+                    log.warn("Error while committing Kafka offsets " + offsets + " : " + exception.getMessage());
+                }
+            });
+            pendingOffsets.clear();
+            uncommittedCount = 0;
+            lastCommitTime = currentTime;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        closed = true;
+        if (consumer == null) {
+            return;
+        }
+        consumer.wakeup();
+        synchronized (consumerLock) {
+            try {
+                if (!pendingOffsets.isEmpty()) {
+                    consumer.commitSync(pendingOffsets);
+                    pendingOffsets.clear();
+                }
+            } catch (Exception e) {
+                log.error("Error while committing Kafka offsets on shutdown." + e.getMessage(), e);
+            } finally {
+                consumer.close();
+                log.info("Shutdown the Kafka batch consumer");
+            }
+        }
+        for (ExecutorService worker : workers) {
+            worker.shutdown();
+        }
+        for (ExecutorService worker : workers) {
+            try {
+                if (!worker.awaitTermination(WORKER_SHUTDOWN_TIMEOUT, TimeUnit.SECONDS)) {
+                    worker.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                worker.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static class KafkaWorkerThreadFactory implements ThreadFactory {
+        private final String namePrefix;
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        KafkaWorkerThreadFactory(String name, int workerIndex) {
+            this.namePrefix = "kafka-inbound-" + name + "-worker-" + workerIndex + "-";
+        }
+
+        public Thread newThread(Runnable r) {
+            return new Thread(r, namePrefix + threadNumber.getAndIncrement());
+        }
+    }
+}
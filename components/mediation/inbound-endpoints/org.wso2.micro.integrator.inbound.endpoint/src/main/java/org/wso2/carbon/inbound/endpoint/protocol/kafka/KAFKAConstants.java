@@ -56,6 +56,14 @@ public class KAFKAConstants {
 
     public static final String CONSUMER_TIMEOUT = "consumer.timeout.ms";
 
+    public static final String BOOTSTRAP_SERVERS = "bootstrap.servers";
+
+    public static final String POLL_TIMEOUT = "poll.timeout.ms";
+
+    public static final String COMMIT_BATCH_SIZE = "commit.batch.size";
+
+    public static final String COMMIT_INTERVAL = "commit.interval.ms";
+
     public static final int SO_TIMEOUT = 100000;
 
     public static final int BUFFER_SIZE = 64 * 1024;
@@ -37,6 +37,7 @@ public class KAFKAPollingConsumer {
     private long scanInterval;
     private Long lastRanTime;
     private String name;
+    private boolean cycleConsumed;
 
     /**
      * Initialize the kafka properties and the polling interval
@@ -81,10 +82,15 @@ public class KAFKAPollingConsumer {
                 } else if (kafkaProperties.getProperty(KAFKAConstants.CONSUMER_TYPE)
                         .equalsIgnoreCase(AbstractKafkaMessageListener.CONSUMER_TYPE.SIMPLE.getName())) {
                     messageListener = new SimpleKafkaMessageListener(kafkaProperties, injectHandler);
+                    //Start a batch listener
+                } else if (kafkaProperties.getProperty(KAFKAConstants.CONSUMER_TYPE)
+                        .equalsIgnoreCase(AbstractKafkaMessageListener.CONSUMER_TYPE.BATCH.getName())) {
+                    messageListener = new BatchKafkaMessageListener(threadCount, topics, kafkaProperties,
+                                                                    injectHandler, name);
                 }
             } catch (Exception e) {
-                log.error("The consumer type should be high level or simple." + e.getMessage(), e);
-                throw new SynapseException("The consumer type should be high level or simple", e);
+                log.error("The consumer type should be high level, simple or batch." + e.getMessage(), e);
+                throw new SynapseException("The consumer type should be high level, simple or batch", e);
             }
         }
     }
@@ -109,6 +115,23 @@ public class KAFKAPollingConsumer {
         }
     }
 
+    /**
+     * Run a polling cycle without the scan interval check. Used by the adaptive polling mode where the task
+     * scheduler decides when the next cycle runs.
+     *
+     * @return true if any message was injected during the cycle
+     */
+    public boolean executeCycle() {
+        cycleConsumed = false;
+        try {
+            lastRanTime = System.currentTimeMillis();
+            poll();
+        } catch (Exception e) {
+            log.error("Error while retrieving or injecting KAFKA message." + e.getMessage(), e);
+        }
+        return cycleConsumed;
+    }
+
     /**
      * Register a handler to implement injection of the retrieved message
      *
@@ -144,6 +167,7 @@ public class KAFKAPollingConsumer {
             } else {
                 if (injectHandler != null && messageListener.hasNext()) {
                     messageListener.injectMessageToESB(name);
+                    cycleConsumed = true;
                 } else {
                     return null;
                 }
@@ -139,10 +139,12 @@ public class KAFKAProcessor extends InboundRequestProcessorImpl implements TaskS
     @Override
     public void destroy() {
         try {
-            if (pollingConsumer != null && pollingConsumer.messageListener != null
-                    && pollingConsumer.messageListener.consumerConnector != null) {
-                pollingConsumer.messageListener.consumerConnector.shutdown();
-                log.info("Shutdown the kafka consumer connector");
+            if (pollingConsumer != null && pollingConsumer.messageListener != null) {
+                if (pollingConsumer.messageListener.consumerConnector != null) {
+                    pollingConsumer.messageListener.consumerConnector.shutdown();
+                    log.info("Shutdown the kafka consumer connector");
+                }
+                pollingConsumer.messageListener.destroy();
             }
         } catch (Exception e) {
             log.error("Error while shutdown the consumer connector" + e.getMessage(), e);
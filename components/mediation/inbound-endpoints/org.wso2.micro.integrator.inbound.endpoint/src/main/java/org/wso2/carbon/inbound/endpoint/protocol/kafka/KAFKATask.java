@@ -40,6 +40,7 @@ public class KAFKATask extends InboundTask {
 
     public void destroy() {
         logger.debug("Destroying.");
+        unregisterAdaptivePollingScheduler();
     }
 
     public void taskExecute() {
@@ -47,6 +48,12 @@ public class KAFKATask extends InboundTask {
         kafkaPollingConsumer.execute();
     }
 
+    @Override
+    protected boolean pollOnce() {
+        logger.debug("Executing adaptive polling cycle.");
+        return kafkaPollingConsumer.executeCycle();
+    }
+
     @Override
     public Properties getInboundProperties() {
         return kafkaPollingConsumer.getInboundProperties();
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package endpoint.protocol.jms.tests;
+
+import endpoint.protocol.jms.JMSBrokerController;
+import endpoint.protocol.jms.JMSTestsUtils;
+import junit.framework.Assert;
+import junit.framework.TestCase;
+import org.junit.Test;
+import org.wso2.carbon.inbound.endpoint.protocol.jms.JMSConstants;
+import org.wso2.carbon.inbound.endpoint.protocol.jms.JMSInjectHandler;
+import org.wso2.carbon.inbound.endpoint.protocol.jms.JMSSessionPoolConsumer;
+
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class JMSSessionPoolConsumerTest extends TestCase {
+
+    private static final String PROVIDER_URL = "tcp://127.0.0.1:61616";
+    private static final String INBOUND_EP_NAME = "testSessionPool";
+    private static final String SEND_MSG = "<test>message</test>";
+    private static final int MESSAGE_COUNT = 10;
+    private static final long INTERVAL = 1000;
+
+    /**
+     * Test receiving messages from a queue through multiple transacted sessions with batched commits
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testReceiveFromQueueWithSessionPool() throws Exception {
+        String queueName = "testSessionPoolQueue";
+        Properties jmsProperties = JMSTestsUtils.getJMSPropertiesForDestination(queueName, PROVIDER_URL, true);
+        jmsProperties.put(JMSConstants.SESSION_TRANSACTED, "true");
+        jmsProperties.put(JMSConstants.PARAM_BATCH_COMMIT_SIZE, "3");
+        jmsProperties.put(JMSConstants.PARAM_BATCH_COMMIT_INTERVAL, "100");
+        jmsProperties.put(JMSConstants.RECEIVER_TIMEOUT, "100");
+        JMSBrokerController brokerController = new JMSBrokerController(PROVIDER_URL, jmsProperties);
+        JMSSessionPoolConsumer sessionPoolConsumer = new JMSSessionPoolConsumer(jmsProperties, 2, INTERVAL,
+                                                                                 INBOUND_EP_NAME);
+        CountDownLatch received = new CountDownLatch(MESSAGE_COUNT);
+        sessionPoolConsumer.registerHandler(() -> new JMSInjectHandler(null, null, true, null, jmsProperties) {
+            @Override
+            public boolean invoke(Object object, String name) {
+                received.countDown();
+                return true;
+            }
+        });
+        try {
+            brokerController.startProcess();
+            brokerController.connect(queueName, true);
+            for (int i = 0; i < MESSAGE_COUNT; i++) {
+                brokerController.pushMessage(SEND_MSG);
+            }
+            sessionPoolConsumer.start();
+            Assert.assertTrue("Session pool is not running", sessionPoolConsumer.isRunning());
+            Assert.assertTrue("All the messages are not received", received.await(10, TimeUnit.SECONDS));
+        } finally {
+            sessionPoolConsumer.stop();
+            brokerController.disconnect();
+            brokerController.stopProcess();
+        }
+        Assert.assertFalse("Session pool is running after stop", sessionPoolConsumer.isRunning());
+    }
+
+    /**
+     * Test that a stopped session pool is started again only once it is resumed
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testStopAndResumeSessionPool() throws Exception {
+        String queueName = "testSessionPoolResumeQueue";
+        Properties jmsProperties = JMSTestsUtils.getJMSPropertiesForDestination(queueName, PROVIDER_URL, true);
+        jmsProperties.put(JMSConstants.RECEIVER_TIMEOUT, "100");
+        JMSBrokerController brokerController = new JMSBrokerController(PROVIDER_URL, jmsProperties);
+        JMSSessionPoolConsumer sessionPoolConsumer = new JMSSessionPoolConsumer(jmsProperties, 1, INTERVAL,
+                                                                                 INBOUND_EP_NAME);
+        CountDownLatch received = new CountDownLatch(1);
+        sessionPoolConsumer.registerHandler(() -> new JMSInjectHandler(null, null, true, null, jmsProperties) {
+            @Override
+            public boolean invoke(Object object, String name) {
+                received.countDown();
+                return true;
+            }
+        });
+        try {
+            brokerController.startProcess();
+            brokerController.connect(queueName, true);
+            sessionPoolConsumer.start();
+            Assert.assertTrue("Session pool is not running", sessionPoolConsumer.isRunning());
+            sessionPoolConsumer.stop();
+            Assert.assertFalse("Session pool is running after stop", sessionPoolConsumer.isRunning());
+            sessionPoolConsumer.start();
+            Assert.assertFalse("Stopped session pool is started before it is resumed", sessionPoolConsumer.isRunning());
+
+            sessionPoolConsumer.resume();
+            sessionPoolConsumer.start();
+            Assert.assertTrue("Session pool is not running after resume", sessionPoolConsumer.isRunning());
+            brokerController.pushMessage(SEND_MSG);
+            Assert.assertTrue("Message is not received after resume", received.await(10, TimeUnit.SECONDS));
+        } finally {
+            sessionPoolConsumer.stop();
+            brokerController.disconnect();
+            brokerController.stopProcess();
+        }
+    }
+
+    /**
+     * Test that the session pool stops once its task is no longer executed
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testSessionPoolStopsWhenLeaseExpires() throws Exception {
+        String queueName = "testSessionPoolLeaseQueue";
+        Properties jmsProperties = JMSTestsUtils.getJMSPropertiesForDestination(queueName, PROVIDER_URL, true);
+        jmsProperties.put(JMSConstants.RECEIVER_TIMEOUT, "100");
+        JMSBrokerController brokerController = new JMSBrokerController(PROVIDER_URL, jmsProperties);
+        JMSSessionPoolConsumer sessionPoolConsumer = new JMSSessionPoolConsumer(jmsProperties, 1, INTERVAL,
+                                                                                 INBOUND_EP_NAME);
+        sessionPoolConsumer.registerHandler(() -> new JMSInjectHandler(null, null, true, null, jmsProperties));
+        try {
+            brokerController.startProcess();
+            brokerController.connect(queueName, true);
+            sessionPoolConsumer.start();
+            Assert.assertTrue("Session pool is not running", sessionPoolConsumer.isRunning());
+            // the lease spans three intervals and is only renewed by the task
+            long deadline = System.currentTimeMillis() + 10 * INTERVAL;
+            while (sessionPoolConsumer.isRunning() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(100);
+            }
+            Assert.assertFalse("Session pool is running after the lease expired", sessionPoolConsumer.isRunning());
+            sessionPoolConsumer.start();
+            Assert.assertTrue("Session pool is not restarted by the task", sessionPoolConsumer.isRunning());
+        } finally {
+            sessionPoolConsumer.stop();
+            brokerController.disconnect();
+            brokerController.stopProcess();
+        }
+    }
+}
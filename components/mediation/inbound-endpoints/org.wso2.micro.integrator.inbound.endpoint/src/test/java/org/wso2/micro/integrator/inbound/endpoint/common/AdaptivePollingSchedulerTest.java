@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.micro.integrator.inbound.endpoint.common;
+
+import org.apache.synapse.core.SynapseEnvironment;
+import org.junit.Assert;
+import org.junit.Test;
+import org.wso2.carbon.inbound.endpoint.common.AdaptivePollingScheduler;
+import org.wso2.carbon.inbound.endpoint.common.InboundTask;
+import org.wso2.carbon.inbound.endpoint.protocol.PollingConstants;
+
+import java.lang.management.ManagementFactory;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+public class AdaptivePollingSchedulerTest {
+
+    /**
+     * Cycles which consume messages are repeated without any delay.
+     */
+    @Test
+    public void testPollImmediatelyWhileBacklogExists() {
+
+        AdaptivePollingScheduler scheduler = new AdaptivePollingScheduler(10, 1000, 1000);
+        AtomicInteger backlog = new AtomicInteger(50);
+        scheduler.run(() -> backlog.getAndDecrement() > 0);
+        Assert.assertTrue("Backlog is not drained within a single window.", backlog.get() < 0);
+        Assert.assertEquals(50, scheduler.getProductivePollCount());
+        Assert.assertTrue(scheduler.getEffectivePollingRate() > 0);
+    }
+
+    /**
+     * Empty cycles back off exponentially and settle on the configured interval.
+     */
+    @Test
+    public void testBackOffUpToConfiguredIntervalWhenIdle() {
+
+        AdaptivePollingScheduler scheduler = new AdaptivePollingScheduler(10, 200, 1000);
+        scheduler.run(() -> false);
+        Assert.assertEquals(200, scheduler.getCurrentInterval());
+        Assert.assertEquals(0, scheduler.getProductivePollCount());
+        // 10 + 20 + 40 + 80 + 160 ms of back off followed by the configured interval
+        Assert.assertTrue(scheduler.getPollCount() <= 10);
+    }
+
+    /**
+     * A consumed message resets the back off.
+     */
+    @Test
+    public void testBackOffResetsOnWork() {
+
+        AdaptivePollingScheduler scheduler = new AdaptivePollingScheduler(10, 100, 100);
+        scheduler.run(() -> false);
+        Assert.assertTrue(scheduler.getCurrentInterval() > 0);
+        AtomicInteger cycles = new AtomicInteger();
+        scheduler.run(() -> cycles.incrementAndGet() == 1);
+        Assert.assertEquals(1, scheduler.getProductivePollCount());
+    }
+
+    /**
+     * The statistics MBean of a task is unregistered when the task is destroyed.
+     */
+    @Test
+    public void testMBeanUnregisteredOnDestroy() throws Exception {
+
+        Properties properties = new Properties();
+        properties.setProperty(PollingConstants.INBOUND_ADAPTIVE_POLLING, "true");
+        InboundTask task = new InboundTask() {
+            {
+                interval = 100;
+            }
+
+            @Override
+            protected void taskExecute() {
+            }
+
+            @Override
+            public Properties getInboundProperties() {
+                return properties;
+            }
+
+            @Override
+            public void init(SynapseEnvironment synapseEnvironment) {
+            }
+
+            @Override
+            public void destroy() {
+                unregisterAdaptivePollingScheduler();
+            }
+        };
+        task.setTaskName("testAdaptivePollingMBeanTask");
+        task.execute();
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        ObjectName objectName = new ObjectName("*:Name=testAdaptivePollingMBeanTask,*");
+        Assert.assertEquals(1, mBeanServer.queryNames(objectName, null).size());
+        task.destroy();
+        Assert.assertTrue("MBean is not unregistered.", mBeanServer.queryNames(objectName, null).isEmpty());
+    }
+}
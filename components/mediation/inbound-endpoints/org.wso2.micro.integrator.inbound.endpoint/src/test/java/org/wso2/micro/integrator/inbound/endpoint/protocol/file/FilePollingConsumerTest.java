@@ -500,6 +500,71 @@ public class FilePollingConsumerTest {
         Assert.assertTrue("File exceeding size limit is processed.", (Files.exists(Paths.get(inPath + "/large.txt"))));
     }
 
+    /**
+     * transport.vfs.FileURI = <in_location>
+     * transport.vfs.ActionAfterProcess = MOVE
+     * transport.vfs.MoveAfterProcess = <out_location>
+     * transport.vfs.FileProcessingThreadCount = 4
+     *
+     * @throws IOException if an error occurs while creating the required directory structure
+     */
+    @Test
+    public void testParallelPollingFilesInParent() throws IOException {
+
+        String path = getInFilePath("testFilesInParent");
+        for (int i = 0; i < 10; i++) {
+            assert new File(path + File.separator + "file" + i + ".txt").createNewFile();
+        }
+        String outPath = getOutFilePath("testFilesInParent");
+        Properties properties = new Properties();
+        properties.put(FilePollingConsumer.FILE_PROCESSING_THREAD_COUNT, "4");
+        TestFileInjectHandler fileInjectHandler = poll(path, ".*.txt", outPath, null, properties, false);
+        Assert.assertEquals(10, fileInjectHandler.getFileNames().size());
+        for (int i = 0; i < 10; i++) {
+            Assert.assertTrue("file" + i + ".txt has not been moved correctly.",
+                              (Files.exists(Paths.get(outPath + "/file" + i + ".txt"))));
+            Assert.assertFalse("Lock file of file" + i + ".txt is not released.",
+                               (Files.exists(Paths.get(path + "/file" + i + ".txt.lock"))));
+        }
+    }
+
+    /**
+     * transport.vfs.FileURI = <in_location>
+     * transport.vfs.FileSortAttribute = name
+     * transport.vfs.FileProcessingThreadCount = 4
+     * transport.vfs.FileProcessingGroupPattern = ^([a-z]+)_
+     *
+     * @throws IOException if an error occurs while creating the required directory structure
+     */
+    @Test
+    public void testOrderedParallelPollingFilesInParent() throws IOException {
+
+        String path = getInFilePath("testFilesInParent");
+        String[] groups = {"orders", "invoices", "payments"};
+        for (String group : groups) {
+            for (int i = 0; i < 5; i++) {
+                assert new File(path + File.separator + group + "_" + i + ".txt").createNewFile();
+            }
+        }
+        Properties properties = new Properties();
+        properties.put(VFSConstants.FILE_SORT_PARAM, VFSConstants.FILE_SORT_VALUE_NAME);
+        properties.put(FilePollingConsumer.FILE_PROCESSING_THREAD_COUNT, "4");
+        properties.put(FilePollingConsumer.FILE_PROCESSING_GROUP_PATTERN, "^([a-z]+)_");
+        TestFileInjectHandler fileInjectHandler = poll(path, ".*.txt", null, null, properties, false);
+        Assert.assertEquals(15, fileInjectHandler.getFileNames().size());
+        for (String group : groups) {
+            int previous = -1;
+            for (String fileName : fileInjectHandler.getFileNames()) {
+                String baseName = Paths.get(fileName).getFileName().toString();
+                if (baseName.startsWith(group + "_")) {
+                    int index = Integer.parseInt(baseName.substring(group.length() + 1, baseName.indexOf('.')));
+                    Assert.assertTrue("Files of group " + group + " are not processed in order.", index > previous);
+                    previous = index;
+                }
+            }
+        }
+    }
+
     private TestFileInjectHandler poll(String inPath, String fileNamePattern, String moveAfterProcess,
                                        String moveAfterFailure, Properties additionalProperties, boolean mockFailure) {
         Properties vfsProperties = getVfsProperties(inPath, fileNamePattern, moveAfterProcess, moveAfterFailure);
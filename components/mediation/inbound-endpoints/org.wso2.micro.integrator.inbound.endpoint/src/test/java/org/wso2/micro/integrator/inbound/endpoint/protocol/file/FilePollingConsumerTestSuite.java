@@ -22,7 +22,8 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
 @RunWith(Suite.class)
-@Suite.SuiteClasses({FilePollingConsumerTest.class, FilePollingConsumerParameterizedTest.class})
+@Suite.SuiteClasses({FilePollingConsumerTest.class, FilePollingConsumerParameterizedTest.class,
+        IncrementalDirectoryScannerTest.class})
 public class FilePollingConsumerTestSuite {
     //This will run all the test classes related to the File Inbound
 }
@@ -0,0 +1,330 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.micro.integrator.inbound.endpoint.protocol.file;
+
+import org.apache.commons.vfs2.FileContent;
+import org.apache.commons.vfs2.FileObject;
+import org.apache.commons.vfs2.FileSystemException;
+import org.apache.commons.vfs2.impl.DecoratedFileObject;
+import org.apache.commons.vfs2.impl.StandardFileSystemManager;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.wso2.carbon.inbound.endpoint.protocol.file.IncrementalDirectoryScanner;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class IncrementalDirectoryScannerTest {
+
+    private StandardFileSystemManager fsManager;
+    private Path directory;
+    private Path stateDirectory;
+
+    @Before
+    public void setUp() throws IOException {
+        fsManager = new StandardFileSystemManager();
+        fsManager.init();
+        directory = Files.createTempDirectory("incremental-scan");
+        stateDirectory = Files.createTempDirectory("incremental-scan-state");
+    }
+
+    @After
+    public void tearDown() {
+        fsManager.close();
+    }
+
+    @Test
+    public void testOnlyNewFilesAreListed() throws Exception {
+
+        FileObject folder = fsManager.resolveFile(directory.toUri().toString());
+        IncrementalDirectoryScanner scanner = newScanner("testNewFiles");
+        Files.createFile(directory.resolve("a.txt"));
+        Files.createFile(directory.resolve("b.txt"));
+        Files.createFile(directory.resolve("b.txt.lock"));
+
+        FileObject[] children = scanner.listNewChildren(folder);
+        Assert.assertEquals("Lock files should not be listed.", 2, children.length);
+        for (FileObject child : children) {
+            scanner.markHandled(child);
+        }
+        scanner.commit();
+        Assert.assertEquals("Handled files should not be listed again.", 0, scanner.listNewChildren(folder).length);
+        scanner.commit();
+
+        Files.createFile(directory.resolve("c.txt"));
+        children = awaitNewChildren(scanner, folder);
+        Assert.assertEquals(1, children.length);
+        Assert.assertEquals("c.txt", children[0].getName().getBaseName());
+        scanner.commit();
+        Assert.assertEquals("Files which are not handled should be listed again.", 1,
+                            scanner.listNewChildren(folder).length);
+        scanner.close();
+    }
+
+    @Test
+    public void testWatermarkIsPersisted() throws Exception {
+
+        FileObject folder = fsManager.resolveFile(directory.toUri().toString());
+        IncrementalDirectoryScanner scanner = newScanner("testWatermark");
+        Files.createFile(directory.resolve("file-001.txt"));
+        Files.createFile(directory.resolve("file-002.txt"));
+        for (FileObject child : scanner.listNewChildren(folder)) {
+            scanner.markHandled(child);
+        }
+        scanner.commit();
+        scanner.close();
+        Files.delete(directory.resolve("file-001.txt"));
+
+        IncrementalDirectoryScanner restarted = newScanner("testWatermark");
+        Files.createFile(directory.resolve("file-000.txt"));
+        Files.createFile(directory.resolve("file-003.txt"));
+        FileObject[] children = restarted.listNewChildren(folder);
+        Assert.assertEquals("Files at or below the watermark should not be listed.", 1, children.length);
+        Assert.assertEquals("file-003.txt", children[0].getName().getBaseName());
+        restarted.close();
+    }
+
+    @Test
+    public void testUnhandledFileHoldsBackWatermark() throws Exception {
+
+        FileObject folder = fsManager.resolveFile(directory.toUri().toString());
+        IncrementalDirectoryScanner scanner = newScanner("testUnhandled");
+        Files.createFile(directory.resolve("file-001.txt"));
+        Files.createFile(directory.resolve("file-002.txt"));
+        Files.createFile(directory.resolve("file-003.txt"));
+        for (FileObject child : scanner.listNewChildren(folder)) {
+            // processing of file-002 failed
+            if (!"file-002.txt".equals(child.getName().getBaseName())) {
+                scanner.markHandled(child);
+            }
+        }
+        scanner.commit();
+        scanner.close();
+
+        IncrementalDirectoryScanner restarted = newScanner("testUnhandled");
+        FileObject[] children = restarted.listNewChildren(folder);
+        Assert.assertEquals("Failed file should be listed again after a restart.", 2, children.length);
+        List<String> names = new ArrayList<>();
+        for (FileObject child : children) {
+            names.add(child.getName().getBaseName());
+            restarted.markHandled(child);
+        }
+        Assert.assertTrue(names.contains("file-002.txt"));
+        Assert.assertTrue(names.contains("file-003.txt"));
+        restarted.commit();
+        Assert.assertEquals(0, restarted.listNewChildren(folder).length);
+        restarted.commit();
+        restarted.close();
+    }
+
+    @Test
+    public void testWatermarkIsKeptPerFileURI() throws Exception {
+
+        FileObject folder = fsManager.resolveFile(directory.toUri().toString());
+        IncrementalDirectoryScanner scanner = newScanner("testFileURI");
+        Files.createFile(directory.resolve("file-001.txt"));
+        for (FileObject child : scanner.listNewChildren(folder)) {
+            scanner.markHandled(child);
+        }
+        scanner.commit();
+        scanner.close();
+
+        IncrementalDirectoryScanner otherDirectory = new IncrementalDirectoryScanner("testFileURI",
+                                                                                     "file:///other/directory",
+                                                                                     "name", false, 100,
+                                                                                     stateDirectory.toString());
+        Assert.assertEquals("Watermark of another directory should not be used.", 1,
+                            otherDirectory.listNewChildren(folder).length);
+        otherDirectory.close();
+    }
+
+    @Test
+    public void testLastModifiedTimeMode() throws Exception {
+
+        FileObject folder = fsManager.resolveFile(directory.toUri().toString());
+        long now = System.currentTimeMillis();
+        createFile("a.txt", now - 30000);
+        createFile("b.txt", now - 20000);
+        IncrementalDirectoryScanner scanner = newScanner("testMtime", IncrementalDirectoryScanner.SCAN_BY_MTIME);
+        FileObject[] children = scanner.listNewChildren(folder);
+        Assert.assertEquals(2, children.length);
+        for (FileObject child : children) {
+            scanner.markHandled(child);
+        }
+        scanner.commit();
+        Assert.assertEquals("Handled files should not be listed again.", 0, scanner.listNewChildren(folder).length);
+        scanner.commit();
+        scanner.close();
+
+        IncrementalDirectoryScanner restarted = newScanner("testMtime", IncrementalDirectoryScanner.SCAN_BY_MTIME);
+        createFile("older.txt", now - 25000);
+        createFile("newer.txt", now - 10000);
+        children = restarted.listNewChildren(folder);
+        Assert.assertEquals("Files modified at or before the watermark should not be listed.", 1, children.length);
+        Assert.assertEquals("newer.txt", children[0].getName().getBaseName());
+        restarted.markHandled(children[0]);
+        restarted.commit();
+
+        // a file name reused by a newer file is listed again
+        createFile("a.txt", now);
+        children = awaitNewChildren(restarted, folder);
+        Assert.assertEquals(1, children.length);
+        Assert.assertEquals("a.txt", children[0].getName().getBaseName());
+        restarted.close();
+    }
+
+    @Test
+    public void testUnknownLastModifiedTimeDoesNotMoveWatermark() throws Exception {
+
+        FileObject ramFolder = fsManager.resolveFile("ram:///testUnknownMtime");
+        ramFolder.resolveFile("unknown.txt").createFile();
+        FileObject folder = new UnknownLastModifiedFolder(ramFolder, "unknown.txt");
+        IncrementalDirectoryScanner scanner = newScanner("testUnknownMtime", IncrementalDirectoryScanner.SCAN_BY_MTIME);
+        FileObject[] children = scanner.listNewChildren(folder);
+        Assert.assertEquals(1, children.length);
+        scanner.markHandled(children[0]);
+        scanner.commit();
+        Assert.assertEquals("Handled file with an unknown last modified time should not be listed again.", 0,
+                            scanner.listNewChildren(folder).length);
+        scanner.commit();
+
+        FileObject known = ramFolder.resolveFile("known.txt");
+        known.createFile();
+        known.getContent().setLastModifiedTime(System.currentTimeMillis());
+        children = scanner.listNewChildren(folder);
+        Assert.assertEquals("Files after a file with an unknown last modified time should be listed.", 1,
+                            children.length);
+        Assert.assertEquals("known.txt", children[0].getName().getBaseName());
+        scanner.close();
+    }
+
+    @Test
+    public void testUnknownLastModifiedTimeDoesNotHoldBackWatermark() throws Exception {
+
+        FileObject ramFolder = fsManager.resolveFile("ram:///testUnknownPending");
+        ramFolder.resolveFile("unknown.txt").createFile();
+        FileObject known = ramFolder.resolveFile("known.txt");
+        known.createFile();
+        known.getContent().setLastModifiedTime(System.currentTimeMillis());
+        FileObject folder = new UnknownLastModifiedFolder(ramFolder, "unknown.txt");
+        IncrementalDirectoryScanner scanner = newScanner("testUnknownPending",
+                                                         IncrementalDirectoryScanner.SCAN_BY_MTIME);
+        for (FileObject child : scanner.listNewChildren(folder)) {
+            if ("known.txt".equals(child.getName().getBaseName())) {
+                scanner.markHandled(child);
+            }
+        }
+        scanner.commit();
+        scanner.close();
+
+        IncrementalDirectoryScanner restarted = newScanner("testUnknownPending",
+                                                           IncrementalDirectoryScanner.SCAN_BY_MTIME);
+        FileObject[] children = restarted.listNewChildren(folder);
+        Assert.assertEquals("Only the file which was not handled should be listed again.", 1, children.length);
+        Assert.assertEquals("unknown.txt", children[0].getName().getBaseName());
+        restarted.close();
+    }
+
+    private void createFile(String fileName, long lastModified) throws IOException {
+        Path file = directory.resolve(fileName);
+        if (!Files.exists(file)) {
+            Files.createFile(file);
+        }
+        Files.setLastModifiedTime(file, FileTime.fromMillis(lastModified));
+    }
+
+    /**
+     * The directory watcher reports changes asynchronously, hence a file created right before a cycle may only be
+     * listed in one of the following cycles.
+     */
+    private FileObject[] awaitNewChildren(IncrementalDirectoryScanner scanner, FileObject folder) throws Exception {
+        long waitUntil = System.currentTimeMillis() + 5000;
+        FileObject[] children = scanner.listNewChildren(folder);
+        while (children.length == 0 && System.currentTimeMillis() < waitUntil) {
+            scanner.commit();
+            Thread.sleep(50);
+            children = scanner.listNewChildren(folder);
+        }
+        return children;
+    }
+
+    private IncrementalDirectoryScanner newScanner(String name) {
+        return newScanner(name, IncrementalDirectoryScanner.SCAN_BY_NAME);
+    }
+
+    private IncrementalDirectoryScanner newScanner(String name, String scanBy) {
+        return new IncrementalDirectoryScanner(name, directory.toUri().toString(), scanBy, false, 100,
+                                               stateDirectory.toString());
+    }
+
+    /**
+     * Folder of which the last modified time of a child cannot be read, as with some remote file systems.
+     */
+    private static class UnknownLastModifiedFolder extends DecoratedFileObject {
+
+        private final String unknownChild;
+
+        UnknownLastModifiedFolder(FileObject folder, String unknownChild) {
+            super(folder);
+            this.unknownChild = unknownChild;
+        }
+
+        @Override
+        public FileObject[] getChildren() throws FileSystemException {
+            FileObject[] children = super.getChildren();
+            for (int i = 0; i < children.length; i++) {
+                if (unknownChild.equals(children[i].getName().getBaseName())) {
+                    children[i] = new UnknownLastModifiedFile(children[i]);
+                }
+            }
+            return children;
+        }
+    }
+
+    private static class UnknownLastModifiedFile extends DecoratedFileObject {
+
+        UnknownLastModifiedFile(FileObject file) {
+            super(file);
+        }
+
+        @Override
+        public FileContent getContent() throws FileSystemException {
+            final FileContent content = super.getContent();
+            return (FileContent) Proxy.newProxyInstance(
+                    FileContent.class.getClassLoader(), new Class<?>[] { FileContent.class }, (proxy, method, args) -> {
+                        if ("getLastModifiedTime".equals(method.getName())) {
+                            throw new FileSystemException("Last modified time is not available");
+                        }
+                        try {
+                            return method.invoke(content, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+    }
+}
@@ -24,7 +24,9 @@ import org.apache.synapse.core.SynapseEnvironment;
 import org.wso2.carbon.inbound.endpoint.protocol.file.FileInjectHandler;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 
 public class TestFileInjectHandler extends FileInjectHandler {
@@ -36,11 +38,12 @@ public class TestFileInjectHandler extends FileInjectHandler {
                                  SynapseEnvironment synapseEnvironment, Properties vfsProperties) {
         //do nothing
         super(injectingSeq, onErrorSeq, sequential, synapseEnvironment, vfsProperties);
-        fileNames = new ArrayList<>();
+        fileNames = Collections.synchronizedList(new ArrayList<>());
     }
 
     @Override
-    public boolean invoke(Object object, String name) throws SynapseException {
+    public boolean invoke(Object object, String name, Map<String, Object> transportHeaders)
+            throws SynapseException {
         FileObject file = (FileObject) object;
         fileNames.add(file.getName().getPath());
         if (mockFailure) {
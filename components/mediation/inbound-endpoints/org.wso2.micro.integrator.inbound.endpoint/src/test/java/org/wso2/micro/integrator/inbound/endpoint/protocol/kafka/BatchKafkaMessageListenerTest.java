@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.micro.integrator.inbound.endpoint.protocol.kafka;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.wso2.carbon.inbound.endpoint.protocol.kafka.BatchKafkaMessageListener;
+import org.wso2.carbon.inbound.endpoint.protocol.kafka.InjectHandler;
+import org.wso2.carbon.inbound.endpoint.protocol.kafka.KAFKAConstants;
+import org.wso2.carbon.inbound.endpoint.protocol.kafka.KafkaMessageContext;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+public class BatchKafkaMessageListenerTest {
+
+    private static final String TOPIC = "test";
+    private static final String SEQUENCE = "testSequence";
+    private static final TopicPartition PARTITION_0 = new TopicPartition(TOPIC, 0);
+    private static final TopicPartition PARTITION_1 = new TopicPartition(TOPIC, 1);
+
+    private MockConsumer<byte[], byte[]> mockConsumer;
+    private RecordingInjectHandler injectHandler;
+    private BatchKafkaMessageListener listener;
+
+    @Before
+    public void setUp() throws Exception {
+        mockConsumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        injectHandler = new RecordingInjectHandler();
+        Properties properties = new Properties();
+        properties.setProperty(KAFKAConstants.BOOTSTRAP_SERVERS, "localhost:9092");
+        properties.setProperty(KAFKAConstants.COMMIT_BATCH_SIZE, "1");
+        properties.setProperty(KAFKAConstants.POLL_TIMEOUT, "10");
+        listener = new BatchKafkaMessageListener(2, Collections.singletonList(TOPIC), properties, injectHandler,
+                                                 "testBatchListener") {
+            @Override
+            protected Consumer<byte[], byte[]> createConsumer(Properties consumerProperties) {
+                return mockConsumer;
+            }
+        };
+        listener.createKafkaConsumerConnector();
+        mockConsumer.rebalance(Arrays.asList(PARTITION_0, PARTITION_1));
+        Map<TopicPartition, Long> beginningOffsets = new HashMap<>();
+        beginningOffsets.put(PARTITION_0, 0L);
+        beginningOffsets.put(PARTITION_1, 0L);
+        mockConsumer.updateBeginningOffsets(beginningOffsets);
+    }
+
+    @After
+    public void tearDown() {
+        listener.destroy();
+    }
+
+    /**
+     * A record which fails to be injected is not committed and is delivered again with the records after it.
+     */
+    @Test
+    public void testFailedRecordIsDeliveredAgain() {
+
+        injectHandler.failOnce("p0-1");
+        addRecords(PARTITION_0, 0, 3);
+
+        Assert.assertTrue(listener.hasNext());
+        listener.injectMessageToESB(SEQUENCE);
+        Assert.assertEquals(Collections.singletonList("p0-0"), injectHandler.getInjected());
+        Assert.assertEquals(1, committedOffset(PARTITION_0));
+        Assert.assertEquals("Consumer should be moved back to the failed record.", 1,
+                            mockConsumer.position(PARTITION_0));
+
+        // the mock consumer drops the records once polled, hence add the records the broker delivers again
+        addRecords(PARTITION_0, 1, 3);
+        Assert.assertTrue(listener.hasNext());
+        listener.injectMessageToESB(SEQUENCE);
+        Assert.assertEquals(Arrays.asList("p0-0", "p0-1", "p0-2"), injectHandler.getInjected());
+        Assert.assertEquals(3, committedOffset(PARTITION_0));
+    }
+
+    /**
+     * A failure in one partition does not hold back the offsets of the other partitions.
+     */
+    @Test
+    public void testFailureDoesNotAffectOtherPartitions() {
+
+        injectHandler.failOnce("p0-0");
+        addRecords(PARTITION_0, 0, 2);
+        addRecords(PARTITION_1, 0, 2);
+
+        Assert.assertTrue(listener.hasNext());
+        listener.injectMessageToESB(SEQUENCE);
+        Assert.assertNull("Offset of the failed partition should not be committed.",
+                          mockConsumer.committed(Collections.singleton(PARTITION_0)).get(PARTITION_0));
+        Assert.assertEquals(0, mockConsumer.position(PARTITION_0));
+        Assert.assertEquals(2, committedOffset(PARTITION_1));
+        Assert.assertEquals(2, mockConsumer.position(PARTITION_1));
+    }
+
+    private void addRecords(TopicPartition partition, int from, int to) {
+        for (int offset = from; offset < to; offset++) {
+            byte[] value = ("p" + partition.partition() + "-" + offset).getBytes(StandardCharsets.UTF_8);
+            mockConsumer.addRecord(new ConsumerRecord<>(TOPIC, partition.partition(), offset, null, value));
+        }
+    }
+
+    private long committedOffset(TopicPartition partition) {
+        OffsetAndMetadata offset = mockConsumer.committed(Collections.singleton(partition)).get(partition);
+        Assert.assertNotNull("No offset committed for " + partition, offset);
+        return offset.offset();
+    }
+
+    private static class RecordingInjectHandler implements InjectHandler {
+
+        private final List<String> injected = Collections.synchronizedList(new ArrayList<>());
+        private final Set<String> failures = Collections.synchronizedSet(new HashSet<>());
+
+        void failOnce(String message) {
+            failures.add(message);
+        }
+
+        List<String> getInjected() {
+            return new ArrayList<>(injected);
+        }
+
+        @Override
+        public boolean invoke(Object object, String name) {
+            String message = new String(((KafkaMessageContext) object).getMsg(), StandardCharsets.UTF_8);
+            if (failures.remove(message)) {
+                throw new IllegalStateException("Injection failed for " + message);
+            }
+            injected.add(message);
+            return true;
+        }
+    }
+}
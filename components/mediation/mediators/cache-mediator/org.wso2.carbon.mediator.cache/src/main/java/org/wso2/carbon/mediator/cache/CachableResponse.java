@@ -21,7 +21,9 @@ import org.apache.axiom.soap.SOAPEnvelope;
 
 import java.io.Serializable;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
 import java.util.regex.Pattern;
+import javax.xml.namespace.QName;
 
 /**
  * This object holds the cached response and the related properties of the cache per request and will be stored in to
@@ -43,6 +45,17 @@ public class CachableResponse implements Serializable {
      */
     private SOAPEnvelope responseEnvelope = null;
 
+    /**
+     * This holds the serialized body element of the xml response, which is written out as it is when the cached
+     * response is sent back without further mediation
+     */
+    private byte[] responseBody = null;
+
+    /**
+     * The name of the body element of the xml response
+     */
+    private QName responseBodyName = null;
+
     /**
      * This holds the hash value of the request payload which is calculated form the specified DigestGenerator, and is
      * used to index the cached response
@@ -115,14 +128,68 @@ public class CachableResponse implements Serializable {
      */
     private boolean addAgeHeaderEnabled;
 
+    /**
+     * This is released once the request fetching this response from the backend completes, so that the equivalent
+     * requests waiting for the response can be served from the cache.
+     */
+    private transient CountDownLatch inFlightRequest;
+
+    /**
+     * This holds the time the in-flight request started fetching the response from the backend.
+     */
+    private transient long inFlightRequestStartTime;
+
     /**
      * Sets the responsePayload and the headerProperties to null
      */
     public void clean() {
         responsePayload = null;
+        responseBody = null;
+        responseBodyName = null;
         headerProperties = null;
     }
 
+    /**
+     * Checks whether the response is cached.
+     *
+     * @return true if the response is available in the cache
+     */
+    public boolean isCached() {
+        return responsePayload != null || responseEnvelope != null;
+    }
+
+    /**
+     * Joins the request which is fetching this response from the backend. If there is no such request, or if it did
+     * not complete within the given timeout, the given request becomes the in-flight request.
+     *
+     * @param request latch of the joining request, released by {@link #completeInFlightRequest(CountDownLatch)}
+     * @param timeout the time in milliseconds an in-flight request is waited for
+     * @return the latch of the in-flight request to wait on, or the given latch if the caller has to fetch the
+     * response
+     */
+    public synchronized CountDownLatch joinInFlightRequest(CountDownLatch request, long timeout) {
+        long currentTime = System.currentTimeMillis();
+        if (inFlightRequest != null && currentTime - inFlightRequestStartTime < timeout) {
+            return inFlightRequest;
+        }
+        inFlightRequest = request;
+        inFlightRequestStartTime = currentTime;
+        return request;
+    }
+
+    /**
+     * Releases the requests waiting for the given in-flight request, whether or not its response got cached. A
+     * request which was taken over after exceeding the timeout does not affect the request which took it over.
+     *
+     * @param request latch of the request returned by {@link #joinInFlightRequest(CountDownLatch, long)}
+     */
+    public synchronized void completeInFlightRequest(CountDownLatch request) {
+        request.countDown();
+        if (inFlightRequest == request) {
+            inFlightRequest = null;
+        }
+    }
+
     /**
      * This method gives the cached response payload for json as a byte array
      *
@@ -141,6 +208,35 @@ public class CachableResponse implements Serializable {
         this.responsePayload = responsePayload;
     }
 
+    /**
+     * This method gives the serialized body element of the xml response
+     *
+     * @return byte[] representing the body element of the xml response encoded in UTF-8
+     */
+    public byte[] getResponseBody() {
+        return responseBody;
+    }
+
+    /**
+     * This method gives the name of the body element of the xml response
+     *
+     * @return the qualified name of the body element
+     */
+    public QName getResponseBodyName() {
+        return responseBodyName;
+    }
+
+    /**
+     * This method sets the serialized body element of the xml response
+     *
+     * @param responseBody     body element of the xml response encoded in UTF-8
+     * @param responseBodyName the qualified name of the body element
+     */
+    public void setResponseBody(byte[] responseBody, QName responseBodyName) {
+        this.responseBody = responseBody;
+        this.responseBodyName = responseBodyName;
+    }
+
     /**
      * @return The response {@link SOAPEnvelope} for xml response
      */
@@ -20,8 +20,13 @@ package org.wso2.carbon.mediator.cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import org.apache.axiom.om.OMContainer;
 import org.apache.axiom.om.OMElement;
+import org.apache.axiom.om.OMNamespace;
+import org.apache.axiom.om.ds.ByteArrayDataSource;
+import org.apache.axiom.soap.SOAPBody;
 import org.apache.axiom.soap.SOAPEnvelope;
+import org.apache.axiom.soap.SOAPFactory;
 import org.apache.axis2.AxisFault;
 import org.apache.axis2.Constants;
 import org.apache.axis2.context.ConfigurationContext;
@@ -46,15 +51,18 @@ import org.apache.synapse.util.MessageHelper;
 import org.wso2.carbon.mediator.cache.digest.DigestGenerator;
 import org.wso2.carbon.mediator.cache.util.HttpCachingFilter;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.text.ParseException;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
@@ -66,6 +74,7 @@ import javax.management.MBeanServerFactory;
 import javax.management.MalformedObjectNameException;
 import javax.management.NotCompliantMBeanException;
 import javax.management.ObjectName;
+import javax.xml.namespace.QName;
 import javax.xml.stream.XMLStreamException;
 
 /**
@@ -82,6 +91,11 @@ public class CacheMediator extends AbstractMediator implements ManagedLifecycle,
 
     private static final String CONTENT_TYPE = "Content-Type";
 
+    /**
+     * The encoding of the serialized body element of cached xml responses.
+     */
+    private static final String CACHED_BODY_ENCODING = "UTF-8";
+
     /**
      * Cache configuration ID.
      */
@@ -165,6 +179,18 @@ public class CacheMediator extends AbstractMediator implements ManagedLifecycle,
      */
     private boolean addAgeHeaderEnabled = CachingConstants.DEFAULT_ADD_AGE_HEADER;
 
+    /**
+     * This specifies whether equivalent requests missing the cache should wait for the first of them to fetch the
+     * response from the backend, instead of all of them going to the backend.
+     */
+    private boolean requestCoalescingEnabled = false;
+
+    /**
+     * The time in milliseconds a request waits for the response of an equivalent in-flight request. The waiting
+     * request blocks its worker thread meanwhile, hence this should be kept close to the expected backend latency.
+     */
+    private long coalescingTimeout = CachingConstants.DEFAULT_COALESCING_TIMEOUT;
+
     /**
      * Variable to represent NOT_MODIFIED status code.
      */
@@ -248,7 +274,15 @@ public class CacheMediator extends AbstractMediator implements ManagedLifecycle,
         boolean result = true;
         try {
             if (synCtx.isResponse()) {
-                processResponseMessage(synCtx, cfgCtx, synLog);
+                try {
+                    processResponseMessage(synCtx, cfgCtx, synLog);
+                } finally {
+                    CachableResponse response = (CachableResponse) synCtx.getProperty(CachingConstants.CACHED_OBJECT);
+                    Object inFlightRequest = synCtx.getProperty(CachingConstants.IN_FLIGHT_REQUEST);
+                    if (response != null && inFlightRequest instanceof CountDownLatch) {
+                        response.completeInFlightRequest((CountDownLatch) inFlightRequest);
+                    }
+                }
             } else {
                 result = processRequestMessage(synCtx, synLog);
             }
@@ -309,26 +343,63 @@ public class CacheMediator extends AbstractMediator implements ManagedLifecycle,
         cachedResponse.setMaxMessageSize(maxMessageSize);
         cachedResponse.setCacheControlEnabled(cacheControlEnabled);
         cachedResponse.setAddAgeHeaderEnabled(addAgeHeaderEnabled);
-        if (cachedResponse.getResponsePayload() != null || cachedResponse.getResponseEnvelope() != null) {
-            // get the response from the cache and attach to the context and change the
-            // direction of the message
-            if (synLog.isTraceOrDebugEnabled()) {
-                synLog.traceOrDebug("Cache-hit for message ID : " + synCtx.getMessageID());
-            }
-            //Validate the response based on max-age and no-cache headers.
-            if (CachingConstants.HTTP_PROTOCOL_TYPE.equals(getProtocolType())
-                    && cachedResponse.isCacheControlEnabled() &&
-                    HttpCachingFilter.isValidCacheEntry(cachedResponse, synCtx)) {
-                return true;
+        if (cachedResponse.isCached()) {
+            return processCachedResponse(synCtx, synLog, msgCtx, cachedResponse);
+        }
+        if (requestCoalescingEnabled) {
+            CountDownLatch request = new CountDownLatch(1);
+            CountDownLatch inFlightRequest = cachedResponse.joinInFlightRequest(request, coalescingTimeout);
+            if (inFlightRequest == request) {
+                // the collector releases the requests waiting for this one
+                synCtx.setProperty(CachingConstants.IN_FLIGHT_REQUEST, request);
+            } else {
+                if (synLog.isTraceOrDebugEnabled()) {
+                    synLog.traceOrDebug("Waiting for the in-flight request with request hash : " + requestHash);
+                }
+                try {
+                    inFlightRequest.await(coalescingTimeout, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                if (cachedResponse.isCached()) {
+                    return processCachedResponse(synCtx, synLog, msgCtx, cachedResponse);
+                }
+                if (synLog.isTraceOrDebugEnabled()) {
+                    synLog.traceOrDebug("The in-flight request did not cache a response for the message ID : "
+                            + synCtx.getMessageID() + ". Sending the request to the backend");
+                }
             }
-            // mark as a response and replace envelope from cache
-            synCtx.setResponse(true);
-            replaceEnvelopeWithCachedResponse(synCtx, synLog, msgCtx, cachedResponse);
-            return false;
         }
         return true;
     }
 
+    /**
+     * Gets the response from the cache and attaches it to the context and changes the direction of the message.
+     *
+     * @param synCtx         incoming request message
+     * @param synLog         the Synapse log to use
+     * @param msgCtx         Axis2 context
+     * @param cachedResponse cached response
+     * @return should this mediator terminate further processing?
+     */
+    private boolean processCachedResponse(MessageContext synCtx, SynapseLog synLog,
+                                          org.apache.axis2.context.MessageContext msgCtx,
+                                          CachableResponse cachedResponse) {
+        if (synLog.isTraceOrDebugEnabled()) {
+            synLog.traceOrDebug("Cache-hit for message ID : " + synCtx.getMessageID());
+        }
+        //Validate the response based on max-age and no-cache headers.
+        if (CachingConstants.HTTP_PROTOCOL_TYPE.equals(getProtocolType())
+                && cachedResponse.isCacheControlEnabled() &&
+                HttpCachingFilter.isValidCacheEntry(cachedResponse, synCtx)) {
+            return true;
+        }
+        // mark as a response and replace envelope from cache
+        synCtx.setResponse(true);
+        replaceEnvelopeWithCachedResponse(synCtx, synLog, msgCtx, cachedResponse);
+        return false;
+    }
+
     /**
      * This method returns the existing cached response.
      * @param synCtx Message context.
@@ -349,6 +420,10 @@ public class CacheMediator extends AbstractMediator implements ManagedLifecycle,
                 }
                 msgCtx.getEnvelope().getBody().addChild(response);
 
+            } else if (!collector && onCacheHitSequence == null && onCacheHitRef == null
+                    && cachedResponse.getResponseBody() != null) {
+                // the response is sent back as it is, hence the cached body is written out without building it
+                msgCtx.setEnvelope(createEnvelopeWithCachedBody(cachedResponse));
             } else {
                 msgCtx.setEnvelope(MessageHelper.cloneSOAPEnvelope(cachedResponse.getResponseEnvelope()));
             }
@@ -415,6 +490,99 @@ public class CacheMediator extends AbstractMediator implements ManagedLifecycle,
         }
     }
 
+    /**
+     * Creates an envelope having the serialized body element of the cached response as an {@link OMElement} backed
+     * by the cached bytes. The bytes are written out directly when the message is serialized, unless the element is
+     * accessed in the meantime.
+     *
+     * @param cachedResponse Cached response.
+     * @return the response envelope
+     */
+    static SOAPEnvelope createEnvelopeWithCachedBody(CachableResponse cachedResponse) {
+        SOAPEnvelope cachedEnvelope = cachedResponse.getResponseEnvelope();
+        SOAPFactory factory = (SOAPFactory) cachedEnvelope.getOMFactory();
+        SOAPEnvelope envelope = factory.createSOAPEnvelope();
+        if (cachedEnvelope.getHeader() != null) {
+            factory.createSOAPHeader(envelope);
+        }
+        SOAPBody body = factory.createSOAPBody(envelope);
+        QName bodyName = cachedResponse.getResponseBodyName();
+        OMNamespace namespace = bodyName.getNamespaceURI().isEmpty() ? null :
+                factory.createOMNamespace(bodyName.getNamespaceURI(), bodyName.getPrefix());
+        body.addChild(factory.createOMElement(new ByteArrayDataSource(cachedResponse.getResponseBody(),
+                CACHED_BODY_ENCODING), bodyName.getLocalPart(), namespace));
+        return envelope;
+    }
+
+    /**
+     * Serializes the body element of the response once, so that the cache hits which are sent back without further
+     * mediation do not need to clone the envelope. Responses having SOAP header blocks or more than one body element
+     * are always served by cloning the envelope.
+     *
+     * @param response the response to be cached
+     * @param envelope the response envelope
+     * @param synLog   the Synapse log to use
+     */
+    private void storeResponseBody(CachableResponse response, SOAPEnvelope envelope, SynapseLog synLog) {
+        response.setResponseBody(null, null);
+        if (envelope.getHeader() != null && envelope.getHeader().getFirstElement() != null) {
+            return;
+        }
+        Iterator bodyElements = envelope.getBody().getChildElements();
+        if (!bodyElements.hasNext()) {
+            return;
+        }
+        OMElement bodyElement = (OMElement) bodyElements.next();
+        if (bodyElements.hasNext()) {
+            return;
+        }
+        try {
+            response.setResponseBody(serializeBodyElement(bodyElement), bodyElement.getQName());
+        } catch (XMLStreamException e) {
+            synLog.traceOrDebug("Unable to serialize the response body, the response envelope will be cloned " +
+                    "on cache hits");
+        }
+    }
+
+    /**
+     * Serializes a body element together with the namespaces declared on the envelope and the body. The content of
+     * the element may refer to those prefixes, e.g. in xsi:type values, which would not be declared otherwise once
+     * the element is written out on its own.
+     *
+     * @param bodyElement the body element of the response
+     * @return the body element encoded in UTF-8
+     * @throws XMLStreamException if the element cannot be serialized
+     */
+    static byte[] serializeBodyElement(OMElement bodyElement) throws XMLStreamException {
+        OMElement element = bodyElement.cloneOMElement();
+        // the body declarations are added first since they take precedence over the envelope declarations
+        for (OMContainer parent = bodyElement.getParent(); parent instanceof OMElement;
+             parent = ((OMElement) parent).getParent()) {
+            Iterator namespaces = ((OMElement) parent).getAllDeclaredNamespaces();
+            while (namespaces.hasNext()) {
+                OMNamespace namespace = (OMNamespace) namespaces.next();
+                String prefix = namespace.getPrefix();
+                // the default namespace is not inherited since it would change the names of unqualified elements
+                if (prefix != null && !prefix.isEmpty() && !isDeclared(element, prefix)) {
+                    element.declareNamespace(namespace.getNamespaceURI(), prefix);
+                }
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        element.serialize(out);
+        return out.toByteArray();
+    }
+
+    private static boolean isDeclared(OMElement element, String prefix) {
+        Iterator namespaces = element.getAllDeclaredNamespaces();
+        while (namespaces.hasNext()) {
+            if (prefix.equals(((OMNamespace) namespaces.next()).getPrefix())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Process a response message through this cache mediator. This finds the Cache used, and updates it for the
      * corresponding request hash
@@ -487,6 +655,7 @@ public class CacheMediator extends AbstractMediator implements ManagedLifecycle,
                     }
                     response.setResponsePayload(responsePayload);
                     response.setResponseEnvelope(null);
+                    response.setResponseBody(null, null);
                     response.setJson(true);
                 } else {
                     SOAPEnvelope clonedEnvelope = MessageHelper.cloneSOAPEnvelope(synCtx.getEnvelope());
@@ -513,6 +682,7 @@ public class CacheMediator extends AbstractMediator implements ManagedLifecycle,
 
                     response.setResponsePayload(null);
                     response.setResponseEnvelope(clonedEnvelope);
+                    storeResponseBody(response, clonedEnvelope, synLog);
                     response.setJson(false);
 
                 }
@@ -905,6 +1075,42 @@ public class CacheMediator extends AbstractMediator implements ManagedLifecycle,
         this.addAgeHeaderEnabled = addAgeHeaderEnabled;
     }
 
+    /**
+     * This method returns whether request coalescing is enabled.
+     *
+     * @return whether equivalent requests missing the cache wait for the first of them
+     */
+    public boolean isRequestCoalescingEnabled() {
+        return requestCoalescingEnabled;
+    }
+
+    /**
+     * This method sets whether request coalescing is enabled.
+     *
+     * @param requestCoalescingEnabled whether equivalent requests missing the cache wait for the first of them
+     */
+    public void setRequestCoalescingEnabled(boolean requestCoalescingEnabled) {
+        this.requestCoalescingEnabled = requestCoalescingEnabled;
+    }
+
+    /**
+     * This method returns the time a request waits for the response of an equivalent in-flight request.
+     *
+     * @return the coalescing timeout in milliseconds
+     */
+    public long getCoalescingTimeout() {
+        return coalescingTimeout;
+    }
+
+    /**
+     * This method sets the time a request waits for the response of an equivalent in-flight request.
+     *
+     * @param coalescingTimeout the coalescing timeout in milliseconds
+     */
+    public void setCoalescingTimeout(long coalescingTimeout) {
+        this.coalescingTimeout = coalescingTimeout;
+    }
+
     /**
      * This method sets the id of the cache configuration.
      *
@@ -53,6 +53,16 @@ public class CacheMediatorFactory extends AbstractMediatorFactory {
      */
     private static final QName ATT_MAX_MSG_SIZE = new QName(CachingConstants.MAX_MESSAGE_SIZE_STRING);
 
+    /**
+     * QName of the request coalescing flag.
+     */
+    private static final QName ATT_COALESCE_REQUESTS = new QName(CachingConstants.COALESCE_REQUESTS_STRING);
+
+    /**
+     * QName of the request coalescing timeout.
+     */
+    private static final QName ATT_COALESCING_TIMEOUT = new QName(CachingConstants.COALESCING_TIMEOUT_STRING);
+
     /**
      * QName of the onCacheHit mediator sequence reference.
      */
@@ -183,6 +193,17 @@ public class CacheMediatorFactory extends AbstractMediatorFactory {
                     cache.setMaxMessageSize(-1);
                 }
 
+                OMAttribute coalesceRequestsAttr = elem.getAttribute(ATT_COALESCE_REQUESTS);
+                if (coalesceRequestsAttr != null && coalesceRequestsAttr.getAttributeValue() != null) {
+                    cache.setRequestCoalescingEnabled(
+                            Boolean.parseBoolean(coalesceRequestsAttr.getAttributeValue().trim()));
+                }
+
+                OMAttribute coalescingTimeoutAttr = elem.getAttribute(ATT_COALESCING_TIMEOUT);
+                if (coalescingTimeoutAttr != null && coalescingTimeoutAttr.getAttributeValue() != null) {
+                    cache.setCoalescingTimeout(Long.parseLong(coalescingTimeoutAttr.getAttributeValue().trim()));
+                }
+
                 OMAttribute idAttribute = elem.getAttribute(ATT_ID);
                 if (idAttribute != null && idAttribute.getAttributeValue() != null) {
                     cache.setId(idAttribute.getAttributeValue().trim());
@@ -70,6 +70,14 @@ public class CacheMediatorSerializer extends AbstractMediatorSerializer {
                                               Integer.toString(cacheMediator.getMaxMessageSize())));
             }
 
+            if (cacheMediator.isRequestCoalescingEnabled()) {
+                cacheElem.addAttribute(
+                        fac.createOMAttribute(CachingConstants.COALESCE_REQUESTS_STRING, nullNS, "true"));
+                cacheElem.addAttribute(
+                        fac.createOMAttribute(CachingConstants.COALESCING_TIMEOUT_STRING, nullNS,
+                                              Long.toString(cacheMediator.getCoalescingTimeout())));
+            }
+
             if (isPreviousCacheImplementation) {
                 if (!cacheMediator.getId().trim().isEmpty()) {
                     cacheElem.addAttribute(
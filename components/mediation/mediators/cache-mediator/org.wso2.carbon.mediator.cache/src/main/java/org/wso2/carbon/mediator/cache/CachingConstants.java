@@ -74,6 +74,11 @@ public class CachingConstants {
      */
     public static final String CACHED_OBJECT = "CachableResponse";
 
+    /**
+     * String key to store the latch of a request fetching the response from the backend in the message context.
+     */
+    public static final String IN_FLIGHT_REQUEST = "CacheInFlightRequest";
+
     /**
      * The the header that would be used to return the hashed value to invalidate this value.
      */
@@ -94,6 +99,12 @@ public class CachingConstants {
      */
     public static final boolean DEFAULT_ADD_AGE_HEADER = false;
 
+    /**
+     * The default time in milliseconds a request waits for the response of an equivalent in-flight request when
+     * request coalescing is enabled. Waiting requests block their worker threads.
+     */
+    public static final long DEFAULT_COALESCING_TIMEOUT = 2000;
+
     /**
      * Headers which need to be permanently excluded in hashing due to its dynamic nature.
      */
@@ -107,6 +118,8 @@ public class CachingConstants {
     public static final String TIMEOUT_STRING = "timeout";
     public static final String COLLECTOR_STRING = "collector";
     public static final String MAX_MESSAGE_SIZE_STRING = "maxMessageSize";
+    public static final String COALESCE_REQUESTS_STRING = "coalesceRequests";
+    public static final String COALESCING_TIMEOUT_STRING = "coalescingTimeout";
     public static final String ON_CACHE_HIT_STRING = "onCacheHit";
     public static final String SEQUENCE_STRING = "sequence";
     public static final String PROTOCOL_STRING = "protocol";
@@ -77,14 +77,37 @@ public class HttpRequestHashGenerator implements DigestGenerator {
      * {@inheritDoc}
      */
     public String getDigest(MessageContext msgContext) throws CachingException {
+        Map<String, String> transportHeaders = getHeadersToHash(msgContext);
+        boolean isGet = isPayloadExcluded(msgContext);
+        if (transportHeaders != null) {
+            if (isGet) {
+                //If the HTTP method is GET do not hash the payload. Hash only url and headers.
+                return handleGetWithHeaders(msgContext, transportHeaders);
+            } else {
+                //If the HTTP method is POST hash the payload along with the url and the headers
+                return handlePostWithHeaders(msgContext, transportHeaders);
+            }
+        } else {
+            //Do not hash the headers (exclude all headers)
+            if (isGet) {
+                return handleGetWithoutHeaders(msgContext);
+            } else {
+                return handlePostWithoutHeaders(msgContext);
+            }
+        }
+    }
+
+    /**
+     * Gets the transport headers to be hashed based on the included or excluded headers.
+     *
+     * @param msgContext - MessageContext of the request
+     * @return the headers to be hashed, or null if all the headers are excluded
+     */
+    protected Map<String, String> getHeadersToHash(MessageContext msgContext) {
         boolean allHeaders = false;
         if (ArrayUtils.isNotEmpty(headers)) {
             allHeaders = EXCLUDE_ALL_VAL.equals(headers[0]);
         }
-        String method = (String) msgContext.getProperty(Constants.Configuration.HTTP_METHOD);
-        boolean isGet = msgContext.isDoingREST() && (PassThroughConstants.HTTP_GET.equals(method) ||
-                PassThroughConstants.HTTP_DELETE.equals(method) ||
-                PassThroughConstants.HTTP_HEAD.equals(method));
         if (isIncludeHeadersMode) {
             // This is header inclusion mode
             Map<String, String> transportHeaders = getTransportHeaders(msgContext);
@@ -97,37 +120,29 @@ public class HttpRequestHashGenerator implements DigestGenerator {
                 transportHeaders.clear();
                 transportHeaders.putAll(tmpHeaders);
             }
-            if (isGet) {
-                //If the HTTP method is GET do not hash the payload. Hash only url and headers.
-                return handleGetWithHeaders(msgContext, transportHeaders);
-            } else {
-                //If the HTTP method is POST hash the payload along with the url and the headers
-                return handlePostWithHeaders(msgContext, transportHeaders);
-            }
-        } else {
-            // This is header exclusion mode
-            if (!allHeaders) {
-                // Exclude only some headers
-                Map<String, String> transportHeaders = getTransportHeaders(msgContext);
-                for (String header : headers) {
-                    transportHeaders.remove(header);
-                }
-                if (isGet) {
-                    //If the HTTP method is GET do not hash the payload. Hash only url and headers.
-                    return handleGetWithHeaders(msgContext, transportHeaders);
-                } else {
-                    //If the HTTP method is POST hash the payload along with the url and the headers
-                    return handlePostWithHeaders(msgContext, transportHeaders);
-                }
-            } else {
-                //Do not hash the headers (exclude all headers)
-                if (isGet) {
-                    return handleGetWithoutHeaders(msgContext);
-                } else {
-                    return handlePostWithoutHeaders(msgContext);
-                }
+            return transportHeaders;
+        } else if (!allHeaders) {
+            // This is header exclusion mode, exclude only some headers
+            Map<String, String> transportHeaders = getTransportHeaders(msgContext);
+            for (String header : headers) {
+                transportHeaders.remove(header);
             }
+            return transportHeaders;
         }
+        return null;
+    }
+
+    /**
+     * Checks whether the payload of the request is not hashed, i.e. for the REST requests without a payload.
+     *
+     * @param msgContext - MessageContext of the request
+     * @return true if only the url and the headers are hashed
+     */
+    protected boolean isPayloadExcluded(MessageContext msgContext) {
+        String method = (String) msgContext.getProperty(Constants.Configuration.HTTP_METHOD);
+        return msgContext.isDoingREST() && (PassThroughConstants.HTTP_GET.equals(method) ||
+                PassThroughConstants.HTTP_DELETE.equals(method) ||
+                PassThroughConstants.HTTP_HEAD.equals(method));
     }
 
 
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.mediator.cache.digest;
+
+import com.google.common.hash.Funnels;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import org.apache.axiom.soap.SOAPBody;
+import org.apache.axiom.soap.SOAPEnvelope;
+import org.apache.axis2.context.MessageContext;
+import org.apache.synapse.commons.json.JsonUtil;
+import org.wso2.carbon.mediator.cache.CachingException;
+
+import java.util.Map;
+import javax.xml.stream.XMLStreamException;
+
+/**
+ * The {@link DigestGenerator} which hashes the url, the selected headers and the payload of the request in a single
+ * pass using the 128 bit MurmurHash3 function. The payload is streamed to the hash function as it is serialized,
+ * instead of computing and concatenating a digest for each element, attribute and text node. Unlike the
+ * {@link HttpRequestHashGenerator}, the payload is not hashed in its canonical form, hence XML payloads which differ
+ * only in formatting, namespace prefixes or attribute order get different keys.
+ */
+public class StreamingRequestHashGenerator extends HttpRequestHashGenerator {
+
+    static final long serialVersionUID = 1L;
+
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+    /**
+     * Separates the hashed values, so that the boundaries of the values are part of the hash.
+     */
+    private static final byte SEPARATOR = 0;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getDigest(MessageContext msgContext) throws CachingException {
+        Hasher hasher = HASH_FUNCTION.newHasher();
+        if (msgContext.getTo() != null) {
+            hasher.putUnencodedChars(msgContext.getTo().getAddress());
+        }
+        hasher.putByte(SEPARATOR);
+        Map<String, String> transportHeaders = getHeadersToHash(msgContext);
+        if (transportHeaders != null) {
+            for (Map.Entry<String, String> header : transportHeaders.entrySet()) {
+                // these change with each request
+                if (header.getKey().equalsIgnoreCase("Date") || header.getKey().equalsIgnoreCase("User-Agent")) {
+                    continue;
+                }
+                hasher.putUnencodedChars(header.getKey()).putByte(SEPARATOR);
+                if (header.getValue() != null) {
+                    hasher.putUnencodedChars(header.getValue());
+                }
+                hasher.putByte(SEPARATOR);
+            }
+        }
+        if (!isPayloadExcluded(msgContext)) {
+            hasher.putByte(SEPARATOR);
+            hashPayload(msgContext, hasher);
+        }
+        return hasher.hash().toString();
+    }
+
+    private void hashPayload(MessageContext msgContext, Hasher hasher) throws CachingException {
+        if (JsonUtil.hasAJsonPayload(msgContext)) {
+            hasher.putBytes(JsonUtil.jsonPayloadToByteArray(msgContext));
+            return;
+        }
+        SOAPEnvelope envelope = msgContext.getEnvelope();
+        SOAPBody body = envelope != null ? envelope.getBody() : null;
+        if (body == null) {
+            return;
+        }
+        try {
+            body.serialize(Funnels.asOutputStream(hasher));
+        } catch (XMLStreamException e) {
+            throw new CachingException("Error in calculating the digest value for the request payload", e);
+        }
+    }
+}
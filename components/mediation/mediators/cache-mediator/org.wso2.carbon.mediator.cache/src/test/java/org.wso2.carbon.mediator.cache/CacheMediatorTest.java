@@ -21,8 +21,11 @@ import com.google.common.net.HttpHeaders;
 import org.apache.axiom.om.OMAbstractFactory;
 import org.apache.axiom.om.OMElement;
 import org.apache.axiom.om.util.UUIDGenerator;
+import org.apache.axiom.soap.SOAPEnvelope;
+import org.apache.axiom.soap.impl.builder.StAXSOAPModelBuilder;
 import org.apache.axiom.util.UIDGenerator;
 import org.apache.axis2.AxisFault;
+import org.apache.axis2.addressing.EndpointReference;
 import org.apache.axis2.context.ConfigurationContext;
 import org.apache.axis2.context.OperationContext;
 import org.apache.axis2.context.ServiceContext;
@@ -35,17 +38,24 @@ import org.apache.synapse.core.axis2.Axis2MessageContext;
 import org.apache.synapse.transport.nhttp.NhttpConstants;
 import org.custommonkey.xmlunit.XMLTestCase;
 import org.custommonkey.xmlunit.XMLUnit;
+import org.wso2.carbon.mediator.cache.digest.StreamingRequestHashGenerator;
 import org.wso2.carbon.mediator.cache.util.HttpCachingFilter;
 
+import java.io.StringReader;
 import java.text.DateFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLInputFactory;
 
 /**
  * Test the functionality of the {@link CacheMediatorFactory} and the {@link CacheMediatorSerializer}
@@ -72,6 +82,22 @@ public class CacheMediatorTest extends XMLTestCase {
                     "            </protocol>\n" +
                     "            <implementation maxSize=\"20\"/>\n" +
                     "         </cache>";
+    private static final String coalescingMediatorXml =
+            "<cache xmlns=\"http://ws.apache.org/ns/synapse\" collector=\"false\" timeout=\"60\" " +
+                    "maxMessageSize=\"1000\" coalesceRequests=\"true\" coalescingTimeout=\"500\">\n" +
+                    "            <onCacheHit>\n" +
+                    "               <respond/>\n" +
+                    "            </onCacheHit>\n" +
+                    "            <protocol type=\"HTTP\">\n" +
+                    "               <methods>GET</methods>\n" +
+                    "               <responseCodes>.*</responseCodes>\n" +
+                    "               <enableCacheControl>false</enableCacheControl>\n" +
+                    "               <includeAgeHeader>false</includeAgeHeader>\n" +
+                    "               <hashGenerator>org.wso2.carbon.mediator.cache.digest" +
+                    ".HttpRequestHashGenerator</hashGenerator>\n" +
+                    "            </protocol>\n" +
+                    "            <implementation maxSize=\"20\"/>\n" +
+                    "         </cache>";
     public static final String CACHE_CONTROL_HEADER = "no-cache, no-store, max-age=80";
     private ConfigurationContext configContext;
     private SynapseConfiguration synapseConfig;
@@ -100,6 +126,133 @@ public class CacheMediatorTest extends XMLTestCase {
         assertEquals("Incorrect value for the maxSize",mediator.getInMemoryCacheSize(), 20);
         assertEquals("Incorrect value for the enableCacheControl",mediator.isCacheControlEnabled(), true);
         assertEquals("Incorrect value for the includeAgeHeader",mediator.isAddAgeHeaderEnabled(), true);
+        assertFalse("Request coalescing should be disabled by default", mediator.isRequestCoalescingEnabled());
+        assertEquals("Incorrect default value for the coalescingTimeout", mediator.getCoalescingTimeout(),
+                CachingConstants.DEFAULT_COALESCING_TIMEOUT);
+    }
+
+    public void testCoalescingMediatorFactory() {
+        OMElement mediatorElement = SynapseConfigUtils.stringToOM(coalescingMediatorXml);
+
+        CacheMediatorFactory factory = new CacheMediatorFactory();
+        CacheMediator mediator =
+                (CacheMediator) factory.createSpecificMediator(mediatorElement, new Properties());
+
+        assertTrue("Incorrect value for the coalesceRequests", mediator.isRequestCoalescingEnabled());
+        assertEquals("Incorrect value for the coalescingTimeout", mediator.getCoalescingTimeout(), 500);
+    }
+
+    public void testCoalescingMediatorSerializer() throws Exception {
+        OMElement mediatorElement = SynapseConfigUtils.stringToOM(coalescingMediatorXml);
+
+        CacheMediatorFactory factory = new CacheMediatorFactory();
+        CacheMediator mediator =
+                (CacheMediator) factory.createSpecificMediator(mediatorElement, new Properties());
+        CacheMediatorSerializer serializer = new CacheMediatorSerializer();
+        OMElement serializedMediatorElement = serializer.serializeSpecificMediator(mediator);
+
+        assertEquals("Incorrect value for the serialized coalesceRequests", "true",
+                serializedMediatorElement.getAttributeValue(new QName(CachingConstants.COALESCE_REQUESTS_STRING)));
+        assertEquals("Incorrect value for the serialized coalescingTimeout", "500",
+                serializedMediatorElement.getAttributeValue(new QName(CachingConstants.COALESCING_TIMEOUT_STRING)));
+        CacheMediator recreated = (CacheMediator) factory.createSpecificMediator(serializedMediatorElement,
+                new Properties());
+        assertTrue(recreated.isRequestCoalescingEnabled());
+        assertEquals(recreated.getCoalescingTimeout(), 500);
+    }
+
+    /**
+     * Test case for joining the request which is fetching the response from the backend.
+     *
+     * @throws InterruptedException if interrupted while waiting for the in-flight request
+     */
+    public void testRequestCoalescing() throws InterruptedException {
+        CachableResponse cachedResponse = new CachableResponse();
+        CountDownLatch firstRequest = new CountDownLatch(1);
+        assertSame("The first request should fetch the response.", firstRequest,
+                cachedResponse.joinInFlightRequest(firstRequest, 10000));
+        CountDownLatch inFlightRequest = cachedResponse.joinInFlightRequest(new CountDownLatch(1), 10000);
+        assertSame("Equivalent requests should wait for the in-flight request.", firstRequest, inFlightRequest);
+
+        cachedResponse.setResponsePayload(new byte[]{1});
+        cachedResponse.completeInFlightRequest(firstRequest);
+        assertTrue("Waiting requests should be released.", inFlightRequest.await(0, TimeUnit.MILLISECONDS));
+        assertTrue(cachedResponse.isCached());
+
+        cachedResponse.clean();
+        CountDownLatch nextRequest = new CountDownLatch(1);
+        assertSame("A request should fetch the response again once it is not cached.", nextRequest,
+                cachedResponse.joinInFlightRequest(nextRequest, 10000));
+    }
+
+    /**
+     * Test case for serving a cached body which refers to prefixes declared on the envelope and the body.
+     *
+     * @throws Exception if the envelope cannot be built or serialized
+     */
+    public void testCachedBodyKeepsInScopeNamespaces() throws Exception {
+        String envelopeXml = "<soapenv:Envelope xmlns:soapenv=\"http://www.w3.org/2003/05/soap-envelope\" " +
+                "xmlns:m=\"http://example.org/quote\" xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\">" +
+                "<soapenv:Body xmlns:t=\"http://example.org/types\">" +
+                "<m:getQuoteResponse><m:price xsi:type=\"t:decimal\">10</m:price></m:getQuoteResponse>" +
+                "</soapenv:Body></soapenv:Envelope>";
+        SOAPEnvelope envelope = new StAXSOAPModelBuilder(XMLInputFactory.newInstance()
+                .createXMLStreamReader(new StringReader(envelopeXml))).getSOAPEnvelope();
+        OMElement bodyElement = envelope.getBody().getFirstElement();
+
+        CachableResponse cachedResponse = new CachableResponse();
+        cachedResponse.setResponseEnvelope(envelope);
+        byte[] responseBody = CacheMediator.serializeBodyElement(bodyElement);
+        cachedResponse.setResponseBody(responseBody, bodyElement.getQName());
+
+        OMElement storedElement = SynapseConfigUtils.stringToOM(new String(responseBody, "UTF-8"));
+        OMElement storedPrice = storedElement.getFirstElement();
+        assertEquals("http://example.org/types", storedPrice.findNamespaceURI("t").getNamespaceURI());
+        assertEquals("http://www.w3.org/2001/XMLSchema-instance",
+                storedPrice.findNamespaceURI("xsi").getNamespaceURI());
+
+        OMElement servedElement = CacheMediator.createEnvelopeWithCachedBody(cachedResponse).getBody()
+                .getFirstElement();
+        assertEquals(bodyElement.getQName(), servedElement.getQName());
+        OMElement servedPrice = servedElement.getFirstElement();
+        assertEquals("10", servedPrice.getText());
+        assertEquals("http://example.org/types", servedPrice.findNamespaceURI("t").getNamespaceURI());
+        assertEquals("t:decimal", servedPrice.getAttributeValue(
+                new QName("http://www.w3.org/2001/XMLSchema-instance", "type")));
+        assertEquals("The envelope should not be modified.", 0, countDeclaredNamespaces(bodyElement));
+
+        cachedResponse.clean();
+        assertNull(cachedResponse.getResponseBody());
+        assertNull(cachedResponse.getResponseBodyName());
+    }
+
+    private int countDeclaredNamespaces(OMElement element) {
+        int count = 0;
+        for (Iterator namespaces = element.getAllDeclaredNamespaces(); namespaces.hasNext(); namespaces.next()) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Test case for an in-flight request completing after it was taken over for exceeding the timeout.
+     */
+    public void testTimedOutInFlightRequestCompletion() {
+        CachableResponse cachedResponse = new CachableResponse();
+        CountDownLatch slowRequest = new CountDownLatch(1);
+        cachedResponse.joinInFlightRequest(slowRequest, 10000);
+        CountDownLatch takingOverRequest = new CountDownLatch(1);
+        assertSame("An in-flight request exceeding the timeout should be taken over.", takingOverRequest,
+                cachedResponse.joinInFlightRequest(takingOverRequest, 0));
+
+        cachedResponse.completeInFlightRequest(slowRequest);
+        assertEquals("The slow request should release its own waiters.", 0, slowRequest.getCount());
+        assertEquals("The request which took over should not be released.", 1, takingOverRequest.getCount());
+        assertSame("Equivalent requests should wait for the request which took over.", takingOverRequest,
+                cachedResponse.joinInFlightRequest(new CountDownLatch(1), 10000));
+
+        cachedResponse.completeInFlightRequest(takingOverRequest);
+        assertEquals(0, takingOverRequest.getCount());
     }
 
 
@@ -220,6 +373,50 @@ public class CacheMediatorTest extends XMLTestCase {
         assertEquals(dateFormat.format(cachedResponse.getResponseFetchedTime()), responseOriginatedTime);
     }
 
+    /**
+     * Test case for the digest generated by the StreamingRequestHashGenerator.
+     *
+     * @throws AxisFault when exception happens on message context creation.
+     */
+    public void testStreamingRequestHashGenerator() throws AxisFault {
+        StreamingRequestHashGenerator generator = new StreamingRequestHashGenerator();
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(CachingConstants.EXCLUDED_HEADERS_PROPERTY, new String[]{"Exclude-Me"});
+        properties.put(CachingConstants.PERMANENTLY_EXCLUDED_HEADERS_STRING, new String[0]);
+        generator.init(properties);
+
+        String digest = generator.getDigest(createRequest("<order><id>1</id></order>", "a", "x"));
+        assertEquals("Equivalent requests should have the same digest.", digest,
+                generator.getDigest(createRequest("<order><id>1</id></order>", "a", "y")));
+        assertFalse("Requests with different payloads should have different digests.",
+                digest.equals(generator.getDigest(createRequest("<order><id>2</id></order>", "a", "x"))));
+        assertFalse("Requests with different headers should have different digests.",
+                digest.equals(generator.getDigest(createRequest("<order><id>1</id></order>", "b", "x"))));
+    }
+
+    /**
+     * Create an Axis2 request with the given payload and headers.
+     *
+     * @param payload        the payload of the request
+     * @param acceptHeader   value of the Accept header
+     * @param excludedHeader value of the header excluded from hashing
+     * @return the request
+     * @throws AxisFault when exception happens on message context creation.
+     */
+    private org.apache.axis2.context.MessageContext createRequest(String payload, String acceptHeader,
+                                                                  String excludedHeader) throws AxisFault {
+        MessageContext synCtx = createMessageContext();
+        synCtx.getEnvelope().getBody().addChild(SynapseConfigUtils.stringToOM(payload));
+        org.apache.axis2.context.MessageContext msgCtx = ((Axis2MessageContext) synCtx).getAxis2MessageContext();
+        msgCtx.setTo(new EndpointReference("http://localhost:8280/orders"));
+        Map<String, String> headers = new HashMap<>();
+        headers.put("Accept", acceptHeader);
+        headers.put("Exclude-Me", excludedHeader);
+        headers.put("Date", new Date().toString());
+        msgCtx.setProperty(org.apache.axis2.context.MessageContext.TRANSPORT_HEADERS, headers);
+        return msgCtx;
+    }
+
     /**
      * Create Axis2 Message Context.
      *
@@ -25,6 +25,7 @@ import org.apache.axiom.om.OMElement;
 import org.apache.axiom.om.OMFactory;
 import org.apache.axiom.om.OMNamespace;
 import org.apache.axiom.om.impl.OMNamespaceImpl;
+import org.apache.axiom.om.impl.llom.OMSourcedElementImpl;
 import org.apache.axiom.soap.SOAP11Constants;
 import org.apache.axiom.soap.SOAP12Constants;
 import org.apache.axiom.soap.SOAPEnvelope;
@@ -45,15 +46,24 @@ import org.apache.synapse.util.MessageHelper;
 import org.w3c.dom.Document;
 import org.wso2.micro.integrator.dataservices.core.DataServiceFault;
 import org.wso2.micro.integrator.dataservices.core.DataServiceProcessor;
+import org.wso2.micro.integrator.dataservices.core.engine.DSOMDataSource;
+import org.wso2.micro.integrator.dataservices.core.engine.DataService;
+import org.wso2.micro.integrator.dataservices.core.engine.ParamValue;
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.wso2.micro.integrator.dataservices.core.dispatch.DataServiceRequest.AXIS_OPERATION_NAME;
 
@@ -84,10 +94,7 @@ public class DataServiceCallMediator extends AbstractMediator {
                 DataServiceCallMediatorConstants.PAYLOAD_PREFIX);
         fac = OMAbstractFactory.getOMFactory();
         try {
-            // clone the message context to append payloads to invoke dataservice
-            MessageContext cloneMessageContext = MessageHelper.cloneMessageContext(messageContext);
-            // Casting the synapse message context to axis2 message context
-            org.apache.axis2.context.MessageContext axis2MessageContext = ((Axis2MessageContext) cloneMessageContext)
+            org.apache.axis2.context.MessageContext axis2MessageContext = ((Axis2MessageContext) messageContext)
                     .getAxis2MessageContext();
             // Get the Axis service name of the give dataservice name
             AxisService axisService = axis2MessageContext.getConfigurationContext().getAxisConfiguration()
@@ -97,6 +104,16 @@ public class DataServiceCallMediator extends AbstractMediator {
                     synLog.traceOrDebug("The axisService :" + axisService.getName());
                     synLog.traceOrDebug("The service name space URI : " + axisService.getTargetNamespace());
                 }
+                DataService dataService = DataServiceProcessor.getDataService(axisService);
+                if (dataService != null && isDirectInvocation()) {
+                    // Single inline operations are invoked with the parameters, without building a payload
+                    dispatchToService(axis2MessageContext, dataService, messageContext, synLog);
+                    return true;
+                }
+                // clone the message context to append payloads to invoke dataservice
+                MessageContext cloneMessageContext = MessageHelper.cloneMessageContext(messageContext);
+                // Casting the synapse message context to axis2 message context
+                axis2MessageContext = ((Axis2MessageContext) cloneMessageContext).getAxis2MessageContext();
                 // Set the axis service into the axis2 message context
                 axis2MessageContext.setAxisService(axisService);
                 // Check configured source type for inline/body
@@ -105,7 +122,7 @@ public class DataServiceCallMediator extends AbstractMediator {
                 } else {
                     axis2MessageContext = handleSourceTypeBody(messageContext, axis2MessageContext);
                 }
-                dispatchToService(axis2MessageContext, messageContext, synLog);
+                dispatchToService(axis2MessageContext, null, messageContext, synLog);
             } else {
                 handleException("The data service,  named '" + serviceName + "' does not exist. ", messageContext);
             }
@@ -119,6 +136,15 @@ public class DataServiceCallMediator extends AbstractMediator {
         return true;
     }
 
+    /**
+     * Checks whether the configured operations can be invoked directly with typed parameters, i.e. a single
+     * operation with an inline source.
+     */
+    private boolean isDirectInvocation() {
+        return DataServiceCallMediatorConstants.INLINE_SOURCE.equalsIgnoreCase(sourceType)
+                && DataServiceCallMediatorConstants.OperationsType.SINGLE.equals(getOperations().getType());
+    }
+
     /**
      * Method to handle configurations when source type is inline.
      *
@@ -202,11 +228,23 @@ public class DataServiceCallMediator extends AbstractMediator {
         return payload;
     }
 
+    /**
+     * Invokes the data service and sets the result according to the target type. If a data service is given, the
+     * single operation is invoked directly with the configured parameters, otherwise the payload of the given
+     * axis2 message context is dispatched.
+     */
     private void dispatchToService(org.apache.axis2.context.MessageContext axis2MessageContext,
-                                   MessageContext messageContext, SynapseLog synLog) {
+                                   DataService dataService, MessageContext messageContext, SynapseLog synLog) {
 
         try {
-            OMElement omElement = DataServiceProcessor.dispatch(axis2MessageContext);
+            OMElement omElement;
+            if (dataService != null) {
+                Operation operation = (Operation) getOperations().getOperations().get(0);
+                omElement = DataServiceProcessor.invoke(dataService, operation.getOperationName(),
+                        createParams(operation, messageContext), axis2MessageContext);
+            } else {
+                omElement = DataServiceProcessor.dispatch(axis2MessageContext);
+            }
             if (synLog.isTraceOrDebugEnabled()) {
                 synLog.traceOrDebug("The result OMElement from the dataservice : " + omElement);
             }
@@ -224,12 +262,25 @@ public class DataServiceCallMediator extends AbstractMediator {
                     synLog.traceOrDebug("The result property : " + messageContext.
                             getProperty(targetPropertyName));
                 }
+            } else if (omElement != null && DataServiceCallMediatorConstants.TARGET_JSON_TYPE.equals(targetType)) {
+                // set the result as the JSON payload of the message according to the target type, results which
+                // cannot be written as JSON directly are converted by the JSON message formatter
+                if (writeJsonResult(omElement, messageContext)) {
+                    if (synLog.isTraceOrDebugEnabled()) {
+                        synLog.traceOrDebug("The result is written as the JSON payload");
+                    }
+                } else {
+                    setResultPayload(omElement, messageContext);
+                }
+                org.apache.axis2.context.MessageContext axisMsgCtx = ((Axis2MessageContext) messageContext)
+                        .getAxis2MessageContext();
+                axisMsgCtx.setProperty(org.apache.axis2.Constants.Configuration.MESSAGE_TYPE,
+                        DataServiceCallMediatorConstants.APPLICATION_JSON);
+                axisMsgCtx.setProperty(org.apache.axis2.Constants.Configuration.CONTENT_TYPE,
+                        DataServiceCallMediatorConstants.APPLICATION_JSON);
             } else if (omElement != null) {
                 //	set the result payload as envelope in to message context according to the target type
-                JsonUtil.removeJsonPayload(((Axis2MessageContext) messageContext).getAxis2MessageContext());
-                messageContext.getEnvelope().getBody().addChild(omElement);
-                ((Axis2MessageContext) messageContext).getAxis2MessageContext().
-                        removeProperty(PassThroughConstants.NO_ENTITY_BODY);
+                setResultPayload(omElement, messageContext);
             } else {
                 org.apache.axis2.context.MessageContext axisMsgCtx = ((Axis2MessageContext) messageContext).getAxis2MessageContext();
                 axisMsgCtx.setProperty(org.apache.axis2.Constants.Configuration.MESSAGE_TYPE,
@@ -255,6 +306,76 @@ public class DataServiceCallMediator extends AbstractMediator {
         }
     }
 
+    /**
+     * Sets the result as the body of the message, replacing the JSON payload if any.
+     *
+     * @param result         result of the data service
+     * @param messageContext MessageContext
+     */
+    private void setResultPayload(OMElement result, MessageContext messageContext) {
+        JsonUtil.removeJsonPayload(((Axis2MessageContext) messageContext).getAxis2MessageContext());
+        messageContext.getEnvelope().getBody().addChild(result);
+        ((Axis2MessageContext) messageContext).getAxis2MessageContext().
+                removeProperty(PassThroughConstants.NO_ENTITY_BODY);
+    }
+
+    /**
+     * Writes a result which is not generated yet directly as the JSON payload of the message. Results which are
+     * already built, or which cannot be serialized as JSON by the data service, are not written.
+     *
+     * @param result         result of the data service
+     * @param messageContext MessageContext
+     * @return true if the result is written as the JSON payload
+     * @throws AxisFault if the result cannot be written
+     */
+    private boolean writeJsonResult(OMElement result, MessageContext messageContext) throws AxisFault {
+        org.apache.axis2.context.MessageContext axisMsgCtx = ((Axis2MessageContext) messageContext)
+                .getAxis2MessageContext();
+        if (!(result instanceof OMSourcedElementImpl) || ((OMSourcedElementImpl) result).isExpanded()
+                || !(((OMSourcedElementImpl) result).getDataSource() instanceof DSOMDataSource)) {
+            return false;
+        }
+        DSOMDataSource dataSource = (DSOMDataSource) ((OMSourcedElementImpl) result).getDataSource();
+        if (!dataSource.isJSONSerializable()) {
+            return false;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            dataSource.serializeJSON(out, StandardCharsets.UTF_8.name());
+        } catch (XMLStreamException e) {
+            throw new AxisFault("Error in writing the data service result as JSON", e);
+        }
+        JsonUtil.getNewJsonPayload(axisMsgCtx, new ByteArrayInputStream(out.toByteArray()), true, true);
+        axisMsgCtx.removeProperty(PassThroughConstants.NO_ENTITY_BODY);
+        return true;
+    }
+
+    /**
+     * Creates the parameters of a single operation. Parameters having the same name are passed as an array.
+     *
+     * @param operation operation to be invoked
+     * @param msgCtx    MessageContext used to evaluate the parameter expressions
+     * @return parameters of the operation
+     */
+    private Map<String, ParamValue> createParams(Operation operation, MessageContext msgCtx) {
+        Map<String, ParamValue> params = new HashMap<>();
+        for (Param param : operation.getParams()) {
+            ParamValue value = new ParamValue(getParamValue(param, msgCtx));
+            ParamValue existing = params.get(param.getParamName());
+            if (existing == null) {
+                params.put(param.getParamName(), value);
+            } else if (existing.getValueType() == ParamValue.PARAM_VALUE_ARRAY) {
+                existing.addToArrayValue(value);
+            } else {
+                ParamValue arrayValue = new ParamValue(ParamValue.PARAM_VALUE_ARRAY);
+                arrayValue.addToArrayValue(existing);
+                arrayValue.addToArrayValue(value);
+                params.put(param.getParamName(), arrayValue);
+            }
+        }
+        return params;
+    }
+
     private void addOperations(Operations operations, OMElement payload, MessageContext msgCtx, String operationsType) {
 
         for (Object operationObj : operations.getOperations()) {
@@ -293,14 +414,18 @@ public class DataServiceCallMediator extends AbstractMediator {
 
     private void addParams(Param param, OMElement payload, MessageContext msgCtx) {
         OMElement omElement = fac.createOMElement(param.getParamName(), omNamespace);
+        omElement.setText(getParamValue(param, msgCtx));
+        payload.addChild(omElement);
+    }
+
+    private String getParamValue(Param param, MessageContext msgCtx) {
         String paramValue = "";
         if (param.getParamValue() != null) {
             paramValue = param.getParamValue();
         } else if (param.getParamExpression() != null) {
             paramValue = param.getParamExpression().stringValueOf(msgCtx);
         }
-        omElement.setText(paramValue);
-        payload.addChild(omElement);
+        return paramValue;
     }
 
     /**
@@ -26,6 +26,7 @@ public class DataServiceCallMediatorConstants {
     public static final String PAYLOAD_PREFIX = "axis2ns";
     public static final String TARGET_PROPERTY_TYPE = "property";
     public static final String TARGET_BODY_TYPE = "body";
+    public static final String TARGET_JSON_TYPE = "json";
     public static final String JSON_TYPE = "json";
     public static final String XML_TYPE = "xml";
     public static final String DATA_SERVICE_CALL = "dataServiceCall";
@@ -46,6 +47,7 @@ public class DataServiceCallMediatorConstants {
     public static final String REQUEST_BOX = "request_box";
     public static final String BATCH_REQ_SUFFIX = "_batch_req";
     public static final String APPLICATION_XML = "application/xml";
+    public static final String APPLICATION_JSON = "application/json";
     public static final String JSON_OBJECT = "jsonObject";
 
     public class OperationsType {
@@ -60,7 +60,7 @@ import java.util.Properties;
  *                  &lt;param name="string"&gt; &lt;param/&gt;
  *          &lt;/operation&gt;
  *      &lt;/operations&gt;
- *      &lt;target  type="body"|"property" name="string"/&gt;
+ *      &lt;target  type="body"|"json"|"property" name="string"/&gt;
  * &lt;/dataServicesCall&gt;
  * </pre>
  */
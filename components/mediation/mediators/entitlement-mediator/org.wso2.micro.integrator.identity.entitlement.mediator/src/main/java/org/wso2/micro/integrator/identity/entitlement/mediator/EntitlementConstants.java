@@ -50,6 +50,8 @@ public class EntitlementConstants {
 
     public static final QName ATTR_MAX_CACHE_ENTRIES = new QName("maxCacheEntries");
 
+    public static final QName ATTR_BATCH_DECISIONS = new QName("batchDecisions");
+
     public static final QName ATTR_THRIFT_HOST = new QName("thriftHost");
 
     public static final QName ATTR_THRIFT_PORT = new QName("thriftPort");
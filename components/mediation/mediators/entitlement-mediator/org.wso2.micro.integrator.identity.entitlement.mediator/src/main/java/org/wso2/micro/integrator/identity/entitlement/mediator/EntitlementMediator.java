@@ -84,6 +84,7 @@ public class EntitlementMediator extends AbstractMediator
     private String cacheType;
     private int invalidationInterval;
     private int maxCacheEntries;
+    private boolean batchDecisions;
     EntitlementCallbackHandler callback = null;
     /* The reference to the sequence which will execute when access is denied   */
     private String onRejectSeqKey = null;
@@ -539,7 +540,7 @@ public class EntitlementMediator extends AbstractMediator
                     .put(EntitlementConstants.PDP_CONFIG_MAP_ENTITLEMENT_MEDIATOR_ENTRY, clientConfigMap);
             config = new PEPProxyConfig(appToPDPClientConfigMap,
                                         EntitlementConstants.PDP_CONFIG_MAP_ENTITLEMENT_MEDIATOR_ENTRY, cacheType,
-                                        invalidationInterval, maxCacheEntries);
+                                        invalidationInterval, maxCacheEntries, batchDecisions);
 
             try {
                 pepProxy = new PEPProxy(config);
@@ -849,6 +850,14 @@ public class EntitlementMediator extends AbstractMediator
         this.maxCacheEntries = maxCacheEntries;
     }
 
+    public boolean isBatchDecisions() {
+        return batchDecisions;
+    }
+
+    public void setBatchDecisions(boolean batchDecisions) {
+        this.batchDecisions = batchDecisions;
+    }
+
     public String getClient() {
         return client;
     }
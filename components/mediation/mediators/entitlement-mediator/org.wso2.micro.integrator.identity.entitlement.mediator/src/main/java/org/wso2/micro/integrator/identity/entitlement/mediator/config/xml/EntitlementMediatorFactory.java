@@ -60,6 +60,7 @@ public class EntitlementMediatorFactory extends AbstractMediatorFactory {
         OMAttribute cacheType = null;
         OMAttribute invalidationInterval = null;
         OMAttribute maxCacheEntries = null;
+        OMAttribute batchDecisions = null;
         OMAttribute basicAuth = null;
         OMAttribute thriftHost = null;
         OMAttribute thriftPort = null;
@@ -113,6 +114,11 @@ public class EntitlementMediatorFactory extends AbstractMediatorFactory {
             mediator.setMaxCacheEntries(Integer.parseInt(maxCacheEntries.getAttributeValue()));
         }
 
+        batchDecisions = element.getAttribute(EntitlementConstants.ATTR_BATCH_DECISIONS);
+        if (batchDecisions != null && batchDecisions.getAttributeValue() != null) {
+            mediator.setBatchDecisions(Boolean.parseBoolean(batchDecisions.getAttributeValue()));
+        }
+
         client = element.getAttribute(EntitlementConstants.ATTR_CLIENT);
         if (client != null && client.getAttributeValue() != null) {
             mediator.setClient(client.getAttributeValue());
@@ -94,6 +94,10 @@ public class EntitlementMediatorSerializer extends AbstractMediatorSerializer {
                                                                Integer.toString(entitlement.getMaxCacheEntries())));
         }
 
+        if (entitlement.isBatchDecisions()) {
+            entitlementElem.addAttribute(fac.createOMAttribute("batchDecisions", nullNS, "true"));
+        }
+
         if (entitlement.getClient() != null) {
             entitlementElem
                     .addAttribute(fac.createOMAttribute(EntitlementConstants.CLIENT, nullNS, entitlement.getClient()));
@@ -0,0 +1,294 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.micro.integrator.identity.entitlement.proxy;
+
+import org.apache.axiom.om.OMAbstractFactory;
+import org.apache.axiom.om.OMElement;
+import org.apache.axiom.om.OMFactory;
+import org.apache.axiom.om.OMNamespace;
+import org.apache.axiom.om.util.AXIOMUtil;
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import javax.xml.namespace.QName;
+
+/**
+ * Coalesces the decisions requested concurrently for an application into XACML multiple decision requests, so that
+ * only one request is in flight to the PDP at a time. Identical pending decisions are requested only once.
+ * <p>
+ * There is no dispatcher thread. A requesting thread which finds no request in flight sends all the pending
+ * decisions, up to the batch size, on behalf of the others and hands over to a waiting thread when it is done.
+ * A waiting thread also checks for its decision periodically, so that a missed wake up only delays it.
+ */
+class PEPDecisionBatcher {
+
+    private static final Log log = LogFactory.getLog(PEPDecisionBatcher.class);
+
+    private static final String RESULT = "Result";
+    private static final String ATTRIBUTES = "Attributes";
+    private static final String ATTRIBUTE = "Attribute";
+    private static final String CATEGORY = "Category";
+    private static final long MAX_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final AbstractEntitlementServiceClient client;
+    private final XACMLRequestEvaluator evaluator;
+    private final String appId;
+    private final int maxBatchSize;
+    private final Queue<PendingDecision> queue = new ConcurrentLinkedQueue<>();
+    private final ConcurrentHashMap<String, PendingDecision> pendingDecisions = new ConcurrentHashMap<>();
+    private final AtomicBoolean inFlight = new AtomicBoolean(false);
+
+    /**
+     * @param client       client used for the decisions which are requested individually
+     * @param evaluator    evaluator used for the multiple decision requests, usually the client itself
+     * @param appId        application id
+     * @param maxBatchSize maximum number of decisions sent in one request
+     */
+    PEPDecisionBatcher(AbstractEntitlementServiceClient client, XACMLRequestEvaluator evaluator, String appId,
+                       int maxBatchSize) {
+        this.client = client;
+        this.evaluator = evaluator;
+        this.appId = appId;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Get the decision for the given attributes, waiting until the batch it belongs to is evaluated.
+     *
+     * @param key        key identifying the attributes
+     * @param attributes XACML 3.0 attribute set
+     * @return the XACML response
+     * @throws Exception if the decision could not be retrieved
+     */
+    String getDecision(String key, Attribute[] attributes) throws Exception {
+        PendingDecision decision = new PendingDecision(key, attributes);
+        PendingDecision existing = pendingDecisions.putIfAbsent(key, decision);
+        if (existing != null) {
+            decision = existing;
+        } else {
+            queue.offer(decision);
+        }
+        Thread thread = Thread.currentThread();
+        decision.waiters.offer(thread);
+        try {
+            while (!decision.result.isDone()) {
+                if (inFlight.compareAndSet(false, true)) {
+                    try {
+                        dispatch();
+                    } finally {
+                        inFlight.set(false);
+                    }
+                    // wake up a thread waiting on the next batch, so that it is sent without delay
+                    PendingDecision next = queue.peek();
+                    if (next != null) {
+                        next.wakeUp();
+                    }
+                } else if (!decision.result.isDone()) {
+                    LockSupport.parkNanos(this, MAX_WAIT_NANOS);
+                    if (Thread.interrupted()) {
+                        throw new InterruptedException("Interrupted while waiting for the entitlement decision");
+                    }
+                }
+            }
+        } finally {
+            decision.waiters.remove(thread);
+        }
+        try {
+            return decision.result.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw e;
+        }
+    }
+
+    private void dispatch() {
+        List<PendingDecision> batch = new ArrayList<>();
+        List<PendingDecision> individual = new ArrayList<>();
+        PendingDecision decision;
+        while (batch.size() + individual.size() < maxBatchSize && (decision = queue.poll()) != null) {
+            // content can not be correlated with the results, such requests are sent individually
+            if (hasContent(decision.attributes)) {
+                individual.add(decision);
+            } else {
+                batch.add(decision);
+            }
+        }
+        if (batch.size() == 1) {
+            individual.addAll(batch);
+        } else if (!batch.isEmpty()) {
+            if (log.isDebugEnabled()) {
+                log.debug("Sending a multiple decision request of " + batch.size() + " decisions for : " + appId);
+            }
+            try {
+                String[] responses = evaluate(batch);
+                for (int i = 0; i < batch.size(); i++) {
+                    if (responses[i] != null) {
+                        complete(batch.get(i), responses[i], null);
+                    } else {
+                        individual.add(batch.get(i));
+                    }
+                }
+            } catch (Exception e) {
+                for (PendingDecision pending : batch) {
+                    complete(pending, null, e);
+                }
+            }
+        }
+        for (PendingDecision pending : individual) {
+            try {
+                complete(pending, client.getDecision(pending.attributes, appId), null);
+            } catch (Exception e) {
+                complete(pending, null, e);
+            }
+        }
+    }
+
+    private String[] evaluate(List<PendingDecision> batch) throws Exception {
+        List<Attribute[]> requests = new ArrayList<>(batch.size());
+        Map<Set<String>, Integer> requestIndexes = new HashMap<>();
+        Set<Set<String>> ambiguousRequests = new HashSet<>();
+        for (int i = 0; i < batch.size(); i++) {
+            Attribute[] attributes = batch.get(i).attributes;
+            requests.add(attributes);
+            Set<String> signature = new HashSet<>();
+            for (Attribute attribute : attributes) {
+                signature.add(signature(attribute.getCategory(), attribute.getId(), attribute.getValue()));
+            }
+            if (requestIndexes.put(signature, i) != null) {
+                ambiguousRequests.add(signature);
+            }
+        }
+
+        String response = evaluator.evaluateRequest(XACMLRequetBuilder.buildXACML3MultiDecisionRequest(requests),
+                                                    appId);
+        String[] responses = new String[batch.size()];
+        if (response == null) {
+            return responses;
+        }
+        OMElement responseElement = AXIOMUtil.stringToOM(response);
+        OMNamespace namespace = responseElement.getNamespace();
+        OMFactory factory = OMAbstractFactory.getOMFactory();
+        List<OMElement> results = new ArrayList<>();
+        Iterator itr = responseElement.getChildElements();
+        while (itr.hasNext()) {
+            OMElement child = (OMElement) itr.next();
+            if (RESULT.equals(child.getLocalName())) {
+                results.add(child);
+            }
+        }
+        for (OMElement result : results) {
+            Set<String> signature = getSignature(result);
+            Integer index = requestIndexes.get(signature);
+            if (index == null || ambiguousRequests.contains(signature) || responses[index] != null) {
+                continue;
+            }
+            // wrap each result into a response of its own, as if the decision was requested individually
+            result.detach();
+            OMElement individualResponse = factory.createOMElement(responseElement.getLocalName(), namespace);
+            individualResponse.addChild(result);
+            responses[index] = individualResponse.toString();
+        }
+        return responses;
+    }
+
+    private Set<String> getSignature(OMElement result) {
+        Set<String> signature = new HashSet<>();
+        Iterator attributesItr = result.getChildElements();
+        while (attributesItr.hasNext()) {
+            OMElement attributes = (OMElement) attributesItr.next();
+            if (!ATTRIBUTES.equals(attributes.getLocalName())) {
+                continue;
+            }
+            String category = attributes.getAttributeValue(new QName(CATEGORY));
+            Iterator attributeItr = attributes.getChildElements();
+            while (attributeItr.hasNext()) {
+                OMElement attribute = (OMElement) attributeItr.next();
+                if (!ATTRIBUTE.equals(attribute.getLocalName())) {
+                    continue;
+                }
+                String id = attribute.getAttributeValue(new QName(XACMLRequetBuilder.ATTRIBUTE_ID));
+                Iterator valueItr = attribute.getChildElements();
+                while (valueItr.hasNext()) {
+                    signature.add(signature(category, id, ((OMElement) valueItr.next()).getText()));
+                }
+            }
+        }
+        return signature;
+    }
+
+    private static String signature(String category, String id, String value) {
+        return category + '\u0000' + id + '\u0000' + value;
+    }
+
+    private static boolean hasContent(Attribute[] attributes) {
+        for (Attribute attribute : attributes) {
+            if (StringUtils.isNotEmpty(attribute.getContent())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void complete(PendingDecision decision, String response, Exception error) {
+        pendingDecisions.remove(decision.key, decision);
+        if (error != null) {
+            decision.result.completeExceptionally(error);
+        } else {
+            decision.result.complete(response);
+        }
+        decision.wakeUp();
+    }
+
+    private static class PendingDecision {
+
+        private final String key;
+        private final Attribute[] attributes;
+        private final CompletableFuture<String> result = new CompletableFuture<>();
+        private final Queue<Thread> waiters = new ConcurrentLinkedQueue<>();
+
+        PendingDecision(String key, Attribute[] attributes) {
+            this.key = key;
+            this.attributes = attributes;
+        }
+
+        void wakeUp() {
+            for (Thread waiter : waiters) {
+                LockSupport.unpark(waiter);
+            }
+        }
+    }
+}
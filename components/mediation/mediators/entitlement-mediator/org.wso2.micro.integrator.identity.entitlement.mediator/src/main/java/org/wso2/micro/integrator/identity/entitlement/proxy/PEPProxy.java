@@ -18,14 +18,22 @@
 
 package org.wso2.micro.integrator.identity.entitlement.proxy;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.wso2.micro.integrator.identity.entitlement.proxy.exception.EntitlementProxyException;
 
-import java.util.Arrays;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 public class PEPProxy {
 
+    private static final Log log = LogFactory.getLog(PEPProxy.class);
+
     public static final String SIMPLE = "simple";
     public static final String CARBON = "carbon";
     public static final String URN_OASIS_NAMES_TC_XACML_1_0_SUBJECT_CATEGORY_ACCESS_SUBJECT = "urn:oasis:names:tc:xacml:1.0:subject-category:access-subject";
@@ -39,6 +47,7 @@ public class PEPProxy {
     private String defaultAppId;
     private Map<String, AbstractEntitlementServiceClient> appToPDPClientMap;
     private PEPProxyCache cache;
+    private Map<String, PEPDecisionBatcher> appToDecisionBatcherMap = new HashMap<>();
 
     /**
      * Creating the PDP Proxy instance and initializing it
@@ -54,6 +63,18 @@ public class PEPProxy {
                                       config.getMaxCacheEntries());
         }
         appToPDPClientMap = PEPProxyFactory.getAppToPDPClientMap(config.getAppToPDPClientConfigMap());
+        if (config.isBatchDecisions()) {
+            for (Map.Entry<String, AbstractEntitlementServiceClient> entry : appToPDPClientMap.entrySet()) {
+                if (entry.getValue() instanceof XACMLRequestEvaluator) {
+                    appToDecisionBatcherMap.put(entry.getKey(), new PEPDecisionBatcher(
+                            entry.getValue(), (XACMLRequestEvaluator) entry.getValue(), entry.getKey(),
+                            ProxyConstants.MAX_DECISION_BATCH_SIZE));
+                } else if (log.isDebugEnabled()) {
+                    log.debug("Decisions of " + entry.getKey() + " are not batched, since the client does not "
+                                      + "support multiple decision requests");
+                }
+            }
+        }
     }
 
     /**
@@ -81,16 +102,20 @@ public class PEPProxy {
         } else {
             appProxy = appToPDPClientMap.get(appId);
         }
+        PEPDecisionBatcher batcher = appToDecisionBatcherMap.get(appId);
         if (cache != null) {
-            String key = generateKey(attributes);
+            String key = generateKey(attributes, appId);
             String decision = cache.get(key);
             if (decision != null) {
                 return decision;
             } else {
-                decision = appProxy.getDecision(attributes, appId);
+                decision = batcher != null ? batcher.getDecision(key, attributes) :
+                        appProxy.getDecision(attributes, appId);
                 cache.put(key, decision);
                 return decision;
             }
+        } else if (batcher != null) {
+            return batcher.getDecision(generateKey(attributes, appId), attributes);
         } else {
             return appProxy.getDecision(attributes, appId);
         }
@@ -234,11 +259,28 @@ public class PEPProxy {
         return appProxy.getActionsForResource(alias, resources, appId);
     }
 
-    private String generateKey(Attribute[] attributes) {
-        int key = 1;
-        key = 11 * key + ((attributes == null) ? 0 : Arrays.hashCode(attributes));
-        key = 31 * key + ((defaultAppId == null) ? 0 : defaultAppId.hashCode());
-        return Integer.toString(key);
+    /**
+     * Generate a compact key for the decision of the given attributes. The key is a digest of all the attribute
+     * fields, hence attribute sets which only collide in their hash codes never share a decision.
+     */
+    private String generateKey(Attribute[] attributes, String appId) {
+        StringBuilder request = new StringBuilder();
+        request.append(appId);
+        if (attributes != null) {
+            for (Attribute attribute : attributes) {
+                request.append('\u0001').append(attribute.getCategory()).append('\u0000').append(attribute.getId())
+                        .append('\u0000').append(attribute.getType()).append('\u0000').append(attribute.getValue())
+                        .append('\u0000').append(attribute.getContent());
+            }
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder()
+                    .encodeToString(digest.digest(request.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is available in every Java platform
+            return request.toString();
+        }
     }
 
     public void clear() {
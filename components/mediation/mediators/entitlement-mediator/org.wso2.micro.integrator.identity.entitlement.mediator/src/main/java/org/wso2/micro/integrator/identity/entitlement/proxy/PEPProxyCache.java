@@ -18,22 +18,22 @@
 
 package org.wso2.micro.integrator.identity.entitlement.proxy;
 
-import java.util.Calendar;
-import java.util.LinkedHashMap;
-import java.util.Map.Entry;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import javax.cache.Cache;
 import javax.cache.CacheManager;
 import javax.cache.Caching;
 
 class PEPProxyCache {
 
-    private SimpleCache<String, EntitlementDecision> simpleCache;
+    private volatile SimpleCache simpleCache;
     private boolean isCarbonCache = false;
     private int invalidationInterval = 0;
 
     PEPProxyCache(String enableCaching, int invalidationInterval, int maxEntries) {
         if ("simple".equalsIgnoreCase(enableCaching)) {
-            simpleCache = new SimpleCache<String, EntitlementDecision>(maxEntries);
+            simpleCache = new SimpleCache(maxEntries);
             this.invalidationInterval = invalidationInterval;
         } else if ("carbon".equalsIgnoreCase(enableCaching)) {
             isCarbonCache = true;
@@ -57,10 +57,9 @@ class PEPProxyCache {
     }
 
     void put(String key, String entry) {
-        if (simpleCache != null) {
-            EntitlementDecision entitlementDecision = new EntitlementDecision(entry,
-                                                                              Calendar.getInstance().getTimeInMillis());
-            simpleCache.put(key, entitlementDecision);
+        SimpleCache cache = simpleCache;
+        if (cache != null) {
+            cache.put(key, new EntitlementDecision(key, entry, System.currentTimeMillis() + invalidationInterval));
         } else if (isCarbonCache) {
             Cache<IdentityCacheKey, IdentityCacheEntry> carbonCache = getCommonCache();
             if (carbonCache != null) {
@@ -72,11 +71,14 @@ class PEPProxyCache {
     }
 
     String get(String key) {
-        if (simpleCache != null) {
-            EntitlementDecision entitlementDecision = simpleCache.get(key);
-            if (entitlementDecision != null && (entitlementDecision.getCachedTime() + (long) invalidationInterval
-                    > Calendar.getInstance().getTimeInMillis())) {
-                return entitlementDecision.getResponse();
+        SimpleCache cache = simpleCache;
+        if (cache != null) {
+            EntitlementDecision entitlementDecision = cache.get(key);
+            if (entitlementDecision != null) {
+                if (entitlementDecision.getExpiryTime() > System.currentTimeMillis()) {
+                    return entitlementDecision.getResponse();
+                }
+                cache.remove(entitlementDecision);
             }
         } else if (isCarbonCache) {
             Cache<IdentityCacheKey, IdentityCacheEntry> carbonCache = getCommonCache();
@@ -92,8 +94,9 @@ class PEPProxyCache {
     }
 
     void clear() {
-        if (simpleCache != null) {
-            simpleCache = new SimpleCache<>(simpleCache.maxEntries);
+        SimpleCache cache = simpleCache;
+        if (cache != null) {
+            simpleCache = new SimpleCache(cache.maxEntries);
         } else if (isCarbonCache) {
             Cache<IdentityCacheKey, IdentityCacheEntry> carbonCache = getCommonCache();
             if (carbonCache != null) {
@@ -102,60 +105,93 @@ class PEPProxyCache {
         }
     }
 
-    private class SimpleCache<K, V> extends LinkedHashMap<K, V> {
-
-        private static final long serialVersionUID = -6958380913702000534L;
+    /**
+     * Bounded decision cache which is shared by all the mediation threads without locking. When the cache is full
+     * the decisions are evicted in the order they were inserted, as the entries of a decision expire in the same
+     * order.
+     */
+    private static class SimpleCache {
 
-        private int maxEntries;
+        private final int maxEntries;
+        private final ConcurrentHashMap<String, EntitlementDecision> decisions;
+        private final Queue<EntitlementDecision> insertionOrder = new ConcurrentLinkedQueue<>();
 
-        public SimpleCache(int maxEntries) {
-            // removeEldestEntry() is called after a put(). To allow maxEntries in
-            // cache, capacity should be maxEntries + 1 (for the entry which will be
-            // removed). Load factor is taken as 1 because size is fixed. This is
-            // less space efficient when very less entries are present, but there
-            // will be no effect on time complexity for get(). The third parameter
-            // in the base class constructor says that this map is
-            // insertion-order oriented.
-            super(maxEntries + 1, 1, false);
+        SimpleCache(int maxEntries) {
             this.maxEntries = maxEntries;
+            this.decisions = new ConcurrentHashMap<>(Math.min(maxEntries, 1024));
         }
 
-        @Override
-        protected boolean removeEldestEntry(Entry<K, V> eldest) {
-            // After size exceeds max entries, this statement returns true and the
-            // oldest value will be removed. Behaves like a queue, the first
-            // inserted value will go away.
-            return size() > maxEntries;
+        EntitlementDecision get(String key) {
+            return decisions.get(key);
+        }
+
+        void put(String key, EntitlementDecision decision) {
+            EntitlementDecision previous = decisions.put(key, decision);
+            if (previous != null) {
+                // the queue is cleaned up when the replaced decision reaches its head
+                previous.evicted = true;
+            }
+            insertionOrder.offer(decision);
+            while (decisions.size() > maxEntries) {
+                EntitlementDecision eldest = insertionOrder.poll();
+                if (eldest == null) {
+                    break;
+                }
+                decisions.remove(eldest.getKey(), eldest);
+            }
+            // drop the replaced and removed decisions at the head, so that the queue does not outgrow the map
+            EntitlementDecision head = insertionOrder.peek();
+            while (head != null && head.evicted) {
+                insertionOrder.remove(head);
+                head = insertionOrder.peek();
+            }
         }
 
+        void remove(EntitlementDecision decision) {
+            if (decisions.remove(decision.getKey(), decision)) {
+                decision.evicted = true;
+            }
+        }
     }
 
     /**
-     * Encapsulate the XACML Decision with XACML response and time stamp
+     * Encapsulate the XACML Decision with XACML response and expiry time
      */
-    private class EntitlementDecision {
+    private static class EntitlementDecision {
+
+        /**
+         * cache key
+         */
+        private final String key;
 
         /**
          * XACML response
          */
-        private String response;
+        private final String response;
 
         /**
-         * time stamp
+         * time stamp after which the decision is not served
          */
-        private long cachedTime;
+        private final long expiryTime;
+
+        private volatile boolean evicted;
 
-        EntitlementDecision(String response, long cachedTime) {
+        EntitlementDecision(String key, String response, long expiryTime) {
+            this.key = key;
             this.response = response;
-            this.cachedTime = cachedTime;
+            this.expiryTime = expiryTime;
+        }
+
+        public String getKey() {
+            return key;
         }
 
         public String getResponse() {
             return response;
         }
 
-        public long getCachedTime() {
-            return cachedTime;
+        public long getExpiryTime() {
+            return expiryTime;
         }
     }
 
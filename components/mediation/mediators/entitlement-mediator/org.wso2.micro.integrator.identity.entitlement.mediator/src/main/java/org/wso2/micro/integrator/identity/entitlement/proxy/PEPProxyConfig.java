@@ -27,9 +27,15 @@ public class PEPProxyConfig {
     private String cacheType;
     private int invalidationInterval;
     private int maxCacheEntries;
+    private boolean batchDecisions;
 
     public PEPProxyConfig(Map<String, Map<String, String>> appToPDPClientConfigMap, String defaultAppId,
                           String cacheType, int invalidationInterval, int maxCacheEntries) {
+        this(appToPDPClientConfigMap, defaultAppId, cacheType, invalidationInterval, maxCacheEntries, false);
+    }
+
+    public PEPProxyConfig(Map<String, Map<String, String>> appToPDPClientConfigMap, String defaultAppId,
+                          String cacheType, int invalidationInterval, int maxCacheEntries, boolean batchDecisions) {
         this.defaultAppId = defaultAppId;
         this.appToPDPClientConfigMap = appToPDPClientConfigMap;
         this.cacheType = cacheType;
@@ -38,6 +44,7 @@ public class PEPProxyConfig {
         if (this.maxCacheEntries > ProxyConstants.MAX_CACHE_SIZE || this.maxCacheEntries < 0) {
             this.maxCacheEntries = ProxyConstants.MAX_CACHE_SIZE;
         }
+        this.batchDecisions = batchDecisions;
     }
 
     public String getDefaultAppId() {
@@ -59,4 +66,8 @@ public class PEPProxyConfig {
     public int getMaxCacheEntries() {
         return maxCacheEntries;
     }
+
+    public boolean isBatchDecisions() {
+        return batchDecisions;
+    }
 }
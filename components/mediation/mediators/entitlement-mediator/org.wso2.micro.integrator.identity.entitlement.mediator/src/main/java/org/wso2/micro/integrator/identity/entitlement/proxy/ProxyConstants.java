@@ -29,6 +29,7 @@ public final class ProxyConstants {
     public static final String PEP_PROXY_CACHE_MANAGER = "PEP_PROXY_CACHE_MANAGER";
     public static final String DECISION_CACHE = "DECISION_CACHE";
     public static final int MAX_CACHE_SIZE = 10000;
+    public static final int MAX_DECISION_BATCH_SIZE = 100;
 
     public static final String SESSION_TIME_OUT = "50977";
 
@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.micro.integrator.identity.entitlement.proxy;
+
+/**
+ * Implemented by the entitlement service clients which can send an XACML request that is already built, such as a
+ * multiple decision request. Decisions are batched only for the clients implementing this interface.
+ */
+public interface XACMLRequestEvaluator {
+
+    /**
+     * Get the entitlement decision for an XACML request which is already built.
+     *
+     * @param xacmlRequest XACML request
+     * @param appId        application id
+     * @return the XACML response
+     * @throws Exception if the decision could not be retrieved
+     */
+    String evaluateRequest(String xacmlRequest, String appId) throws Exception;
+}
@@ -21,13 +21,16 @@ package org.wso2.micro.integrator.identity.entitlement.proxy;
 import org.apache.axiom.om.OMAbstractFactory;
 import org.apache.axiom.om.OMElement;
 import org.apache.axiom.om.OMFactory;
+import org.apache.axiom.om.OMNamespace;
 import org.apache.axiom.om.util.AXIOMUtil;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 import javax.xml.namespace.QName;
 import javax.xml.stream.XMLStreamException;
@@ -39,6 +42,7 @@ public class XACMLRequetBuilder {
     public static final String CORE_SCHEMA = "urn:oasis:names:tc:xacml:3.0:core:schema:wd-17";
     public static final String ATTRIBUTE_ID = "AttributeId";
     public static final String XMLSCHEMA = "http://www.w3.org/2001/XMLSchema#";
+    public static final String XML_NAMESPACE = "http://www.w3.org/XML/1998/namespace";
 
     private XACMLRequetBuilder() {
 
@@ -52,6 +56,57 @@ public class XACMLRequetBuilder {
         requestXML.addAttribute("xmlns", CORE_SCHEMA, null);
         requestXML.addAttribute("CombinedDecision", "false", null);
         requestXML.addAttribute("ReturnPolicyIdList", "false", null);
+        addAttributes(factory, requestXML, attributes, "false");
+        return requestXML.toString();
+    }
+
+    /**
+     * Build a XACML 3.0 multiple decision request which evaluates each of the given attribute sets as an individual
+     * request. The attributes are included in the results, so that a result can be matched with its request.
+     *
+     * @param requests attribute sets of the individual requests
+     * @return the multiple decision request
+     */
+    public static String buildXACML3MultiDecisionRequest(List<Attribute[]> requests) {
+
+        OMFactory factory = OMAbstractFactory.getOMFactory();
+        OMNamespace xmlNamespace = factory.createOMNamespace(XML_NAMESPACE, "xml");
+
+        OMElement requestXML = factory.createOMElement("Request", null);
+        requestXML.addAttribute("xmlns", CORE_SCHEMA, null);
+        requestXML.addAttribute("CombinedDecision", "false", null);
+        requestXML.addAttribute("ReturnPolicyIdList", "false", null);
+
+        OMElement multiRequestsXML = factory.createOMElement("MultiRequests", null);
+        for (int i = 0; i < requests.size(); i++) {
+            OMElement individualRequestXML = factory.createOMElement("Request", null);
+            addAttributes(factory, individualRequestXML, requests.get(i), "true");
+
+            List<OMElement> attributesList = new ArrayList<>();
+            Iterator itr = individualRequestXML.getChildElements();
+            while (itr.hasNext()) {
+                attributesList.add((OMElement) itr.next());
+            }
+            OMElement requestReferenceXML = factory.createOMElement("RequestReference", null);
+            for (int j = 0; j < attributesList.size(); j++) {
+                OMElement attributesXML = attributesList.get(j);
+                String referenceId = "request-" + i + "-" + j;
+                attributesXML.detach();
+                attributesXML.addAttribute("id", referenceId, xmlNamespace);
+                requestXML.addChild(attributesXML);
+
+                OMElement attributesReferenceXML = factory.createOMElement("AttributesReference", null);
+                attributesReferenceXML.addAttribute("ReferenceId", referenceId, null);
+                requestReferenceXML.addChild(attributesReferenceXML);
+            }
+            multiRequestsXML.addChild(requestReferenceXML);
+        }
+        requestXML.addChild(multiRequestsXML);
+        return requestXML.toString();
+    }
+
+    private static void addAttributes(OMFactory factory, OMElement requestXML, Attribute[] attributes,
+                                      String includeInResult) {
 
         Set<String> catagorySet = new HashSet<>();
         for (Attribute attribute : attributes) {
@@ -65,7 +120,7 @@ public class XACMLRequetBuilder {
                     attributeSet.add(attribute.getId());
                     OMElement attributeXML = factory.createOMElement("Attribute", null);
                     attributeXML.addAttribute(ATTRIBUTE_ID, attribute.getId(), null);
-                    attributeXML.addAttribute("IncludeInResult", "false", null);
+                    attributeXML.addAttribute("IncludeInResult", includeInResult, null);
 
                     OMElement attributeValueXML = factory.createOMElement("AttributeValue", null);
                     attributeValueXML.addAttribute("DataType", XMLSCHEMA + attribute.getType(), null);
@@ -111,7 +166,7 @@ public class XACMLRequetBuilder {
                             attributeSet.add(attribute.getId());
                             OMElement attributeXML = factory.createOMElement("Attribute", null);
                             attributeXML.addAttribute(ATTRIBUTE_ID, attribute.getId(), null);
-                            attributeXML.addAttribute("IncludeInResult", "false", null);
+                            attributeXML.addAttribute("IncludeInResult", includeInResult, null);
 
                             OMElement attributeValueXML = factory.createOMElement("AttributeValue", null);
                             attributeValueXML.addAttribute("DataType", XMLSCHEMA + attribute.getType(), null);
@@ -138,7 +193,6 @@ public class XACMLRequetBuilder {
             }
 
         }
-        return requestXML.toString();
     }
 
 }
@@ -33,6 +33,7 @@ import org.wso2.carbon.identity.entitlement.stub.dto.EntitledResultSetDTO;
 import org.wso2.micro.integrator.identity.entitlement.proxy.AbstractEntitlementServiceClient;
 import org.wso2.micro.integrator.identity.entitlement.proxy.Attribute;
 import org.wso2.micro.integrator.identity.entitlement.proxy.ProxyConstants;
+import org.wso2.micro.integrator.identity.entitlement.proxy.XACMLRequestEvaluator;
 import org.wso2.micro.integrator.identity.entitlement.proxy.XACMLRequetBuilder;
 
 import java.util.ArrayList;
@@ -40,7 +41,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
-public class SOAPEntitlementServiceClient extends AbstractEntitlementServiceClient {
+public class SOAPEntitlementServiceClient extends AbstractEntitlementServiceClient
+        implements XACMLRequestEvaluator {
 
     public static final String ACCESS_SUBJECT = "urn:oasis:names:tc:xacml:1.0:subject-category:access-subject";
     public static final String ACTION = "urn:oasis:names:tc:xacml:3.0:attribute-category:action";
@@ -73,7 +75,11 @@ public class SOAPEntitlementServiceClient extends AbstractEntitlementServiceClie
 
     @Override
     public String getDecision(Attribute[] attributes, String appId) throws Exception {
-        String xacmlRequest = XACMLRequetBuilder.buildXACML3Request(attributes);
+        return evaluateRequest(XACMLRequetBuilder.buildXACML3Request(attributes), appId);
+    }
+
+    @Override
+    public String evaluateRequest(String xacmlRequest, String appId) throws Exception {
         EntitlementServiceStub stub = getEntitlementStub(serverUrl);
         Authenticator authenticator = getAuthenticator(serverUrl, userName, password, authorizedCookie);
         String result = getDecision(xacmlRequest, stub, authenticator);
@@ -37,6 +37,7 @@ import org.wso2.carbon.identity.entitlement.stub.dto.EntitledResultSetDTO;
 import org.wso2.micro.integrator.identity.entitlement.proxy.AbstractEntitlementServiceClient;
 import org.wso2.micro.integrator.identity.entitlement.proxy.Attribute;
 import org.wso2.micro.integrator.identity.entitlement.proxy.ProxyConstants;
+import org.wso2.micro.integrator.identity.entitlement.proxy.XACMLRequestEvaluator;
 import org.wso2.micro.integrator.identity.entitlement.proxy.XACMLRequetBuilder;
 import org.wso2.micro.integrator.identity.entitlement.proxy.exception.EntitlementProxyException;
 import org.wso2.micro.integrator.identity.entitlement.proxy.soap.util.EntitlementServiceStubFactory;
@@ -46,7 +47,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
-public class BasicAuthEntitlementServiceClient extends AbstractEntitlementServiceClient {
+public class BasicAuthEntitlementServiceClient extends AbstractEntitlementServiceClient
+        implements XACMLRequestEvaluator {
 
     private static final String ENTITLEMENT_SERVICE_NAME = "EntitlementService";
     private static final Log log = LogFactory.getLog(BasicAuthEntitlementServiceClient.class);
@@ -115,9 +117,13 @@ public class BasicAuthEntitlementServiceClient extends AbstractEntitlementServic
 
     @Override
     public String getDecision(Attribute[] attributes, String appId) throws Exception {
+        return evaluateRequest(XACMLRequetBuilder.buildXACML3Request(attributes), appId);
+    }
+
+    @Override
+    public String evaluateRequest(String xacmlRequest, String appId) throws Exception {
         EntitlementServiceStub stub = null;
         try {
-            String xacmlRequest = XACMLRequetBuilder.buildXACML3Request(attributes);
             stub = getEntitlementStub(serverUrl);
             return getDecision(xacmlRequest, stub);
         } finally {
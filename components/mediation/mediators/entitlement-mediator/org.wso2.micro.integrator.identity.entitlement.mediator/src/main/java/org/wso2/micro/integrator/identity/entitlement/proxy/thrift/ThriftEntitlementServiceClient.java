@@ -28,6 +28,7 @@ import org.apache.thrift.transport.TTransport;
 import org.wso2.micro.integrator.identity.entitlement.proxy.AbstractEntitlementServiceClient;
 import org.wso2.micro.integrator.identity.entitlement.proxy.Attribute;
 import org.wso2.micro.integrator.identity.entitlement.proxy.ProxyConstants;
+import org.wso2.micro.integrator.identity.entitlement.proxy.XACMLRequestEvaluator;
 import org.wso2.micro.integrator.identity.entitlement.proxy.XACMLRequetBuilder;
 import org.wso2.micro.integrator.identity.entitlement.proxy.exception.EntitlementProxyException;
 import org.wso2.micro.integrator.identity.entitlement.proxy.generatedCode.EntitlementException;
@@ -38,7 +39,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
-public class ThriftEntitlementServiceClient extends AbstractEntitlementServiceClient {
+public class ThriftEntitlementServiceClient extends AbstractEntitlementServiceClient
+        implements XACMLRequestEvaluator {
 
     private static final Log log = LogFactory.getLog(ThriftEntitlementServiceClient.class);
     public static final String URN_OASIS_NAMES_TC_XACML_1_0_SUBJECT_CATEGORY_ACCESS_SUBJECT = "urn:oasis:names:tc:xacml:1.0:subject-category:access-subject";
@@ -72,7 +74,11 @@ public class ThriftEntitlementServiceClient extends AbstractEntitlementServiceCl
 
     @Override
     public String getDecision(Attribute[] attributes, String appId) throws Exception {
-        String xacmlRequest = XACMLRequetBuilder.buildXACML3Request(attributes);
+        return evaluateRequest(XACMLRequetBuilder.buildXACML3Request(attributes), appId);
+    }
+
+    @Override
+    public String evaluateRequest(String xacmlRequest, String appId) throws Exception {
         EntitlementThriftClient.Client client = getThriftClient();
         Authenticator authenticator = getAuthenticator(serverUrl, userName, password);
         return getDecision(xacmlRequest, client, authenticator);
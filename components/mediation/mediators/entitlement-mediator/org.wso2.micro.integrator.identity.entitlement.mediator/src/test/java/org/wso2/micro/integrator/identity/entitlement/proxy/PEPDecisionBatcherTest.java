@@ -0,0 +1,352 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.micro.integrator.identity.entitlement.proxy;
+
+import org.apache.axiom.om.OMElement;
+import org.apache.axiom.om.util.AXIOMUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.xml.namespace.QName;
+
+public class PEPDecisionBatcherTest {
+
+    private static final String SUBJECT_CATEGORY =
+            PEPProxy.URN_OASIS_NAMES_TC_XACML_1_0_SUBJECT_CATEGORY_ACCESS_SUBJECT;
+    private static final String SUBJECT_ID = "urn:oasis:names:tc:xacml:1.0:subject:subject-id";
+    private static final String RESOURCE_CATEGORY = "urn:oasis:names:tc:xacml:3.0:attribute-category:resource";
+    private static final String RESOURCE_ID = "urn:oasis:names:tc:xacml:1.0:resource:resource-id";
+    private static final String APP_ID = "test";
+    private static final String BLOCKER = "blocker";
+    private static final long TIMEOUT_SECONDS = 10;
+
+    @Test
+    public void singleDecisionIsRequestedIndividually() throws Exception {
+        FakePDP pdp = new FakePDP();
+        PEPDecisionBatcher batcher = new PEPDecisionBatcher(pdp, pdp, APP_ID, 10);
+
+        Assert.assertEquals(individualResponse("alice"), batcher.getDecision("alice", request("alice")));
+        Assert.assertEquals(1, pdp.individualRequests.get());
+        Assert.assertEquals(0, pdp.multipleDecisionRequests.size());
+    }
+
+    @Test
+    public void identicalPendingDecisionsAreRequestedOnce() throws Exception {
+        FakePDP pdp = new FakePDP();
+        PEPDecisionBatcher batcher = new PEPDecisionBatcher(pdp, pdp, APP_ID, 10);
+
+        Caller blocker = start(batcher, BLOCKER);
+        pdp.awaitBlocked();
+        List<Caller> callers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            callers.add(start(batcher, "alice"));
+        }
+        callers.add(start(batcher, "bob"));
+        awaitWaiting(callers);
+        pdp.gate.countDown();
+
+        Assert.assertEquals(individualResponse(BLOCKER), blocker.get());
+        for (int i = 0; i < 3; i++) {
+            assertDecision("Permit", "alice", callers.get(i).get());
+        }
+        assertDecision("Deny", "bob", callers.get(3).get());
+        Assert.assertEquals(1, pdp.individualRequests.get());
+        Assert.assertEquals(1, pdp.multipleDecisionRequests.size());
+        Assert.assertEquals(2, pdp.multipleDecisionRequests.get(0).intValue());
+    }
+
+    @Test
+    public void unmatchedDecisionsFallBackToIndividualRequests() throws Exception {
+        FakePDP pdp = new FakePDP();
+        pdp.omittedSubject = "carol";
+        PEPDecisionBatcher batcher = new PEPDecisionBatcher(pdp, pdp, APP_ID, 10);
+
+        Caller blocker = start(batcher, BLOCKER);
+        pdp.awaitBlocked();
+        Caller alice = start(batcher, "alice");
+        Caller bob = start(batcher, "bob");
+        Caller carol = start(batcher, "carol");
+        Caller dave = start(batcher, "dave", request("dave", "<Content><order id=\"1\"/></Content>"));
+        awaitWaiting(alice, bob, carol, dave);
+        pdp.gate.countDown();
+
+        Assert.assertEquals(individualResponse(BLOCKER), blocker.get());
+        assertDecision("Permit", "alice", alice.get());
+        assertDecision("Deny", "bob", bob.get());
+        // not returned by the PDP in the multiple decision response
+        Assert.assertEquals(individualResponse("carol"), carol.get());
+        // requests with content are never batched
+        Assert.assertEquals(individualResponse("dave"), dave.get());
+        Assert.assertEquals(3, pdp.individualRequests.get());
+        Assert.assertEquals(1, pdp.multipleDecisionRequests.size());
+        Assert.assertEquals(3, pdp.multipleDecisionRequests.get(0).intValue());
+    }
+
+    @Test
+    public void pdpFailureIsReportedToEachDecisionOfTheBatch() throws Exception {
+        FakePDP pdp = new FakePDP();
+        pdp.failure = new Exception("PDP unavailable");
+        PEPDecisionBatcher batcher = new PEPDecisionBatcher(pdp, pdp, APP_ID, 10);
+
+        Caller blocker = start(batcher, BLOCKER);
+        pdp.awaitBlocked();
+        Caller alice = start(batcher, "alice");
+        Caller bob = start(batcher, "bob");
+        awaitWaiting(alice, bob);
+        pdp.gate.countDown();
+
+        Assert.assertEquals(individualResponse(BLOCKER), blocker.get());
+        Assert.assertSame(pdp.failure, alice.getError());
+        Assert.assertSame(pdp.failure, bob.getError());
+        Assert.assertEquals(1, pdp.multipleDecisionRequests.size());
+
+        // the failed decisions are not kept, hence requested again
+        pdp.failure = null;
+        Assert.assertEquals(individualResponse("alice"), batcher.getDecision("alice", request("alice")));
+    }
+
+    @Test
+    public void interruptedWaiterDoesNotLoseTheDecision() throws Exception {
+        FakePDP pdp = new FakePDP();
+        PEPDecisionBatcher batcher = new PEPDecisionBatcher(pdp, pdp, APP_ID, 10);
+
+        Caller blocker = start(batcher, BLOCKER);
+        pdp.awaitBlocked();
+        Caller alice = start(batcher, "alice");
+        awaitWaiting(alice);
+        alice.interrupt();
+        Assert.assertTrue(alice.getError() instanceof InterruptedException);
+
+        pdp.gate.countDown();
+        Assert.assertEquals(individualResponse(BLOCKER), blocker.get());
+        // the decision left by the interrupted thread is still sent, once for both of the requests
+        Assert.assertEquals(individualResponse("alice"), batcher.getDecision("alice", request("alice")));
+        Assert.assertEquals(2, pdp.individualRequests.get());
+    }
+
+    private static Attribute[] request(String subject) {
+        return request(subject, null);
+    }
+
+    private static Attribute[] request(String subject, String content) {
+        return new Attribute[] {
+                new Attribute(SUBJECT_CATEGORY, SUBJECT_ID, "string", subject),
+                new Attribute(RESOURCE_CATEGORY, RESOURCE_ID, "string", "/orders", content)};
+    }
+
+    private static String individualResponse(String subject) {
+        return "individual:" + subject;
+    }
+
+    private static void assertDecision(String decision, String subject, String response) throws Exception {
+        OMElement responseElement = AXIOMUtil.stringToOM(response);
+        Assert.assertEquals("Response", responseElement.getLocalName());
+        List<OMElement> results = children(responseElement, "Result");
+        Assert.assertEquals(1, results.size());
+        Assert.assertEquals(decision, children(results.get(0), "Decision").get(0).getText());
+        Assert.assertTrue(response.contains(">" + subject + "<"));
+    }
+
+    private static List<OMElement> children(OMElement element, String localName) {
+        List<OMElement> children = new ArrayList<>();
+        Iterator itr = element.getChildElements();
+        while (itr.hasNext()) {
+            OMElement child = (OMElement) itr.next();
+            if (localName.equals(child.getLocalName())) {
+                children.add(child);
+            }
+        }
+        return children;
+    }
+
+    private static Caller start(PEPDecisionBatcher batcher, String subject) {
+        return start(batcher, subject, request(subject));
+    }
+
+    private static Caller start(PEPDecisionBatcher batcher, String key, Attribute[] attributes) {
+        Caller caller = new Caller(batcher, key, attributes);
+        caller.start();
+        return caller;
+    }
+
+    /**
+     * Wait until the given callers are parked, waiting for their decisions.
+     */
+    private static void awaitWaiting(Caller... callers) throws InterruptedException {
+        awaitWaiting(Arrays.asList(callers));
+    }
+
+    private static void awaitWaiting(List<Caller> callers) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS);
+        for (Caller caller : callers) {
+            while (caller.getState() != Thread.State.TIMED_WAITING) {
+                Assert.assertTrue("Caller did not wait for the decision", System.currentTimeMillis() < deadline);
+                Thread.sleep(1);
+            }
+        }
+    }
+
+    private static class Caller extends Thread {
+
+        private final PEPDecisionBatcher batcher;
+        private final String key;
+        private final Attribute[] attributes;
+        private volatile String response;
+        private volatile Exception error;
+
+        Caller(PEPDecisionBatcher batcher, String key, Attribute[] attributes) {
+            this.batcher = batcher;
+            this.key = key;
+            this.attributes = attributes;
+        }
+
+        @Override
+        public void run() {
+            try {
+                response = batcher.getDecision(key, attributes);
+            } catch (Exception e) {
+                error = e;
+            }
+        }
+
+        String get() throws Exception {
+            join(TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS));
+            Assert.assertFalse("Caller did not complete", isAlive());
+            if (error != null) {
+                throw error;
+            }
+            return response;
+        }
+
+        Exception getError() throws InterruptedException {
+            join(TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS));
+            Assert.assertFalse("Caller did not complete", isAlive());
+            return error;
+        }
+    }
+
+    /**
+     * PDP which permits alice and denies the other subjects in multiple decision requests. Individual requests of
+     * the blocker subject are held until the gate is opened, so that the other decisions wait for it.
+     */
+    private static class FakePDP extends AbstractEntitlementServiceClient implements XACMLRequestEvaluator {
+
+        private final CountDownLatch blocked = new CountDownLatch(1);
+        private final CountDownLatch gate = new CountDownLatch(1);
+        private final AtomicInteger individualRequests = new AtomicInteger();
+        private final List<Integer> multipleDecisionRequests = new ArrayList<>();
+        private volatile String omittedSubject;
+        private volatile Exception failure;
+
+        void awaitBlocked() throws InterruptedException {
+            Assert.assertTrue(blocked.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        }
+
+        @Override
+        public String getDecision(Attribute[] attributes, String appId) throws Exception {
+            individualRequests.incrementAndGet();
+            String subject = attributes[0].getValue();
+            if (BLOCKER.equals(subject)) {
+                blocked.countDown();
+                Assert.assertTrue(gate.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+            }
+            return individualResponse(subject);
+        }
+
+        @Override
+        public String evaluateRequest(String xacmlRequest, String appId) throws Exception {
+            OMElement request = AXIOMUtil.stringToOM(xacmlRequest);
+            Map<String, OMElement> attributesById = new HashMap<>();
+            for (OMElement attributes : children(request, "Attributes")) {
+                attributesById.put(attributes.getAttributeValue(
+                        new QName(XACMLRequetBuilder.XML_NAMESPACE, "id")), attributes);
+            }
+            List<OMElement> references = children(children(request, "MultiRequests").get(0), "RequestReference");
+            synchronized (multipleDecisionRequests) {
+                multipleDecisionRequests.add(references.size());
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            StringBuilder response = new StringBuilder("<Response xmlns=\"")
+                    .append(XACMLRequetBuilder.CORE_SCHEMA).append("\">");
+            for (OMElement reference : references) {
+                StringBuilder included = new StringBuilder();
+                String subject = null;
+                for (OMElement attributesReference : children(reference, "AttributesReference")) {
+                    OMElement attributes = attributesById.get(
+                            attributesReference.getAttributeValue(new QName("ReferenceId")));
+                    if (SUBJECT_CATEGORY.equals(attributes.getAttributeValue(new QName("Category")))) {
+                        subject = children(children(attributes, "Attribute").get(0), "AttributeValue").get(0)
+                                .getText();
+                    }
+                    included.append(attributes.toString());
+                }
+                if (subject == null || subject.equals(omittedSubject)) {
+                    continue;
+                }
+                response.append("<Result><Decision>").append("alice".equals(subject) ? "Permit" : "Deny")
+                        .append("</Decision>").append(included).append("</Result>");
+            }
+            return response.append("</Response>").toString();
+        }
+
+        @Override
+        public boolean subjectCanActOnResource(String subjectType, String alias, String actionId,
+                                               String resourceId, String domainId, String appId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean subjectCanActOnResource(String subjectType, String alias, String actionId,
+                                               String resourceId, Attribute[] attributes, String domainId,
+                                               String appId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<String> getResourcesForAlias(String alias, String appId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<String> getActionableResourcesForAlias(String alias, String appId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<String> getActionableChildResourcesForAlias(String alias, String parentResource, String action,
+                                                                String appId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<String> getActionsForResource(String alias, String resources, String appId) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
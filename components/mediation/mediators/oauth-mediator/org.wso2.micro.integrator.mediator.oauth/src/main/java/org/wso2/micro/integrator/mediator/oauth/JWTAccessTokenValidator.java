@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.micro.integrator.mediator.oauth;
+
+import java.io.IOException;
+import java.net.URL;
+import java.text.ParseException;
+import java.util.Date;
+import java.util.List;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.ECDSAVerifier;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jwt.JWT;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.JWTParser;
+import com.nimbusds.jwt.SignedJWT;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.oauth2.stub.dto.OAuth2TokenValidationResponseDTO;
+
+/**
+ * Validates JWT access tokens locally by verifying their signature against the keys published by the key manager.
+ * The key set is cached and reloaded periodically, or when a token is signed with an unknown key. A token which can
+ * not be verified locally is left to the remote validation service, hence the local validation only accepts tokens.
+ * <p>
+ * Only access tokens of the configured type, signed with an RSA or EC algorithm and issued by the configured issuer
+ * for the configured audience are accepted. Unsigned, encrypted and HMAC signed tokens are never accepted locally.
+ */
+public class JWTAccessTokenValidator {
+
+    private static final Log log = LogFactory.getLog(JWTAccessTokenValidator.class);
+
+    private final String jwksUrl;
+    private final String issuer;
+    private final String audience;
+    private final String tokenType;
+    private volatile JWKSet jwkSet;
+    private volatile long jwkSetLoadedTime;
+
+    /**
+     * @param jwksUrl   JWKS endpoint of the key manager
+     * @param issuer    expected "iss" claim of the tokens
+     * @param audience  audience which should be in the "aud" claim of the tokens
+     * @param tokenType expected "typ" header of the tokens, such as at+jwt
+     */
+    public JWTAccessTokenValidator(String jwksUrl, String issuer, String audience, String tokenType) {
+        if (issuer == null || issuer.trim().isEmpty() || audience == null || audience.trim().isEmpty()) {
+            throw new IllegalArgumentException("The issuer and the audience are required to validate JWT access "
+                                                       + "tokens locally");
+        }
+        this.jwksUrl = jwksUrl;
+        this.issuer = issuer.trim();
+        this.audience = audience.trim();
+        this.tokenType = tokenType == null || tokenType.trim().isEmpty() ?
+                OAuthConstants.DEFAULT_JWT_TOKEN_TYPE : tokenType.trim();
+    }
+
+    /**
+     * Validate the given access token locally.
+     *
+     * @param accessToken access token
+     * @return the validation response if the token is a valid JWT signed by the key manager, null otherwise
+     */
+    public OAuth2TokenValidationResponseDTO validate(String accessToken) {
+        if (accessToken.indexOf('.') < 0) {
+            // opaque token
+            return null;
+        }
+        try {
+            JWT token = JWTParser.parse(accessToken);
+            if (!(token instanceof SignedJWT)) {
+                return reject("the token is not signed");
+            }
+            SignedJWT jwt = (SignedJWT) token;
+            JWSHeader header = jwt.getHeader();
+            if (!isExpectedType(header.getType())) {
+                return reject("unexpected token type " + header.getType());
+            }
+            JWSAlgorithm algorithm = header.getAlgorithm();
+            if (!JWSAlgorithm.Family.RSA.contains(algorithm) && !JWSAlgorithm.Family.EC.contains(algorithm)) {
+                return reject("unexpected signature algorithm " + algorithm);
+            }
+            if (jwt.getSignature() == null || jwt.getSignature().toString().isEmpty()) {
+                return reject("the token has no signature");
+            }
+            JWSVerifier verifier = getVerifier(header.getKeyID(), algorithm);
+            if (verifier == null || !jwt.verify(verifier)) {
+                return reject("the signature could not be verified");
+            }
+            JWTClaimsSet claims = jwt.getJWTClaimsSet();
+            if (!issuer.equals(claims.getIssuer())) {
+                return reject("unexpected issuer " + claims.getIssuer());
+            }
+            List<String> audiences = claims.getAudience();
+            if (audiences == null || !audiences.contains(audience)) {
+                return reject("unexpected audience " + audiences);
+            }
+            long now = System.currentTimeMillis();
+            Date expirationTime = claims.getExpirationTime();
+            Date notBeforeTime = claims.getNotBeforeTime();
+            if (expirationTime == null || expirationTime.getTime() <= now
+                    || (notBeforeTime != null && notBeforeTime.getTime() > now)) {
+                return reject("the token is expired or not yet valid");
+            }
+            OAuth2TokenValidationResponseDTO response = new OAuth2TokenValidationResponseDTO();
+            response.setValid(true);
+            response.setAuthorizedUser(claims.getSubject());
+            response.setExpiryTime((expirationTime.getTime() - now) / 1000);
+            String scope = claims.getStringClaim(OAuthConstants.SCOPE);
+            if (scope != null && !scope.trim().isEmpty()) {
+                response.setScope(scope.trim().split("\\s+"));
+            }
+            return response;
+        } catch (ParseException | JOSEException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("Unable to validate the access token locally", e);
+            }
+            return null;
+        }
+    }
+
+    private OAuth2TokenValidationResponseDTO reject(String reason) {
+        if (log.isDebugEnabled()) {
+            log.debug("Access token is not validated locally, " + reason);
+        }
+        return null;
+    }
+
+    private boolean isExpectedType(JOSEObjectType type) {
+        if (type == null) {
+            return false;
+        }
+        // the "application/" prefix of the media type may be omitted
+        String value = type.getType();
+        return tokenType.equalsIgnoreCase(value) || ("application/" + tokenType).equalsIgnoreCase(value);
+    }
+
+    private JWSVerifier getVerifier(String keyId, JWSAlgorithm algorithm) throws JOSEException {
+        JWK key = findKey(getJWKSet(false), keyId);
+        if (key == null) {
+            // the keys may have been rotated
+            key = findKey(getJWKSet(true), keyId);
+        }
+        if (key == null || (key.getAlgorithm() != null && !key.getAlgorithm().equals(algorithm))
+                || (key.getKeyUse() != null && !KeyUse.SIGNATURE.equals(key.getKeyUse()))) {
+            return null;
+        }
+        if (key instanceof RSAKey && JWSAlgorithm.Family.RSA.contains(algorithm)) {
+            return new RSASSAVerifier((RSAKey) key);
+        } else if (key instanceof ECKey && JWSAlgorithm.Family.EC.contains(algorithm)) {
+            return new ECDSAVerifier((ECKey) key);
+        }
+        return null;
+    }
+
+    private JWK findKey(JWKSet keys, String keyId) {
+        if (keys == null) {
+            return null;
+        }
+        if (keyId == null) {
+            List<JWK> allKeys = keys.getKeys();
+            return allKeys.size() == 1 ? allKeys.get(0) : null;
+        }
+        return keys.getKeyByKeyId(keyId);
+    }
+
+    private JWKSet getJWKSet(boolean reload) {
+        long age = System.currentTimeMillis() - jwkSetLoadedTime;
+        if (jwkSet != null && age < OAuthConstants.JWKS_REFRESH_INTERVAL
+                && (!reload || age < OAuthConstants.JWKS_MIN_REFRESH_INTERVAL)) {
+            return jwkSet;
+        }
+        synchronized (this) {
+            age = System.currentTimeMillis() - jwkSetLoadedTime;
+            if (jwkSet == null || age >= OAuthConstants.JWKS_REFRESH_INTERVAL
+                    || (reload && age >= OAuthConstants.JWKS_MIN_REFRESH_INTERVAL)) {
+                try {
+                    jwkSet = loadJWKSet();
+                    if (log.isDebugEnabled()) {
+                        log.debug("Loaded the JWKS from " + jwksUrl);
+                    }
+                } catch (IOException | ParseException e) {
+                    log.warn("Error while loading the JWKS from " + jwksUrl, e);
+                }
+                // a failed load is not retried until the minimum refresh interval passes
+                jwkSetLoadedTime = System.currentTimeMillis();
+            }
+            return jwkSet;
+        }
+    }
+
+    JWKSet loadJWKSet() throws IOException, ParseException {
+        return JWKSet.load(new URL(jwksUrl), OAuthConstants.JWKS_TIMEOUT, OAuthConstants.JWKS_TIMEOUT, 0);
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.micro.integrator.mediator.oauth;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.wso2.carbon.identity.oauth2.stub.dto.OAuth2TokenValidationRequestDTO_TokenValidationContextParam;
+import org.wso2.carbon.identity.oauth2.stub.dto.OAuth2TokenValidationResponseDTO;
+
+/**
+ * Caches the OAuth 2.0 token validation responses by a hash of the access token, so that the tokens are not kept in
+ * memory. A valid token is cached until it expires, but not longer than the configured maximum time to live, and an
+ * invalid token is cached for the configured negative time to live.
+ * <p>
+ * Valid and invalid tokens are kept in separately bounded caches, so that requests with random invalid tokens do
+ * not evict the valid tokens. When a cache is full the least recently used token is evicted.
+ */
+public class OAuth2TokenValidationCache {
+
+    private final long maxTTL;
+    private final long invalidTokenTTL;
+    private final Map<String, CachedValidation> validTokens;
+    private final Map<String, CachedValidation> invalidTokens;
+
+    /**
+     * @param maxTTL          maximum time to live of a valid token in milliseconds
+     * @param invalidTokenTTL time to live of an invalid token in milliseconds
+     */
+    public OAuth2TokenValidationCache(long maxTTL, long invalidTokenTTL) {
+        this(maxTTL, invalidTokenTTL, OAuthConstants.MAX_TOKEN_CACHE_ENTRIES,
+                OAuthConstants.MAX_INVALID_TOKEN_CACHE_ENTRIES);
+    }
+
+    OAuth2TokenValidationCache(long maxTTL, long invalidTokenTTL, int maxValidTokens, int maxInvalidTokens) {
+        this.maxTTL = maxTTL;
+        this.invalidTokenTTL = invalidTokenTTL;
+        this.validTokens = new BoundedMap(maxValidTokens);
+        this.invalidTokens = new BoundedMap(maxInvalidTokens);
+    }
+
+    public OAuth2TokenValidationResponseDTO get(String key) {
+        OAuth2TokenValidationResponseDTO response = get(validTokens, key);
+        return response != null ? response : get(invalidTokens, key);
+    }
+
+    private static OAuth2TokenValidationResponseDTO get(Map<String, CachedValidation> validations, String key) {
+        synchronized (validations) {
+            CachedValidation validation = validations.get(key);
+            if (validation == null) {
+                return null;
+            }
+            if (validation.expiryTime <= System.currentTimeMillis()) {
+                validations.remove(key);
+                return null;
+            }
+            return validation.response;
+        }
+    }
+
+    public void put(String key, OAuth2TokenValidationResponseDTO response) {
+        long ttl;
+        if (response.getValid()) {
+            ttl = maxTTL;
+            if (response.getExpiryTime() > 0) {
+                // expiry time of the token is given in seconds
+                ttl = Math.min(ttl, response.getExpiryTime() * 1000);
+            }
+        } else {
+            ttl = invalidTokenTTL;
+        }
+        if (ttl <= 0) {
+            return;
+        }
+        CachedValidation validation = new CachedValidation(response, System.currentTimeMillis() + ttl);
+        Map<String, CachedValidation> validations = response.getValid() ? validTokens : invalidTokens;
+        Map<String, CachedValidation> otherValidations = response.getValid() ? invalidTokens : validTokens;
+        synchronized (otherValidations) {
+            otherValidations.remove(key);
+        }
+        synchronized (validations) {
+            validations.put(key, validation);
+        }
+    }
+
+    /**
+     * Generate the cache key of an access token validated with the given context parameters.
+     *
+     * @param accessToken   access token
+     * @param contextParams token validation context parameters
+     * @return SHA-256 hash of the token and the parameters
+     */
+    public static String getKey(String accessToken,
+                                List<OAuth2TokenValidationRequestDTO_TokenValidationContextParam> contextParams) {
+        StringBuilder request = new StringBuilder(accessToken);
+        for (OAuth2TokenValidationRequestDTO_TokenValidationContextParam param : contextParams) {
+            request.append('\u0000').append(param.getKey()).append('\u0000').append(param.getValue());
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder()
+                    .encodeToString(digest.digest(request.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is available in every Java platform
+            throw new IllegalStateException("SHA-256 algorithm is not available", e);
+        }
+    }
+
+    /**
+     * Access ordered map which evicts the least recently used entry when it grows beyond the given number of entries.
+     */
+    private static class BoundedMap extends LinkedHashMap<String, CachedValidation> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int maxEntries;
+
+        BoundedMap(int maxEntries) {
+            super(16, 0.75f, true);
+            this.maxEntries = maxEntries;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedValidation> eldest) {
+            return size() > maxEntries;
+        }
+    }
+
+    private static class CachedValidation {
+
+        private final OAuth2TokenValidationResponseDTO response;
+        private final long expiryTime;
+
+        CachedValidation(OAuth2TokenValidationResponseDTO response, long expiryTime) {
+            this.response = response;
+            this.expiryTime = expiryTime;
+        }
+    }
+}
@@ -41,4 +41,12 @@ public final class OAuthConstants {
     public static final String ACCESS_TOKEN = "access_token";
     public static final String BEARER_TOKEN_TYPE = "bearer";
     public static final String OAUTH2_SCOPE_VALIDATION_ENABLED = "oauth2_scope_validation_enabled";
+    // OAuth 2.0 token validation
+    public static final int MAX_TOKEN_CACHE_ENTRIES = 10000;
+    public static final int MAX_INVALID_TOKEN_CACHE_ENTRIES = 1000;
+    public static final int MAX_IDLE_VALIDATION_CLIENTS = 20;
+    public static final long JWKS_REFRESH_INTERVAL = 15 * 60 * 1000L;
+    public static final long JWKS_MIN_REFRESH_INTERVAL = 30 * 1000L;
+    public static final int JWKS_TIMEOUT = 10000;
+    public static final String DEFAULT_JWT_TOKEN_TYPE = "at+jwt";
 }
@@ -48,6 +48,22 @@ public class OAuthMediator extends AbstractMediator {
     // The username and password used to log in to WSO2 Identity Server with admin privileges
     private String username;
     private String password;
+    // Maximum time in seconds a validated token is cached. Tokens are not cached beyond their expiry
+    private int tokenCacheMaxTTL = 0;
+    // Time in seconds an invalid token is cached
+    private int invalidTokenCacheTTL = 0;
+    // JWKS endpoint of the key manager, used to validate JWT access tokens locally
+    private String jwksUrl;
+    // Issuer, audience and type a JWT access token should have to be validated locally
+    private String jwtIssuer;
+    private String jwtAudience;
+    private String jwtTokenType;
+
+    private volatile OAuth2TokenValidationCache tokenValidationCache;
+    private volatile JWTAccessTokenValidator jwtAccessTokenValidator;
+    private final ValidationClientPool<OAuth2TokenValidationServiceClient> validationClients =
+            new ValidationClientPool<>(() -> new OAuth2TokenValidationServiceClient(getRemoteServiceUrl(),
+                    getUsername(), getPassword(), this.cfgCtx), OAuthConstants.MAX_IDLE_VALIDATION_CLIENTS);
 
     ConfigurationContext cfgCtx = null;
     private String clientRepository = null;
@@ -140,12 +156,6 @@ public class OAuthMediator extends AbstractMediator {
         OAuth2TokenValidationResponseDTO respDTO;
         Map headersMap;
         try {
-            OAuth2TokenValidationServiceClient oauth2Client =
-                    new OAuth2TokenValidationServiceClient(
-                            getRemoteServiceUrl(),
-                            getUsername(),
-                            getPassword(),
-                            cfgCtx);
             org.apache.axis2.context.MessageContext msgContext = ((Axis2MessageContext) synCtx).getAxis2MessageContext();
             headersMap =
                     (Map) msgContext.getProperty(org.apache.axis2.context.MessageContext.TRANSPORT_HEADERS);
@@ -172,7 +182,7 @@ public class OAuthMediator extends AbstractMediator {
                 }
             }
 
-            respDTO = oauth2Client.validateAuthenticationRequest(accessToken, contextParams);
+            respDTO = validateAccessToken(accessToken, contextParams);
         } catch (Exception e) {
             throw new SynapseException("Error occured while validating oauth 2.0 access token", e);
         }
@@ -216,6 +226,77 @@ public class OAuthMediator extends AbstractMediator {
         return true;
     }
 
+    /**
+     * Validate the access token using the cached validation responses, the local JWT validation or the remote
+     * validation service in that order.
+     *
+     * @param accessToken   access token
+     * @param contextParams token validation context parameters
+     * @return the validation response
+     * @throws Exception if the token could not be validated
+     */
+    private OAuth2TokenValidationResponseDTO validateAccessToken(String accessToken,
+            List<OAuth2TokenValidationRequestDTO_TokenValidationContextParam> contextParams) throws Exception {
+        OAuth2TokenValidationCache cache = getTokenValidationCache();
+        String cacheKey = null;
+        if (cache != null) {
+            cacheKey = OAuth2TokenValidationCache.getKey(accessToken, contextParams);
+            OAuth2TokenValidationResponseDTO respDTO = cache.get(cacheKey);
+            if (respDTO != null) {
+                if (log.isDebugEnabled()) {
+                    log.debug("OAuth 2.0 token validation response found in the cache");
+                }
+                return respDTO;
+            }
+        }
+        OAuth2TokenValidationResponseDTO respDTO = null;
+        JWTAccessTokenValidator jwtValidator = getJWTAccessTokenValidator();
+        // context parameters are only evaluated by the validation service
+        if (jwtValidator != null && contextParams.isEmpty()) {
+            respDTO = jwtValidator.validate(accessToken);
+        }
+        if (respDTO == null) {
+            OAuth2TokenValidationServiceClient oauth2Client = validationClients.borrow();
+            respDTO = oauth2Client.validateAuthenticationRequest(accessToken, contextParams);
+            // a client which failed is not reused
+            validationClients.release(oauth2Client);
+        }
+        if (cache != null) {
+            cache.put(cacheKey, respDTO);
+        }
+        return respDTO;
+    }
+
+    private OAuth2TokenValidationCache getTokenValidationCache() {
+        if (tokenCacheMaxTTL <= 0 && invalidTokenCacheTTL <= 0) {
+            return null;
+        }
+        if (tokenValidationCache == null) {
+            synchronized (this) {
+                if (tokenValidationCache == null) {
+                    tokenValidationCache = new OAuth2TokenValidationCache(tokenCacheMaxTTL * 1000L,
+                                                                          invalidTokenCacheTTL * 1000L);
+                }
+            }
+        }
+        return tokenValidationCache;
+    }
+
+    private JWTAccessTokenValidator getJWTAccessTokenValidator() {
+        if (jwksUrl == null || jwksUrl.trim().isEmpty()) {
+            return null;
+        }
+        if (jwtAccessTokenValidator == null) {
+            synchronized (this) {
+                if (jwtAccessTokenValidator == null) {
+                    jwtAccessTokenValidator = new JWTAccessTokenValidator(jwksUrl.trim(), jwtIssuer, jwtAudience,
+                                                                          jwtTokenType);
+                }
+            }
+        }
+        return jwtAccessTokenValidator;
+    }
+
     /**
      * Try to authenticate using OAuth 1.0a.
      *
@@ -409,6 +490,54 @@ public class OAuthMediator extends AbstractMediator {
         this.remoteServiceUrl = remoteServiceUrl;
     }
 
+    public int getTokenCacheMaxTTL() {
+        return tokenCacheMaxTTL;
+    }
+
+    public void setTokenCacheMaxTTL(int tokenCacheMaxTTL) {
+        this.tokenCacheMaxTTL = tokenCacheMaxTTL;
+    }
+
+    public int getInvalidTokenCacheTTL() {
+        return invalidTokenCacheTTL;
+    }
+
+    public void setInvalidTokenCacheTTL(int invalidTokenCacheTTL) {
+        this.invalidTokenCacheTTL = invalidTokenCacheTTL;
+    }
+
+    public String getJwksUrl() {
+        return jwksUrl;
+    }
+
+    public void setJwksUrl(String jwksUrl) {
+        this.jwksUrl = jwksUrl;
+    }
+
+    public String getJwtIssuer() {
+        return jwtIssuer;
+    }
+
+    public void setJwtIssuer(String jwtIssuer) {
+        this.jwtIssuer = jwtIssuer;
+    }
+
+    public String getJwtAudience() {
+        return jwtAudience;
+    }
+
+    public void setJwtAudience(String jwtAudience) {
+        this.jwtAudience = jwtAudience;
+    }
+
+    public String getJwtTokenType() {
+        return jwtTokenType;
+    }
+
+    public void setJwtTokenType(String jwtTokenType) {
+        this.jwtTokenType = jwtTokenType;
+    }
+
     @Override
     public boolean isContentAware() {
         return false;
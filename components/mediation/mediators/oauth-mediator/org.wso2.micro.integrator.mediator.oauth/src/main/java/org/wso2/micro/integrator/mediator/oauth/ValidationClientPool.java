@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.micro.integrator.mediator.oauth;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool of idle token validation clients. Axis2 stubs are not thread safe, hence a client is used by one thread at a
+ * time. A client is created when there is no idle client, and at most the given number of clients are kept idle.
+ *
+ * @param <T> type of the client
+ */
+class ValidationClientPool<T> {
+
+    /**
+     * Creates the clients of the pool.
+     */
+    interface ClientFactory<T> {
+
+        T create() throws Exception;
+    }
+
+    private final ClientFactory<T> factory;
+    private final int maxIdleClients;
+    private final Queue<T> idleClients = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+
+    ValidationClientPool(ClientFactory<T> factory, int maxIdleClients) {
+        this.factory = factory;
+        this.maxIdleClients = maxIdleClients;
+    }
+
+    /**
+     * Take an idle client, or create one if there is no idle client.
+     *
+     * @return client to be used only by the calling thread until it is released
+     * @throws Exception if a client could not be created
+     */
+    T borrow() throws Exception {
+        T client = idleClients.poll();
+        if (client == null) {
+            return factory.create();
+        }
+        idleCount.decrementAndGet();
+        return client;
+    }
+
+    /**
+     * Return a client which was used successfully to the pool. A client which failed should not be released.
+     *
+     * @param client client taken from the pool
+     */
+    void release(T client) {
+        if (idleCount.incrementAndGet() > maxIdleClients) {
+            idleCount.decrementAndGet();
+            return;
+        }
+        idleClients.offer(client);
+    }
+
+    int getIdleCount() {
+        return idleCount.get();
+    }
+}
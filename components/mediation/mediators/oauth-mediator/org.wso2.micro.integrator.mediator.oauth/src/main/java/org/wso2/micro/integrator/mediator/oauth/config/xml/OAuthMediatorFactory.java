@@ -38,6 +38,12 @@ public class OAuthMediatorFactory extends AbstractMediatorFactory {
     private static final QName ATTR_NAME_SERVICE_EPR = new QName("remoteServiceUrl");
     private static final QName ATTR_NAME_USERNAME = new QName("username");
     private static final QName ATTR_NAME_PASSWORD = new QName("password");
+    private static final QName ATTR_NAME_TOKEN_CACHE_MAX_TTL = new QName("tokenCacheMaxTTL");
+    private static final QName ATTR_NAME_INVALID_TOKEN_CACHE_TTL = new QName("invalidTokenCacheTTL");
+    private static final QName ATTR_NAME_JWKS_URL = new QName("jwksUrl");
+    private static final QName ATTR_NAME_JWT_ISSUER = new QName("jwtIssuer");
+    private static final QName ATTR_NAME_JWT_AUDIENCE = new QName("jwtAudience");
+    private static final QName ATTR_NAME_JWT_TOKEN_TYPE = new QName("jwtTokenType");
 
     /**
      * {@inheritDoc}
@@ -74,12 +80,48 @@ public class OAuthMediatorFactory extends AbstractMediatorFactory {
         } else {
             throw new SynapseException("The 'password' attribute is required for the OAuth mediator");
         }
+        OMAttribute tokenCacheMaxTTL = element.getAttribute(ATTR_NAME_TOKEN_CACHE_MAX_TTL);
+        if (tokenCacheMaxTTL != null && tokenCacheMaxTTL.getAttributeValue() != null) {
+            mediator.setTokenCacheMaxTTL(parseSeconds(tokenCacheMaxTTL));
+        }
+        OMAttribute invalidTokenCacheTTL = element.getAttribute(ATTR_NAME_INVALID_TOKEN_CACHE_TTL);
+        if (invalidTokenCacheTTL != null && invalidTokenCacheTTL.getAttributeValue() != null) {
+            mediator.setInvalidTokenCacheTTL(parseSeconds(invalidTokenCacheTTL));
+        }
+        OMAttribute jwksUrl = element.getAttribute(ATTR_NAME_JWKS_URL);
+        if (jwksUrl != null && jwksUrl.getAttributeValue() != null) {
+            mediator.setJwksUrl(jwksUrl.getAttributeValue());
+            OMAttribute jwtIssuer = element.getAttribute(ATTR_NAME_JWT_ISSUER);
+            OMAttribute jwtAudience = element.getAttribute(ATTR_NAME_JWT_AUDIENCE);
+            if (jwtIssuer == null || jwtIssuer.getAttributeValue() == null
+                    || jwtIssuer.getAttributeValue().trim().isEmpty()
+                    || jwtAudience == null || jwtAudience.getAttributeValue() == null
+                    || jwtAudience.getAttributeValue().trim().isEmpty()) {
+                throw new SynapseException("The 'jwtIssuer' and 'jwtAudience' attributes are required for the "
+                        + "OAuth mediator when the 'jwksUrl' attribute is set");
+            }
+            mediator.setJwtIssuer(jwtIssuer.getAttributeValue());
+            mediator.setJwtAudience(jwtAudience.getAttributeValue());
+            OMAttribute jwtTokenType = element.getAttribute(ATTR_NAME_JWT_TOKEN_TYPE);
+            if (jwtTokenType != null && jwtTokenType.getAttributeValue() != null) {
+                mediator.setJwtTokenType(jwtTokenType.getAttributeValue());
+            }
+        }
 
         addAllCommentChildrenToList(element, mediator.getCommentsList());
 
         return mediator;
     }
 
+    private int parseSeconds(OMAttribute attribute) {
+        try {
+            return Integer.parseInt(attribute.getAttributeValue().trim());
+        } catch (NumberFormatException e) {
+            throw new SynapseException("The '" + attribute.getLocalName()
+                    + "' attribute of the OAuth mediator should be a number of seconds", e);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
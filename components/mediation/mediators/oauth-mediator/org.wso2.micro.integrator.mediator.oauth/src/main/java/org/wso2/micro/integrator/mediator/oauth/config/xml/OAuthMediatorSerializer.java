@@ -55,6 +55,26 @@ public class OAuthMediatorSerializer extends AbstractMediatorSerializer {
         if (oauth.getPassword() != null) {
             oauthElem.addAttribute(fac.createOMAttribute("password", nullNS, oauth.getPassword()));
         }
+        if (oauth.getTokenCacheMaxTTL() > 0) {
+            oauthElem.addAttribute(fac.createOMAttribute("tokenCacheMaxTTL", nullNS,
+                    Integer.toString(oauth.getTokenCacheMaxTTL())));
+        }
+        if (oauth.getInvalidTokenCacheTTL() > 0) {
+            oauthElem.addAttribute(fac.createOMAttribute("invalidTokenCacheTTL", nullNS,
+                    Integer.toString(oauth.getInvalidTokenCacheTTL())));
+        }
+        if (oauth.getJwksUrl() != null) {
+            oauthElem.addAttribute(fac.createOMAttribute("jwksUrl", nullNS, oauth.getJwksUrl()));
+        }
+        if (oauth.getJwtIssuer() != null) {
+            oauthElem.addAttribute(fac.createOMAttribute("jwtIssuer", nullNS, oauth.getJwtIssuer()));
+        }
+        if (oauth.getJwtAudience() != null) {
+            oauthElem.addAttribute(fac.createOMAttribute("jwtAudience", nullNS, oauth.getJwtAudience()));
+        }
+        if (oauth.getJwtTokenType() != null) {
+            oauthElem.addAttribute(fac.createOMAttribute("jwtTokenType", nullNS, oauth.getJwtTokenType()));
+        }
         oauth = (OAuthMediator) mediator;
 
         serializeComments(oauthElem, ((OAuthMediator) mediator).getCommentsList());
@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.micro.integrator.mediator.oauth;
+
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.PlainHeader;
+import com.nimbusds.jose.crypto.ECDSASigner;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.util.Base64URL;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.PlainJWT;
+import com.nimbusds.jwt.SignedJWT;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.wso2.carbon.identity.oauth2.stub.dto.OAuth2TokenValidationResponseDTO;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Arrays;
+import java.util.Date;
+
+public class JWTAccessTokenValidatorTest {
+
+    private static final String JWKS_URL = "https://localhost:9443/oauth2/jwks";
+    private static final String ISSUER = "https://localhost:9443/oauth2/token";
+    private static final String AUDIENCE = "orders-client";
+    private static final JOSEObjectType AT_JWT = new JOSEObjectType("at+jwt");
+
+    private static KeyPair rsaKeyPair;
+    private static KeyPair ecKeyPair;
+    private static KeyPair otherRsaKeyPair;
+    private static JWKSet keys;
+
+    @BeforeClass
+    public static void createKeys() throws Exception {
+        KeyPairGenerator rsaGenerator = KeyPairGenerator.getInstance("RSA");
+        rsaGenerator.initialize(2048);
+        rsaKeyPair = rsaGenerator.generateKeyPair();
+        otherRsaKeyPair = rsaGenerator.generateKeyPair();
+        KeyPairGenerator ecGenerator = KeyPairGenerator.getInstance("EC");
+        ecGenerator.initialize(new ECGenParameterSpec("secp256r1"));
+        ecKeyPair = ecGenerator.generateKeyPair();
+
+        RSAPublicKey rsaPublicKey = (RSAPublicKey) rsaKeyPair.getPublic();
+        keys = new JWKSet(Arrays.<JWK>asList(
+                new RSAKey.Builder(rsaPublicKey).keyID("rsa").keyUse(KeyUse.SIGNATURE).build(),
+                new RSAKey.Builder(rsaPublicKey).keyID("rsa-rs256").algorithm(JWSAlgorithm.RS256).build(),
+                new RSAKey.Builder(rsaPublicKey).keyID("rsa-encryption").keyUse(KeyUse.ENCRYPTION).build(),
+                new ECKey.Builder(Curve.P_256, (ECPublicKey) ecKeyPair.getPublic()).keyID("ec").build()));
+    }
+
+    private static JWTAccessTokenValidator validator(String tokenType) {
+        return new JWTAccessTokenValidator(JWKS_URL, ISSUER, AUDIENCE, tokenType) {
+            @Override
+            JWKSet loadJWKSet() {
+                return keys;
+            }
+        };
+    }
+
+    private static JWTClaimsSet.Builder claims() {
+        long now = System.currentTimeMillis();
+        return new JWTClaimsSet.Builder()
+                .issuer(ISSUER)
+                .audience(AUDIENCE)
+                .subject("alice")
+                .issueTime(new Date(now))
+                .expirationTime(new Date(now + 10 * 60 * 1000))
+                .claim(OAuthConstants.SCOPE, "read write");
+    }
+
+    private static String sign(JWSAlgorithm algorithm, String keyId, JOSEObjectType type, JWTClaimsSet claims,
+                               JWSSigner signer) throws Exception {
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(algorithm).keyID(keyId).type(type).build(), claims);
+        jwt.sign(signer);
+        return jwt.serialize();
+    }
+
+    private static String signRS256(JWTClaimsSet claims) throws Exception {
+        return sign(JWSAlgorithm.RS256, "rsa", AT_JWT, claims, new RSASSASigner(rsaKeyPair.getPrivate()));
+    }
+
+    private static void assertRejected(String accessToken) {
+        Assert.assertNull(validator(null).validate(accessToken));
+    }
+
+    @Test
+    public void acceptsRSASignedToken() throws Exception {
+        OAuth2TokenValidationResponseDTO response = validator(null).validate(signRS256(claims().build()));
+        Assert.assertNotNull(response);
+        Assert.assertTrue(response.getValid());
+        Assert.assertEquals("alice", response.getAuthorizedUser());
+        Assert.assertArrayEquals(new String[] {"read", "write"}, response.getScope());
+        Assert.assertTrue(response.getExpiryTime() > 0 && response.getExpiryTime() <= 600);
+    }
+
+    @Test
+    public void acceptsECSignedToken() throws Exception {
+        String token = sign(JWSAlgorithm.ES256, "ec", AT_JWT, claims().build(),
+                            new ECDSASigner((ECPrivateKey) ecKeyPair.getPrivate()));
+        Assert.assertNotNull(validator(null).validate(token));
+    }
+
+    @Test
+    public void acceptsOneOfMultipleAudiences() throws Exception {
+        JWTClaimsSet claims = claims().audience(Arrays.asList("other-client", AUDIENCE)).build();
+        Assert.assertNotNull(validator(null).validate(signRS256(claims)));
+    }
+
+    @Test
+    public void acceptsTokenTypeAsMediaType() throws Exception {
+        String token = sign(JWSAlgorithm.RS256, "rsa", new JOSEObjectType("application/at+jwt"), claims().build(),
+                            new RSASSASigner(rsaKeyPair.getPrivate()));
+        Assert.assertNotNull(validator(null).validate(token));
+    }
+
+    @Test
+    public void acceptsConfiguredTokenType() throws Exception {
+        String token = sign(JWSAlgorithm.RS256, "rsa", JOSEObjectType.JWT, claims().build(),
+                            new RSASSASigner(rsaKeyPair.getPrivate()));
+        Assert.assertNotNull(validator("JWT").validate(token));
+        Assert.assertNull(validator(null).validate(token));
+    }
+
+    @Test
+    public void rejectsTokenWithoutType() throws Exception {
+        assertRejected(sign(JWSAlgorithm.RS256, "rsa", null, claims().build(),
+                            new RSASSASigner(rsaKeyPair.getPrivate())));
+    }
+
+    @Test
+    public void rejectsUnexpectedIssuer() throws Exception {
+        assertRejected(signRS256(claims().issuer("https://attacker.example.com").build()));
+    }
+
+    @Test
+    public void rejectsTokenWithoutIssuer() throws Exception {
+        assertRejected(signRS256(claims().issuer(null).build()));
+    }
+
+    @Test
+    public void rejectsUnexpectedAudience() throws Exception {
+        assertRejected(signRS256(claims().audience("other-client").build()));
+    }
+
+    @Test
+    public void rejectsTokenWithoutAudience() throws Exception {
+        assertRejected(signRS256(claims().audience((String) null).build()));
+    }
+
+    @Test
+    public void rejectsUnsignedToken() {
+        assertRejected(new PlainJWT(new PlainHeader.Builder().type(AT_JWT).build(), claims().build()).serialize());
+    }
+
+    @Test
+    public void rejectsSignedTokenWithAlgorithmReplacedByNone() throws Exception {
+        String[] parts = signRS256(claims().build()).split("\\.");
+        String header = Base64URL.encode("{\"alg\":\"none\",\"typ\":\"at+jwt\",\"kid\":\"rsa\"}").toString();
+        assertRejected(header + "." + parts[1] + ".");
+        assertRejected(header + "." + parts[1] + "." + parts[2]);
+    }
+
+    @Test
+    public void rejectsTokenWithoutSignature() throws Exception {
+        String[] parts = signRS256(claims().build()).split("\\.");
+        assertRejected(parts[0] + "." + parts[1] + ".");
+    }
+
+    @Test
+    public void rejectsHMACSignedToken() throws Exception {
+        // an HMAC keyed with the public key must not be verified as if it was signed with the private key
+        assertRejected(sign(JWSAlgorithm.HS256, "rsa", AT_JWT, claims().build(),
+                            new MACSigner(rsaKeyPair.getPublic().getEncoded())));
+    }
+
+    @Test
+    public void rejectsAlgorithmNotAllowedForTheKey() throws Exception {
+        RSASSASigner signer = new RSASSASigner(rsaKeyPair.getPrivate());
+        Assert.assertNotNull(validator(null).validate(
+                sign(JWSAlgorithm.RS256, "rsa-rs256", AT_JWT, claims().build(), signer)));
+        assertRejected(sign(JWSAlgorithm.RS384, "rsa-rs256", AT_JWT, claims().build(), signer));
+    }
+
+    @Test
+    public void rejectsAlgorithmOfAnotherKeyType() throws Exception {
+        assertRejected(sign(JWSAlgorithm.ES256, "rsa", AT_JWT, claims().build(),
+                            new ECDSASigner((ECPrivateKey) ecKeyPair.getPrivate())));
+    }
+
+    @Test
+    public void rejectsEncryptionKey() throws Exception {
+        assertRejected(sign(JWSAlgorithm.RS256, "rsa-encryption", AT_JWT, claims().build(),
+                            new RSASSASigner(rsaKeyPair.getPrivate())));
+    }
+
+    @Test
+    public void rejectsTokenSignedWithUnknownKey() throws Exception {
+        assertRejected(sign(JWSAlgorithm.RS256, "rsa", AT_JWT, claims().build(),
+                            new RSASSASigner((RSAPrivateKey) otherRsaKeyPair.getPrivate())));
+    }
+
+    @Test
+    public void rejectsExpiredToken() throws Exception {
+        assertRejected(signRS256(claims().expirationTime(new Date(System.currentTimeMillis() - 1000)).build()));
+        assertRejected(signRS256(claims().expirationTime(null).build()));
+    }
+
+    @Test
+    public void rejectsTokenNotYetValid() throws Exception {
+        assertRejected(signRS256(claims().notBeforeTime(new Date(System.currentTimeMillis() + 60000)).build()));
+    }
+
+    @Test
+    public void leavesOpaqueTokenToTheValidationService() {
+        assertRejected("5f2c1b9e-6a3d-4c8e-9f1a-2b3c4d5e6f70");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void requiresIssuer() {
+        new JWTAccessTokenValidator(JWKS_URL, null, AUDIENCE, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void requiresAudience() {
+        new JWTAccessTokenValidator(JWKS_URL, ISSUER, " ", null);
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.micro.integrator.mediator.oauth;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.wso2.carbon.identity.oauth2.stub.dto.OAuth2TokenValidationRequestDTO_TokenValidationContextParam;
+import org.wso2.carbon.identity.oauth2.stub.dto.OAuth2TokenValidationResponseDTO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class OAuth2TokenValidationCacheTest {
+
+    private static final String TOKEN = "5f2c1b9e-6a3d-4c8e-9f1a-2b3c4d5e6f70";
+
+    private static OAuth2TokenValidationResponseDTO response(boolean valid, long expiryTime) {
+        OAuth2TokenValidationResponseDTO response = new OAuth2TokenValidationResponseDTO();
+        response.setValid(valid);
+        response.setExpiryTime(expiryTime);
+        return response;
+    }
+
+    private static OAuth2TokenValidationRequestDTO_TokenValidationContextParam param(String key, String value) {
+        OAuth2TokenValidationRequestDTO_TokenValidationContextParam param =
+                new OAuth2TokenValidationRequestDTO_TokenValidationContextParam();
+        param.setKey(key);
+        param.setValue(value);
+        return param;
+    }
+
+    private static String key(String token) {
+        return OAuth2TokenValidationCache.getKey(token,
+                Collections.<OAuth2TokenValidationRequestDTO_TokenValidationContextParam>emptyList());
+    }
+
+    @Test
+    public void cachesValidTokenUntilMaxTTL() throws Exception {
+        OAuth2TokenValidationCache cache = new OAuth2TokenValidationCache(200, 0);
+        OAuth2TokenValidationResponseDTO response = response(true, 3600);
+        cache.put(key(TOKEN), response);
+
+        Assert.assertSame(response, cache.get(key(TOKEN)));
+        Thread.sleep(300);
+        Assert.assertNull(cache.get(key(TOKEN)));
+    }
+
+    @Test
+    public void cachesValidTokenUntilItExpires() throws Exception {
+        OAuth2TokenValidationCache cache = new OAuth2TokenValidationCache(60000, 0);
+        OAuth2TokenValidationResponseDTO response = response(true, 1);
+        cache.put(key(TOKEN), response);
+
+        Assert.assertSame(response, cache.get(key(TOKEN)));
+        Thread.sleep(1100);
+        Assert.assertNull(cache.get(key(TOKEN)));
+    }
+
+    @Test
+    public void cachesInvalidTokenForInvalidTokenTTL() throws Exception {
+        OAuth2TokenValidationCache cache = new OAuth2TokenValidationCache(60000, 200);
+        OAuth2TokenValidationResponseDTO response = response(false, 0);
+        cache.put(key(TOKEN), response);
+
+        Assert.assertSame(response, cache.get(key(TOKEN)));
+        Thread.sleep(300);
+        Assert.assertNull(cache.get(key(TOKEN)));
+    }
+
+    @Test
+    public void doesNotCacheWithoutTTL() {
+        OAuth2TokenValidationCache validOnly = new OAuth2TokenValidationCache(60000, 0);
+        validOnly.put(key(TOKEN), response(false, 0));
+        Assert.assertNull(validOnly.get(key(TOKEN)));
+
+        OAuth2TokenValidationCache invalidOnly = new OAuth2TokenValidationCache(0, 60000);
+        invalidOnly.put(key(TOKEN), response(true, 3600));
+        Assert.assertNull(invalidOnly.get(key(TOKEN)));
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedTokenWhenFull() {
+        OAuth2TokenValidationCache cache = new OAuth2TokenValidationCache(60000, 60000);
+        for (int i = 0; i < OAuthConstants.MAX_TOKEN_CACHE_ENTRIES; i++) {
+            cache.put(key(TOKEN + i), response(true, 3600));
+        }
+        Assert.assertNotNull(cache.get(key(TOKEN + 0)));
+
+        OAuth2TokenValidationResponseDTO response = response(true, 3600);
+        cache.put(key(TOKEN), response);
+        Assert.assertSame(response, cache.get(key(TOKEN)));
+        Assert.assertNull(cache.get(key(TOKEN + 1)));
+        Assert.assertNotNull(cache.get(key(TOKEN + 0)));
+        Assert.assertNotNull(cache.get(key(TOKEN + 2)));
+    }
+
+    @Test
+    public void invalidTokensDoNotEvictValidTokens() {
+        OAuth2TokenValidationCache cache = new OAuth2TokenValidationCache(60000, 60000, 2, 1);
+        OAuth2TokenValidationResponseDTO valid = response(true, 3600);
+        cache.put(key(TOKEN), valid);
+        cache.put(key(TOKEN + "a"), response(false, 0));
+        OAuth2TokenValidationResponseDTO invalid = response(false, 0);
+        cache.put(key(TOKEN + "b"), invalid);
+
+        Assert.assertSame(valid, cache.get(key(TOKEN)));
+        Assert.assertNull(cache.get(key(TOKEN + "a")));
+        Assert.assertSame(invalid, cache.get(key(TOKEN + "b")));
+    }
+
+    @Test
+    public void replacesValidationOfRevokedToken() {
+        OAuth2TokenValidationCache cache = new OAuth2TokenValidationCache(60000, 60000);
+        cache.put(key(TOKEN), response(true, 3600));
+        OAuth2TokenValidationResponseDTO invalid = response(false, 0);
+        cache.put(key(TOKEN), invalid);
+        Assert.assertSame(invalid, cache.get(key(TOKEN)));
+    }
+
+    @Test
+    public void keyDependsOnTokenAndContextParams() {
+        List<OAuth2TokenValidationRequestDTO_TokenValidationContextParam> params =
+                Arrays.asList(param("resource", "/orders"), param("method", "GET"));
+        List<OAuth2TokenValidationRequestDTO_TokenValidationContextParam> otherParams =
+                Arrays.asList(param("resource", "/orders"), param("method", "POST"));
+        String key = OAuth2TokenValidationCache.getKey(TOKEN, params);
+
+        Assert.assertEquals(key, OAuth2TokenValidationCache.getKey(TOKEN, new ArrayList<>(params)));
+        Assert.assertFalse(key.equals(OAuth2TokenValidationCache.getKey(TOKEN, otherParams)));
+        Assert.assertFalse(key.equals(key(TOKEN)));
+        Assert.assertFalse(key(TOKEN).equals(key(TOKEN + "x")));
+        // the token itself is not kept in the cache
+        Assert.assertFalse(key.contains(TOKEN));
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.micro.integrator.mediator.oauth;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ValidationClientPoolTest {
+
+    @Test
+    public void createsClientWhenThereIsNoIdleClient() throws Exception {
+        CountingFactory factory = new CountingFactory();
+        ValidationClientPool<Client> pool = new ValidationClientPool<>(factory, 2);
+
+        Client first = pool.borrow();
+        Client second = pool.borrow();
+        Assert.assertNotSame(first, second);
+        Assert.assertEquals(2, factory.created.get());
+        Assert.assertEquals(0, pool.getIdleCount());
+    }
+
+    @Test
+    public void reusesReleasedClient() throws Exception {
+        CountingFactory factory = new CountingFactory();
+        ValidationClientPool<Client> pool = new ValidationClientPool<>(factory, 2);
+
+        Client client = pool.borrow();
+        pool.release(client);
+        Assert.assertEquals(1, pool.getIdleCount());
+        Assert.assertSame(client, pool.borrow());
+        Assert.assertEquals(1, factory.created.get());
+        Assert.assertEquals(0, pool.getIdleCount());
+    }
+
+    @Test
+    public void keepsAtMostTheMaximumIdleClients() throws Exception {
+        ValidationClientPool<Client> pool = new ValidationClientPool<>(new CountingFactory(), 2);
+        List<Client> clients = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            clients.add(pool.borrow());
+        }
+        for (Client client : clients) {
+            pool.release(client);
+        }
+        Assert.assertEquals(2, pool.getIdleCount());
+        Assert.assertSame(clients.get(0), pool.borrow());
+        Assert.assertSame(clients.get(1), pool.borrow());
+        Assert.assertNotSame(clients.get(2), pool.borrow());
+    }
+
+    @Test
+    public void reportsFactoryFailure() {
+        Exception failure = new Exception("Validation service is unavailable");
+        ValidationClientPool<Client> pool = new ValidationClientPool<>(() -> {
+            throw failure;
+        }, 2);
+        try {
+            pool.borrow();
+            Assert.fail("The factory failure is not reported");
+        } catch (Exception e) {
+            Assert.assertSame(failure, e);
+        }
+        Assert.assertEquals(0, pool.getIdleCount());
+    }
+
+    @Test
+    public void clientIsUsedByOneThreadAtATime() throws Exception {
+        int threads = 8;
+        int maxIdleClients = 3;
+        CountingFactory factory = new CountingFactory();
+        ValidationClientPool<Client> pool = new ValidationClientPool<>(factory, maxIdleClients);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < 1000; j++) {
+                        Client client = pool.borrow();
+                        Assert.assertTrue("Client is shared by threads", client.inUse.compareAndSet(false, true));
+                        client.inUse.set(false);
+                        pool.release(client);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assert.assertTrue(pool.getIdleCount() <= maxIdleClients);
+        // the released clients are reused
+        Assert.assertTrue(factory.created.get() < threads * 1000);
+    }
+
+    private static class Client {
+
+        private final AtomicBoolean inUse = new AtomicBoolean();
+    }
+
+    private static class CountingFactory implements ValidationClientPool.ClientFactory<Client> {
+
+        private final AtomicInteger created = new AtomicInteger();
+
+        @Override
+        public Client create() {
+            created.incrementAndGet();
+            return new Client();
+        }
+    }
+}
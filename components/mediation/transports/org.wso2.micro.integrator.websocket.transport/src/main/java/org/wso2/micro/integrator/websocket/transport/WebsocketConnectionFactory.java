@@ -21,7 +21,9 @@ package org.wso2.micro.integrator.websocket.transport;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelDuplexHandler;
 import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.EventLoopGroup;
@@ -31,12 +33,15 @@ import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.handler.codec.http.DefaultHttpHeaders;
 import io.netty.handler.codec.http.HttpClientCodec;
 import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.websocketx.CloseWebSocketFrame;
 import io.netty.handler.codec.http.websocketx.WebSocketClientHandshakerFactory;
 import io.netty.handler.codec.http.websocketx.WebSocketFrameAggregator;
 import io.netty.handler.codec.http.websocketx.WebSocketVersion;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
 import io.netty.handler.ssl.SslHandler;
+import io.netty.handler.timeout.IdleStateEvent;
+import io.netty.handler.timeout.IdleStateHandler;
 import org.apache.axiom.om.OMElement;
 import org.apache.axis2.AxisFault;
 import org.apache.axis2.description.Parameter;
@@ -46,20 +51,39 @@ import org.apache.commons.logging.LogFactory;
 import org.apache.synapse.inbound.InboundResponseSender;
 import org.wso2.micro.integrator.websocket.transport.utils.SSLUtil;
 
+import java.net.ConnectException;
 import java.net.URI;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.net.ssl.SSLEngine;
 import javax.net.ssl.SSLException;
 import javax.net.ssl.SSLParameters;
 import javax.xml.namespace.QName;
 
+/**
+ * Creates and caches the outbound WebSocket connections. A connection is bound to the source channel it was created
+ * for and the backend it connects to, and all the connections of the transport share a single event loop group,
+ * which uses the native epoll transport when it is available on the platform.
+ */
 public class WebsocketConnectionFactory {
 
     private static final Log log = LogFactory.getLog(WebsocketConnectionFactory.class);
 
+    private static final String EPOLL_CLASS = "io.netty.channel.epoll.Epoll";
+    private static final String EPOLL_EVENT_LOOP_GROUP_CLASS = "io.netty.channel.epoll.EpollEventLoopGroup";
+    private static final String EPOLL_SOCKET_CHANNEL_CLASS = "io.netty.channel.epoll.EpollSocketChannel";
+
     private final TransportOutDescription transportOut;
-    private ConcurrentHashMap<String, ConcurrentHashMap<String, WebSocketClientHandler>> channelHandlerPool = new ConcurrentHashMap<String, ConcurrentHashMap<String, WebSocketClientHandler>>();
+    private final ConcurrentHashMap<HandlerKey, CompletableFuture<WebSocketClientHandler>> channelHandlerPool =
+            new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, AtomicInteger> backendConnectionCounts = new ConcurrentHashMap<>();
+    private final EventLoopGroup eventLoopGroup;
+    private final Class<? extends SocketChannel> channelClass;
+    private final int maxConnectionsPerBackend;
+    private final int idleTimeout;
 
     public WebsocketConnectionFactory(TransportOutDescription transportOut) throws AxisFault {
         this.transportOut = transportOut;
@@ -84,6 +108,18 @@ public class WebsocketConnectionFactory {
                                 + WebsocketConstants.TRUST_STORE_PASSWORD + " from Transport configurations");
             }
         }
+        this.maxConnectionsPerBackend = getIntParameter(WebsocketConstants.WEBSOCKET_CLIENT_MAX_CONNECTIONS_PER_BACKEND,
+                                                        0);
+        this.idleTimeout = getIntParameter(WebsocketConstants.WEBSOCKET_CLIENT_IDLE_TIMEOUT, 0);
+        int eventLoopThreads = getIntParameter(WebsocketConstants.WEBSOCKET_CLIENT_EVENT_LOOP_THREADS, 0);
+        EventLoopGroup epollEventLoopGroup = createEpollEventLoopGroup(eventLoopThreads);
+        if (epollEventLoopGroup != null) {
+            this.eventLoopGroup = epollEventLoopGroup;
+            this.channelClass = loadEpollSocketChannelClass();
+        } else {
+            this.eventLoopGroup = new NioEventLoopGroup(eventLoopThreads);
+            this.channelClass = NioSocketChannel.class;
+        }
     }
 
     public WebSocketClientHandler getChannelHandler(final URI uri, final String sourceIdentifier,
@@ -93,30 +129,109 @@ public class WebsocketConnectionFactory {
                                                     final Map<String, Object> headers,
                                                     final InboundResponseSender inboundResponseSender,
                                                     final String responseDispatchSequence,
-                                                    final String responseErrorSequence) throws InterruptedException {
-        WebSocketClientHandler channelHandler = getChannelHandlerFromPool(sourceIdentifier,
-                                                                          getClientHandlerIdentifier(uri));
-        if (channelHandler == null) {
-            synchronized (sourceIdentifier.intern()) {
-                channelHandler = getChannelHandlerFromPool(sourceIdentifier, getClientHandlerIdentifier(uri));
-                if (channelHandler == null) {
-                    if (isConnectionTerminate) {
-                        return null;
-                    }
-                    if (log.isDebugEnabled()) {
-                        log.debug("Caching new connection with sourceIdentifier " + sourceIdentifier + " in the Thread,"
-                                          + "ID: " + Thread.currentThread().getName() + "," + Thread.currentThread().getId());
-                    }
-                    channelHandler = cacheNewConnection(uri, sourceIdentifier, dispatchSequence,
-                                                        dispatchErrorSequence, contentType, headers, inboundResponseSender,
-                                                        responseDispatchSequence, responseErrorSequence);
+                                                    final String responseErrorSequence)
+            throws InterruptedException, ConnectException {
+        final String clientIdentifier = getClientHandlerIdentifier(uri);
+        final HandlerKey key = new HandlerKey(sourceIdentifier, clientIdentifier);
+        CompletableFuture<WebSocketClientHandler> handlerFuture = channelHandlerPool.get(key);
+        if (handlerFuture == null) {
+            if (isConnectionTerminate) {
+                return null;
+            }
+            CompletableFuture<WebSocketClientHandler> newHandlerFuture = new CompletableFuture<>();
+            handlerFuture = channelHandlerPool.putIfAbsent(key, newHandlerFuture);
+            if (handlerFuture == null) {
+                // this thread owns the creation, the others wait on the future placed in the pool
+                if (log.isDebugEnabled()) {
+                    log.debug("Caching new connection with sourceIdentifier " + sourceIdentifier + " in the Thread,"
+                                      + "ID: " + Thread.currentThread().getName() + "," + Thread.currentThread().getId());
                 }
+                handlerFuture = newHandlerFuture;
+                createConnection(key, newHandlerFuture, uri, dispatchSequence, dispatchErrorSequence, contentType,
+                                 headers, inboundResponseSender, responseDispatchSequence, responseErrorSequence);
             }
         }
+        WebSocketClientHandler channelHandler;
+        try {
+            channelHandler = handlerFuture.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ConnectException) {
+                throw (ConnectException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            ConnectException connectException = new ConnectException(
+                    "Error while connecting to the WS endpoint : " + clientIdentifier);
+            connectException.initCause(cause);
+            throw connectException;
+        }
+        if (channelHandler == null) {
+            return null;
+        }
         channelHandler.handshakeFuture().sync();
         return channelHandler;
     }
 
+    private void createConnection(HandlerKey key, CompletableFuture<WebSocketClientHandler> handlerFuture, URI uri,
+                                  String dispatchSequence, String dispatchErrorSequence, String contentType,
+                                  Map<String, Object> headers, InboundResponseSender inboundResponseSender,
+                                  String responseDispatchSequence, String responseErrorSequence)
+            throws ConnectException {
+        if (!acquireBackendConnection(key.clientIdentifier)) {
+            channelHandlerPool.remove(key, handlerFuture);
+            ConnectException e = new ConnectException(
+                    "Maximum number of connections (" + maxConnectionsPerBackend + ") reached for the WS endpoint : "
+                            + key.clientIdentifier);
+            handlerFuture.completeExceptionally(e);
+            throw e;
+        }
+        WebSocketClientHandler handler = null;
+        try {
+            handler = cacheNewConnection(uri, key.sourceIdentifier, dispatchSequence, dispatchErrorSequence,
+                                         contentType, headers, inboundResponseSender, responseDispatchSequence,
+                                         responseErrorSequence);
+        } catch (Throwable t) {
+            // netty rethrows the connect failures as they are, even though they are checked exceptions
+            releaseBackendConnection(key.clientIdentifier);
+            channelHandlerPool.remove(key, handlerFuture);
+            handlerFuture.completeExceptionally(t);
+            throw t;
+        }
+        if (handler == null) {
+            releaseBackendConnection(key.clientIdentifier);
+            channelHandlerPool.remove(key, handlerFuture);
+        }
+        handlerFuture.complete(handler);
+    }
+
+    private boolean acquireBackendConnection(String clientIdentifier) {
+        if (maxConnectionsPerBackend <= 0) {
+            return true;
+        }
+        AtomicInteger count = backendConnectionCounts.computeIfAbsent(clientIdentifier, k -> new AtomicInteger());
+        while (true) {
+            int current = count.get();
+            if (current >= maxConnectionsPerBackend) {
+                return false;
+            }
+            if (count.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void releaseBackendConnection(String clientIdentifier) {
+        if (maxConnectionsPerBackend <= 0) {
+            return;
+        }
+        AtomicInteger count = backendConnectionCounts.get(clientIdentifier);
+        if (count != null) {
+            count.decrementAndGet();
+        }
+    }
+
     public String getClientHandlerIdentifier(final URI uri) {
         final String host = uri.getHost() == null ? "127.0.0.1" : uri.getHost();
         final int port = uri.getPort();
@@ -206,7 +321,6 @@ public class WebsocketConnectionFactory {
                 }
             }
 
-            final EventLoopGroup group = new NioEventLoopGroup();
             handler = new WebSocketClientHandler(WebSocketClientHandshakerFactory
                                                          .newHandshaker(uri, WebSocketVersion.V13, contentType != null ?
                                                                  SubprotocolBuilderUtil
@@ -218,7 +332,7 @@ public class WebsocketConnectionFactory {
                 handler.setDispatchErrorSequence(responseErrorSequence);
             }
             Bootstrap b = new Bootstrap();
-            b.group(group).channel(NioSocketChannel.class).handler(new ChannelInitializer<SocketChannel>() {
+            b.group(eventLoopGroup).channel(channelClass).handler(new ChannelInitializer<SocketChannel>() {
                 @Override
                 protected void initChannel(SocketChannel ch) {
                     ChannelPipeline p = ch.pipeline();
@@ -237,6 +351,9 @@ public class WebsocketConnectionFactory {
                         }
                         p.addLast(sslHandler);
                     }
+                    if (idleTimeout > 0) {
+                        p.addLast(new IdleStateHandler(0, 0, idleTimeout), new IdleConnectionHandler());
+                    }
                     p.addLast(new HttpClientCodec(), new HttpObjectAggregator(8192),
                               new WebSocketFrameAggregator(Integer.MAX_VALUE), handler);
                 }
@@ -252,8 +369,8 @@ public class WebsocketConnectionFactory {
                                           + ", in the Thread,ID: " + Thread.currentThread().getName() + ","
                                           + Thread.currentThread().getId());
                     }
-                    group.shutdownGracefully();
-                    removeChannelHandler(sourceIdentifier, getClientHandlerIdentifier(uri));
+                    releaseBackendConnection(getClientHandlerIdentifier(uri));
+                    removeChannelHandler(new HandlerKey(sourceIdentifier, getClientHandlerIdentifier(uri)), handler);
                 }
             });
             handler.setDispatchSequence(dispatchSequence);
@@ -275,6 +392,62 @@ public class WebsocketConnectionFactory {
         throw new AxisFault(errorMsg);
     }
 
+    private int getIntParameter(String name, int defaultValue) throws AxisFault {
+        Parameter parameter = transportOut.getParameter(name);
+        if (parameter == null || parameter.getValue() == null || parameter.getValue().toString().trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(parameter.getValue().toString().trim());
+        } catch (NumberFormatException e) {
+            String errorMsg = "Invalid value " + parameter.getValue() + " for the parameter " + name
+                    + " in Transport configurations";
+            log.error(errorMsg);
+            throw new AxisFault(errorMsg, e);
+        }
+    }
+
+    private EventLoopGroup createEpollEventLoopGroup(int threads) {
+        try {
+            Class<?> epoll = Class.forName(EPOLL_CLASS, true, getClass().getClassLoader());
+            if (!(Boolean) epoll.getMethod("isAvailable").invoke(null)) {
+                return null;
+            }
+            EventLoopGroup group = (EventLoopGroup) Class.forName(EPOLL_EVENT_LOOP_GROUP_CLASS, true,
+                                                                  getClass().getClassLoader())
+                    .getConstructor(int.class).newInstance(threads);
+            if (log.isDebugEnabled()) {
+                log.debug("Using the native epoll transport for the WS client connections.");
+            }
+            return group;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            if (log.isDebugEnabled()) {
+                log.debug("Native epoll transport is not available for the WS client connections.", e);
+            }
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Class<? extends SocketChannel> loadEpollSocketChannelClass() throws AxisFault {
+        try {
+            return (Class<? extends SocketChannel>) Class.forName(EPOLL_SOCKET_CHANNEL_CLASS, true,
+                                                                  getClass().getClassLoader());
+        } catch (ClassNotFoundException e) {
+            eventLoopGroup.shutdownGracefully();
+            throw new AxisFault("Unable to load the epoll socket channel", e);
+        }
+    }
+
+    /**
+     * Close the connections and release the event loop threads of the transport.
+     */
+    public void shutdown() {
+        eventLoopGroup.shutdownGracefully();
+        channelHandlerPool.clear();
+        backendConnectionCounts.clear();
+    }
+
     public void addChannelHandler(String sourceIdentifier, String clientIdentifier,
                                   WebSocketClientHandler clientHandler) {
         if (log.isDebugEnabled()) {
@@ -282,14 +455,8 @@ public class WebsocketConnectionFactory {
                               + clientIdentifier + ", in the Thread,ID: " + Thread.currentThread().getName() + ","
                               + Thread.currentThread().getId());
         }
-        ConcurrentHashMap<String, WebSocketClientHandler> handlerMap = channelHandlerPool.get(sourceIdentifier);
-        if (handlerMap == null) {
-            handlerMap = new ConcurrentHashMap<String, WebSocketClientHandler>();
-            handlerMap.put(clientIdentifier, clientHandler);
-            channelHandlerPool.put(sourceIdentifier, handlerMap);
-        } else {
-            handlerMap.put(clientIdentifier, clientHandler);
-        }
+        channelHandlerPool.put(new HandlerKey(sourceIdentifier, clientIdentifier),
+                               CompletableFuture.completedFuture(clientHandler));
     }
 
     public WebSocketClientHandler getChannelHandlerFromPool(String sourceIdentifier, String clientIdentifier) {
@@ -298,12 +465,12 @@ public class WebsocketConnectionFactory {
                               + clientIdentifier + ", in the Thread,ID: " + Thread.currentThread().getName() + ","
                               + Thread.currentThread().getId());
         }
-        ConcurrentHashMap<String, WebSocketClientHandler> handlerMap = channelHandlerPool.get(sourceIdentifier);
-        if (handlerMap == null) {
+        CompletableFuture<WebSocketClientHandler> handlerFuture =
+                channelHandlerPool.get(new HandlerKey(sourceIdentifier, clientIdentifier));
+        if (handlerFuture == null || !handlerFuture.isDone() || handlerFuture.isCompletedExceptionally()) {
             return null;
-        } else {
-            return handlerMap.get(clientIdentifier);
         }
+        return handlerFuture.getNow(null);
     }
 
     public void removeChannelHandler(String sourceIdentifier, String clientIdentifier) {
@@ -312,12 +479,69 @@ public class WebsocketConnectionFactory {
                               + clientIdentifier + ", in the Thread,ID: " + Thread.currentThread().getName() + ","
                               + Thread.currentThread().getId());
         }
-        ConcurrentHashMap<String, WebSocketClientHandler> handlerMap = channelHandlerPool.get(sourceIdentifier);
-        handlerMap.remove(clientIdentifier);
-        if (handlerMap.isEmpty()) {
-            handlerMap.clear();
-            channelHandlerPool.remove(sourceIdentifier);
+        channelHandlerPool.remove(new HandlerKey(sourceIdentifier, clientIdentifier));
+    }
+
+    private void removeChannelHandler(HandlerKey key, WebSocketClientHandler handler) {
+        if (log.isDebugEnabled()) {
+            log.debug("Removing channel for on sourceIdentifier: " + key.sourceIdentifier + ", clientIdentifier: "
+                              + key.clientIdentifier + ", in the Thread,ID: " + Thread.currentThread().getName() + ","
+                              + Thread.currentThread().getId());
+        }
+        // a new connection may have been cached for the same key after this one was closed
+        CompletableFuture<WebSocketClientHandler> handlerFuture = channelHandlerPool.get(key);
+        if (handlerFuture != null && handlerFuture.isDone() && !handlerFuture.isCompletedExceptionally()
+                && handlerFuture.getNow(null) == handler) {
+            channelHandlerPool.remove(key, handlerFuture);
         }
     }
 
+    private static final class HandlerKey {
+
+        private final String sourceIdentifier;
+        private final String clientIdentifier;
+        private final int hash;
+
+        HandlerKey(String sourceIdentifier, String clientIdentifier) {
+            this.sourceIdentifier = sourceIdentifier;
+            this.clientIdentifier = clientIdentifier;
+            this.hash = 31 * sourceIdentifier.hashCode() + clientIdentifier.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof HandlerKey)) {
+                return false;
+            }
+            HandlerKey other = (HandlerKey) o;
+            return sourceIdentifier.equals(other.sourceIdentifier) && clientIdentifier.equals(other.clientIdentifier);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Closes a backend connection which has neither read nor written for the configured idle timeout. The
+     * connection is created again for the source channel when the next frame is sent.
+     */
+    private static final class IdleConnectionHandler extends ChannelDuplexHandler {
+
+        @Override
+        public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
+            if (evt instanceof IdleStateEvent) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Closing idle WS connection on context id : " + ctx.channel().toString());
+                }
+                ctx.channel().writeAndFlush(new CloseWebSocketFrame()).addListener(ChannelFutureListener.CLOSE);
+            } else {
+                super.userEventTriggered(ctx, evt);
+            }
+        }
+    }
 }
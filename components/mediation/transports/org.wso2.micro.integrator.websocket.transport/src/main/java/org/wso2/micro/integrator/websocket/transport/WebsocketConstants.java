@@ -54,6 +54,9 @@ public class WebsocketConstants {
     public static final String WEBSOCKET_CUSTOM_HEADER_PREFIX = "websocket.custom.header.";
     public static final String WEBSOCKET_CUSTOM_HEADER_CONFIG = "ws.custom.header";
     public static final String WEBSOCKET_HOSTNAME_VERIFICATION_CONFIG = "ws.client.enable.hostname.verification";
+    public static final String WEBSOCKET_CLIENT_EVENT_LOOP_THREADS = "ws.client.event.loop.threads";
+    public static final String WEBSOCKET_CLIENT_MAX_CONNECTIONS_PER_BACKEND = "ws.client.max.connections.per.backend";
+    public static final String WEBSOCKET_CLIENT_IDLE_TIMEOUT = "ws.client.connection.idle.timeout";
 
     public static final String CONNECTION_TERMINATE = "connection.terminate";
 
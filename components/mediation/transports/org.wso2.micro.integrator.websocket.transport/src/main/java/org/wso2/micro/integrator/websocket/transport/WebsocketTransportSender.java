@@ -71,6 +71,14 @@ public class WebsocketTransportSender extends AbstractTransportSender {
         connectionFactory = new WebsocketConnectionFactory(transportOut);
     }
 
+    @Override
+    public void stop() {
+        if (connectionFactory != null) {
+            connectionFactory.shutdown();
+        }
+        super.stop();
+    }
+
     public void sendMessage(MessageContext msgCtx, String targetEPR, OutTransportInfo trpOut) throws AxisFault {
         String sourceIdentier = null;
         boolean handshakePresent = false;
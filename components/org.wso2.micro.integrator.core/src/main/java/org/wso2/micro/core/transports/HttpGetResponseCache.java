@@ -0,0 +1,318 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.micro.core.transports;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Caches the responses of the HTTP GET request processors which render documents of the deployed artifacts, i.e.
+ * WSDL, XSD and Swagger definitions, so that a document is rendered once per deployment of the artifact instead of
+ * in each request. Responses are kept serialized along with an ETag, and larger documents are kept gzip compressed
+ * as well.
+ * <p>
+ * An entry is only served while the artifact instance it was rendered for is deployed, hence redeploying an artifact
+ * invalidates its entries. The deployers invalidate the entries of the artifacts they deploy and undeploy, and entries
+ * of artifacts which are no longer referenced are dropped when a response is cached. The cache is bounded by the
+ * number of entries and by their total size, the least recently used entries are evicted first.
+ */
+public class HttpGetResponseCache {
+
+    private static final Log log = LogFactory.getLog(HttpGetResponseCache.class);
+
+    /**
+     * System property to disable caching the responses
+     */
+    public static final String CACHE_ENABLED_PROPERTY = "http.get.response.cache.enabled";
+
+    private static final Set<String> CACHEABLE_PROCESSORS = Collections.unmodifiableSet(
+            new HashSet<>(Arrays.asList("wsdl", "wsdl2", "xsd", "swagger.json", "swagger.yaml")));
+    private static final String XSD_PROCESSOR = "xsd";
+    static final int MAX_CACHE_ENTRIES = 1000;
+    static final long MAX_CACHE_SIZE = 32 * 1024 * 1024;
+    static final int MAX_DOCUMENT_SIZE = 4 * 1024 * 1024;
+    static final int MIN_COMPRESSED_DOCUMENT_SIZE = 1024;
+    private static final String GZIP_ETAG_SUFFIX = "-gzip";
+
+    private static final HttpGetResponseCache INSTANCE = new HttpGetResponseCache();
+
+    private final boolean enabled = Boolean.parseBoolean(System.getProperty(CACHE_ENABLED_PROPERTY, "true"));
+    // guarded by itself, in access order so that the least recently used entries are evicted first
+    private final Map<String, CachedResponse> responses = new LinkedHashMap<>(16, 0.75f, true);
+    private long size;
+
+    private HttpGetResponseCache() {
+    }
+
+    public static HttpGetResponseCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns whether the response of the given GET request processor can be cached. Only requests for a document
+     * are cached, i.e. the query string is the processor item, or the name of the schema for the xsd processor, so
+     * that arbitrary query strings do not create entries.
+     *
+     * @param item        the query string item of the GET request processor, e.g. wsdl
+     * @param queryString the query string of the request
+     * @return true if the response is cached
+     */
+    public boolean isCacheable(String item, String queryString) {
+        if (!enabled || !CACHEABLE_PROCESSORS.contains(item)) {
+            return false;
+        }
+        if (queryString.equals(item)) {
+            return true;
+        }
+        return XSD_PROCESSOR.equals(item) && queryString.startsWith(XSD_PROCESSOR + "=")
+                && queryString.length() > XSD_PROCESSOR.length() + 1 && queryString.indexOf('&') == -1;
+    }
+
+    /**
+     * Returns the key of a request for a document of an artifact.
+     *
+     * @param artifactName name of the service or the API
+     * @param queryString  the query string of the request, e.g. xsd=xsd0.xsd
+     * @param port         the port the request is received on, since the endpoints in a document depend on it
+     * @return the key of the request
+     */
+    public static String getRequestKey(String artifactName, String queryString, int port) {
+        return artifactName + "?" + queryString + "@" + port;
+    }
+
+    /**
+     * Returns the cached response for the given request, if it was rendered for the given artifact instance.
+     *
+     * @param requestKey key identifying the request, see {@link #getRequestKey(String, String, int)}
+     * @param artifact   the currently deployed artifact the request is for
+     * @return the cached response or null if there is no valid cached response
+     */
+    public CachedResponse get(String requestKey, Object artifact) {
+        synchronized (responses) {
+            CachedResponse response = responses.get(requestKey);
+            if (response == null) {
+                return null;
+            }
+            if (response.artifact.get() != artifact) {
+                // the artifact is redeployed after the response is cached
+                remove(requestKey);
+                return null;
+            }
+            return response;
+        }
+    }
+
+    /**
+     * Caches a rendered response.
+     *
+     * @param requestKey   key identifying the request, see {@link #getRequestKey(String, String, int)}
+     * @param artifactName name of the artifact the response is rendered for
+     * @param artifact     the deployed artifact the response is rendered for
+     * @param headers      headers of the response
+     * @param body         body of the response
+     * @return the cached response, which is returned even if it is not retained in the cache
+     */
+    public CachedResponse put(String requestKey, String artifactName, Object artifact, Map<String, String> headers,
+                              byte[] body) {
+        CachedResponse response = new CachedResponse(artifactName, artifact, headers, body);
+        if (body.length > MAX_DOCUMENT_SIZE) {
+            return response;
+        }
+        synchronized (responses) {
+            // entries of undeployed artifacts are not invalidated by all deployers
+            removeIf(cached -> cached.artifact.get() == null);
+            remove(requestKey);
+            responses.put(requestKey, response);
+            size += response.getSize();
+            Iterator<Map.Entry<String, CachedResponse>> entries = responses.entrySet().iterator();
+            while ((responses.size() > MAX_CACHE_ENTRIES || size > MAX_CACHE_SIZE) && entries.hasNext()) {
+                Map.Entry<String, CachedResponse> eldest = entries.next();
+                if (log.isDebugEnabled()) {
+                    log.debug("HTTP GET response cache is full, evicting the response of " + eldest.getKey());
+                }
+                size -= eldest.getValue().getSize();
+                entries.remove();
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Removes the cached responses of the given artifact.
+     *
+     * @param artifactName name of the artifact
+     */
+    public void invalidate(String artifactName) {
+        synchronized (responses) {
+            removeIf(response -> response.artifactName.equals(artifactName));
+        }
+    }
+
+    /**
+     * Removes all the cached responses.
+     */
+    public void invalidateAll() {
+        synchronized (responses) {
+            responses.clear();
+            size = 0;
+        }
+    }
+
+    /**
+     * Returns the total size of the cached responses in bytes.
+     */
+    long size() {
+        synchronized (responses) {
+            return size;
+        }
+    }
+
+    private void remove(String requestKey) {
+        CachedResponse removed = responses.remove(requestKey);
+        if (removed != null) {
+            size -= removed.getSize();
+        }
+    }
+
+    private void removeIf(Predicate<CachedResponse> filter) {
+        Iterator<CachedResponse> cached = responses.values().iterator();
+        while (cached.hasNext()) {
+            CachedResponse response = cached.next();
+            if (filter.test(response)) {
+                size -= response.getSize();
+                cached.remove();
+            }
+        }
+    }
+
+    /**
+     * A serialized response of a GET request processor.
+     */
+    public static class CachedResponse {
+
+        private final String artifactName;
+        private final WeakReference<Object> artifact;
+        private final Map<String, String> headers;
+        private final byte[] body;
+        private final byte[] compressedBody;
+        private final String eTag;
+
+        CachedResponse(String artifactName, Object artifact, Map<String, String> headers, byte[] body) {
+            this.artifactName = artifactName;
+            this.artifact = new WeakReference<>(artifact);
+            this.headers = Collections.unmodifiableMap(new HashMap<>(headers));
+            this.body = body;
+            this.compressedBody = body.length >= MIN_COMPRESSED_DOCUMENT_SIZE ? compress(body) : null;
+            this.eTag = "\"" + digest(body) + "\"";
+        }
+
+        public Map<String, String> getHeaders() {
+            return headers;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+
+        /**
+         * Returns the gzip compressed body, or null if the body is too small to be compressed.
+         */
+        public byte[] getCompressedBody() {
+            return compressedBody;
+        }
+
+        public String getETag() {
+            return eTag;
+        }
+
+        /**
+         * Returns the number of bytes retained by this response.
+         */
+        long getSize() {
+            return body.length + (compressedBody != null ? compressedBody.length : 0);
+        }
+
+        /**
+         * Returns the ETag of the gzip compressed body, which differs from the ETag of the body as required for a
+         * different content encoding.
+         */
+        public String getCompressedETag() {
+            return eTag.substring(0, eTag.length() - 1) + GZIP_ETAG_SUFFIX + "\"";
+        }
+
+        /**
+         * Checks whether the given If-None-Match header value matches this response, in which case the client
+         * already has the response.
+         *
+         * @param ifNoneMatch value of the If-None-Match header
+         * @return true if the value matches any of the ETags of this response
+         */
+        public boolean matches(String ifNoneMatch) {
+            for (String tag : ifNoneMatch.split(",")) {
+                tag = tag.trim();
+                if (tag.startsWith("W/")) {
+                    // weak comparison is used for If-None-Match
+                    tag = tag.substring(2);
+                }
+                if ("*".equals(tag) || eTag.equals(tag) || (compressedBody != null && getCompressedETag()
+                        .equals(tag))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static byte[] compress(byte[] body) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+            try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+                gzipOut.write(body);
+            } catch (IOException e) {
+                log.warn("Error while compressing the response, it is cached uncompressed", e);
+                return null;
+            }
+            return out.toByteArray();
+        }
+
+        private static String digest(byte[] body) {
+            try {
+                byte[] hash = MessageDigest.getInstance("SHA-256").digest(body);
+                return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+            } catch (NoSuchAlgorithmException e) {
+                // SHA-256 is supported by every Java platform
+                return Integer.toHexString(Arrays.hashCode(body)) + Integer.toHexString(body.length);
+            }
+        }
+    }
+}
@@ -0,0 +1,304 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.micro.core.transports;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+import org.wso2.micro.core.transports.HttpGetResponseCache.CachedResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+public class HttpGetResponseCacheTest {
+
+    private static final String WSDL_KEY = HttpGetResponseCache.getRequestKey("StockQuoteProxy", "wsdl", 8290);
+    private static final String XSD_KEY = HttpGetResponseCache.getRequestKey("StockQuoteProxy", "xsd=xsd0.xsd", 8290);
+    private static final String SWAGGER_KEY = HttpGetResponseCache.getRequestKey("OrdersAPI", "swagger.json", 8290);
+
+    private final HttpGetResponseCache cache = HttpGetResponseCache.getInstance();
+
+    @After
+    public void tearDown() {
+
+        cache.invalidateAll();
+    }
+
+    @Test
+    public void isCacheable_documentProcessors() {
+
+        for (String item : Arrays.asList("wsdl", "wsdl2", "xsd", "swagger.json", "swagger.yaml")) {
+            Assert.assertTrue(item, cache.isCacheable(item, item));
+        }
+        Assert.assertFalse(cache.isCacheable("info", "info"));
+        Assert.assertFalse(cache.isCacheable("policy", "policy"));
+    }
+
+    @Test
+    public void isCacheable_documentQueryStrings() {
+
+        Assert.assertTrue(cache.isCacheable("xsd", "xsd=xsd0.xsd"));
+        Assert.assertFalse(cache.isCacheable("xsd", "xsd="));
+        Assert.assertFalse(cache.isCacheable("xsd", "xsd=xsd0.xsd&nocache=1"));
+        Assert.assertFalse(cache.isCacheable("wsdl", "wsdl&nocache=1"));
+        Assert.assertFalse(cache.isCacheable("wsdl", "wsdl=1"));
+        Assert.assertFalse(cache.isCacheable("swagger.json", "swagger.json&a=b"));
+    }
+
+    @Test
+    public void get_sameArtifact() {
+
+        Object artifact = new Object();
+        CachedResponse response = cache.put(WSDL_KEY, "StockQuoteProxy", artifact, headers(), body(100));
+        Assert.assertSame(response, cache.get(WSDL_KEY, artifact));
+        Assert.assertNull(cache.get(XSD_KEY, artifact));
+    }
+
+    @Test
+    public void get_redeployedArtifact() {
+
+        Object artifact = new Object();
+        cache.put(WSDL_KEY, "StockQuoteProxy", artifact, headers(), body(100));
+        Assert.assertNull(cache.get(WSDL_KEY, new Object()));
+        // the stale response is removed
+        Assert.assertNull(cache.get(WSDL_KEY, artifact));
+    }
+
+    @Test
+    public void getHeaders_copied() {
+
+        Map<String, String> headers = headers();
+        CachedResponse response = cache.put(WSDL_KEY, "StockQuoteProxy", new Object(), headers, body(100));
+        headers.put("X-Test", "value");
+        Assert.assertEquals(Collections.singletonMap("Content-Type", "text/xml"), response.getHeaders());
+    }
+
+    @Test
+    public void getETag_strongTagOfBody() {
+
+        CachedResponse response = cache.put(WSDL_KEY, "StockQuoteProxy", new Object(), headers(), body(100));
+        String eTag = response.getETag();
+        Assert.assertTrue(eTag, eTag.startsWith("\"") && eTag.endsWith("\"") && eTag.length() > 2);
+        Assert.assertFalse(eTag.startsWith("W/"));
+        Assert.assertEquals(eTag, new CachedResponse("StockQuoteProxy", new Object(), headers(), body(100)).getETag());
+        Assert.assertFalse(eTag.equals(
+                new CachedResponse("StockQuoteProxy", new Object(), headers(), body(101)).getETag()));
+    }
+
+    @Test
+    public void matches_strongAndWeakTags() {
+
+        CachedResponse response = cache.put(WSDL_KEY, "StockQuoteProxy", new Object(), headers(), body(100));
+        String eTag = response.getETag();
+        Assert.assertTrue(response.matches(eTag));
+        Assert.assertTrue(response.matches("W/" + eTag));
+        Assert.assertTrue(response.matches("\"other\", " + eTag));
+        Assert.assertTrue(response.matches("\"other\",W/" + eTag + " , \"another\""));
+        Assert.assertFalse(response.matches("\"other\""));
+        Assert.assertFalse(response.matches(eTag.substring(1, eTag.length() - 1)));
+        Assert.assertFalse(response.matches(""));
+    }
+
+    @Test
+    public void matches_anyTag() {
+
+        CachedResponse response = cache.put(WSDL_KEY, "StockQuoteProxy", new Object(), headers(), body(100));
+        Assert.assertTrue(response.matches("*"));
+        Assert.assertTrue(response.matches(" * "));
+    }
+
+    @Test
+    public void matches_compressedTag() {
+
+        CachedResponse response = cache.put(WSDL_KEY, "StockQuoteProxy", new Object(), headers(),
+                body(HttpGetResponseCache.MIN_COMPRESSED_DOCUMENT_SIZE));
+        String compressedETag = response.getCompressedETag();
+        Assert.assertFalse(response.getETag().equals(compressedETag));
+        Assert.assertTrue(compressedETag, compressedETag.endsWith("-gzip\""));
+        Assert.assertTrue(response.matches(compressedETag));
+        Assert.assertTrue(response.matches("W/" + compressedETag));
+        Assert.assertTrue(response.matches(response.getETag()));
+    }
+
+    @Test
+    public void matches_compressedTagOfUncompressedResponse() {
+
+        CachedResponse response = cache.put(WSDL_KEY, "StockQuoteProxy", new Object(), headers(),
+                body(HttpGetResponseCache.MIN_COMPRESSED_DOCUMENT_SIZE - 1));
+        Assert.assertNull(response.getCompressedBody());
+        Assert.assertFalse(response.matches(response.getCompressedETag()));
+    }
+
+    @Test
+    public void getCompressedBody_gzipOfBody() throws IOException {
+
+        byte[] body = body(10 * HttpGetResponseCache.MIN_COMPRESSED_DOCUMENT_SIZE);
+        CachedResponse response = cache.put(WSDL_KEY, "StockQuoteProxy", new Object(), headers(), body);
+        Assert.assertSame(body, response.getBody());
+        Assert.assertNotNull(response.getCompressedBody());
+        Assert.assertTrue(response.getCompressedBody().length < body.length);
+        Assert.assertArrayEquals(body, decompress(response.getCompressedBody()));
+    }
+
+    @Test
+    public void put_documentTooLarge() {
+
+        Object artifact = new Object();
+        byte[] body = new byte[HttpGetResponseCache.MAX_DOCUMENT_SIZE + 1];
+        CachedResponse response = cache.put(WSDL_KEY, "StockQuoteProxy", artifact, headers(), body);
+        Assert.assertSame(body, response.getBody());
+        Assert.assertNull(cache.get(WSDL_KEY, artifact));
+
+        body = new byte[HttpGetResponseCache.MAX_DOCUMENT_SIZE];
+        response = cache.put(WSDL_KEY, "StockQuoteProxy", artifact, headers(), body);
+        Assert.assertSame(response, cache.get(WSDL_KEY, artifact));
+    }
+
+    @Test
+    public void put_cacheFull() {
+
+        Object artifact = new Object();
+        for (int i = 0; i < HttpGetResponseCache.MAX_CACHE_ENTRIES; i++) {
+            cache.put(WSDL_KEY + i, "StockQuoteProxy", artifact, headers(), body(10));
+        }
+        // the least recently used response is evicted
+        Assert.assertNotNull(cache.get(WSDL_KEY + 0, artifact));
+        CachedResponse response = cache.put(XSD_KEY, "StockQuoteProxy", artifact, headers(), body(10));
+        Assert.assertSame(response, cache.get(XSD_KEY, artifact));
+        Assert.assertNull(cache.get(WSDL_KEY + 1, artifact));
+        Assert.assertNotNull(cache.get(WSDL_KEY + 0, artifact));
+        Assert.assertNotNull(cache.get(WSDL_KEY + 2, artifact));
+
+        // responses of cached requests are replaced without evicting
+        response = cache.put(WSDL_KEY + 0, "StockQuoteProxy", artifact, headers(), body(20));
+        Assert.assertSame(response, cache.get(WSDL_KEY + 0, artifact));
+        Assert.assertNotNull(cache.get(WSDL_KEY + 2, artifact));
+        Assert.assertEquals(HttpGetResponseCache.MAX_CACHE_ENTRIES * 10 + 10, cache.size());
+    }
+
+    @Test
+    public void put_cacheSizeExceeded() {
+
+        Object artifact = new Object();
+        int documents = (int) (HttpGetResponseCache.MAX_CACHE_SIZE / HttpGetResponseCache.MAX_DOCUMENT_SIZE);
+        for (int i = 0; i < documents; i++) {
+            cache.put(XSD_KEY + i, "StockQuoteProxy", artifact, headers(),
+                    new byte[HttpGetResponseCache.MAX_DOCUMENT_SIZE]);
+        }
+        Assert.assertTrue(cache.size() <= HttpGetResponseCache.MAX_CACHE_SIZE);
+        Assert.assertNull(cache.get(XSD_KEY + 0, artifact));
+        Assert.assertNotNull(cache.get(XSD_KEY + 1, artifact));
+
+        CachedResponse response = cache.put(WSDL_KEY, "StockQuoteProxy", artifact, headers(),
+                new byte[HttpGetResponseCache.MAX_DOCUMENT_SIZE]);
+        Assert.assertSame(response, cache.get(WSDL_KEY, artifact));
+        Assert.assertNull(cache.get(XSD_KEY + 2, artifact));
+        Assert.assertNotNull(cache.get(XSD_KEY + 1, artifact));
+        Assert.assertTrue(cache.size() <= HttpGetResponseCache.MAX_CACHE_SIZE);
+    }
+
+    @Test
+    public void put_collectedArtifact() {
+
+        Object undeployed = new Object();
+        WeakReference<Object> reference = new WeakReference<>(undeployed);
+        cache.put(WSDL_KEY, "StockQuoteProxy", undeployed, headers(), body(100));
+        undeployed = null;
+        for (int i = 0; i < 10 && reference.get() != null; i++) {
+            System.gc();
+        }
+        Assume.assumeTrue(reference.get() == null);
+
+        // responses of artifacts which are no longer deployed are removed
+        cache.put(SWAGGER_KEY, "OrdersAPI", new Object(), headers(), body(10));
+        Assert.assertEquals(10, cache.size());
+    }
+
+    @Test
+    public void invalidate_artifact() {
+
+        Object proxy = new Object();
+        Object api = new Object();
+        cache.put(WSDL_KEY, "StockQuoteProxy", proxy, headers(), body(10));
+        cache.put(XSD_KEY, "StockQuoteProxy", proxy, headers(), body(10));
+        CachedResponse swagger = cache.put(SWAGGER_KEY, "OrdersAPI", api, headers(), body(10));
+
+        cache.invalidate("StockQuoteProxy");
+        Assert.assertNull(cache.get(WSDL_KEY, proxy));
+        Assert.assertNull(cache.get(XSD_KEY, proxy));
+        Assert.assertSame(swagger, cache.get(SWAGGER_KEY, api));
+
+        cache.invalidate("UnknownProxy");
+        Assert.assertSame(swagger, cache.get(SWAGGER_KEY, api));
+    }
+
+    @Test
+    public void invalidateAll() {
+
+        Object proxy = new Object();
+        Object api = new Object();
+        cache.put(WSDL_KEY, "StockQuoteProxy", proxy, headers(), body(10));
+        cache.put(SWAGGER_KEY, "OrdersAPI", api, headers(), body(10));
+
+        cache.invalidateAll();
+        Assert.assertNull(cache.get(WSDL_KEY, proxy));
+        Assert.assertNull(cache.get(SWAGGER_KEY, api));
+        Assert.assertEquals(0, cache.size());
+    }
+
+    private static Map<String, String> headers() {
+
+        Map<String, String> headers = new HashMap<>();
+        headers.put("Content-Type", "text/xml");
+        return headers;
+    }
+
+    private static byte[] body(int length) {
+
+        StringBuilder body = new StringBuilder(length);
+        while (body.length() < length) {
+            body.append("<xs:element name=\"symbol\" type=\"xs:string\"/>\n");
+        }
+        body.setLength(length);
+        return body.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] decompress(byte[] compressed) throws IOException {
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                out.write(buffer, 0, read);
+            }
+        }
+        return out.toByteArray();
+    }
+}
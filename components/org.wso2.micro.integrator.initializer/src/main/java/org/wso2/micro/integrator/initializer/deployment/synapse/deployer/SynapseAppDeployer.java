@@ -74,6 +74,7 @@ import org.wso2.micro.application.deployer.CarbonApplication;
 import org.wso2.micro.application.deployer.config.Artifact;
 import org.wso2.micro.application.deployer.config.CappFile;
 import org.wso2.micro.application.deployer.handler.AppDeploymentHandler;
+import org.wso2.micro.core.transports.HttpGetResponseCache;
 import org.wso2.micro.core.util.StringUtils;
 import org.wso2.micro.integrator.core.util.MicroIntegratorBaseUtils;
 import org.wso2.micro.integrator.initializer.ServiceBusConstants;
@@ -139,6 +140,19 @@ public class SynapseAppDeployer implements AppDeploymentHandler {
         for (String artifactType : artifactTypeMap.keySet()) {
             deployArtifactType(artifactTypeMap.get(artifactType), carbonApp, axisConfig);
         }
+        invalidateHttpGetResponses(artifactTypeMap);
+    }
+
+    /**
+     * Drop the cached WSDL and Swagger documents if the CAPP contains proxy services or APIs
+     *
+     * @param artifactTypeMap - artifacts of the CAPP by type
+     */
+    private void invalidateHttpGetResponses(Map<String, List<Artifact.Dependency>> artifactTypeMap) {
+        if (!artifactTypeMap.get(SynapseAppDeployerConstants.PROXY_SERVICE_TYPE).isEmpty()
+                || !artifactTypeMap.get(SynapseAppDeployerConstants.API_TYPE).isEmpty()) {
+            HttpGetResponseCache.getInstance().invalidateAll();
+        }
     }
 
     /**
@@ -231,6 +245,7 @@ public class SynapseAppDeployer implements AppDeploymentHandler {
         for (String artifactType : artifactTypesList) {
             undeployArtifactType(carbonApplication, axisConfig, artifactTypeMap.get(artifactType));
         }
+        invalidateHttpGetResponses(artifactTypeMap);
     }
 
     /**
@@ -27,8 +27,7 @@ import org.apache.synapse.core.axis2.Axis2MessageContext;
 import org.wso2.micro.integrator.initializer.handler.DataHolder;
 import org.wso2.micro.integrator.initializer.handler.transaction.store.TransactionStore;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * This feature is deprecated and will be removed in a future release.
@@ -38,21 +37,12 @@ public class TransactionCountHandler extends AbstractSynapseHandler {
 
     private static final Log LOG = LogFactory.getLog(TransactionCountHandler.class);
     private static final double MAX_TRANSACTION_COUNT = Integer.MAX_VALUE * 0.9;
-    private static volatile int transactionCount = 0;
-    private ExecutorService transactionCountExecutor;
-    private final Object lock = new Object();
-
-    public TransactionCountHandler(ExecutorService executor) {
-        this.transactionCountExecutor = executor;
-    }
+    // striped counter, hence the request threads do not contend when counting transactions.
+    private static final LongAdder transactionCount = new LongAdder();
 
     @Override
     public boolean handleRequestInFlow(MessageContext messageContext) {
-        try {
-            transactionCountExecutor.execute(() -> handleTransactionCount(messageContext));
-        } catch (RejectedExecutionException e) {
-            LOG.error("Transaction could not be counted.", e);
-        }
+        handleTransactionCount(messageContext);
         return true;
     }
 
@@ -72,13 +62,11 @@ public class TransactionCountHandler extends AbstractSynapseHandler {
     }
 
     public static long getTransactionCount() {
-        return transactionCount;
+        return transactionCount.sum();
     }
 
     /**
      * Increment the transaction count by 1 if the INTERNAL_TRANSACTION_COUNTED message property is not set to true.
-     * Commit the current transaction count to database and set the transaction count to zero if it has exceeded the
-     * Integer.MAX_VALUE
      */
     private void handleTransactionCount(MessageContext messageContext) {
         org.apache.axis2.context.MessageContext axis2MessageContext =
@@ -88,12 +76,7 @@ public class TransactionCountHandler extends AbstractSynapseHandler {
         // or if the value of the property is set to false.
         if (!(transactionProperty instanceof Boolean && (Boolean) transactionProperty)) {
             axis2MessageContext.setProperty(BaseConstants.INTERNAL_TRANSACTION_COUNTED, true);
-            // commit the current transaction count to database and set the transaction count to zero if it has
-            // reached to Integer.MAX_VALUE
-            synchronized (lock) {
-                commitAndResetTransactionCountIfReachedToMaxIntegerValue();
-                transactionCount += 1;
-            }
+            transactionCount.increment();
             if (LOG.isDebugEnabled()) {
                 LOG.debug("Transaction " + axis2MessageContext.getLogCorrelationID() + " is counted.");
             }
@@ -107,21 +90,25 @@ public class TransactionCountHandler extends AbstractSynapseHandler {
 
     /**
      * If the current transaction count has reached or exceeded the Max_Integer_value * 0.9, commit the current
-     * transaction to the database, set a new node id, and reset the transaction count to zero.
+     * transaction to the database, set a new node id, and reset the transaction count to zero. This is called by the
+     * transaction writer task before writing the transaction count, hence the count is not checked in the request
+     * path.
+     *
+     * @param transactionStore - transactionStore instance.
      */
-    private void commitAndResetTransactionCountIfReachedToMaxIntegerValue() {
-        if (transactionCount >= MAX_TRANSACTION_COUNT) {
-            DataHolder dataHolder = DataHolder.getInstance();
-            TransactionStore transactionStore = dataHolder.getTransactionStore();
+    static void commitAndResetTransactionCountIfReachedToMaxIntegerValue(TransactionStore transactionStore) {
+        long currentCount = transactionCount.sum();
+        if (currentCount >= MAX_TRANSACTION_COUNT) {
             try {
                 transactionStore.addTransaction();
                 if (LOG.isDebugEnabled()) {
                     LOG.debug("Transaction count reached to max Integer value. Hence, adding the current transaction "
-                                      + "count: " + transactionCount + " to the database.");
+                                      + "count: " + currentCount + " to the database.");
                 }
                 // set new node id to the server and make the tx count zero. This should happen in this order.
                 transactionStore.setNewNodeId();
-                transactionCount = 0;
+                // the transactions counted after reading the count are kept for the new node id.
+                transactionCount.add(-currentCount);
             } catch (Throwable e) {
                 LOG.fatal("Could not persist the transaction count for the last period of " + DataHolder.getInstance()
                         .getTransactionUpdateInterval() + "min.", e);
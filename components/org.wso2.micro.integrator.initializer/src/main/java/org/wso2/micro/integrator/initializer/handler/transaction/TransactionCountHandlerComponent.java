@@ -111,6 +111,7 @@ public class TransactionCountHandlerComponent {
 
         txCountWriterTaskScheduler.scheduleAtFixedRate(() -> {
             try {
+                TransactionCountHandler.commitAndResetTransactionCountIfReachedToMaxIntegerValue(transactionStore);
                 transactionStore.addTransaction();
                 if (LOG.isDebugEnabled()) {
                     LOG.debug("Added the current transaction count: " + TransactionCountHandler.getTransactionCount()
@@ -33,10 +33,7 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Properties;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 @Plugin(name = "LogMaskConverter", category = "Converter")
 @ConverterKeys({"mm"})
@@ -54,7 +51,7 @@ public class LogMaskConverter extends LogEventPatternConverter {
     private static final String REPLACE_PATTERN = ".replace_pattern";
     private static final String REPLACER = ".replacer";
 
-    private List<LogMaskInfoProvider> logMaskInfoProvider;
+    private LogMaskingEngine maskingEngine;
     private boolean isMaskAvailable = false;
 
     public static LogMaskConverter newInstance(String[] options) {
@@ -64,7 +61,6 @@ public class LogMaskConverter extends LogEventPatternConverter {
     protected LogMaskConverter() {
 
         super(MASK_PATTERN, MASK_PATTERN);
-        logMaskInfoProvider = new ArrayList<>();
         loadMaskingPatterns();
     }
 
@@ -75,29 +71,10 @@ public class LogMaskConverter extends LogEventPatternConverter {
 
         // Check whether there are any masking patterns defined.
         if (this.isMaskAvailable) {
-            Matcher matcher;
-            Matcher replaceMatcher;
-
-            for (LogMaskInfoProvider maskingInfo : logMaskInfoProvider) {
-                Pattern pattern = maskingInfo.logMaskingPattern;
-                matcher = pattern.matcher(message);
-                StringBuffer stringBuffer = new StringBuffer();
-                Pattern replacementPattern = maskingInfo.logReplacementPattern;
-                while (matcher.find()) {
-                    if (Objects.isNull(replacementPattern)) {
-                        matcher.appendReplacement(stringBuffer, maskingInfo.logReplacementString);
-                    } else {
-                        String subStringToMask = message.substring(matcher.start(), matcher.end());
-                        replaceMatcher = replacementPattern.matcher(subStringToMask);
-                        subStringToMask = replaceMatcher.replaceAll(maskingInfo.logReplacementString);
-                        matcher.appendReplacement(stringBuffer, subStringToMask);
-                    }
-                }
-                matcher.appendTail(stringBuffer);
-                message = stringBuffer.toString();
-            }
+            maskingEngine.mask(message, stringBuilder);
+        } else {
+            stringBuilder.append(message);
         }
-        stringBuilder.append(message);
     }
 
     /**
@@ -108,6 +85,7 @@ public class LogMaskConverter extends LogEventPatternConverter {
         String defaultFile = MicroIntegratorBaseUtils.getCarbonConfigDirPath() + File.separatorChar
                 + DEFAULT_MASKING_PATTERNS_FILE_NAME;
         Properties properties = new Properties();
+        List<LogMaskingEngine.MaskingPattern> maskingPatterns = new ArrayList<>();
         InputStream propsStream = null;
         try {
             // If the masking file is not configured, load the configs from the default file.
@@ -123,8 +101,7 @@ public class LogMaskConverter extends LogEventPatternConverter {
                     String pattern = (String) entry.getValue();
                     String replacePattern = properties.getProperty(entry.getKey() + REPLACE_PATTERN);
                     String replacerPattern = properties.getProperty(entry.getKey() + REPLACER);
-                    logMaskInfoProvider.add(new LogMaskInfoProvider(pattern, replacePattern, replacerPattern));
-                    this.isMaskAvailable = true;
+                    maskingPatterns.add(new LogMaskingEngine.MaskingPattern(pattern, replacePattern, replacerPattern));
                 }
             }
         } catch (IOException e) {
@@ -138,25 +115,7 @@ public class LogMaskConverter extends LogEventPatternConverter {
                 }
             }
         }
-    }
-
-    /**
-     * This class represents the masking information.
-     */
-    public class LogMaskInfoProvider {
-
-        private Pattern logMaskingPattern;
-        private Pattern logReplacementPattern;
-        private String logReplacementString = "*****";
-
-        LogMaskInfoProvider(String logMaskingPattern, String logReplacementPattern, String logReplacementString) {
-            this.logMaskingPattern = Pattern.compile(logMaskingPattern);
-            if (Objects.nonNull(logReplacementPattern)) {
-                this.logReplacementPattern = Pattern.compile(logReplacementPattern);
-            }
-            if (Objects.nonNull(logReplacementString)) {
-                this.logReplacementString = logReplacementString;
-            }
-        }
+        maskingEngine = new LogMaskingEngine(maskingPatterns);
+        this.isMaskAvailable = !maskingEngine.isEmpty();
     }
 }
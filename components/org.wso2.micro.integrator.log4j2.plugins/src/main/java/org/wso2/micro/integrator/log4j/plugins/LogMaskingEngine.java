@@ -0,0 +1,512 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.micro.integrator.log4j.plugins;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Applies the log masking patterns to log messages. The patterns are applied one after the other, each on the
+ * result of the previous one, as a message is masked sequentially.
+ * <p>
+ * Most of the messages do not match any of the patterns, hence the literal text every match of a pattern has to
+ * contain is extracted from the pattern and all of these literals are searched in a single pass over the message
+ * using an Aho-Corasick automaton. Only the patterns whose literal is found, and the patterns without such a
+ * literal, are evaluated with the regex engine. A message which does not match any pattern is appended to the
+ * output as it is, without creating intermediate buffers or strings.
+ */
+public class LogMaskingEngine {
+
+    private static final int MAX_FILTERED_PATTERNS = Long.SIZE;
+    private static final String REGEX_META_CHARACTERS = ".[](){}*+?|^$";
+    private static final String PREDEFINED_CLASSES = "dDwWsShHvVRXbBAGZz";
+    private static final Pattern INLINE_FLAGS = Pattern.compile("\\(\\?[idmsuxU-]");
+
+    private final MaskingPattern[] maskingPatterns;
+    private final LiteralFilter literalFilter;
+
+    /**
+     * Patterns which cannot be filtered using a literal, i.e. they are always evaluated
+     */
+    private final long unfilteredPatterns;
+
+    public LogMaskingEngine(List<MaskingPattern> maskingPatterns) {
+
+        this.maskingPatterns = maskingPatterns.toArray(new MaskingPattern[0]);
+        List<String> literals = new ArrayList<>();
+        long unfiltered = 0;
+        boolean hasLiterals = false;
+        for (int i = 0; i < this.maskingPatterns.length && i < MAX_FILTERED_PATTERNS; i++) {
+            String literal = this.maskingPatterns[i].requiredLiteral;
+            literals.add(literal);
+            if (literal == null) {
+                unfiltered |= 1L << i;
+            } else {
+                hasLiterals = true;
+            }
+        }
+        this.unfilteredPatterns = unfiltered;
+        this.literalFilter = hasLiterals ? new LiteralFilter(literals) : null;
+    }
+
+    /**
+     * Returns whether there are any masking patterns.
+     */
+    public boolean isEmpty() {
+
+        return maskingPatterns.length == 0;
+    }
+
+    /**
+     * Masks the given message and appends the result to the given output.
+     *
+     * @param message message to be masked
+     * @param output  output to append the masked message
+     */
+    public void mask(String message, StringBuilder output) {
+
+        long candidates = unfilteredPatterns;
+        if (literalFilter != null) {
+            candidates |= literalFilter.find(message);
+        }
+        if (candidates == 0 && maskingPatterns.length <= MAX_FILTERED_PATTERNS) {
+            output.append(message);
+            return;
+        }
+        CharSequence input = message;
+        for (int i = 0; i < maskingPatterns.length; i++) {
+            if (i < MAX_FILTERED_PATTERNS && (candidates & (1L << i)) == 0) {
+                continue;
+            }
+            Matcher matcher = maskingPatterns[i].pattern.matcher(input);
+            if (!matcher.find()) {
+                continue;
+            }
+            StringBuilder result = new StringBuilder(input.length() + 16);
+            int position = 0;
+            do {
+                result.append(input, position, matcher.start());
+                maskingPatterns[i].appendReplacement(matcher, input, result);
+                position = matcher.end();
+            } while (matcher.find());
+            result.append(input, position, input.length());
+            input = result;
+            if (literalFilter != null) {
+                // the replacement may remove or introduce literals of the remaining patterns
+                candidates = unfilteredPatterns | literalFilter.find(input);
+            }
+        }
+        output.append(input);
+    }
+
+    /**
+     * Returns the longest literal text every match of the given regex contains, or null if there is no such text.
+     * The top level sequence of the regex is scanned and only literal characters which are not optional are taken
+     * into account. Scanning stops at constructs which are not recognized, hence a shorter or no literal is returned
+     * for such regexes.
+     */
+    static String getRequiredLiteral(String regex) {
+
+        if (regex.contains("\\Q") || INLINE_FLAGS.matcher(regex).find() || hasTopLevelAlternation(regex)) {
+            return null;
+        }
+        String longest = null;
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < regex.length()) {
+            char c = regex.charAt(i);
+            String atom = null;
+            int next;
+            if (c == '\\') {
+                if (i + 1 == regex.length()) {
+                    break;
+                }
+                char escaped = regex.charAt(i + 1);
+                if (!Character.isLetterOrDigit(escaped)) {
+                    atom = String.valueOf(escaped);
+                } else if (PREDEFINED_CLASSES.indexOf(escaped) < 0) {
+                    // other escapes may span more than two characters
+                    break;
+                }
+                next = i + 2;
+            } else if (c == '[') {
+                next = skipCharacterClass(regex, i);
+            } else if (c == '(') {
+                next = skipGroup(regex, i);
+            } else if (c == '.' || c == '^' || c == '$') {
+                next = i + 1;
+            } else if (REGEX_META_CHARACTERS.indexOf(c) >= 0) {
+                break;
+            } else if (Character.isHighSurrogate(c) && i + 1 < regex.length()
+                    && Character.isLowSurrogate(regex.charAt(i + 1))) {
+                atom = regex.substring(i, i + 2);
+                next = i + 2;
+            } else {
+                atom = String.valueOf(c);
+                next = i + 1;
+            }
+            if (next < 0) {
+                break;
+            }
+            char quantifier = next < regex.length() ? regex.charAt(next) : 0;
+            boolean optional = quantifier == '?' || quantifier == '*' || quantifier == '{';
+            if (atom != null && !optional) {
+                literal.append(atom);
+            }
+            if (atom == null || optional || quantifier == '+') {
+                // the required literal text ends here
+                longest = longer(longest, literal);
+                literal.setLength(0);
+            }
+            if (quantifier == '{') {
+                next = regex.indexOf('}', next);
+                if (next < 0) {
+                    break;
+                }
+            }
+            if (quantifier == '?' || quantifier == '*' || quantifier == '+' || quantifier == '{') {
+                next++;
+                // lazy and possessive quantifiers
+                if (next < regex.length() && (regex.charAt(next) == '?' || regex.charAt(next) == '+')) {
+                    next++;
+                }
+            }
+            i = next;
+        }
+        return longer(longest, literal);
+    }
+
+    private static String longer(String literal, StringBuilder other) {
+
+        if (other.length() > 0 && (literal == null || other.length() > literal.length())) {
+            return other.toString();
+        }
+        return literal;
+    }
+
+    /**
+     * Returns the index after the character class starting at the given index, or -1 if it is not closed.
+     */
+    private static int skipCharacterClass(String regex, int start) {
+
+        int depth = 0;
+        for (int i = start; i < regex.length(); i++) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '[') {
+                depth++;
+                // a closing bracket at the beginning of a class is a literal
+                if (i + 1 < regex.length() && regex.charAt(i + 1) == '^') {
+                    i++;
+                }
+                if (i + 1 < regex.length() && regex.charAt(i + 1) == ']') {
+                    i++;
+                }
+            } else if (c == ']' && --depth == 0) {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index after the group starting at the given index, or -1 if it is not closed.
+     */
+    private static int skipGroup(String regex, int start) {
+
+        int depth = 0;
+        for (int i = start; i < regex.length(); i++) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '[') {
+                i = skipCharacterClass(regex, i);
+                if (i < 0) {
+                    return -1;
+                }
+                i--;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')' && --depth == 0) {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean hasTopLevelAlternation(String regex) {
+
+        for (int i = 0; i < regex.length(); i++) {
+            char c = regex.charAt(i);
+            int next = i + 1;
+            if (c == '\\') {
+                next = i + 2;
+            } else if (c == '[') {
+                next = skipCharacterClass(regex, i);
+            } else if (c == '(') {
+                next = skipGroup(regex, i);
+            } else if (c == '|') {
+                return true;
+            }
+            if (next < 0) {
+                // the regex cannot be scanned, hence it is treated as an alternation
+                return true;
+            }
+            i = next - 1;
+        }
+        return false;
+    }
+
+    /**
+     * This class represents a masking pattern and its replacement.
+     */
+    public static class MaskingPattern {
+
+        private static final String DEFAULT_REPLACEMENT = "*****";
+
+        private final Pattern pattern;
+        private final Pattern replacementPattern;
+        private final String replacement;
+        private final String requiredLiteral;
+
+        /**
+         * Parts of the replacement, i.e. literal text, or group numbers or names to be replaced with the groups
+         * of the match
+         */
+        private final Object[] replacementParts;
+
+        public MaskingPattern(String pattern, String replacementPattern, String replacement) {
+
+            this.pattern = Pattern.compile(pattern);
+            this.replacementPattern = Objects.nonNull(replacementPattern) ? Pattern.compile(replacementPattern) : null;
+            this.replacement = Objects.nonNull(replacement) ? replacement : DEFAULT_REPLACEMENT;
+            this.requiredLiteral = getRequiredLiteral(pattern);
+            this.replacementParts = this.replacementPattern == null ?
+                    parseReplacement(this.replacement, this.pattern.matcher("").groupCount()) : null;
+        }
+
+        private void appendReplacement(Matcher matcher, CharSequence input, StringBuilder output) {
+
+            if (replacementPattern != null) {
+                CharSequence subStringToMask = input.subSequence(matcher.start(), matcher.end());
+                output.append(replacementPattern.matcher(subStringToMask).replaceAll(replacement));
+                return;
+            }
+            for (Object part : replacementParts) {
+                if (part instanceof String) {
+                    output.append((String) part);
+                    continue;
+                }
+                String group = part instanceof Integer ? matcher.group((Integer) part) :
+                        matcher.group(((GroupName) part).name);
+                if (group != null) {
+                    output.append(group);
+                }
+            }
+        }
+
+        /**
+         * Parses a replacement string following the rules of {@link Matcher#appendReplacement}.
+         */
+        private static Object[] parseReplacement(String replacement, int groupCount) {
+
+            List<Object> parts = new ArrayList<>();
+            StringBuilder literal = new StringBuilder();
+            int i = 0;
+            while (i < replacement.length()) {
+                char c = replacement.charAt(i);
+                if (c == '\\') {
+                    if (++i == replacement.length()) {
+                        throw new IllegalArgumentException("character to be escaped is missing");
+                    }
+                    literal.append(replacement.charAt(i++));
+                    continue;
+                }
+                if (c != '$') {
+                    literal.append(c);
+                    i++;
+                    continue;
+                }
+                if (++i == replacement.length()) {
+                    throw new IllegalArgumentException("Illegal group reference: group index is missing");
+                }
+                if (literal.length() > 0) {
+                    parts.add(literal.toString());
+                    literal.setLength(0);
+                }
+                if (replacement.charAt(i) == '{') {
+                    int end = replacement.indexOf('}', i);
+                    if (end < 0 || end == i + 1) {
+                        throw new IllegalArgumentException("named capturing group is missing trailing '}'");
+                    }
+                    parts.add(new GroupName(replacement.substring(i + 1, end)));
+                    i = end + 1;
+                    continue;
+                }
+                int group = replacement.charAt(i) - '0';
+                if (group < 0 || group > 9) {
+                    throw new IllegalArgumentException("Illegal group reference");
+                }
+                i++;
+                while (i < replacement.length()) {
+                    int digit = replacement.charAt(i) - '0';
+                    if (digit < 0 || digit > 9 || group * 10 + digit > groupCount) {
+                        break;
+                    }
+                    group = group * 10 + digit;
+                    i++;
+                }
+                if (group > groupCount) {
+                    throw new IndexOutOfBoundsException("No group " + group);
+                }
+                parts.add(group);
+            }
+            if (literal.length() > 0) {
+                parts.add(literal.toString());
+            }
+            return parts.toArray();
+        }
+    }
+
+    private static class GroupName {
+
+        private final String name;
+
+        GroupName(String name) {
+
+            this.name = name;
+        }
+    }
+
+    /**
+     * Aho-Corasick automaton which finds the patterns whose required literal occurs in a message.
+     */
+    private static class LiteralFilter {
+
+        private final char[][] transitionKeys;
+        private final int[][] transitionTargets;
+        private final int[] failures;
+
+        /**
+         * Patterns whose literal ends at each state, including the literals of the failure states
+         */
+        private final long[] outputs;
+        private final long allPatterns;
+
+        LiteralFilter(List<String> literals) {
+
+            List<TreeMap<Character, Integer>> transitions = new ArrayList<>();
+            List<Long> stateOutputs = new ArrayList<>();
+            transitions.add(new TreeMap<>());
+            stateOutputs.add(0L);
+            long all = 0;
+            for (int i = 0; i < literals.size(); i++) {
+                String literal = literals.get(i);
+                if (literal == null) {
+                    continue;
+                }
+                int state = 0;
+                for (int j = 0; j < literal.length(); j++) {
+                    Integer next = transitions.get(state).get(literal.charAt(j));
+                    if (next == null) {
+                        next = transitions.size();
+                        transitions.add(new TreeMap<>());
+                        stateOutputs.add(0L);
+                        transitions.get(state).put(literal.charAt(j), next);
+                    }
+                    state = next;
+                }
+                stateOutputs.set(state, stateOutputs.get(state) | (1L << i));
+                all |= 1L << i;
+            }
+            int stateCount = transitions.size();
+            transitionKeys = new char[stateCount][];
+            transitionTargets = new int[stateCount][];
+            failures = new int[stateCount];
+            outputs = new long[stateCount];
+            allPatterns = all;
+            for (int state = 0; state < stateCount; state++) {
+                TreeMap<Character, Integer> stateTransitions = transitions.get(state);
+                transitionKeys[state] = new char[stateTransitions.size()];
+                transitionTargets[state] = new int[stateTransitions.size()];
+                int k = 0;
+                for (Map.Entry<Character, Integer> transition : stateTransitions.entrySet()) {
+                    transitionKeys[state][k] = transition.getKey();
+                    transitionTargets[state][k++] = transition.getValue();
+                }
+                outputs[state] = stateOutputs.get(state);
+            }
+            // failure links are computed in breadth first order, so that the failure state is already complete
+            Deque<Integer> queue = new ArrayDeque<>();
+            for (int target : transitionTargets[0]) {
+                queue.add(target);
+            }
+            while (!queue.isEmpty()) {
+                int state = queue.poll();
+                outputs[state] |= outputs[failures[state]];
+                for (int k = 0; k < transitionKeys[state].length; k++) {
+                    int target = transitionTargets[state][k];
+                    int failure = failures[state];
+                    int next;
+                    while ((next = transition(failure, transitionKeys[state][k])) < 0 && failure != 0) {
+                        failure = failures[failure];
+                    }
+                    failures[target] = next < 0 ? 0 : next;
+                    queue.add(target);
+                }
+            }
+        }
+
+        private int transition(int state, char c) {
+
+            int index = Arrays.binarySearch(transitionKeys[state], c);
+            return index < 0 ? -1 : transitionTargets[state][index];
+        }
+
+        /**
+         * Returns the patterns whose literal occurs in the given message.
+         */
+        long find(CharSequence message) {
+
+            long found = 0;
+            int state = 0;
+            for (int i = 0; i < message.length(); i++) {
+                char c = message.charAt(i);
+                int next;
+                while ((next = transition(state, c)) < 0 && state != 0) {
+                    state = failures[state];
+                }
+                state = next < 0 ? 0 : next;
+                found |= outputs[state];
+                if (found == allPatterns) {
+                    break;
+                }
+            }
+            return found;
+        }
+    }
+}